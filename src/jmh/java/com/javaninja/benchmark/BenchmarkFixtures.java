@@ -0,0 +1,198 @@
+package com.javaninja.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.ClaimCheckProperties;
+import com.javaninja.config.LocalEventBusProperties;
+import com.javaninja.config.MessageCodecProperties;
+import com.javaninja.config.OutboxProperties;
+import com.javaninja.config.SchedulerProperties;
+import com.javaninja.config.SnsPublishProperties;
+import com.javaninja.config.SnsTopicProperties;
+import com.javaninja.service.ClaimCheckService;
+import com.javaninja.service.DelayedMessageScheduler;
+import com.javaninja.service.LocalEventBus;
+import com.javaninja.service.LocalTopicSubscriber;
+import com.javaninja.service.MessageCodecService;
+import com.javaninja.service.OutboxService;
+import com.javaninja.service.S3Service;
+import com.javaninja.service.SnsAutoBatcher;
+import com.javaninja.service.SnsService;
+import com.javaninja.service.SnsTopicRegistry;
+import com.javaninja.service.SqsService;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builds the services under benchmark on top of real SDK clients whose HTTP layer is stubbed.
+ * SQS is the exception: SqsTemplate sits on a stub {@link SqsAsyncClient}, because the SDK
+ * verifies MD5 digests of every sent body and attribute set against the response.
+ */
+final class BenchmarkFixtures {
+
+    static final String BUCKET = "benchmark-bucket";
+    static final String TOPIC_ARN = "arn:aws:sns:us-east-1:123456789012:benchmark-topic";
+    static final String QUEUE = "benchmark-queue";
+
+    private static final StaticCredentialsProvider CREDENTIALS =
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("benchmark", "benchmark"));
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Service code logs every call at INFO and the SDK logs at DEBUG without a configuration,
+     * which would dominate the measurements.
+     */
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(Level.WARN);
+    }
+
+    static byte[] payload(int bytes) {
+        byte[] payload = new byte[bytes];
+        new Random(42).nextBytes(payload);
+        return payload;
+    }
+
+    /**
+     * S3 client answering PUTs with an ETag, listings with {@code objectCount} keys and any other
+     * GET with {@code objectContent}.
+     */
+    static S3Client s3Client(byte[] objectContent, int objectCount) {
+        StubHttpClient.Response put = StubHttpClient.Response.ok(new byte[0])
+                .header("ETag", "\"9b2cf535f27731c974343645a3985328\"");
+        StubHttpClient.Response get = StubHttpClient.Response.ok(objectContent)
+                .header("Content-Type", "application/octet-stream");
+        StubHttpClient.Response list = StubHttpClient.Response.ok(listBucketResult(objectCount))
+                .header("Content-Type", "application/xml");
+
+        return S3Client.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(CREDENTIALS)
+                .httpClient(new StubHttpClient(request -> {
+                    if (request.method() == SdkHttpMethod.PUT) {
+                        return put;
+                    }
+                    return request.firstMatchingRawQueryParameter("list-type").isPresent() ? list : get;
+                }))
+                .build();
+    }
+
+    static SnsClient snsClient() {
+        StubHttpClient.Response publish = StubHttpClient.Response.ok(
+                "<PublishResponse xmlns=\"http://sns.amazonaws.com/doc/2010-03-31/\">"
+                        + "<PublishResult><MessageId>5c5b7a4c-2c5f-5a8e-9d4e-2b8f6f1e0a11</MessageId></PublishResult>"
+                        + "<ResponseMetadata><RequestId>3f1a8e1d-7b7c-5f9a-8c2e-6d1b0e4f9a22</RequestId></ResponseMetadata>"
+                        + "</PublishResponse>")
+                .header("Content-Type", "text/xml");
+
+        return SnsClient.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(CREDENTIALS)
+                .httpClient(new StubHttpClient(request -> publish))
+                .build();
+    }
+
+    static SqsTemplate sqsTemplate() {
+        return SqsTemplate.newTemplate(new StubSqsAsyncClient());
+    }
+
+    static S3Service s3Service(S3Client s3Client) {
+        return new S3Service(s3Client, empty(S3AsyncClient.class));
+    }
+
+    static SqsService sqsService(SqsTemplate sqsTemplate) {
+        return new SqsService(sqsTemplate,
+                new MessageCodecService(new MessageCodecProperties()),
+                new ClaimCheckService(null, new ClaimCheckProperties(), new ObjectMapper()),
+                new OutboxService(new OutboxProperties(), sqsTemplate, null),
+                new DelayedMessageScheduler(new SchedulerProperties(), sqsTemplate));
+    }
+
+    static SnsService snsService(SnsClient snsClient, ExecutorService executor) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SnsPublishProperties publishProperties = new SnsPublishProperties();
+        SnsTopicRegistry topicRegistry = new SnsTopicRegistry(snsClient, new SnsTopicProperties(), executor);
+        return new SnsService(snsClient, empty(SnsAsyncClient.class),
+                new MessageCodecService(new MessageCodecProperties()),
+                new ClaimCheckService(null, new ClaimCheckProperties(), objectMapper),
+                new OutboxService(new OutboxProperties(), null, snsClient),
+                new SnsAutoBatcher(snsClient, publishProperties, executor),
+                topicRegistry,
+                new LocalEventBus(topicRegistry, objectMapper, new LocalEventBusProperties(), empty(LocalTopicSubscriber.class)),
+                publishProperties,
+                executor,
+                executor);
+    }
+
+    private static <T> ObjectProvider<T> empty(Class<T> type) {
+        return new StaticListableBeanFactory().getBeanProvider(type);
+    }
+
+    private static String listBucketResult(int objectCount) {
+        StringBuilder xml = new StringBuilder(objectCount * 256)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(BUCKET).append("</Name><Prefix></Prefix>")
+                .append("<KeyCount>").append(objectCount).append("</KeyCount>")
+                .append("<MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>");
+        for (int i = 0; i < objectCount; i++) {
+            xml.append("<Contents><Key>reports/2024/object-").append(i).append(".json</Key>")
+                    .append("<LastModified>2024-01-01T00:00:00.000Z</LastModified>")
+                    .append("<ETag>&quot;9b2cf535f27731c974343645a3985328&quot;</ETag>")
+                    .append("<Size>").append(1024 + i).append("</Size>")
+                    .append("<StorageClass>STANDARD</StorageClass></Contents>");
+        }
+        return xml.append("</ListBucketResult>").toString();
+    }
+
+    /**
+     * Resolves every queue name to a URL and accepts every message, completing immediately.
+     */
+    private static class StubSqsAsyncClient implements SqsAsyncClient {
+
+        @Override
+        public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+            return CompletableFuture.completedFuture(GetQueueUrlResponse.builder()
+                    .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/" + request.queueName())
+                    .build());
+        }
+
+        @Override
+        public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+            return CompletableFuture.completedFuture(SendMessageResponse.builder()
+                    .messageId(UUID.randomUUID().toString())
+                    .build());
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.javaninja.benchmark;
+
+import com.javaninja.controller.S3Controller;
+import com.javaninja.controller.SqsController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full controller path through MockMvc: JSON request binding and validation, the service call
+ * on stub clients and response serialization. The difference from the matching service
+ * benchmark is the cost of the web layer.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerBenchmark {
+
+    private static final String SQS_REQUEST = "{\"queueName\":\"" + BenchmarkFixtures.QUEUE + "\","
+            + "\"messageBody\":\"{\\\"eventType\\\":\\\"ORDER_CREATED\\\",\\\"orderId\\\":\\\"ord-000123\\\"}\"}";
+
+    private S3Client s3Client;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        s3Client = BenchmarkFixtures.s3Client(BenchmarkFixtures.payload(1024), 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new SqsController(BenchmarkFixtures.sqsService(BenchmarkFixtures.sqsTemplate())),
+                        new S3Controller(BenchmarkFixtures.s3Service(s3Client)))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Client.close();
+    }
+
+    @Benchmark
+    public String sendSqsMessage() throws Exception {
+        return mockMvc.perform(post("/api/sqs/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(SQS_REQUEST))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    @Benchmark
+    public String listS3Objects() throws Exception {
+        return mockMvc.perform(get("/api/s3/list/" + BenchmarkFixtures.BUCKET).param("prefix", "reports/"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.javaninja.benchmark;
+
+import com.javaninja.codec.IdentityCodec;
+import com.javaninja.codec.JacksonBinaryCodec;
+import com.javaninja.codec.MessageCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of each transport codec on a representative order event. The encode
+ * benchmark also reports {@link EncodedSize} counters, so the size each codec produces lands in the
+ * JSON result next to its time: encodedChars / messages is the encoded size of one event and
+ * encodedChars / bodyChars its ratio to the plain JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageCodecBenchmark {
+
+    @Param({"json", "json+deflate", "json+gzip", "smile", "smile+deflate", "cbor", "cbor+deflate"})
+    String codecName;
+
+    @Param({"50"})
+    int items;
+
+    private MessageCodec codec;
+    private String body;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = IdentityCodec.NAME.equals(codecName) ? new IdentityCodec() : JacksonBinaryCodec.fromName(codecName);
+        body = sampleEvent(items);
+        encoded = codec.encode(body);
+    }
+
+    @Benchmark
+    public String encode(EncodedSize size) {
+        String result = codec.encode(body);
+        size.messages++;
+        size.bodyChars += body.length();
+        size.encodedChars += result.length();
+        return result;
+    }
+
+    @Benchmark
+    public String decode() {
+        return codec.decode(encoded);
+    }
+
+    /**
+     * Per-iteration totals over the encoded messages, reported as secondary results. They are
+     * counted rather than set once so the quotients hold however JMH aggregates them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long messages;
+        public long bodyChars;
+        public long encodedChars;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+            bodyChars = 0;
+            encodedChars = 0;
+        }
+    }
+
+    private static String sampleEvent(int items) {
+        StringBuilder json = new StringBuilder("{\"eventType\":\"ORDER_CREATED\",\"orderId\":\"ord-000123\",")
+                .append("\"customer\":{\"id\":\"cust-42\",\"email\":\"customer@example.com\",\"tier\":\"GOLD\"},")
+                .append("\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"sku\":\"SKU-").append(10_000 + i).append("\",\"quantity\":").append(i % 5 + 1)
+                    .append(",\"price\":").append(9.99 + i).append(",\"description\":\"Item number ").append(i).append("\"}");
+        }
+        return json.append("],\"createdAt\":\"2024-01-01T12:00:00Z\"}").toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.javaninja.benchmark;
+
+import com.javaninja.model.dto.S3ObjectRequest;
+import com.javaninja.service.S3Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3Service put, get and list against an S3 client whose HTTP layer answers in-process, covering
+ * request building, signing, checksums and response unmarshalling.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class S3ServiceBenchmark {
+
+    @Param({"1024", "65536"})
+    int objectSize;
+
+    @Param({"100"})
+    int listedObjects;
+
+    private S3Client s3Client;
+    private S3Service s3Service;
+    private S3ObjectRequest putRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        byte[] content = BenchmarkFixtures.payload(objectSize);
+        s3Client = BenchmarkFixtures.s3Client(content, listedObjects);
+        s3Service = BenchmarkFixtures.s3Service(s3Client);
+
+        putRequest = new S3ObjectRequest(BenchmarkFixtures.BUCKET, "reports/2024/object.json");
+        putRequest.setContentType("application/json");
+        putRequest.setContent(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Client.close();
+    }
+
+    @Benchmark
+    public String putObject() {
+        return s3Service.putObject(putRequest);
+    }
+
+    @Benchmark
+    public byte[] getObject() {
+        return s3Service.getObject(BenchmarkFixtures.BUCKET, "reports/2024/object.json");
+    }
+
+    @Benchmark
+    public List<String> listObjects() {
+        return s3Service.listObjects(BenchmarkFixtures.BUCKET, "reports/");
+    }
+}
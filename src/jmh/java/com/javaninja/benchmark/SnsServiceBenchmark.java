@@ -0,0 +1,67 @@
+package com.javaninja.benchmark;
+
+import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.service.SnsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sns.SnsClient;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnsService.publishMessage against an SNS client whose HTTP layer answers in-process, covering
+ * attribute mapping, query-protocol marshalling, signing and XML unmarshalling.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnsServiceBenchmark {
+
+    @Param({"256", "8192"})
+    int messageSize;
+
+    private SnsClient snsClient;
+    private ExecutorService executor;
+    private SnsService snsService;
+    private SnsMessageRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        snsClient = BenchmarkFixtures.snsClient();
+        executor = Executors.newFixedThreadPool(2);
+        snsService = BenchmarkFixtures.snsService(snsClient, executor);
+
+        request = new SnsMessageRequest(BenchmarkFixtures.TOPIC_ARN, "x".repeat(messageSize));
+        request.setSubject("Order created");
+        request.setMessageAttributes(Map.of("eventType", "ORDER_CREATED", "priority", "1"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        snsClient.close();
+    }
+
+    @Benchmark
+    public String publishMessage() {
+        return snsService.publishMessage(request);
+    }
+}
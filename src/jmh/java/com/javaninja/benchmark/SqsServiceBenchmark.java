@@ -0,0 +1,50 @@
+package com.javaninja.benchmark;
+
+import com.javaninja.model.dto.SqsMessageRequest;
+import com.javaninja.service.SqsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqsService.sendMessage through SqsTemplate, covering codec selection, message conversion
+ * and header mapping on top of a stub SQS client.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqsServiceBenchmark {
+
+    @Param({"256", "8192"})
+    int messageSize;
+
+    private SqsService sqsService;
+    private SqsMessageRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        sqsService = BenchmarkFixtures.sqsService(BenchmarkFixtures.sqsTemplate());
+        request = new SqsMessageRequest(BenchmarkFixtures.QUEUE, "x".repeat(messageSize));
+    }
+
+    @Benchmark
+    public String sendMessage() {
+        return sqsService.sendMessage(request);
+    }
+}
@@ -0,0 +1,90 @@
+package com.javaninja.benchmark;
+
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * HTTP client that answers every request in-process, so benchmarks measure the service code and
+ * SDK marshalling without network I/O. Request bodies are read to the end as a real client would.
+ */
+public class StubHttpClient implements SdkHttpClient {
+
+    private final Function<SdkHttpRequest, Response> handler;
+
+    public StubHttpClient(Function<SdkHttpRequest, Response> handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        return new ExecutableHttpRequest() {
+            @Override
+            public HttpExecuteResponse call() throws IOException {
+                if (request.contentStreamProvider().isPresent()) {
+                    try (InputStream body = request.contentStreamProvider().get().newStream()) {
+                        body.transferTo(OutputStream.nullOutputStream());
+                    }
+                }
+
+                Response response = handler.apply(request.httpRequest());
+                SdkHttpResponse.Builder httpResponse = SdkHttpResponse.builder().statusCode(response.status);
+                response.headers.forEach(httpResponse::putHeader);
+                httpResponse.putHeader("Content-Length", String.valueOf(response.body.length));
+                return HttpExecuteResponse.builder()
+                        .response(httpResponse.build())
+                        .responseBody(AbortableInputStream.create(new ByteArrayInputStream(response.body)))
+                        .build();
+            }
+
+            @Override
+            public void abort() {
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * A canned response; the body is shared between calls, so build it once in the benchmark setup.
+     */
+    public static class Response {
+
+        private final int status;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public static Response ok(byte[] body) {
+            return new Response(200, body);
+        }
+
+        public static Response ok(String body) {
+            return ok(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.javaninja.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Byte-level compression applied after binary encoding.
+ */
+public enum Compression {
+    
+    NONE(null) {
+        @Override
+        OutputStream wrap(OutputStream out) {
+            return out;
+        }
+        
+        @Override
+        InputStream unwrap(InputStream in) {
+            return in;
+        }
+    },
+    
+    DEFLATE("deflate") {
+        @Override
+        OutputStream wrap(OutputStream out) {
+            return new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED));
+        }
+        
+        @Override
+        InputStream unwrap(InputStream in) {
+            return new InflaterInputStream(in);
+        }
+    },
+    
+    GZIP("gzip") {
+        @Override
+        OutputStream wrap(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+        
+        @Override
+        InputStream unwrap(InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+    };
+    
+    private final String suffix;
+    
+    Compression(String suffix) {
+        this.suffix = suffix;
+    }
+    
+    public String getSuffix() {
+        return suffix;
+    }
+    
+    public static Compression fromSuffix(String suffix) {
+        for (Compression compression : values()) {
+            if (compression.suffix != null && compression.suffix.equals(suffix)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compression: " + suffix);
+    }
+    
+    abstract OutputStream wrap(OutputStream out) throws IOException;
+    
+    abstract InputStream unwrap(InputStream in) throws IOException;
+    
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (OutputStream out = wrap(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress payload with " + suffix, e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    public byte[] decompress(byte[] data) {
+        try (InputStream in = unwrap(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress payload with " + suffix, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.javaninja.codec;
+
+/**
+ * Plain JSON text, sent as-is. Used when no codec is configured.
+ */
+public final class IdentityCodec implements MessageCodec {
+    
+    public static final String NAME = "json";
+    
+    @Override
+    public String name() {
+        return NAME;
+    }
+    
+    @Override
+    public int version() {
+        return 1;
+    }
+    
+    @Override
+    public String encode(String body) {
+        return body;
+    }
+    
+    @Override
+    public String decode(String encoded) {
+        return encoded;
+    }
+}
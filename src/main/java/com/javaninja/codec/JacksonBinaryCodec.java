@@ -0,0 +1,126 @@
+package com.javaninja.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Re-encodes JSON text into a binary Jackson format (Smile, CBOR or plain JSON bytes),
+ * optionally compresses it, and base64-encodes the result for transport.
+ */
+public final class JacksonBinaryCodec implements MessageCodec {
+    
+    public enum Format {
+        JSON("json", null),
+        SMILE("smile", new SmileFactory()),
+        CBOR("cbor", new CBORFactory());
+        
+        private final String label;
+        private final JsonFactory factory;
+        
+        Format(String label, JsonFactory factory) {
+            this.label = label;
+            this.factory = factory;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+        
+        public static Format fromLabel(String label) {
+            for (Format format : values()) {
+                if (format.label.equals(label)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown codec format: " + label);
+        }
+    }
+    
+    private static final ObjectMapper JSON_MAPPER = exactNumbers(new ObjectMapper());
+    
+    private final Format format;
+    private final Compression compression;
+    private final ObjectMapper binaryMapper;
+    private final String name;
+    
+    public JacksonBinaryCodec(Format format, Compression compression) {
+        this.format = format;
+        this.compression = compression;
+        this.binaryMapper = format.factory != null ? exactNumbers(new ObjectMapper(format.factory)) : null;
+        this.name = compression == Compression.NONE ? format.label : format.label + "+" + compression.getSuffix();
+    }
+    
+    /**
+     * Parses names such as {@code cbor}, {@code smile+deflate} or {@code json+gzip}.
+     */
+    public static JacksonBinaryCodec fromName(String name) {
+        int plus = name.indexOf('+');
+        Format format = Format.fromLabel(plus < 0 ? name : name.substring(0, plus));
+        Compression compression = plus < 0 ? Compression.NONE : Compression.fromSuffix(name.substring(plus + 1));
+        return new JacksonBinaryCodec(format, compression);
+    }
+    
+    /**
+     * Reads decimals as BigDecimal, keeping trailing zeros, so re-encoding never rounds a price
+     * through a double.
+     */
+    private static ObjectMapper exactNumbers(ObjectMapper mapper) {
+        return mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    }
+    
+    @Override
+    public String name() {
+        return name;
+    }
+    
+    @Override
+    public int version() {
+        return 1;
+    }
+    
+    @Override
+    public String encode(String body) {
+        try {
+            byte[] bytes = binaryMapper != null
+                    ? binaryMapper.writeValueAsBytes(JSON_MAPPER.readTree(body))
+                    : body.getBytes(StandardCharsets.UTF_8);
+            return Base64.getEncoder().encodeToString(compression.compress(bytes));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Codec " + name + " requires a JSON body", e);
+        }
+    }
+    
+    @Override
+    public String decode(String encoded) {
+        byte[] bytes = compression.decompress(Base64.getDecoder().decode(encoded));
+        if (binaryMapper == null) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try {
+            JsonNode tree = binaryMapper.readTree(bytes);
+            return JSON_MAPPER.writeValueAsString(tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + name + " payload", e);
+        }
+    }
+    
+    public Format getFormat() {
+        return format;
+    }
+    
+    public Compression getCompression() {
+        return compression;
+    }
+}
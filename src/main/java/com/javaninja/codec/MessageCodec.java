@@ -0,0 +1,26 @@
+package com.javaninja.codec;
+
+/**
+ * Transforms a JSON message body into its transport form and back. Implementations must be
+ * thread-safe and produce text that is valid in an SQS/SNS message body.
+ */
+public interface MessageCodec {
+    
+    /**
+     * Name carried in the {@code content-codec} message attribute, e.g. {@code smile+deflate}.
+     */
+    String name();
+    
+    /**
+     * Wire format version carried in the {@code content-codec-version} message attribute.
+     */
+    int version();
+    
+    /**
+     * @throws IllegalArgumentException if the body cannot be represented, e.g. a binary codec
+     *                                  given text that is not JSON
+     */
+    String encode(String body);
+    
+    String decode(String encoded);
+}
@@ -0,0 +1,143 @@
+package com.javaninja.config;
+
+import com.javaninja.support.AwsMetricsInterceptor;
+import com.javaninja.support.HttpPoolMetricPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import software.amazon.awssdk.core.client.builder.SdkClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+
+import java.net.URI;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking S3, SNS and Secrets Manager clients, created when {@code aws.async.enabled} is set.
+ * All three share one Netty HTTP client, so in-flight calls are bounded by {@code max-concurrency}
+ * rather than by the number of threads waiting on responses.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "aws.async", name = "enabled", havingValue = "true")
+public class AsyncAwsConfig {
+    
+    public static final String AWS_ASYNC_COMPLETION_EXECUTOR = "awsAsyncCompletionExecutor";
+    
+    // Honoured like in AwsConfig, so the async clients follow the same endpoint override
+    private final URI endpoint;
+    
+    public AsyncAwsConfig(@Value("${spring.cloud.aws.endpoint:}") String endpoint) {
+        this.endpoint = endpoint.isBlank() ? null : URI.create(endpoint);
+    }
+    
+    @Bean(destroyMethod = "close")
+    public SdkAsyncHttpClient awsAsyncHttpClient(AwsAsyncProperties properties) {
+        return NettyNioAsyncHttpClient.builder()
+                .eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(properties.getEventLoopThreads()))
+                .maxConcurrency(properties.getMaxConcurrency())
+                .maxPendingConnectionAcquires(properties.getMaxPendingConnectionAcquires())
+                .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+                .connectionTimeout(properties.getConnectionTimeout())
+                .readTimeout(properties.getReadTimeout())
+                .writeTimeout(properties.getWriteTimeout())
+                .connectionMaxIdleTime(properties.getConnectionMaxIdleTime())
+                .tcpKeepAlive(properties.isTcpKeepAlive())
+                .build();
+    }
+    
+    /**
+     * Completes SDK futures off the Netty event loop. Shared by the async clients instead of the
+     * per-client pools the SDK would otherwise create. When the queue is full the completion is
+     * rejected and the caller's future fails, rather than running continuations on the event loop.
+     */
+    @Bean(name = AWS_ASYNC_COMPLETION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService awsAsyncCompletionExecutor(AwsAsyncProperties properties) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getCompletionThreads(), properties.getCompletionThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getCompletionQueueCapacity()),
+                new CustomizableThreadFactory("aws-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    @Bean
+    public HttpPoolMetricPublisher asyncHttpPoolMetricPublisher(MeterRegistry meterRegistry) {
+        return new HttpPoolMetricPublisher(meterRegistry, "async");
+    }
+    
+    @Bean
+    public S3AsyncClient s3AsyncClient(SdkAsyncHttpClient awsAsyncHttpClient,
+                                       @Qualifier(AWS_ASYNC_COMPLETION_EXECUTOR) ExecutorService completionExecutor,
+                                       AwsMetricsInterceptor awsMetricsInterceptor,
+                                       HttpPoolMetricPublisher asyncHttpPoolMetricPublisher) {
+        return S3AsyncClient.builder()
+                .applyMutation(this::endpointOverride)
+                .forcePathStyle(endpoint != null)
+                .httpClient(awsAsyncHttpClient)
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, asyncHttpPoolMetricPublisher))
+                .build();
+    }
+    
+    @Bean
+    public SnsAsyncClient snsAsyncClient(SdkAsyncHttpClient awsAsyncHttpClient,
+                                         @Qualifier(AWS_ASYNC_COMPLETION_EXECUTOR) ExecutorService completionExecutor,
+                                         AwsMetricsInterceptor awsMetricsInterceptor,
+                                         HttpPoolMetricPublisher asyncHttpPoolMetricPublisher) {
+        return SnsAsyncClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsAsyncHttpClient)
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, asyncHttpPoolMetricPublisher))
+                .build();
+    }
+    
+    @Bean
+    public SecretsManagerAsyncClient secretsManagerAsyncClient(SdkAsyncHttpClient awsAsyncHttpClient,
+                                                               @Qualifier(AWS_ASYNC_COMPLETION_EXECUTOR) ExecutorService completionExecutor,
+                                                               AwsMetricsInterceptor awsMetricsInterceptor,
+                                                               HttpPoolMetricPublisher asyncHttpPoolMetricPublisher) {
+        return SecretsManagerAsyncClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsAsyncHttpClient)
+                .asyncConfiguration(asyncConfiguration(completionExecutor))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, asyncHttpPoolMetricPublisher))
+                .build();
+    }
+    
+    private void endpointOverride(SdkClientBuilder<?, ?> builder) {
+        if (endpoint != null) {
+            builder.endpointOverride(endpoint);
+        }
+    }
+    
+    private static ClientAsyncConfiguration asyncConfiguration(ExecutorService completionExecutor) {
+        return ClientAsyncConfiguration.builder()
+                .advancedOption(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR, completionExecutor)
+                .build();
+    }
+    
+    private static ClientOverrideConfiguration overrides(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                         HttpPoolMetricPublisher httpPoolMetricPublisher) {
+        return ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(awsMetricsInterceptor)
+                .addMetricPublisher(httpPoolMetricPublisher)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the non-blocking S3, SNS and Secrets Manager clients served under {@code /api/async}.
+ */
+@ConfigurationProperties(prefix = "aws.async")
+public class AwsAsyncProperties {
+    
+    private boolean enabled = false;
+    
+    // Netty event loop threads shared by the async clients; a few threads carry many connections
+    private int eventLoopThreads = 4;
+    
+    // Threads completing SDK futures, which run the service and controller continuations; completions
+    // beyond the queue capacity fail the call instead of running on the event loop
+    private int completionThreads = 4;
+    private int completionQueueCapacity = 10000;
+    
+    // In-flight requests across all async clients, and how many more may wait for a connection
+    private int maxConcurrency = 500;
+    private int maxPendingConnectionAcquires = 10000;
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+    
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration writeTimeout = Duration.ofSeconds(30);
+    private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+    private boolean tcpKeepAlive = true;
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public int getEventLoopThreads() { return eventLoopThreads; }
+    public void setEventLoopThreads(int eventLoopThreads) { this.eventLoopThreads = eventLoopThreads; }
+    
+    public int getCompletionThreads() { return completionThreads; }
+    public void setCompletionThreads(int completionThreads) { this.completionThreads = completionThreads; }
+    
+    public int getCompletionQueueCapacity() { return completionQueueCapacity; }
+    public void setCompletionQueueCapacity(int completionQueueCapacity) { this.completionQueueCapacity = completionQueueCapacity; }
+    
+    public int getMaxConcurrency() { return maxConcurrency; }
+    public void setMaxConcurrency(int maxConcurrency) { this.maxConcurrency = maxConcurrency; }
+    
+    public int getMaxPendingConnectionAcquires() { return maxPendingConnectionAcquires; }
+    public void setMaxPendingConnectionAcquires(int maxPendingConnectionAcquires) { this.maxPendingConnectionAcquires = maxPendingConnectionAcquires; }
+    
+    public Duration getConnectionAcquisitionTimeout() { return connectionAcquisitionTimeout; }
+    public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) { this.connectionAcquisitionTimeout = connectionAcquisitionTimeout; }
+    
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+    
+    public Duration getReadTimeout() { return readTimeout; }
+    public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    
+    public Duration getWriteTimeout() { return writeTimeout; }
+    public void setWriteTimeout(Duration writeTimeout) { this.writeTimeout = writeTimeout; }
+    
+    public Duration getConnectionMaxIdleTime() { return connectionMaxIdleTime; }
+    public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) { this.connectionMaxIdleTime = connectionMaxIdleTime; }
+    
+    public boolean isTcpKeepAlive() { return tcpKeepAlive; }
+    public void setTcpKeepAlive(boolean tcpKeepAlive) { this.tcpKeepAlive = tcpKeepAlive; }
+}
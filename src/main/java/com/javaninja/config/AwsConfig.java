@@ -1,27 +1,184 @@
 package com.javaninja.config;
 
+import com.javaninja.support.AwsHttpClients;
+import com.javaninja.support.AwsMetricsInterceptor;
+import io.awspring.cloud.autoconfigure.core.AwsClientCustomizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.core.CompressionConfiguration;
+import software.amazon.awssdk.core.client.builder.SdkClientBuilder;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.ses.SesClientBuilder;
 import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+import software.amazon.awssdk.services.ssm.SsmClient;
+
+import java.net.URI;
 
 @Configuration
+@EnableConfigurationProperties({
+        AwsAsyncProperties.class,
+        AwsHttpProperties.class,
+        ClaimCheckProperties.class,
+        CloudWatchMetricsProperties.class,
+        DynamoDbProperties.class,
+        ExportProperties.class,
+        FanOutProperties.class,
+        LocalEventBusProperties.class,
+        MessageCodecProperties.class,
+        OutboxProperties.class,
+        RedriveProperties.class,
+        SchedulerProperties.class,
+        SecretCacheProperties.class,
+        SecretIndexProperties.class,
+        SecretWarmUpProperties.class,
+        SessionStoreProperties.class,
+        SesProperties.class,
+        ParameterStoreProperties.class,
+        PollerProperties.class,
+        SnsPublishProperties.class,
+        SnsTopicProperties.class
+})
 public class AwsConfig {
     
+    // Same property Spring Cloud AWS applies to the clients it creates, so one setting points every
+    // client at LocalStack or the in-process fake used by the load tests
+    private final URI endpoint;
+    
+    public AwsConfig(@Value("${spring.cloud.aws.endpoint:}") String endpoint) {
+        this.endpoint = endpoint.isBlank() ? null : URI.create(endpoint);
+    }
+    
+    @Bean
+    public AwsMetricsInterceptor awsMetricsInterceptor(MeterRegistry meterRegistry) {
+        return new AwsMetricsInterceptor(meterRegistry);
+    }
+    
+    @Bean
+    public MeterFilter awsResourceTagLimit() {
+        return AwsMetricsInterceptor.resourceTagLimit();
+    }
+    
+    @Bean(destroyMethod = "close")
+    public AwsHttpClients awsHttpClients(AwsHttpProperties properties, MeterRegistry meterRegistry) {
+        return new AwsHttpClients(properties, meterRegistry);
+    }
+    
+    @Bean
+    public SnsClient snsClient(AwsMetricsInterceptor awsMetricsInterceptor, AwsHttpClients awsHttpClients) {
+        return SnsClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsHttpClients.httpClient("sns"))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, awsHttpClients, "sns").build())
+                .build();
+    }
+    
+    @Bean
+    public S3Client s3Client(AwsMetricsInterceptor awsMetricsInterceptor, AwsHttpClients awsHttpClients) {
+        // Custom endpoints have no per-bucket DNS names, so buckets are addressed in the path
+        return S3Client.builder()
+                .applyMutation(this::endpointOverride)
+                .forcePathStyle(endpoint != null)
+                .httpClient(awsHttpClients.httpClient("s3"))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, awsHttpClients, "s3").build())
+                .build();
+    }
+    
     @Bean
-    public SnsClient snsClient() {
-        return SnsClient.builder().build();
+    public SecretsManagerClient secretsManagerClient(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                     AwsHttpClients awsHttpClients) {
+        return SecretsManagerClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsHttpClients.httpClient("secrets-manager"))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, awsHttpClients, "secrets-manager").build())
+                .build();
     }
     
     @Bean
-    public S3Client s3Client() {
-        return S3Client.builder().build();
+    public SsmClient ssmClient(AwsMetricsInterceptor awsMetricsInterceptor, AwsHttpClients awsHttpClients) {
+        return SsmClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsHttpClients.httpClient("ssm"))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, awsHttpClients, "ssm").build())
+                .build();
     }
     
     @Bean
-    public SecretsManagerClient secretsManagerClient() {
-        return SecretsManagerClient.builder().build();
+    public CloudWatchClient cloudWatchClient(AwsMetricsInterceptor awsMetricsInterceptor, AwsHttpClients awsHttpClients,
+                                             CloudWatchMetricsProperties properties) {
+        // PutMetricData supports gzip request bodies; large packed batches compress well
+        return CloudWatchClient.builder()
+                .applyMutation(this::endpointOverride)
+                .httpClient(awsHttpClients.httpClient("cloudwatch"))
+                .overrideConfiguration(overrides(awsMetricsInterceptor, awsHttpClients, "cloudwatch")
+                        .compressionConfiguration(CompressionConfiguration.builder()
+                                .requestCompressionEnabled(properties.isCompress())
+                                .minimumCompressionThresholdInBytes((int) properties.getCompressionThreshold().toBytes())
+                                .build())
+                        .build())
+                .build();
+    }
+    
+    // Clients created by Spring Cloud AWS auto-configuration are instrumented through customizers;
+    // the synchronous ones also use the pooled HTTP clients
+    
+    @Bean
+    public AwsClientCustomizer<SqsAsyncClientBuilder> sqsAsyncClientCustomizer(AwsMetricsInterceptor awsMetricsInterceptor) {
+        return new AwsClientCustomizer<>() {
+            @Override
+            public ClientOverrideConfiguration overrideConfiguration() {
+                return ClientOverrideConfiguration.builder()
+                        .addExecutionInterceptor(awsMetricsInterceptor)
+                        .build();
+            }
+        };
+    }
+    
+    @Bean
+    public AwsClientCustomizer<DynamoDbClientBuilder> dynamoDbClientCustomizer(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                                               AwsHttpClients awsHttpClients) {
+        return syncClientCustomizer(awsMetricsInterceptor, awsHttpClients, "dynamodb");
+    }
+    
+    @Bean
+    public AwsClientCustomizer<SesClientBuilder> sesClientCustomizer(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                                     AwsHttpClients awsHttpClients) {
+        return syncClientCustomizer(awsMetricsInterceptor, awsHttpClients, "ses");
+    }
+    
+    private void endpointOverride(SdkClientBuilder<?, ?> builder) {
+        if (endpoint != null) {
+            builder.endpointOverride(endpoint);
+        }
+    }
+    
+    private static ClientOverrideConfiguration.Builder overrides(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                                AwsHttpClients awsHttpClients, String service) {
+        return awsHttpClients.withPoolMetrics(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(awsMetricsInterceptor), service);
+    }
+    
+    private static <T> AwsClientCustomizer<T> syncClientCustomizer(AwsMetricsInterceptor awsMetricsInterceptor,
+                                                                   AwsHttpClients awsHttpClients, String service) {
+        return new AwsClientCustomizer<>() {
+            @Override
+            public ClientOverrideConfiguration overrideConfiguration() {
+                return overrides(awsMetricsInterceptor, awsHttpClients, service).build();
+            }
+            
+            @Override
+            public SdkHttpClient httpClient() {
+                return awsHttpClients.httpClient(service);
+            }
+        };
     }
 }
-
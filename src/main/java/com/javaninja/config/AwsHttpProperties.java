@@ -0,0 +1,105 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pool and timeout settings for the Apache HTTP client used by the synchronous AWS clients.
+ * Clients share one pool built from the top-level settings; a service listed under {@code services}
+ * gets a pool of its own, with any setting it leaves unset taken from the top level.
+ */
+@ConfigurationProperties(prefix = "aws.http")
+public class AwsHttpProperties {
+    
+    private int maxConnections = 50;
+    
+    // How long a call waits for a free pooled connection before failing
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+    
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration socketTimeout = Duration.ofSeconds(30);
+    
+    // Idle connections are closed by a background reaper after connection-max-idle-time;
+    // zero time-to-live keeps connections until they go idle
+    private boolean useIdleConnectionReaper = true;
+    private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+    private Duration connectionTimeToLive = Duration.ZERO;
+    
+    private boolean tcpKeepAlive = true;
+    
+    // Publish pool leased/available/pending gauges, sampled on each call
+    private boolean metricsEnabled = true;
+    
+    // Keyed by service: sns, s3, secrets-manager, ssm, cloudwatch, dynamodb, ses
+    private Map<String, Pool> services = new LinkedHashMap<>();
+    
+    // Getters and Setters
+    public int getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+    
+    public Duration getConnectionAcquisitionTimeout() { return connectionAcquisitionTimeout; }
+    public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) { this.connectionAcquisitionTimeout = connectionAcquisitionTimeout; }
+    
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+    
+    public Duration getSocketTimeout() { return socketTimeout; }
+    public void setSocketTimeout(Duration socketTimeout) { this.socketTimeout = socketTimeout; }
+    
+    public boolean isUseIdleConnectionReaper() { return useIdleConnectionReaper; }
+    public void setUseIdleConnectionReaper(boolean useIdleConnectionReaper) { this.useIdleConnectionReaper = useIdleConnectionReaper; }
+    
+    public Duration getConnectionMaxIdleTime() { return connectionMaxIdleTime; }
+    public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) { this.connectionMaxIdleTime = connectionMaxIdleTime; }
+    
+    public Duration getConnectionTimeToLive() { return connectionTimeToLive; }
+    public void setConnectionTimeToLive(Duration connectionTimeToLive) { this.connectionTimeToLive = connectionTimeToLive; }
+    
+    public boolean isTcpKeepAlive() { return tcpKeepAlive; }
+    public void setTcpKeepAlive(boolean tcpKeepAlive) { this.tcpKeepAlive = tcpKeepAlive; }
+    
+    public boolean isMetricsEnabled() { return metricsEnabled; }
+    public void setMetricsEnabled(boolean metricsEnabled) { this.metricsEnabled = metricsEnabled; }
+    
+    public Map<String, Pool> getServices() { return services; }
+    public void setServices(Map<String, Pool> services) { this.services = services; }
+    
+    /**
+     * Per-service pool settings; null values fall back to the top-level settings.
+     */
+    public static class Pool {
+        
+        private Integer maxConnections;
+        private Duration connectionAcquisitionTimeout;
+        private Duration connectionTimeout;
+        private Duration socketTimeout;
+        private Duration connectionMaxIdleTime;
+        private Duration connectionTimeToLive;
+        private Boolean tcpKeepAlive;
+        
+        // Getters and Setters
+        public Integer getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(Integer maxConnections) { this.maxConnections = maxConnections; }
+        
+        public Duration getConnectionAcquisitionTimeout() { return connectionAcquisitionTimeout; }
+        public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) { this.connectionAcquisitionTimeout = connectionAcquisitionTimeout; }
+        
+        public Duration getConnectionTimeout() { return connectionTimeout; }
+        public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+        
+        public Duration getSocketTimeout() { return socketTimeout; }
+        public void setSocketTimeout(Duration socketTimeout) { this.socketTimeout = socketTimeout; }
+        
+        public Duration getConnectionMaxIdleTime() { return connectionMaxIdleTime; }
+        public void setConnectionMaxIdleTime(Duration connectionMaxIdleTime) { this.connectionMaxIdleTime = connectionMaxIdleTime; }
+        
+        public Duration getConnectionTimeToLive() { return connectionTimeToLive; }
+        public void setConnectionTimeToLive(Duration connectionTimeToLive) { this.connectionTimeToLive = connectionTimeToLive; }
+        
+        public Boolean getTcpKeepAlive() { return tcpKeepAlive; }
+        public void setTcpKeepAlive(Boolean tcpKeepAlive) { this.tcpKeepAlive = tcpKeepAlive; }
+    }
+}
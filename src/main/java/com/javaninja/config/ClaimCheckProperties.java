@@ -0,0 +1,36 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for offloading large SQS/SNS message bodies to S3 (claim-check pattern).
+ * <p>
+ * Bodies sent to a single SQS queue are deleted once their consumer acknowledges them. Bodies
+ * published to SNS, including broadcasts to several topics, reach any number of subscribers and
+ * are never deleted by the application: the bucket needs an S3 lifecycle rule expiring objects
+ * under {@code key-prefix} after longer than the longest queue retention (14 days at most).
+ */
+@ConfigurationProperties(prefix = "aws.services.claim-check")
+public class ClaimCheckProperties {
+    
+    private boolean enabled = false;
+    private String bucketName;
+    private String keyPrefix = "claim-check/";
+    
+    // Bodies larger than this are moved to S3; SQS and SNS reject anything above 256 KB
+    private DataSize threshold = DataSize.ofKilobytes(240);
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getBucketName() { return bucketName; }
+    public void setBucketName(String bucketName) { this.bucketName = bucketName; }
+    
+    public String getKeyPrefix() { return keyPrefix; }
+    public void setKeyPrefix(String keyPrefix) { this.keyPrefix = keyPrefix; }
+    
+    public DataSize getThreshold() { return threshold; }
+    public void setThreshold(DataSize threshold) { this.threshold = threshold; }
+}
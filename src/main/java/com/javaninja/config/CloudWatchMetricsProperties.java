@@ -0,0 +1,88 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the batched CloudWatch metric publisher.
+ */
+@ConfigurationProperties(prefix = "aws.services.cloudwatch")
+public class CloudWatchMetricsProperties {
+    
+    private boolean enabled = false;
+    private String namespace = "SpringCloudAwsPoc";
+    
+    // Micrometer counters and gauges exported each interval, by name prefix; AWS call latency is always exported
+    private List<String> meters = new ArrayList<>(List.of("aws.client", "aws.http.pool"));
+    
+    // Dimensions added to every datum
+    private Map<String, String> dimensions = new LinkedHashMap<>();
+    
+    // Values are aggregated per interval; intervals under a minute are stored at 1 second resolution
+    private Duration interval = Duration.ofMinutes(1);
+    
+    // Relative width of histogram buckets; values are rounded to the nearest bucket before publishing
+    private double histogramPrecision = 0.01;
+    
+    // Distinct series per interval; values for new series are dropped beyond this
+    private int maxSeries = 10000;
+    
+    private int threads = 2;
+    
+    // PutMetricData calls waiting to be sent; a flush that would exceed this drops the extra calls
+    private int maxPendingRequests = 32;
+    
+    // PutMetricData limits: 1000 datums and 1 MB per call
+    private int maxDatumsPerRequest = 1000;
+    private DataSize maxRequestSize = DataSize.ofKilobytes(1000);
+    
+    // Gzip request bodies of at least compression-threshold
+    private boolean compress = true;
+    private DataSize compressionThreshold = DataSize.ofKilobytes(10);
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getNamespace() { return namespace; }
+    public void setNamespace(String namespace) { this.namespace = namespace; }
+    
+    public List<String> getMeters() { return meters; }
+    public void setMeters(List<String> meters) { this.meters = meters; }
+    
+    public Map<String, String> getDimensions() { return dimensions; }
+    public void setDimensions(Map<String, String> dimensions) { this.dimensions = dimensions; }
+    
+    public Duration getInterval() { return interval; }
+    public void setInterval(Duration interval) { this.interval = interval; }
+    
+    public double getHistogramPrecision() { return histogramPrecision; }
+    public void setHistogramPrecision(double histogramPrecision) { this.histogramPrecision = histogramPrecision; }
+    
+    public int getMaxSeries() { return maxSeries; }
+    public void setMaxSeries(int maxSeries) { this.maxSeries = maxSeries; }
+    
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getMaxPendingRequests() { return maxPendingRequests; }
+    public void setMaxPendingRequests(int maxPendingRequests) { this.maxPendingRequests = maxPendingRequests; }
+    
+    public int getMaxDatumsPerRequest() { return maxDatumsPerRequest; }
+    public void setMaxDatumsPerRequest(int maxDatumsPerRequest) { this.maxDatumsPerRequest = maxDatumsPerRequest; }
+    
+    public DataSize getMaxRequestSize() { return maxRequestSize; }
+    public void setMaxRequestSize(DataSize maxRequestSize) { this.maxRequestSize = maxRequestSize; }
+    
+    public boolean isCompress() { return compress; }
+    public void setCompress(boolean compress) { this.compress = compress; }
+    
+    public DataSize getCompressionThreshold() { return compressionThreshold; }
+    public void setCompressionThreshold(DataSize compressionThreshold) { this.compressionThreshold = compressionThreshold; }
+}
@@ -0,0 +1,51 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DynamoDB table names and batch retry settings.
+ */
+@ConfigurationProperties(prefix = "aws.services.dynamodb")
+public class DynamoDbProperties {
+    
+    // Logical name (users, orders, sessions) -> table name
+    private Map<String, String> tables = new LinkedHashMap<>();
+    
+    private Batch batch = new Batch();
+    
+    // Getters and Setters
+    public Map<String, String> getTables() { return tables; }
+    public void setTables(Map<String, String> tables) { this.tables = tables; }
+    
+    public Batch getBatch() { return batch; }
+    public void setBatch(Batch batch) { this.batch = batch; }
+    
+    public String tableName(String logicalName) {
+        String tableName = tables.get(logicalName);
+        if (tableName == null) {
+            throw new IllegalStateException("aws.services.dynamodb.tables." + logicalName + " is not configured");
+        }
+        return tableName;
+    }
+    
+    public static class Batch {
+        
+        // Retries for unprocessed keys/items before the batch call fails
+        private int maxAttempts = 8;
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        
+        public Duration getInitialBackoff() { return initialBackoff; }
+        public void setInitialBackoff(Duration initialBackoff) { this.initialBackoff = initialBackoff; }
+        
+        public Duration getMaxBackoff() { return maxBackoff; }
+        public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+    }
+}
@@ -0,0 +1,81 @@
+package com.javaninja.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+    
+    public static final String AWS_FAN_OUT_EXECUTOR = "awsFanOutExecutor";
+    public static final String AWS_FAN_OUT_TASK_EXECUTOR = "awsFanOutTaskExecutor";
+    public static final String SNS_PUBLISH_EXECUTOR = "snsPublishExecutor";
+    
+    /**
+     * Bounded pool for parallel AWS calls (batch chunks, multi-topic publishes, secret fetches).
+     * When saturated the caller runs the task itself, which throttles the fan-out naturally.
+     */
+    @Bean(name = AWS_FAN_OUT_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService awsFanOutExecutor(FanOutProperties properties) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("aws-fan-out-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    /**
+     * Virtual-thread variant used when {@code spring.threads.virtual.enabled} is set on Java 21.
+     * Every call gets a fresh virtual thread, so a blocking SDK call no longer holds a pooled one;
+     * {@code virtual-concurrency} still bounds the calls in flight and makes callers wait when reached.
+     * The adapter cannot be shut down itself; the task executor behind it is closed instead.
+     */
+    @Bean(name = AWS_FAN_OUT_EXECUTOR, destroyMethod = "")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualAwsFanOutExecutor(
+            @Qualifier(AWS_FAN_OUT_TASK_EXECUTOR) SimpleAsyncTaskExecutor taskExecutor) {
+        return new ExecutorServiceAdapter(taskExecutor);
+    }
+    
+    /**
+     * Pool for SNS publishes sent off the caller's thread: auto-batches and broadcast lanes.
+     * Unlike the fan-out pool it rejects when saturated, since running the send on the submitting
+     * thread would stall the auto-batch linger timer or keep a broadcast past its deadline.
+     */
+    @Bean(name = SNS_PUBLISH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService snsPublishExecutor(SnsPublishProperties properties) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getPublishThreads(), properties.getPublishThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getPublishQueueCapacity()),
+                new CustomizableThreadFactory("sns-publish-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    @Bean(name = AWS_FAN_OUT_TASK_EXECUTOR, destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor awsFanOutTaskExecutor(FanOutProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("aws-fan-out-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getVirtualConcurrency());
+        // Lets close() wait for in-flight calls on shutdown, like the pool's shutdown()
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for parallel scan exports of DynamoDB tables to S3.
+ * <p>
+ * Each segment is written as a multipart upload that stays open until the segment finishes, so
+ * an export that fails and is never resumed or discarded leaves parts that are billed as storage.
+ * Give the bucket an AbortIncompleteMultipartUpload lifecycle rule on {@code keyPrefix}, with more
+ * days than an export may sit waiting to be resumed, so S3 cleans those up.
+ */
+@ConfigurationProperties(prefix = "aws.services.dynamodb.export")
+public class ExportProperties {
+    
+    private String bucketName = "spring-cloud-aws-backups";
+    private String keyPrefix = "exports/";
+    
+    // Scan segments per export; each segment becomes one S3 object
+    private int segments = 8;
+    
+    // Segments scanned at the same time across all exports
+    private int threads = 4;
+    
+    // Items per Scan page; checkpoints fall on page boundaries
+    private int pageSize = 1000;
+    
+    // Share of the table's read capacity the export may consume
+    private int readCapacityPercent = 25;
+    
+    // Read capacity assumed for on-demand tables, which report none
+    private long onDemandReadCapacity = 1000;
+    
+    // Compressed bytes buffered before a part is uploaded (S3 requires at least 5MB except for the last part)
+    private DataSize partSize = DataSize.ofMegabytes(8);
+    
+    // Getters and Setters
+    public String getBucketName() { return bucketName; }
+    public void setBucketName(String bucketName) { this.bucketName = bucketName; }
+    
+    public String getKeyPrefix() { return keyPrefix; }
+    public void setKeyPrefix(String keyPrefix) { this.keyPrefix = keyPrefix; }
+    
+    public int getSegments() { return segments; }
+    public void setSegments(int segments) { this.segments = segments; }
+    
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+    
+    public int getReadCapacityPercent() { return readCapacityPercent; }
+    public void setReadCapacityPercent(int readCapacityPercent) { this.readCapacityPercent = readCapacityPercent; }
+    
+    public long getOnDemandReadCapacity() { return onDemandReadCapacity; }
+    public void setOnDemandReadCapacity(long onDemandReadCapacity) { this.onDemandReadCapacity = onDemandReadCapacity; }
+    
+    public DataSize getPartSize() { return partSize; }
+    public void setPartSize(DataSize partSize) { this.partSize = partSize; }
+}
@@ -0,0 +1,27 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the executor that services use to run independent AWS calls in parallel.
+ */
+@ConfigurationProperties(prefix = "aws.fan-out")
+public class FanOutProperties {
+    
+    private int threads = 16;
+    private int queueCapacity = 1000;
+    
+    // With spring.threads.virtual.enabled each call gets its own virtual thread; this caps how
+    // many run at once, and callers wait for a slot instead of queueing
+    private int virtualConcurrency = 256;
+    
+    // Getters and Setters
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    
+    public int getVirtualConcurrency() { return virtualConcurrency; }
+    public void setVirtualConcurrency(int virtualConcurrency) { this.virtualConcurrency = virtualConcurrency; }
+}
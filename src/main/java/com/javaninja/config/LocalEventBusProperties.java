@@ -0,0 +1,22 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the executor that delivers SNS publishes to in-process subscribers.
+ */
+@ConfigurationProperties(prefix = "aws.services.sns.local-bus")
+public class LocalEventBusProperties {
+    
+    private int threads = 4;
+    
+    // When the queue is full the publishing thread delivers the event itself
+    private int queueCapacity = 1000;
+    
+    // Getters and Setters
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+}
@@ -0,0 +1,24 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the transport codec applied to outgoing SQS/SNS message bodies.
+ */
+@ConfigurationProperties(prefix = "aws.services.codec")
+public class MessageCodecProperties {
+    
+    // json (pass-through), smile, cbor, optionally suffixed with +deflate or +gzip
+    private String name = "json";
+    
+    // Bodies below this size are sent as plain JSON; base64 overhead outweighs the savings
+    private DataSize minSize = DataSize.ofBytes(1024);
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public DataSize getMinSize() { return minSize; }
+    public void setMinSize(DataSize minSize) { this.minSize = minSize; }
+}
@@ -0,0 +1,48 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the local write-ahead outbox that absorbs SQS/SNS sends during throttling or outages.
+ */
+@ConfigurationProperties(prefix = "aws.services.outbox")
+public class OutboxProperties {
+    
+    private boolean enabled = false;
+    private String directory = "data/outbox";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    
+    // Appends are fsynced in groups at this interval rather than one by one
+    private Duration flushInterval = Duration.ofMillis(50);
+    
+    private Duration drainInterval = Duration.ofMillis(250);
+    private int drainBatchSize = 100;
+    
+    // Times an entry may be rejected on its own before it is moved to the dead-letter log
+    private int maxAttempts = 5;
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    
+    public DataSize getSegmentSize() { return segmentSize; }
+    public void setSegmentSize(DataSize segmentSize) { this.segmentSize = segmentSize; }
+    
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+    
+    public Duration getDrainInterval() { return drainInterval; }
+    public void setDrainInterval(Duration drainInterval) { this.drainInterval = drainInterval; }
+    
+    public int getDrainBatchSize() { return drainBatchSize; }
+    public void setDrainBatchSize(int drainBatchSize) { this.drainBatchSize = drainBatchSize; }
+    
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+}
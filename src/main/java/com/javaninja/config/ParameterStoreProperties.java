@@ -0,0 +1,39 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameter Store hierarchies cached by {@code ParameterStoreService}.
+ */
+@ConfigurationProperties(prefix = "aws.services.parameter-store")
+public class ParameterStoreProperties {
+    
+    // Loaded recursively with GetParametersByPath at startup and on every refresh
+    private List<String> paths = new ArrayList<>();
+    
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    
+    // Paths requested through the API beyond the configured ones that are cached and refreshed;
+    // further paths, and the root path, are fetched on every request instead
+    private int maxRequestedPaths = 20;
+    
+    // Decrypt SecureString parameters
+    private boolean withDecryption = true;
+    
+    // Getters and Setters
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+    
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+    
+    public int getMaxRequestedPaths() { return maxRequestedPaths; }
+    public void setMaxRequestedPaths(int maxRequestedPaths) { this.maxRequestedPaths = maxRequestedPaths; }
+    
+    public boolean isWithDecryption() { return withDecryption; }
+    public void setWithDecryption(boolean withDecryption) { this.withDecryption = withDecryption; }
+}
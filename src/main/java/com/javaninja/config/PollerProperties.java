@@ -0,0 +1,68 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the weighted fair multi-queue consumer.
+ */
+@ConfigurationProperties(prefix = "aws.services.sqs.poller")
+public class PollerProperties {
+    
+    private boolean enabled = false;
+    
+    // Size of the worker pool shared by all queues
+    private int workerThreads = 8;
+    
+    // Messages buffered per queue ahead of dispatch
+    private int prefetch = 20;
+    
+    private Duration waitTime = Duration.ofSeconds(10);
+    
+    // Requested on every receive; prefetched messages must be handled well within it
+    private Duration visibilityTimeout = Duration.ofSeconds(30);
+    
+    // Buffered messages older than this are handed back to SQS instead of being dispatched
+    private Duration maxPrefetchAge = Duration.ofSeconds(15);
+    
+    private List<QueueSettings> queues = new ArrayList<>();
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public int getWorkerThreads() { return workerThreads; }
+    public void setWorkerThreads(int workerThreads) { this.workerThreads = workerThreads; }
+    
+    public int getPrefetch() { return prefetch; }
+    public void setPrefetch(int prefetch) { this.prefetch = prefetch; }
+    
+    public Duration getWaitTime() { return waitTime; }
+    public void setWaitTime(Duration waitTime) { this.waitTime = waitTime; }
+    
+    public Duration getVisibilityTimeout() { return visibilityTimeout; }
+    public void setVisibilityTimeout(Duration visibilityTimeout) { this.visibilityTimeout = visibilityTimeout; }
+    
+    public Duration getMaxPrefetchAge() { return maxPrefetchAge; }
+    public void setMaxPrefetchAge(Duration maxPrefetchAge) { this.maxPrefetchAge = maxPrefetchAge; }
+    
+    public List<QueueSettings> getQueues() { return queues; }
+    public void setQueues(List<QueueSettings> queues) { this.queues = queues; }
+    
+    public static class QueueSettings {
+        
+        private String name;
+        
+        // Relative share of worker capacity while this queue has backlog
+        private int weight = 1;
+        
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        
+        public int getWeight() { return weight; }
+        public void setWeight(int weight) { this.weight = weight; }
+    }
+}
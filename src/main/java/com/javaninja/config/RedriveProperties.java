@@ -0,0 +1,44 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Defaults for dead-letter queue redrive jobs; each can be overridden per request.
+ */
+@ConfigurationProperties(prefix = "aws.services.sqs.redrive")
+public class RedriveProperties {
+    
+    private String sourceQueue = "dead-letter-queue";
+    private int concurrency = 4;
+    private int maxMessagesPerSecond = 100;
+    
+    // Messages rejected by a filter stay invisible this long so workers do not see them again
+    private Duration visibilityTimeout = Duration.ofMinutes(5);
+    
+    // Workers stop after this many consecutive empty receives
+    private int emptyReceivesBeforeStop = 2;
+    
+    // Finished jobs can still be queried for this long before they are dropped
+    private Duration jobRetention = Duration.ofHours(1);
+    
+    // Getters and Setters
+    public String getSourceQueue() { return sourceQueue; }
+    public void setSourceQueue(String sourceQueue) { this.sourceQueue = sourceQueue; }
+    
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    
+    public int getMaxMessagesPerSecond() { return maxMessagesPerSecond; }
+    public void setMaxMessagesPerSecond(int maxMessagesPerSecond) { this.maxMessagesPerSecond = maxMessagesPerSecond; }
+    
+    public Duration getVisibilityTimeout() { return visibilityTimeout; }
+    public void setVisibilityTimeout(Duration visibilityTimeout) { this.visibilityTimeout = visibilityTimeout; }
+    
+    public int getEmptyReceivesBeforeStop() { return emptyReceivesBeforeStop; }
+    public void setEmptyReceivesBeforeStop(int emptyReceivesBeforeStop) { this.emptyReceivesBeforeStop = emptyReceivesBeforeStop; }
+    
+    public Duration getJobRetention() { return jobRetention; }
+    public void setJobRetention(Duration jobRetention) { this.jobRetention = jobRetention; }
+}
@@ -0,0 +1,46 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for scheduling SQS messages beyond the native 15 minute delay limit.
+ */
+@ConfigurationProperties(prefix = "aws.services.sqs.scheduler")
+public class SchedulerProperties {
+    
+    private boolean enabled = false;
+    private String directory = "data/scheduler";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 512;
+    
+    // Pending entries are rewritten into fresh segments once the log grows past this many segments
+    private int compactionSegments = 8;
+    
+    private Duration retryDelay = Duration.ofSeconds(5);
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    
+    public DataSize getSegmentSize() { return segmentSize; }
+    public void setSegmentSize(DataSize segmentSize) { this.segmentSize = segmentSize; }
+    
+    public Duration getTick() { return tick; }
+    public void setTick(Duration tick) { this.tick = tick; }
+    
+    public int getWheelSize() { return wheelSize; }
+    public void setWheelSize(int wheelSize) { this.wheelSize = wheelSize; }
+    
+    public int getCompactionSegments() { return compactionSegments; }
+    public void setCompactionSegments(int compactionSegments) { this.compactionSegments = compactionSegments; }
+    
+    public Duration getRetryDelay() { return retryDelay; }
+    public void setRetryDelay(Duration retryDelay) { this.retryDelay = retryDelay; }
+}
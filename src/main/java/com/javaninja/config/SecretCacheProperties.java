@@ -0,0 +1,30 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for caching Secrets Manager values in memory.
+ */
+@ConfigurationProperties(prefix = "aws.services.secrets-manager.cache")
+public class SecretCacheProperties {
+    
+    private boolean enabled = true;
+    
+    // Values younger than this are served without calling Secrets Manager
+    private Duration ttl = Duration.ofMinutes(5);
+    
+    // Past the ttl, values are still served for this long while a background refresh runs
+    private Duration maxStale = Duration.ofHours(1);
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+    
+    public Duration getMaxStale() { return maxStale; }
+    public void setMaxStale(Duration maxStale) { this.maxStale = maxStale; }
+}
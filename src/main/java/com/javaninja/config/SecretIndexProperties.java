@@ -0,0 +1,24 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the local index of secret metadata built from ListSecrets.
+ */
+@ConfigurationProperties(prefix = "aws.services.secrets-manager.index")
+public class SecretIndexProperties {
+    
+    // When disabled, existence checks and metadata lookups call DescribeSecret
+    private boolean enabled = true;
+    
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
@@ -0,0 +1,25 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Secrets fetched into the value cache at startup, before the application reports ready.
+ */
+@ConfigurationProperties(prefix = "aws.services.secrets-manager.warm-up")
+public class SecretWarmUpProperties {
+    
+    private List<String> secretIds = new ArrayList<>();
+    
+    // Abort startup when any listed secret cannot be fetched
+    private boolean failOnError = false;
+    
+    // Getters and Setters
+    public List<String> getSecretIds() { return secretIds; }
+    public void setSecretIds(List<String> secretIds) { this.secretIds = secretIds; }
+    
+    public boolean isFailOnError() { return failOnError; }
+    public void setFailOnError(boolean failOnError) { this.failOnError = failOnError; }
+}
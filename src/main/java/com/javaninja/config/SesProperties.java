@@ -0,0 +1,61 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for sending email through SES, including the adaptive send-rate limiter.
+ */
+@ConfigurationProperties(prefix = "aws.services.ses")
+public class SesProperties {
+    
+    // Verified sender used when a request does not name one
+    private String source;
+    private String configurationSetName;
+    
+    // Fraction of the account's max send rate to aim for
+    private double rateUtilization = 1.0;
+    
+    // Rate used until GetSendQuota succeeds, and the floor after throttling
+    private double minSendRate = 1;
+    
+    // On throttling the rate is multiplied by this factor; it then grows back by
+    // increase-step of the ceiling per recovery-interval without throttling
+    private double decreaseFactor = 0.5;
+    private double increaseStep = 0.1;
+    private Duration recoveryInterval = Duration.ofSeconds(5);
+    
+    // Attempts per destination that SES reports as throttled
+    private int maxAttempts = 3;
+    
+    private Duration quotaRefreshInterval = Duration.ofMinutes(5);
+    
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    
+    public String getConfigurationSetName() { return configurationSetName; }
+    public void setConfigurationSetName(String configurationSetName) { this.configurationSetName = configurationSetName; }
+    
+    public double getRateUtilization() { return rateUtilization; }
+    public void setRateUtilization(double rateUtilization) { this.rateUtilization = rateUtilization; }
+    
+    public double getMinSendRate() { return minSendRate; }
+    public void setMinSendRate(double minSendRate) { this.minSendRate = minSendRate; }
+    
+    public double getDecreaseFactor() { return decreaseFactor; }
+    public void setDecreaseFactor(double decreaseFactor) { this.decreaseFactor = decreaseFactor; }
+    
+    public double getIncreaseStep() { return increaseStep; }
+    public void setIncreaseStep(double increaseStep) { this.increaseStep = increaseStep; }
+    
+    public Duration getRecoveryInterval() { return recoveryInterval; }
+    public void setRecoveryInterval(Duration recoveryInterval) { this.recoveryInterval = recoveryInterval; }
+    
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    
+    public Duration getQuotaRefreshInterval() { return quotaRefreshInterval; }
+    public void setQuotaRefreshInterval(Duration quotaRefreshInterval) { this.quotaRefreshInterval = quotaRefreshInterval; }
+}
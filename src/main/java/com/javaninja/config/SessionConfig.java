@@ -0,0 +1,25 @@
+package com.javaninja.config;
+
+import com.javaninja.repository.DynamoDbSessionRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+/**
+ * Stores HTTP sessions in DynamoDB when {@code aws.services.dynamodb.sessions.enabled} is set.
+ * Kept off the application class so web slice tests are unaffected.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "aws.services.dynamodb.sessions", name = "enabled", havingValue = "true")
+@EnableSpringHttpSession
+public class SessionConfig {
+    
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public DynamoDbSessionRepository sessionRepository(DynamoDbClient dynamoDbClient,
+                                                       DynamoDbProperties dynamoDbProperties,
+                                                       SessionStoreProperties properties) {
+        return new DynamoDbSessionRepository(dynamoDbClient, dynamoDbProperties.tableName("sessions"), properties);
+    }
+}
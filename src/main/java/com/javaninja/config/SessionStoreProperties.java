@@ -0,0 +1,53 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for storing HTTP sessions in the DynamoDB sessions table.
+ */
+@ConfigurationProperties(prefix = "aws.services.dynamodb.sessions")
+public class SessionStoreProperties {
+    
+    private boolean enabled = false;
+    
+    private Duration maxInactiveInterval = Duration.ofMinutes(30);
+    
+    // Cached sessions are reloaded after this long, bounding staleness from writes on other instances
+    private Duration nearCacheTtl = Duration.ofMinutes(1);
+    
+    // Attribute changes are coalesced per session and written at most once per delay
+    private Duration writeBehindDelay = Duration.ofMillis(500);
+    
+    // Requests that only touch the session persist the new access time at most this often
+    private Duration touchInterval = Duration.ofMinutes(1);
+    
+    // Conditional-write attempts when another instance updated the session concurrently
+    private int maxAttempts = 3;
+    
+    // Epoch-seconds attribute configured as the table's TTL attribute
+    private String ttlAttribute = "expiresAt";
+    
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getMaxInactiveInterval() { return maxInactiveInterval; }
+    public void setMaxInactiveInterval(Duration maxInactiveInterval) { this.maxInactiveInterval = maxInactiveInterval; }
+    
+    public Duration getNearCacheTtl() { return nearCacheTtl; }
+    public void setNearCacheTtl(Duration nearCacheTtl) { this.nearCacheTtl = nearCacheTtl; }
+    
+    public Duration getWriteBehindDelay() { return writeBehindDelay; }
+    public void setWriteBehindDelay(Duration writeBehindDelay) { this.writeBehindDelay = writeBehindDelay; }
+    
+    public Duration getTouchInterval() { return touchInterval; }
+    public void setTouchInterval(Duration touchInterval) { this.touchInterval = touchInterval; }
+    
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    
+    public String getTtlAttribute() { return ttlAttribute; }
+    public void setTtlAttribute(String ttlAttribute) { this.ttlAttribute = ttlAttribute; }
+}
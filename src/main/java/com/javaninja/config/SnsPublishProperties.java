@@ -0,0 +1,47 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for batching and broadcasting SNS publishes.
+ */
+@ConfigurationProperties(prefix = "aws.services.sns.publish")
+public class SnsPublishProperties {
+    
+    // Coalesce concurrent single publishes to the same topic into PublishBatch calls
+    private boolean autoBatch = false;
+    
+    // How long the first message of a batch waits for others to join it
+    private Duration linger = Duration.ofMillis(5);
+    
+    // Pool that sends auto-batched publishes and broadcast lanes; work beyond the queue fails instead of waiting
+    private int publishThreads = 8;
+    private int publishQueueCapacity = 1000;
+    
+    // Maximum topics published to concurrently by a single broadcast
+    private int broadcastConcurrency = 8;
+    
+    // Broadcasts return after this long; topics still being published are reported as UNKNOWN
+    private Duration broadcastDeadline = Duration.ofSeconds(5);
+    
+    // Getters and Setters
+    public boolean isAutoBatch() { return autoBatch; }
+    public void setAutoBatch(boolean autoBatch) { this.autoBatch = autoBatch; }
+    
+    public Duration getLinger() { return linger; }
+    public void setLinger(Duration linger) { this.linger = linger; }
+    
+    public int getPublishThreads() { return publishThreads; }
+    public void setPublishThreads(int publishThreads) { this.publishThreads = publishThreads; }
+    
+    public int getPublishQueueCapacity() { return publishQueueCapacity; }
+    public void setPublishQueueCapacity(int publishQueueCapacity) { this.publishQueueCapacity = publishQueueCapacity; }
+    
+    public int getBroadcastConcurrency() { return broadcastConcurrency; }
+    public void setBroadcastConcurrency(int broadcastConcurrency) { this.broadcastConcurrency = broadcastConcurrency; }
+    
+    public Duration getBroadcastDeadline() { return broadcastDeadline; }
+    public void setBroadcastDeadline(Duration broadcastDeadline) { this.broadcastDeadline = broadcastDeadline; }
+}
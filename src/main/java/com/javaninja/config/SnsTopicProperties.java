@@ -0,0 +1,48 @@
+package com.javaninja.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logical SNS topic names and the caching of their resolved ARNs and attributes.
+ */
+@ConfigurationProperties(prefix = "aws.services.sns")
+public class SnsTopicProperties {
+    
+    // Logical name -> topic name or full ARN
+    private Map<String, String> topics = new LinkedHashMap<>();
+    
+    private Registry registry = new Registry();
+    
+    // Getters and Setters
+    public Map<String, String> getTopics() { return topics; }
+    public void setTopics(Map<String, String> topics) { this.topics = topics; }
+    
+    public Registry getRegistry() { return registry; }
+    public void setRegistry(Registry registry) { this.registry = registry; }
+    
+    public static class Registry {
+        
+        // How long cached topic attributes and existence checks are trusted
+        private Duration ttl = Duration.ofMinutes(5);
+        
+        // How often cached topics are refreshed in the background; keep below ttl
+        private Duration refreshInterval = Duration.ofMinutes(2);
+        
+        // Unconfigured ARNs checked through exists() are cached up to this many, least recently
+        // used first out, and never refreshed in the background
+        private int maxProbedTopics = 1000;
+        
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+        
+        public Duration getRefreshInterval() { return refreshInterval; }
+        public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+        
+        public int getMaxProbedTopics() { return maxProbedTopics; }
+        public void setMaxProbedTopics(int maxProbedTopics) { this.maxProbedTopics = maxProbedTopics; }
+    }
+}
@@ -0,0 +1,182 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.S3ObjectRequest;
+import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.service.S3Service;
+import com.javaninja.service.SecretsManagerService;
+import com.javaninja.service.SnsService;
+import com.javaninja.service.UnknownTopicException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterparts of the S3, SNS and Secrets Manager endpoints. Each handler returns a
+ * {@link CompletableFuture}, so the servlet thread is released while the AWS call is in flight.
+ */
+@RestController
+@RequestMapping("/api/async")
+@ConditionalOnProperty(prefix = "aws.async", name = "enabled", havingValue = "true")
+@Tag(name = "Async AWS", description = "Non-blocking S3, SNS and Secrets Manager operations")
+public class AsyncAwsController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AsyncAwsController.class);
+    
+    private final S3Service s3Service;
+    private final SnsService snsService;
+    private final SecretsManagerService secretsManagerService;
+    
+    public AsyncAwsController(S3Service s3Service, SnsService snsService, SecretsManagerService secretsManagerService) {
+        this.s3Service = s3Service;
+        this.snsService = snsService;
+        this.secretsManagerService = secretsManagerService;
+    }
+    
+    @PostMapping("/s3/upload")
+    @Operation(summary = "Upload object to S3 bucket without blocking")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadObject(@Valid @RequestBody S3ObjectRequest request) {
+        return respond("Failed to upload object to S3", () -> s3Service.putObjectAsync(request)
+                .thenApply(eTag -> Map.of(
+                    "status", "SUCCESS",
+                    "eTag", eTag,
+                    "bucketName", request.getBucketName(),
+                    "objectKey", request.getObjectKey(),
+                    "timestamp", java.time.Instant.now().toString()
+                )));
+    }
+    
+    @GetMapping("/s3/download/{bucketName}/{objectKey}")
+    @Operation(summary = "Download object from S3 bucket without blocking")
+    public CompletableFuture<ResponseEntity<byte[]>> downloadObject(
+            @PathVariable String bucketName,
+            @PathVariable String objectKey) {
+        return invoke(() -> s3Service.getObjectAsync(bucketName, objectKey))
+                .handle((content, e) -> {
+                    if (e != null) {
+                        logger.error("Failed to download S3 object", unwrap(e));
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                    }
+                    return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header("Content-Disposition", "attachment; filename=\"" + objectKey + "\"")
+                        .body(content);
+                });
+    }
+    
+    @DeleteMapping("/s3/{bucketName}/{objectKey}")
+    @Operation(summary = "Delete object from S3 bucket without blocking")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> deleteObject(
+            @PathVariable String bucketName,
+            @PathVariable String objectKey) {
+        return respond("Failed to delete object from S3", () -> s3Service.deleteObjectAsync(bucketName, objectKey)
+                .thenApply(ignored -> Map.of(
+                    "status", "SUCCESS",
+                    "message", "Object deleted successfully",
+                    "bucketName", bucketName,
+                    "objectKey", objectKey,
+                    "timestamp", java.time.Instant.now().toString()
+                )));
+    }
+    
+    @GetMapping("/s3/list/{bucketName}")
+    @Operation(summary = "List objects in S3 bucket without blocking")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> listObjects(
+            @PathVariable String bucketName,
+            @RequestParam(required = false) String prefix) {
+        return respond("Failed to list objects in S3 bucket", () -> s3Service.listObjectsAsync(bucketName, prefix)
+                .thenApply((List<String> objectKeys) -> Map.of(
+                    "status", "SUCCESS",
+                    "bucketName", bucketName,
+                    "objectKeys", objectKeys,
+                    "count", objectKeys.size(),
+                    "timestamp", java.time.Instant.now().toString()
+                )));
+    }
+    
+    @PostMapping("/sns/publish")
+    @Operation(summary = "Publish message to SNS topic without blocking",
+               description = "Topic resolution, claim-check offload and outbox writes run on the SNS publish pool, "
+                       + "so the request thread is released immediately; a saturated pool fails the request")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> publishMessage(@Valid @RequestBody SnsMessageRequest request) {
+        return respond("Failed to publish message to SNS topic", () -> snsService.publishMessageAsync(request)
+                .thenApply(messageId -> Map.of(
+                    "status", "SUCCESS",
+                    "messageId", messageId,
+                    "topicArn", request.getTopicArn(),
+                    "timestamp", java.time.Instant.now().toString()
+                )));
+    }
+    
+    @GetMapping("/secrets/{secretName}")
+    @Operation(summary = "Get secret value without blocking")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getSecretValue(
+            @PathVariable String secretName,
+            @RequestParam(required = false) String versionStage) {
+        return respond("Failed to get secret value", () -> secretsManagerService.getSecretValueAsync(secretName, versionStage)
+                .thenApply(secretValue -> Map.of(
+                    "status", "SUCCESS",
+                    "secretName", secretName,
+                    "secretValue", secretValue,
+                    "timestamp", java.time.Instant.now().toString()
+                )));
+    }
+    
+    @GetMapping("/health")
+    @Operation(summary = "Check async AWS clients health")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of(
+            "service", "Async AWS",
+            "status", "UP",
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+    
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> respond(
+            String failureMessage, Supplier<CompletableFuture<Map<String, Object>>> action) {
+        return invoke(action).handle((body, e) -> {
+            if (e == null) {
+                return ResponseEntity.ok(body);
+            }
+            Throwable cause = unwrap(e);
+            HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+            if (cause instanceof UnknownTopicException) {
+                status = HttpStatus.NOT_FOUND;
+            } else {
+                logger.error(failureMessage, cause);
+            }
+            return ResponseEntity.status(status)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", failureMessage,
+                    "error", String.valueOf(cause.getMessage()),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        });
+    }
+    
+    // Failures thrown before a future exists are reported the same way as failed futures
+    private static <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
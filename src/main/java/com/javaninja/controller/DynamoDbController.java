@@ -0,0 +1,271 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.BatchGetRequest;
+import com.javaninja.model.dto.ExportRequest;
+import com.javaninja.model.entity.Order;
+import com.javaninja.model.entity.User;
+import com.javaninja.repository.BatchingDynamoDbRepository;
+import com.javaninja.repository.OrderRepository;
+import com.javaninja.repository.UserRepository;
+import com.javaninja.service.DynamoDbExportService;
+import com.javaninja.service.ExportJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/dynamodb")
+@Validated
+@Tag(name = "DynamoDB", description = "AWS DynamoDB operations for Users and Orders")
+public class DynamoDbController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbController.class);
+    
+    private final UserRepository userRepository;
+    private final OrderRepository orderRepository;
+    private final DynamoDbExportService exportService;
+    
+    public DynamoDbController(UserRepository userRepository, OrderRepository orderRepository,
+                              DynamoDbExportService exportService) {
+        this.userRepository = userRepository;
+        this.orderRepository = orderRepository;
+        this.exportService = exportService;
+    }
+    
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "Get a user by ID")
+    public ResponseEntity<Map<String, Object>> getUser(@PathVariable String userId) {
+        return findById(userRepository, "user", userId);
+    }
+    
+    @PostMapping("/users")
+    @Operation(summary = "Create or replace a user")
+    public ResponseEntity<Map<String, Object>> saveUser(@Valid @RequestBody User user) {
+        return execute("save user", () -> Map.of("item", userRepository.save(user)));
+    }
+    
+    @DeleteMapping("/users/{userId}")
+    @Operation(summary = "Delete a user by ID")
+    public ResponseEntity<Map<String, Object>> deleteUser(@PathVariable String userId) {
+        return deleteById(userRepository, "user", userId);
+    }
+    
+    @PostMapping("/users/batch-get")
+    @Operation(summary = "Get users by ID using BatchGetItem")
+    public ResponseEntity<Map<String, Object>> batchGetUsers(@Valid @RequestBody BatchGetRequest request) {
+        return findAllById(userRepository, "users", request.getIds());
+    }
+    
+    @PostMapping("/users/batch")
+    @Operation(summary = "Create or replace users using parallel BatchWriteItem calls")
+    public ResponseEntity<Map<String, Object>> saveUsers(@RequestBody @NotEmpty List<@Valid User> users) {
+        return execute("save users", () -> Map.of("saved", userRepository.saveAll(users)));
+    }
+    
+    @GetMapping("/orders/{orderId}")
+    @Operation(summary = "Get an order by ID")
+    public ResponseEntity<Map<String, Object>> getOrder(@PathVariable String orderId) {
+        return findById(orderRepository, "order", orderId);
+    }
+    
+    @PostMapping("/orders")
+    @Operation(summary = "Create or replace an order")
+    public ResponseEntity<Map<String, Object>> saveOrder(@Valid @RequestBody Order order) {
+        return execute("save order", () -> Map.of("item", orderRepository.save(order)));
+    }
+    
+    @DeleteMapping("/orders/{orderId}")
+    @Operation(summary = "Delete an order by ID")
+    public ResponseEntity<Map<String, Object>> deleteOrder(@PathVariable String orderId) {
+        return deleteById(orderRepository, "order", orderId);
+    }
+    
+    @PostMapping("/orders/batch-get")
+    @Operation(summary = "Get orders by ID using BatchGetItem")
+    public ResponseEntity<Map<String, Object>> batchGetOrders(@Valid @RequestBody BatchGetRequest request) {
+        return findAllById(orderRepository, "orders", request.getIds());
+    }
+    
+    @PostMapping("/orders/batch")
+    @Operation(summary = "Create or replace orders using parallel BatchWriteItem calls")
+    public ResponseEntity<Map<String, Object>> saveOrders(@RequestBody @NotEmpty List<@Valid Order> orders) {
+        return execute("save orders", () -> Map.of("saved", orderRepository.saveAll(orders)));
+    }
+    
+    @PostMapping("/exports")
+    @Operation(summary = "Export a table to S3 as gzip NDJSON, or resume an earlier export")
+    public ResponseEntity<Map<String, Object>> startExport(@Valid @RequestBody ExportRequest request) {
+        try {
+            ExportJob job = exportService.startExport(request.getTable(), request.getExportId(), request.getSegments());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toMap(job));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        } catch (Exception e) {
+            return error("start export", e);
+        }
+    }
+    
+    @GetMapping("/exports/{exportId}")
+    @Operation(summary = "Get the progress of an export")
+    public ResponseEntity<Map<String, Object>> getExport(@PathVariable String exportId) {
+        ExportJob job = exportService.getExport(exportId);
+        if (job == null) {
+            return notFound("export", exportId);
+        }
+        return ResponseEntity.ok(toMap(job));
+    }
+    
+    @DeleteMapping("/exports/{exportId}")
+    @Operation(summary = "Discard an unfinished export, aborting its open uploads and deleting its checkpoints")
+    public ResponseEntity<Map<String, Object>> discardExport(@PathVariable String exportId) {
+        try {
+            int aborted = exportService.discardExport(exportId);
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "message", "Export discarded",
+                "exportId", exportId,
+                "abortedUploads", aborted,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (IllegalArgumentException e) {
+            return notFound("export", exportId);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        } catch (Exception e) {
+            return error("discard export", e);
+        }
+    }
+    
+    @GetMapping("/health")
+    @Operation(summary = "Check DynamoDB service health")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of(
+            "service", "DynamoDB",
+            "status", "UP",
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+    
+    private <T> ResponseEntity<Map<String, Object>> findById(BatchingDynamoDbRepository<T> repository,
+                                                             String itemName, String id) {
+        try {
+            Optional<T> item = repository.findById(id);
+            if (item.isEmpty()) {
+                return notFound(itemName, id);
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "item", item.get(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            return error("get " + itemName, e);
+        }
+    }
+    
+    private <T> ResponseEntity<Map<String, Object>> deleteById(BatchingDynamoDbRepository<T> repository,
+                                                               String itemName, String id) {
+        try {
+            if (repository.deleteById(id).isEmpty()) {
+                return notFound(itemName, id);
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "message", "Deleted " + itemName + " " + id,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            return error("delete " + itemName, e);
+        }
+    }
+    
+    private <T> ResponseEntity<Map<String, Object>> findAllById(BatchingDynamoDbRepository<T> repository,
+                                                                String itemsName, List<String> ids) {
+        return execute("get " + itemsName, () -> {
+            List<T> items = repository.findAllById(ids);
+            return Map.of(
+                "items", items,
+                "count", items.size(),
+                "requested", ids.size()
+            );
+        });
+    }
+    
+    private ResponseEntity<Map<String, Object>> execute(String action, Supplier<Map<String, Object>> operation) {
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "SUCCESS");
+            body.putAll(operation.get());
+            body.put("timestamp", java.time.Instant.now().toString());
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return error(action, e);
+        }
+    }
+    
+    private static Map<String, Object> toMap(ExportJob job) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", job.getState());
+        body.put("exportId", job.getExportId());
+        body.put("tableName", job.getTableName());
+        body.put("location", job.getLocation());
+        body.put("segments", job.getTotalSegments());
+        body.put("completedSegments", job.getCompletedSegments());
+        body.put("itemCount", job.getItemCount());
+        body.put("startedAt", job.getStartedAt().toString());
+        if (job.getFinishedAt() != null) {
+            body.put("finishedAt", job.getFinishedAt().toString());
+        }
+        if (job.getError() != null) {
+            body.put("error", job.getError());
+        }
+        body.put("timestamp", java.time.Instant.now().toString());
+        return body;
+    }
+    
+    private ResponseEntity<Map<String, Object>> notFound(String itemName, String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(Map.of(
+                "status", "ERROR",
+                "message", Character.toUpperCase(itemName.charAt(0)) + itemName.substring(1) + " not found",
+                "id", id,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+    }
+    
+    private ResponseEntity<Map<String, Object>> error(String action, Exception e) {
+        logger.error("Failed to {}", action, e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(Map.of(
+                "status", "ERROR",
+                "message", "Failed to " + action,
+                "error", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+    }
+}
@@ -0,0 +1,152 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.ParameterBatchRequest;
+import com.javaninja.service.ParameterSnapshot;
+import com.javaninja.service.ParameterStoreService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/parameters")
+@Tag(name = "Parameter Store", description = "AWS Systems Manager Parameter Store operations")
+public class ParameterStoreController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ParameterStoreController.class);
+    
+    private final ParameterStoreService parameterStoreService;
+    
+    public ParameterStoreController(ParameterStoreService parameterStoreService) {
+        this.parameterStoreService = parameterStoreService;
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get a parameter value")
+    public ResponseEntity<Map<String, Object>> getParameter(@RequestParam String name) {
+        try {
+            String value = parameterStoreService.getParameter(name);
+            if (value == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                        "status", "ERROR",
+                        "message", "Parameter not found",
+                        "name", name,
+                        "timestamp", java.time.Instant.now().toString()
+                    ));
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "name", name,
+                "value", value,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get parameter", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get parameter",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Get several parameter values by name")
+    public ResponseEntity<Map<String, Object>> getParameters(@Valid @RequestBody ParameterBatchRequest request) {
+        try {
+            Map<String, String> values = parameterStoreService.getParameters(request.getNames());
+            List<String> notFound = new ArrayList<>(request.getNames());
+            notFound.removeAll(values.keySet());
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "parameters", values,
+                "notFound", notFound,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get parameters", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get parameters",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/path")
+    @Operation(summary = "Get all parameters under a hierarchy path")
+    public ResponseEntity<Map<String, Object>> getParametersByPath(
+            @RequestParam String path,
+            @RequestParam(defaultValue = "true") boolean recursive) {
+        try {
+            Map<String, String> values = parameterStoreService.getParametersByPath(path, recursive);
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "path", path,
+                "recursive", recursive,
+                "parameters", values,
+                "count", values.size(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get parameters by path", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get parameters by path",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @PostMapping("/refresh")
+    @Operation(summary = "Reload all cached parameters")
+    public ResponseEntity<Map<String, Object>> refresh() {
+        try {
+            ParameterSnapshot snapshot = parameterStoreService.refresh();
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "parameterCount", snapshot.getValues().size(),
+                "paths", snapshot.getPaths(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to refresh parameters", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to refresh parameters",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/health")
+    @Operation(summary = "Check Parameter Store service health")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of(
+            "service", "Parameter Store",
+            "status", "UP",
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+}
@@ -1,5 +1,8 @@
 package com.javaninja.controller;
 
+import com.javaninja.model.dto.SecretBatchRequest;
+import com.javaninja.model.dto.SecretBatchResult;
+import com.javaninja.model.dto.SecretMetadata;
 import com.javaninja.model.dto.SecretsManagerRequest;
 import com.javaninja.service.SecretsManagerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -52,9 +55,11 @@ public class SecretsManagerController {
     
     @GetMapping("/{secretName}")
     @Operation(summary = "Get secret value")
-    public ResponseEntity<Map<String, Object>> getSecret(@PathVariable String secretName) {
+    public ResponseEntity<Map<String, Object>> getSecret(
+            @PathVariable String secretName,
+            @RequestParam(required = false) String versionStage) {
         try {
-            String secretValue = secretsManagerService.getSecretValue(secretName);
+            String secretValue = secretsManagerService.getSecretValue(secretName, versionStage);
             
             return ResponseEntity.ok(Map.of(
                 "status", "SUCCESS",
@@ -74,6 +79,30 @@ public class SecretsManagerController {
         }
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Get several secret values by id or filter")
+    public ResponseEntity<Map<String, Object>> batchGetSecrets(@Valid @RequestBody SecretBatchRequest request) {
+        try {
+            SecretBatchResult result = secretsManagerService.batchGetSecretValues(request);
+            
+            return ResponseEntity.ok(Map.of(
+                "status", result.getErrors().isEmpty() ? "SUCCESS" : "PARTIAL",
+                "secretValues", result.getSecretValues(),
+                "errors", result.getErrors(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get secret values", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get secret values",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
     @PutMapping("/update")
     @Operation(summary = "Update secret value")
     public ResponseEntity<Map<String, Object>> updateSecret(@Valid @RequestBody SecretsManagerRequest request) {
@@ -148,6 +177,47 @@ public class SecretsManagerController {
         }
     }
     
+    @GetMapping("/{secretName}/metadata")
+    @Operation(summary = "Get secret metadata")
+    public ResponseEntity<Map<String, Object>> getSecretMetadata(@PathVariable String secretName) {
+        try {
+            SecretMetadata metadata = secretsManagerService.getSecretMetadata(secretName);
+            if (metadata == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of(
+                        "status", "ERROR",
+                        "message", "Secret not found",
+                        "secretName", secretName,
+                        "timestamp", java.time.Instant.now().toString()
+                    ));
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "metadata", metadata,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get secret metadata", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get secret metadata",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get secret value cache statistics")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(Map.of(
+            "cache", secretsManagerService.getCacheStats(),
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Check Secrets Manager service health")
     public ResponseEntity<Map<String, String>> health() {
@@ -0,0 +1,94 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.SesBulkEmailRequest;
+import com.javaninja.model.dto.SesSendResult;
+import com.javaninja.service.SesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ses")
+@Tag(name = "SES", description = "Amazon SES operations")
+public class SesController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SesController.class);
+    
+    private final SesService sesService;
+    
+    public SesController(SesService sesService) {
+        this.sesService = sesService;
+    }
+    
+    @PostMapping("/bulk-templated")
+    @Operation(summary = "Send a templated email to many destinations, 50 per SES call")
+    public ResponseEntity<Map<String, Object>> sendBulkTemplatedEmail(@Valid @RequestBody SesBulkEmailRequest request) {
+        try {
+            List<SesSendResult> results = sesService.sendBulkTemplatedEmail(request);
+            long successful = results.stream().filter(SesSendResult::isSuccess).count();
+            long failed = results.size() - successful;
+            
+            return ResponseEntity.ok(Map.of(
+                "status", failed == 0 ? "SUCCESS" : "PARTIAL",
+                "template", request.getTemplate(),
+                "successful", successful,
+                "failed", failed,
+                "results", results,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Failed to send bulk templated email", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to send bulk templated email",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/quota")
+    @Operation(summary = "Get the SES send quota and the current paced send rate")
+    public ResponseEntity<Map<String, Object>> getSendQuota() {
+        try {
+            Map<String, Object> quota = sesService.getSendQuota();
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "quota", quota,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to get SES send quota", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to get SES send quota",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/health")
+    @Operation(summary = "Check SES service health")
+    public ResponseEntity<Map<String, String>> health() {
+        return ResponseEntity.ok(Map.of(
+            "service", "SES",
+            "status", "UP",
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+}
@@ -1,7 +1,11 @@
 package com.javaninja.controller;
 
+import com.javaninja.model.dto.SnsBatchPublishRequest;
+import com.javaninja.model.dto.SnsBroadcastRequest;
 import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.model.dto.SnsPublishResult;
 import com.javaninja.service.SnsService;
+import com.javaninja.service.UnknownTopicException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -11,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -38,6 +43,14 @@ public class SnsController {
                 "topicArn", request.getTopicArn(),
                 "timestamp", java.time.Instant.now().toString()
             ));
+        } catch (UnknownTopicException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to publish message to SNS topic",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
         } catch (Exception e) {
             logger.error("Failed to publish SNS message", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -50,6 +63,67 @@ public class SnsController {
         }
     }
     
+    @PostMapping("/publish-batch")
+    @Operation(summary = "Publish a batch of messages to SNS topic")
+    public ResponseEntity<Map<String, Object>> publishBatch(@Valid @RequestBody SnsBatchPublishRequest request) {
+        try {
+            List<SnsPublishResult> results = snsService.publishBatch(request);
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            
+            return ResponseEntity.ok(Map.of(
+                "status", failed == 0 ? "SUCCESS" : "PARTIAL",
+                "topicArn", request.getTopicArn(),
+                "successful", results.size() - failed,
+                "failed", failed,
+                "results", results,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (UnknownTopicException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to publish batch to SNS topic",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        } catch (Exception e) {
+            logger.error("Failed to publish SNS batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to publish batch to SNS topic",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @PostMapping("/broadcast")
+    @Operation(summary = "Publish one message to several SNS topics concurrently")
+    public ResponseEntity<Map<String, Object>> broadcast(@Valid @RequestBody SnsBroadcastRequest request) {
+        try {
+            List<SnsPublishResult> results = snsService.broadcast(request);
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            
+            return ResponseEntity.ok(Map.of(
+                "status", failed == 0 ? "SUCCESS" : "PARTIAL",
+                "successful", results.size() - failed,
+                "failed", failed,
+                "results", results,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to broadcast SNS message", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to broadcast message to SNS topics",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
     @GetMapping("/topic/{topicArn}/exists")
     @Operation(summary = "Check if SNS topic exists")
     public ResponseEntity<Map<String, Object>> checkTopicExists(@PathVariable String topicArn) {
@@ -73,6 +147,26 @@ public class SnsController {
         }
     }
     
+    @GetMapping("/topics")
+    @Operation(summary = "List configured SNS topics with their resolved ARNs")
+    public ResponseEntity<Map<String, Object>> listTopics() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "topics", snsService.getTopics(),
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to list SNS topics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to list SNS topics",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Check SNS service health")
     public ResponseEntity<Map<String, String>> health() {
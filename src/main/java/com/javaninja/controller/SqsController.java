@@ -50,6 +50,26 @@ public class SqsController {
         }
     }
     
+    @DeleteMapping("/scheduled/{scheduledId}")
+    @Operation(summary = "Cancel a message scheduled beyond the SQS delay limit")
+    public ResponseEntity<Map<String, Object>> cancelScheduledMessage(@PathVariable String scheduledId) {
+        if (!sqsService.cancelScheduledMessage(scheduledId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "No pending scheduled message with this ID; it may already have been handed to SQS",
+                    "scheduledId", scheduledId,
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+        return ResponseEntity.ok(Map.of(
+            "status", "SUCCESS",
+            "message", "Scheduled message cancelled",
+            "scheduledId", scheduledId,
+            "timestamp", java.time.Instant.now().toString()
+        ));
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Check SQS service health")
     public ResponseEntity<Map<String, String>> health() {
@@ -0,0 +1,143 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.DlqRedriveRequest;
+import com.javaninja.service.DlqRedriveService;
+import com.javaninja.service.RedriveJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sqs/dlq")
+@Tag(name = "SQS DLQ", description = "Dead-letter queue redrive and inspection")
+public class SqsDlqController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqsDlqController.class);
+    
+    private final DlqRedriveService dlqRedriveService;
+    
+    public SqsDlqController(DlqRedriveService dlqRedriveService) {
+        this.dlqRedriveService = dlqRedriveService;
+    }
+    
+    @PostMapping("/redrive")
+    @Operation(summary = "Start moving messages from a dead-letter queue back to a source queue")
+    public ResponseEntity<Map<String, Object>> startRedrive(@Valid @RequestBody DlqRedriveRequest request) {
+        try {
+            RedriveJob job = dlqRedriveService.startRedrive(request);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        } catch (Exception e) {
+            logger.error("Failed to start DLQ redrive", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to start DLQ redrive",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    @GetMapping("/redrive/{jobId}")
+    @Operation(summary = "Get progress of a redrive job")
+    public ResponseEntity<Map<String, Object>> getRedrive(@PathVariable String jobId) {
+        RedriveJob job = dlqRedriveService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Redrive job not found",
+                    "jobId", jobId,
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+        return ResponseEntity.ok(toResponse(job));
+    }
+    
+    @GetMapping("/redrive")
+    @Operation(summary = "List redrive jobs")
+    public ResponseEntity<List<Map<String, Object>>> listRedrives() {
+        return ResponseEntity.ok(dlqRedriveService.getJobs().stream()
+                .map(this::toResponse)
+                .toList());
+    }
+    
+    @DeleteMapping("/redrive/{jobId}")
+    @Operation(summary = "Cancel a running redrive job")
+    public ResponseEntity<Map<String, Object>> cancelRedrive(@PathVariable String jobId) {
+        boolean cancelled = dlqRedriveService.cancel(jobId);
+        
+        return ResponseEntity.status(cancelled ? HttpStatus.OK : HttpStatus.NOT_FOUND)
+            .body(Map.of(
+                "status", cancelled ? "SUCCESS" : "ERROR",
+                "message", cancelled ? "Redrive job cancelled" : "Redrive job not found",
+                "jobId", jobId,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+    }
+    
+    @GetMapping("/peek")
+    @Operation(summary = "Sample messages from a queue without consuming them")
+    public ResponseEntity<Map<String, Object>> peek(
+            @RequestParam(required = false) String queueName,
+            @RequestParam(defaultValue = "10") int maxMessages) {
+        try {
+            List<Map<String, Object>> messages = dlqRedriveService.peek(queueName, Math.min(Math.max(maxMessages, 1), 100));
+            
+            return ResponseEntity.ok(Map.of(
+                "status", "SUCCESS",
+                "messageCount", messages.size(),
+                "messages", messages,
+                "timestamp", java.time.Instant.now().toString()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to peek queue", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of(
+                    "status", "ERROR",
+                    "message", "Failed to peek queue",
+                    "error", e.getMessage(),
+                    "timestamp", java.time.Instant.now().toString()
+                ));
+        }
+    }
+    
+    private Map<String, Object> toResponse(RedriveJob job) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", job.getJobId());
+        response.put("status", job.getStatus().name());
+        response.put("sourceQueueName", job.getSourceQueueName());
+        response.put("targetQueueName", job.getTargetQueueName());
+        response.put("received", job.getReceived());
+        response.put("moved", job.getMoved());
+        response.put("skipped", job.getSkipped());
+        response.put("failed", job.getFailed());
+        response.put("messagesPerSecond", job.getMessagesPerSecond());
+        response.put("startedAt", job.getStartedAt().toString());
+        if (job.getFinishedAt() != null) {
+            response.put("finishedAt", job.getFinishedAt().toString());
+        }
+        if (job.getError() != null) {
+            response.put("error", job.getError());
+        }
+        response.put("timestamp", java.time.Instant.now().toString());
+        return response;
+    }
+}
@@ -0,0 +1,30 @@
+package com.javaninja.log;
+
+/**
+ * A record read back from a {@link SegmentedLog}. {@code nextPosition} is where the following
+ * record starts and is what a reader should checkpoint once this record has been handled.
+ */
+public final class LogRecord {
+    
+    private final long position;
+    private final long nextPosition;
+    private final byte[] data;
+    
+    LogRecord(long position, long nextPosition, byte[] data) {
+        this.position = position;
+        this.nextPosition = nextPosition;
+        this.data = data;
+    }
+    
+    public long getPosition() {
+        return position;
+    }
+    
+    public long getNextPosition() {
+        return nextPosition;
+    }
+    
+    public byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,51 @@
+package com.javaninja.log;
+
+import com.javaninja.model.MessagePayload;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary field helpers shared by the record formats stored in a {@link SegmentedLog}.
+ */
+public final class Records {
+    
+    private Records() {
+    }
+    
+    // DataOutputStream.writeUTF is limited to 64 KB, message bodies are not
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    public static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public static void writePayload(DataOutputStream out, MessagePayload payload) throws IOException {
+        writeString(out, payload.getBody());
+        out.writeShort(payload.getAttributes().size());
+        for (Map.Entry<String, String> attribute : payload.getAttributes().entrySet()) {
+            writeString(out, attribute.getKey());
+            writeString(out, attribute.getValue());
+        }
+    }
+    
+    public static MessagePayload readPayload(DataInputStream in) throws IOException {
+        String body = readString(in);
+        int attributeCount = in.readShort();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.put(readString(in), readString(in));
+        }
+        return MessagePayload.of(body, attributes);
+    }
+}
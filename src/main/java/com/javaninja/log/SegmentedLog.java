@@ -0,0 +1,303 @@
+package com.javaninja.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log made of fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is stored as {@code [int length][int crc32][bytes]}. A position encodes the
+ * segment number in the upper 32 bits and the byte offset in the lower 32 bits, so positions
+ * grow monotonically across segments. Appends land in the page cache immediately and are made
+ * durable by {@link #flush()}, which callers batch on a timer rather than per record.
+ */
+public class SegmentedLog implements Closeable {
+    
+    // Length and checksum stored in front of every record
+    public static final int HEADER_BYTES = 8;
+    
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedLog.class);
+    
+    private static final String SUFFIX = ".log";
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final NavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Segment active;
+    
+    private SegmentedLog(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+    
+    /**
+     * Opens the log in {@code directory}, recovering the write offset of the last segment and
+     * discarding any torn record left by a crash.
+     */
+    public static SegmentedLog open(Path directory, int segmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        SegmentedLog log = new SegmentedLog(directory, segmentBytes);
+        
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int id = Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+            log.segments.put(id, Segment.open(file, id, segmentBytes));
+        }
+        
+        if (log.segments.isEmpty()) {
+            log.active = log.createSegment(0);
+        } else {
+            for (Segment segment : log.segments.values()) {
+                segment.recover();
+            }
+            log.active = log.segments.lastEntry().getValue();
+        }
+        
+        logger.info("Opened segmented log at {} with {} segment(s)", directory, log.segments.size());
+        return log;
+    }
+    
+    public static long position(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+    
+    public static int segmentId(long position) {
+        return (int) (position >>> 32);
+    }
+    
+    public static int offset(long position) {
+        return (int) position;
+    }
+    
+    /**
+     * Appends a record and returns its position. The record is visible to readers at once
+     * but only durable after the next {@link #flush()}.
+     */
+    public long append(byte[] data) throws IOException {
+        int recordBytes = HEADER_BYTES + data.length;
+        if (recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + data.length + " bytes exceeds segment size " + segmentBytes);
+        }
+        
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        
+        writeLock.lock();
+        try {
+            if (active.size + recordBytes > segmentBytes) {
+                active.buffer.force();
+                active = createSegment(active.id + 1);
+            }
+            
+            int offset = active.size;
+            active.buffer.putInt(offset, data.length);
+            active.buffer.putInt(offset + 4, (int) crc.getValue());
+            active.buffer.put(offset + HEADER_BYTES, data);
+            active.size = offset + recordBytes;
+            return position(active.id, offset);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Forces dirty pages of the active segment to disk.
+     */
+    public void flush() {
+        Segment segment = active;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+    
+    /**
+     * Reads up to {@code maxRecords} records starting at {@code fromPosition}, crossing into
+     * later segments as needed.
+     */
+    public List<LogRecord> read(long fromPosition, int maxRecords) {
+        List<LogRecord> records = new ArrayList<>();
+        int startSegment = segmentId(fromPosition);
+        int offset = offset(fromPosition);
+        
+        Map.Entry<Integer, Segment> entry = segments.ceilingEntry(startSegment);
+        if (entry != null && entry.getKey() != startSegment) {
+            offset = 0;
+        }
+        
+        while (entry != null && records.size() < maxRecords) {
+            Segment segment = entry.getValue();
+            int limit = segment.size;
+            while (offset < limit && records.size() < maxRecords) {
+                int length = segment.buffer.getInt(offset);
+                byte[] data = new byte[length];
+                segment.buffer.get(offset + HEADER_BYTES, data);
+                int next = offset + HEADER_BYTES + length;
+                records.add(new LogRecord(position(segment.id, offset), position(segment.id, next), data));
+                offset = next;
+            }
+            
+            entry = segments.higherEntry(segment.id);
+            offset = 0;
+        }
+        return records;
+    }
+    
+    /**
+     * Position just past the last appended record.
+     */
+    public long endPosition() {
+        Segment segment = active;
+        return position(segment.id, segment.size);
+    }
+    
+    /**
+     * Bytes of record data, headers included, stored between two positions. Unused space at the
+     * end of full segments is not counted.
+     */
+    public long bytesBetween(long fromPosition, long toPosition) {
+        int fromSegment = segmentId(fromPosition);
+        int toSegment = segmentId(toPosition);
+        if (fromSegment > toSegment) {
+            return 0;
+        }
+        long bytes = 0;
+        for (Segment segment : segments.subMap(fromSegment, true, toSegment, true).values()) {
+            int start = segment.id == fromSegment ? offset(fromPosition) : 0;
+            int end = segment.id == toSegment ? offset(toPosition) : segment.size;
+            bytes += Math.max(0, end - start);
+        }
+        return bytes;
+    }
+    
+    /**
+     * Seals the active segment and starts a new one, so that all earlier records can later
+     * be removed with {@link #deleteSegmentsBefore(long)}.
+     */
+    public long roll() throws IOException {
+        writeLock.lock();
+        try {
+            active.buffer.force();
+            active = createSegment(active.id + 1);
+            return position(active.id, 0);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Deletes every segment whose records all precede {@code position}.
+     */
+    public int deleteSegmentsBefore(long position) throws IOException {
+        int deleted = 0;
+        for (Segment segment : new ArrayList<>(segments.headMap(segmentId(position), false).values())) {
+            if (segment == active) {
+                continue;
+            }
+            segments.remove(segment.id);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+            deleted++;
+        }
+        if (deleted > 0) {
+            logger.debug("Compacted {} log segment(s) in {}", deleted, directory);
+        }
+        return deleted;
+    }
+    
+    public int segmentCount() {
+        return segments.size();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+            segments.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private Segment createSegment(int id) throws IOException {
+        Path file = directory.resolve(String.format("%010d%s", id, SUFFIX));
+        Segment segment = Segment.open(file, id, segmentBytes);
+        segments.put(id, segment);
+        return segment;
+    }
+    
+    private static final class Segment {
+        
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private volatile int size;
+        
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+        
+        static Segment open(Path path, int id, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(id, path, channel, buffer);
+        }
+        
+        void recover() {
+            int capacity = buffer.capacity();
+            int offset = 0;
+            while (offset + HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_BYTES + length > capacity) {
+                    break;
+                }
+                byte[] data = new byte[length];
+                buffer.get(offset + HEADER_BYTES, data);
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                    break;
+                }
+                offset += HEADER_BYTES + length;
+            }
+            
+            if (offset + HEADER_BYTES <= capacity && buffer.getInt(offset) != 0) {
+                logger.warn("Discarding torn record in {} at offset {}", path, offset);
+                for (int i = offset; i < capacity; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.force();
+            }
+            size = offset;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.javaninja.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable message body plus the string attributes that travel with it to SQS or SNS.
+ */
+public final class MessagePayload {
+    
+    private final String body;
+    private final Map<String, String> attributes;
+    
+    private MessagePayload(String body, Map<String, String> attributes) {
+        this.body = body;
+        this.attributes = attributes;
+    }
+    
+    public static MessagePayload of(String body) {
+        return new MessagePayload(body, Collections.emptyMap());
+    }
+    
+    public static MessagePayload of(String body, Map<String, String> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return of(body);
+        }
+        return new MessagePayload(body, Collections.unmodifiableMap(new LinkedHashMap<>(attributes)));
+    }
+    
+    public MessagePayload withBody(String newBody) {
+        return new MessagePayload(newBody, attributes);
+    }
+    
+    public MessagePayload withAttribute(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(attributes);
+        copy.put(name, value);
+        return new MessagePayload(body, Collections.unmodifiableMap(copy));
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+    
+    @Override
+    public String toString() {
+        return "MessagePayload{" +
+                "bodyLength=" + (body != null ? body.length() : 0) +
+                ", attributes=" + attributes +
+                '}';
+    }
+}
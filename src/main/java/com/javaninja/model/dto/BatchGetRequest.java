@@ -0,0 +1,23 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchGetRequest {
+    
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotBlank String> ids;
+    
+    // Constructors
+    public BatchGetRequest() {}
+    
+    public BatchGetRequest(List<String> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+}
@@ -0,0 +1,66 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class DlqRedriveRequest {
+    
+    // Defaults to aws.services.sqs.queues.dlq when omitted
+    private String sourceQueueName;
+    
+    @NotBlank(message = "Target queue name is required")
+    private String targetQueueName;
+    
+    @Min(value = 1, message = "Concurrency must be at least 1")
+    @Max(value = 64, message = "Concurrency must be at most 64")
+    private Integer concurrency;
+    
+    @Min(value = 1, message = "Rate limit must be at least 1 message per second")
+    private Integer maxMessagesPerSecond;
+    
+    @Min(value = 1, message = "Max messages must be at least 1")
+    private Long maxMessages;
+    
+    // Optional filters; all configured filters must match for a message to be moved
+    private String attributeName;
+    private String attributeValue;
+    private String bodyContains;
+    private String bodyPattern;
+    
+    // Constructors
+    public DlqRedriveRequest() {}
+    
+    public DlqRedriveRequest(String sourceQueueName, String targetQueueName) {
+        this.sourceQueueName = sourceQueueName;
+        this.targetQueueName = targetQueueName;
+    }
+    
+    // Getters and Setters
+    public String getSourceQueueName() { return sourceQueueName; }
+    public void setSourceQueueName(String sourceQueueName) { this.sourceQueueName = sourceQueueName; }
+    
+    public String getTargetQueueName() { return targetQueueName; }
+    public void setTargetQueueName(String targetQueueName) { this.targetQueueName = targetQueueName; }
+    
+    public Integer getConcurrency() { return concurrency; }
+    public void setConcurrency(Integer concurrency) { this.concurrency = concurrency; }
+    
+    public Integer getMaxMessagesPerSecond() { return maxMessagesPerSecond; }
+    public void setMaxMessagesPerSecond(Integer maxMessagesPerSecond) { this.maxMessagesPerSecond = maxMessagesPerSecond; }
+    
+    public Long getMaxMessages() { return maxMessages; }
+    public void setMaxMessages(Long maxMessages) { this.maxMessages = maxMessages; }
+    
+    public String getAttributeName() { return attributeName; }
+    public void setAttributeName(String attributeName) { this.attributeName = attributeName; }
+    
+    public String getAttributeValue() { return attributeValue; }
+    public void setAttributeValue(String attributeValue) { this.attributeValue = attributeValue; }
+    
+    public String getBodyContains() { return bodyContains; }
+    public void setBodyContains(String bodyContains) { this.bodyContains = bodyContains; }
+    
+    public String getBodyPattern() { return bodyPattern; }
+    public void setBodyPattern(String bodyPattern) { this.bodyPattern = bodyPattern; }
+}
@@ -0,0 +1,38 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+public class ExportRequest {
+    
+    @NotBlank(message = "Table is required")
+    private String table = "orders";
+    
+    // Set to resume an earlier export from its checkpoints
+    private String exportId;
+    
+    // Every segment is tracked, checkpointed and written as its own object, so keep the count small
+    @Positive(message = "Segments must be positive")
+    @Max(value = 64, message = "At most 64 segments are allowed per export")
+    private Integer segments;
+    
+    // Constructors
+    public ExportRequest() {}
+    
+    public ExportRequest(String table, String exportId, Integer segments) {
+        this.table = table;
+        this.exportId = exportId;
+        this.segments = segments;
+    }
+    
+    // Getters and Setters
+    public String getTable() { return table; }
+    public void setTable(String table) { this.table = table; }
+    
+    public String getExportId() { return exportId; }
+    public void setExportId(String exportId) { this.exportId = exportId; }
+    
+    public Integer getSegments() { return segments; }
+    public void setSegments(Integer segments) { this.segments = segments; }
+}
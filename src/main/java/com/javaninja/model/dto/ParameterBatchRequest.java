@@ -0,0 +1,23 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class ParameterBatchRequest {
+    
+    @NotEmpty(message = "At least one parameter name is required")
+    private List<@NotBlank String> names;
+    
+    // Constructors
+    public ParameterBatchRequest() {}
+    
+    public ParameterBatchRequest(List<String> names) {
+        this.names = names;
+    }
+    
+    // Getters and Setters
+    public List<String> getNames() { return names; }
+    public void setNames(List<String> names) { this.names = names; }
+}
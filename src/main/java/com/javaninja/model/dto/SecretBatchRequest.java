@@ -0,0 +1,38 @@
+package com.javaninja.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+public class SecretBatchRequest {
+    
+    // Names or ARNs; fetched 20 per BatchGetSecretValue call
+    private List<String> secretIds;
+    
+    // Filter key (name, description, tag-key, tag-value, primary-region, owning-service, all) -> values
+    private Map<String, List<String>> filters;
+    
+    // Constructors
+    public SecretBatchRequest() {}
+    
+    public SecretBatchRequest(List<String> secretIds) {
+        this.secretIds = secretIds;
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Either secretIds or filters is required, but not both")
+    public boolean isSelectionValid() {
+        boolean hasIds = secretIds != null && !secretIds.isEmpty();
+        boolean hasFilters = filters != null && !filters.isEmpty();
+        return hasIds != hasFilters;
+    }
+    
+    // Getters and Setters
+    public List<String> getSecretIds() { return secretIds; }
+    public void setSecretIds(List<String> secretIds) { this.secretIds = secretIds; }
+    
+    public Map<String, List<String>> getFilters() { return filters; }
+    public void setFilters(Map<String, List<String>> filters) { this.filters = filters; }
+}
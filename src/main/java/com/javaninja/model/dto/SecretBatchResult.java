@@ -0,0 +1,30 @@
+package com.javaninja.model.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SecretBatchResult {
+    
+    // Secret name -> secret string
+    private final Map<String, String> secretValues = new LinkedHashMap<>();
+    
+    // Secret id -> "ErrorCode: message"
+    private final Map<String, String> errors = new LinkedHashMap<>();
+    
+    public void addValue(String name, String value) {
+        secretValues.put(name, value);
+    }
+    
+    public void addError(String secretId, String errorCode, String message) {
+        errors.put(secretId, errorCode + ": " + message);
+    }
+    
+    public void merge(SecretBatchResult other) {
+        secretValues.putAll(other.secretValues);
+        errors.putAll(other.errors);
+    }
+    
+    // Getters
+    public Map<String, String> getSecretValues() { return secretValues; }
+    public Map<String, String> getErrors() { return errors; }
+}
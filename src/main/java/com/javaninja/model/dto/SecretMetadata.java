@@ -0,0 +1,29 @@
+package com.javaninja.model.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class SecretMetadata {
+    
+    private final String name;
+    private final String arn;
+    private final String description;
+    private final Instant lastChangedDate;
+    private final Map<String, String> tags;
+    
+    // Constructors
+    public SecretMetadata(String name, String arn, String description, Instant lastChangedDate, Map<String, String> tags) {
+        this.name = name;
+        this.arn = arn;
+        this.description = description;
+        this.lastChangedDate = lastChangedDate;
+        this.tags = tags != null ? Map.copyOf(tags) : Map.of();
+    }
+    
+    // Getters
+    public String getName() { return name; }
+    public String getArn() { return arn; }
+    public String getDescription() { return description; }
+    public Instant getLastChangedDate() { return lastChangedDate; }
+    public Map<String, String> getTags() { return tags; }
+}
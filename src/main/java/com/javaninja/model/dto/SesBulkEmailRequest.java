@@ -0,0 +1,51 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class SesBulkEmailRequest {
+    
+    // Defaults to aws.services.ses.source
+    @Email(message = "Source must be an email address")
+    private String source;
+    
+    @NotBlank(message = "Template is required")
+    private String template;
+    
+    // JSON object with values used where a destination does not provide its own
+    private String defaultTemplateData = "{}";
+    
+    // Defaults to aws.services.ses.configuration-set-name
+    private String configurationSetName;
+    
+    @NotEmpty(message = "At least one destination is required")
+    private List<@Valid SesDestination> destinations;
+    
+    // Constructors
+    public SesBulkEmailRequest() {}
+    
+    public SesBulkEmailRequest(String template, List<SesDestination> destinations) {
+        this.template = template;
+        this.destinations = destinations;
+    }
+    
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    
+    public String getTemplate() { return template; }
+    public void setTemplate(String template) { this.template = template; }
+    
+    public String getDefaultTemplateData() { return defaultTemplateData; }
+    public void setDefaultTemplateData(String defaultTemplateData) { this.defaultTemplateData = defaultTemplateData; }
+    
+    public String getConfigurationSetName() { return configurationSetName; }
+    public void setConfigurationSetName(String configurationSetName) { this.configurationSetName = configurationSetName; }
+    
+    public List<SesDestination> getDestinations() { return destinations; }
+    public void setDestinations(List<SesDestination> destinations) { this.destinations = destinations; }
+}
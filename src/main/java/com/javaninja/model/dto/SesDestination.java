@@ -0,0 +1,63 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SesDestination {
+    
+    @NotEmpty(message = "At least one recipient is required")
+    private List<@Email String> to;
+    
+    private List<@Email String> cc;
+    private List<@Email String> bcc;
+    
+    // JSON object with this destination's template values
+    private String replacementTemplateData;
+    
+    // Constructors
+    public SesDestination() {}
+    
+    public SesDestination(List<String> to, String replacementTemplateData) {
+        this.to = to;
+        this.replacementTemplateData = replacementTemplateData;
+    }
+    
+    /**
+     * Number of recipients, which is what SES counts against the send rate.
+     */
+    public int recipientCount() {
+        return size(to) + size(cc) + size(bcc);
+    }
+    
+    public List<String> allRecipients() {
+        List<String> recipients = new ArrayList<>(recipientCount());
+        for (List<String> addresses : List.of(nonNull(to), nonNull(cc), nonNull(bcc))) {
+            recipients.addAll(addresses);
+        }
+        return recipients;
+    }
+    
+    private static int size(List<String> addresses) {
+        return addresses != null ? addresses.size() : 0;
+    }
+    
+    private static List<String> nonNull(List<String> addresses) {
+        return addresses != null ? addresses : List.of();
+    }
+    
+    // Getters and Setters
+    public List<String> getTo() { return to; }
+    public void setTo(List<String> to) { this.to = to; }
+    
+    public List<String> getCc() { return cc; }
+    public void setCc(List<String> cc) { this.cc = cc; }
+    
+    public List<String> getBcc() { return bcc; }
+    public void setBcc(List<String> bcc) { this.bcc = bcc; }
+    
+    public String getReplacementTemplateData() { return replacementTemplateData; }
+    public void setReplacementTemplateData(String replacementTemplateData) { this.replacementTemplateData = replacementTemplateData; }
+}
@@ -0,0 +1,40 @@
+package com.javaninja.model.dto;
+
+import java.util.List;
+
+public class SesSendResult {
+    private int index;
+    private List<String> recipients;
+    private String messageId;
+    private String status;
+    private String error;
+    
+    public SesSendResult() {}
+    
+    public SesSendResult(int index, List<String> recipients, String messageId, String status, String error) {
+        this.index = index;
+        this.recipients = recipients;
+        this.messageId = messageId;
+        this.status = status;
+        this.error = error;
+    }
+    
+    // SES reports accepted destinations with status "Success"
+    public boolean isSuccess() { return "Success".equals(status); }
+    
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public List<String> getRecipients() { return recipients; }
+    public void setRecipients(List<String> recipients) { this.recipients = recipients; }
+    
+    public String getMessageId() { return messageId; }
+    public void setMessageId(String messageId) { this.messageId = messageId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,46 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+public class SnsBatchEntry {
+    
+    // Caller-chosen id echoed back in the per-entry result; defaults to the entry's index
+    private String id;
+    
+    @NotBlank(message = "Message is required")
+    private String message;
+    
+    private String subject;
+    private String messageGroupId;
+    private String messageDeduplicationId;
+    private Map<String, String> messageAttributes;
+    
+    // Constructors
+    public SnsBatchEntry() {}
+    
+    public SnsBatchEntry(String id, String message) {
+        this.id = id;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    
+    public String getMessageGroupId() { return messageGroupId; }
+    public void setMessageGroupId(String messageGroupId) { this.messageGroupId = messageGroupId; }
+    
+    public String getMessageDeduplicationId() { return messageDeduplicationId; }
+    public void setMessageDeduplicationId(String messageDeduplicationId) { this.messageDeduplicationId = messageDeduplicationId; }
+    
+    public Map<String, String> getMessageAttributes() { return messageAttributes; }
+    public void setMessageAttributes(Map<String, String> messageAttributes) { this.messageAttributes = messageAttributes; }
+}
@@ -0,0 +1,33 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class SnsBatchPublishRequest {
+    
+    // Full ARN or a logical name from aws.services.sns.topics
+    @NotBlank(message = "Topic ARN is required")
+    private String topicArn;
+    
+    @NotEmpty(message = "At least one entry is required")
+    @Valid
+    private List<SnsBatchEntry> entries;
+    
+    // Constructors
+    public SnsBatchPublishRequest() {}
+    
+    public SnsBatchPublishRequest(String topicArn, List<SnsBatchEntry> entries) {
+        this.topicArn = topicArn;
+        this.entries = entries;
+    }
+    
+    // Getters and Setters
+    public String getTopicArn() { return topicArn; }
+    public void setTopicArn(String topicArn) { this.topicArn = topicArn; }
+    
+    public List<SnsBatchEntry> getEntries() { return entries; }
+    public void setEntries(List<SnsBatchEntry> entries) { this.entries = entries; }
+}
@@ -0,0 +1,49 @@
+package com.javaninja.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+import java.util.Map;
+
+public class SnsBroadcastRequest {
+    
+    // Full ARNs or logical names from aws.services.sns.topics
+    @NotEmpty(message = "At least one topic is required")
+    private List<@NotBlank String> topics;
+    
+    @NotBlank(message = "Message is required")
+    private String message;
+    
+    private String subject;
+    private Map<String, String> messageAttributes;
+    
+    // Overrides aws.services.sns.publish.broadcast-deadline for this request
+    @Positive(message = "Deadline must be positive")
+    private Long deadlineMillis;
+    
+    // Constructors
+    public SnsBroadcastRequest() {}
+    
+    public SnsBroadcastRequest(List<String> topics, String message) {
+        this.topics = topics;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public List<String> getTopics() { return topics; }
+    public void setTopics(List<String> topics) { this.topics = topics; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    
+    public Map<String, String> getMessageAttributes() { return messageAttributes; }
+    public void setMessageAttributes(Map<String, String> messageAttributes) { this.messageAttributes = messageAttributes; }
+    
+    public Long getDeadlineMillis() { return deadlineMillis; }
+    public void setDeadlineMillis(Long deadlineMillis) { this.deadlineMillis = deadlineMillis; }
+}
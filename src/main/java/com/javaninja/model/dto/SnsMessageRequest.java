@@ -2,8 +2,11 @@ package com.javaninja.model.dto;
 
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.Map;
+
 public class SnsMessageRequest {
     
+    // Full ARN or a logical name from aws.services.sns.topics
     @NotBlank(message = "Topic ARN is required")
     private String topicArn;
     
@@ -13,6 +16,7 @@ public class SnsMessageRequest {
     private String subject;
     private String messageGroupId;
     private String messageDeduplicationId;
+    private Map<String, String> messageAttributes;
     
     // Constructors
     public SnsMessageRequest() {}
@@ -63,6 +67,14 @@ public class SnsMessageRequest {
         this.messageDeduplicationId = messageDeduplicationId;
     }
     
+    public Map<String, String> getMessageAttributes() {
+        return messageAttributes;
+    }
+    
+    public void setMessageAttributes(Map<String, String> messageAttributes) {
+        this.messageAttributes = messageAttributes;
+    }
+    
     @Override
     public String toString() {
         return "SnsMessageRequest{" +
@@ -71,6 +83,7 @@ public class SnsMessageRequest {
                 ", subject='" + subject + '\'' +
                 ", messageGroupId='" + messageGroupId + '\'' +
                 ", messageDeduplicationId='" + messageDeduplicationId + '\'' +
+                ", messageAttributes=" + messageAttributes +
                 '}';
     }
 }
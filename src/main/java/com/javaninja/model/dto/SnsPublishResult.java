@@ -0,0 +1,54 @@
+package com.javaninja.model.dto;
+
+public class SnsPublishResult {
+    private String id;
+    private String messageId;
+    private String status;
+    private String errorCode;
+    private String errorMessage;
+    
+    public SnsPublishResult() {}
+    
+    public static SnsPublishResult success(String id, String messageId) {
+        SnsPublishResult result = new SnsPublishResult();
+        result.id = id;
+        result.messageId = messageId;
+        result.status = "SUCCESS";
+        return result;
+    }
+    
+    public static SnsPublishResult failure(String id, String errorCode, String errorMessage) {
+        SnsPublishResult result = new SnsPublishResult();
+        result.id = id;
+        result.status = "ERROR";
+        result.errorCode = errorCode;
+        result.errorMessage = errorMessage;
+        return result;
+    }
+    
+    // Publish still in flight when the caller stopped waiting; SNS may or may not have accepted it
+    public static SnsPublishResult unknown(String id) {
+        SnsPublishResult result = new SnsPublishResult();
+        result.id = id;
+        result.status = "UNKNOWN";
+        return result;
+    }
+    
+    public boolean isSuccess() { return "SUCCESS".equals(status); }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getMessageId() { return messageId; }
+    public void setMessageId(String messageId) { this.messageId = messageId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getErrorCode() { return errorCode; }
+    public void setErrorCode(String errorCode) { this.errorCode = errorCode; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
@@ -0,0 +1,49 @@
+package com.javaninja.model.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Item in the Orders table, keyed by {@code orderId}.
+ */
+@DynamoDbBean
+public class Order {
+    
+    @NotBlank(message = "Order ID is required")
+    private String orderId;
+    
+    private String userId;
+    private String status;
+    private BigDecimal total;
+    private Instant createdAt;
+    
+    // Constructors
+    public Order() {}
+    
+    public Order(String orderId, String userId, BigDecimal total) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.total = total;
+    }
+    
+    // Getters and Setters
+    @DynamoDbPartitionKey
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+    
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+    
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,48 @@
+package com.javaninja.model.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+import java.time.Instant;
+
+/**
+ * Item in the Users table, keyed by {@code userId}.
+ */
+@DynamoDbBean
+public class User {
+    
+    @NotBlank(message = "User ID is required")
+    private String userId;
+    
+    private String email;
+    private String name;
+    private String status;
+    private Instant createdAt;
+    
+    // Constructors
+    public User() {}
+    
+    public User(String userId, String email, String name) {
+        this.userId = userId;
+        this.email = email;
+        this.name = name;
+    }
+    
+    // Getters and Setters
+    @DynamoDbPartitionKey
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,186 @@
+package com.javaninja.repository;
+
+import com.javaninja.config.DynamoDbProperties;
+import com.javaninja.support.Backoff;
+import com.javaninja.support.FanOutScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Enhanced-client repository for a single-key table with batched reads and writes.
+ * {@link #findAllById} issues {@code BatchGetItem} calls of up to 100 keys and
+ * {@link #saveAll} issues {@code BatchWriteItem} calls of up to 25 items in parallel; unprocessed
+ * keys and items returned by DynamoDB are retried with exponential backoff.
+ */
+public abstract class BatchingDynamoDbRepository<T> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BatchingDynamoDbRepository.class);
+    
+    static final int MAX_BATCH_GET_KEYS = 100;
+    static final int MAX_BATCH_WRITE_ITEMS = 25;
+    
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbTable<T> table;
+    private final TableSchema<T> tableSchema;
+    private final String tableName;
+    private final Backoff backoff;
+    private final ExecutorService fanOutExecutor;
+    
+    protected BatchingDynamoDbRepository(DynamoDbClient dynamoDbClient, DynamoDbEnhancedClient enhancedClient,
+                                         DynamoDbProperties properties, String logicalTableName, Class<T> itemType,
+                                         ExecutorService fanOutExecutor) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = properties.tableName(logicalTableName);
+        this.tableSchema = TableSchema.fromBean(itemType);
+        this.table = enhancedClient.table(tableName, tableSchema);
+        this.backoff = new Backoff(properties.getBatch().getInitialBackoff(),
+                properties.getBatch().getMaxBackoff(), properties.getBatch().getMaxAttempts());
+        this.fanOutExecutor = fanOutExecutor;
+    }
+    
+    public String getTableName() {
+        return tableName;
+    }
+    
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(table.getItem(key(id)));
+    }
+    
+    public T save(T item) {
+        table.putItem(item);
+        return item;
+    }
+    
+    public Optional<T> deleteById(String id) {
+        return Optional.ofNullable(table.deleteItem(key(id)));
+    }
+    
+    /**
+     * Returns the items that exist for {@code ids}, fetching chunks of 100 keys concurrently.
+     * Order is not preserved.
+     */
+    public List<T> findAllById(List<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        try (FanOutScope<List<T>> scope = new FanOutScope<>(fanOutExecutor)) {
+            for (int start = 0; start < distinct.size(); start += MAX_BATCH_GET_KEYS) {
+                List<Map<String, AttributeValue>> keys = distinct
+                        .subList(start, Math.min(start + MAX_BATCH_GET_KEYS, distinct.size()))
+                        .stream()
+                        .map(id -> key(id).primaryKeyMap(tableSchema))
+                        .toList();
+                scope.fork(() -> batchGet(keys));
+            }
+            
+            // A failed chunk cancels the chunks still in flight
+            List<T> items = new ArrayList<>(distinct.size());
+            scope.join().forEach(items::addAll);
+            return items;
+        }
+    }
+    
+    /**
+     * Writes {@code items} in chunks of 25, sending the chunks concurrently. Items with the same
+     * primary key are collapsed to the last one, since {@code BatchWriteItem} rejects a request
+     * that writes one key twice. Returns the number of distinct items written.
+     */
+    public int saveAll(List<T> items) {
+        Map<Map<String, AttributeValue>, Map<String, AttributeValue>> byKey = new LinkedHashMap<>();
+        for (T item : items) {
+            byKey.put(tableSchema.itemToMap(item, tableSchema.tableMetadata().primaryKeys()), tableSchema.itemToMap(item, true));
+        }
+        List<Map<String, AttributeValue>> distinct = List.copyOf(byKey.values());
+        
+        try (FanOutScope<Void> scope = new FanOutScope<>(fanOutExecutor)) {
+            for (int start = 0; start < distinct.size(); start += MAX_BATCH_WRITE_ITEMS) {
+                List<WriteRequest> writes = distinct.subList(start, Math.min(start + MAX_BATCH_WRITE_ITEMS, distinct.size()))
+                        .stream()
+                        .map(item -> WriteRequest.builder()
+                                .putRequest(PutRequest.builder().item(item).build())
+                                .build())
+                        .toList();
+                scope.fork(() -> {
+                    batchWrite(writes);
+                    return null;
+                });
+            }
+            scope.join();
+        }
+        return distinct.size();
+    }
+    
+    protected Key key(String id) {
+        return Key.builder().partitionValue(id).build();
+    }
+    
+    private List<T> batchGet(List<Map<String, AttributeValue>> keys) {
+        List<T> items = new ArrayList<>(keys.size());
+        Map<String, KeysAndAttributes> pending = Map.of(tableName, KeysAndAttributes.builder().keys(keys).build());
+        for (int attempt = 0; ; attempt++) {
+            BatchGetItemResponse response = dynamoDbClient.batchGetItem(
+                    BatchGetItemRequest.builder().requestItems(pending).build());
+            response.responses().getOrDefault(tableName, List.of())
+                    .forEach(item -> items.add(tableSchema.mapToItem(item)));
+            
+            KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+            if (unprocessed == null || unprocessed.keys().isEmpty()) {
+                return items;
+            }
+            if (attempt + 1 >= backoff.getMaxAttempts()) {
+                throw new IllegalStateException(unprocessed.keys().size() + " key(s) in " + tableName
+                        + " were still unprocessed after " + backoff.getMaxAttempts() + " attempts");
+            }
+            logger.debug("Retrying {} unprocessed key(s) in {}", unprocessed.keys().size(), tableName);
+            sleep(attempt);
+            pending = Map.of(tableName, unprocessed);
+        }
+    }
+    
+    private void batchWrite(List<WriteRequest> writes) {
+        Map<String, List<WriteRequest>> pending = Map.of(tableName, writes);
+        for (int attempt = 0; ; attempt++) {
+            BatchWriteItemResponse response = dynamoDbClient.batchWriteItem(
+                    BatchWriteItemRequest.builder().requestItems(pending).build());
+            
+            List<WriteRequest> unprocessed = response.unprocessedItems().get(tableName);
+            if (unprocessed == null || unprocessed.isEmpty()) {
+                return;
+            }
+            if (attempt + 1 >= backoff.getMaxAttempts()) {
+                throw new IllegalStateException(unprocessed.size() + " item(s) in " + tableName
+                        + " were still unprocessed after " + backoff.getMaxAttempts() + " attempts");
+            }
+            logger.debug("Retrying {} unprocessed item(s) in {}", unprocessed.size(), tableName);
+            sleep(attempt);
+            pending = Map.of(tableName, unprocessed);
+        }
+    }
+    
+    private void sleep(int attempt) {
+        try {
+            backoff.sleep(attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying batch on " + tableName, e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.javaninja.repository;
+
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Session handed out by {@link DynamoDbSessionRepository}. Records which attributes and
+ * timestamps changed so that saving writes only the difference.
+ * <p>
+ * Attribute values must be serializable. Mutating a value in place is not detected; set the
+ * attribute again after changing it.
+ */
+public class DynamoDbSession implements Session {
+    
+    private String id;
+    private String originalId;
+    private boolean isNew;
+    private final Instant creationTime;
+    private Instant lastAccessedTime;
+    private Duration maxInactiveInterval;
+    private final Map<String, Object> attributes;
+    
+    private final Map<String, Object> changedAttributes = new HashMap<>();
+    private boolean lastAccessedTimeChanged;
+    private boolean maxInactiveIntervalChanged;
+    
+    DynamoDbSession(Duration maxInactiveInterval) {
+        this.id = newId();
+        this.originalId = id;
+        this.isNew = true;
+        this.creationTime = Instant.now();
+        this.lastAccessedTime = creationTime;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.attributes = new HashMap<>();
+    }
+    
+    DynamoDbSession(SessionRecord record) {
+        this.id = record.getId();
+        this.originalId = id;
+        this.isNew = false;
+        this.creationTime = record.getCreationTime();
+        this.lastAccessedTime = record.getLastAccessedTime();
+        this.maxInactiveInterval = record.getMaxInactiveInterval();
+        this.attributes = new HashMap<>(record.getAttributes());
+    }
+    
+    @Override
+    public String getId() {
+        return id;
+    }
+    
+    @Override
+    public String changeSessionId() {
+        id = newId();
+        return id;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String attributeName) {
+        return (T) attributes.get(attributeName);
+    }
+    
+    @Override
+    public Set<String> getAttributeNames() {
+        return Collections.unmodifiableSet(attributes.keySet());
+    }
+    
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        if (attributeValue == null) {
+            removeAttribute(attributeName);
+            return;
+        }
+        attributes.put(attributeName, attributeValue);
+        changedAttributes.put(attributeName, attributeValue);
+    }
+    
+    @Override
+    public void removeAttribute(String attributeName) {
+        if (attributes.remove(attributeName) != null || changedAttributes.containsKey(attributeName)) {
+            changedAttributes.put(attributeName, null);
+        }
+    }
+    
+    @Override
+    public Instant getCreationTime() {
+        return creationTime;
+    }
+    
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        this.lastAccessedTime = lastAccessedTime;
+        this.lastAccessedTimeChanged = true;
+    }
+    
+    @Override
+    public Instant getLastAccessedTime() {
+        return lastAccessedTime;
+    }
+    
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        this.maxInactiveInterval = interval;
+        this.maxInactiveIntervalChanged = true;
+    }
+    
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return maxInactiveInterval;
+    }
+    
+    @Override
+    public boolean isExpired() {
+        return !maxInactiveInterval.isNegative() && !Instant.now().isBefore(lastAccessedTime.plus(maxInactiveInterval));
+    }
+    
+    boolean isNew() {
+        return isNew;
+    }
+    
+    String getOriginalId() {
+        return originalId;
+    }
+    
+    Map<String, Object> getAttributes() {
+        return attributes;
+    }
+    
+    /**
+     * Called once the full session has been written under its current id.
+     */
+    void markSaved() {
+        originalId = id;
+        isNew = false;
+        takeDelta();
+    }
+    
+    /**
+     * Returns the changes since the session was loaded or last saved and starts tracking afresh.
+     */
+    SessionDelta takeDelta() {
+        SessionDelta delta = new SessionDelta(changedAttributes,
+                lastAccessedTimeChanged ? lastAccessedTime : null,
+                maxInactiveIntervalChanged ? maxInactiveInterval : null);
+        changedAttributes.clear();
+        lastAccessedTimeChanged = false;
+        maxInactiveIntervalChanged = false;
+        return delta;
+    }
+    
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
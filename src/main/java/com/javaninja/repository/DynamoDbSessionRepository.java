@@ -0,0 +1,339 @@
+package com.javaninja.repository;
+
+import com.javaninja.config.SessionStoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.session.SessionRepository;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Session repository backed by a DynamoDB table keyed by {@code sessionId}.
+ * <p>
+ * Sessions are served from a near cache, so a request that stays on the same instance needs no
+ * read. Changes are recorded as deltas, coalesced per session and written behind in a single
+ * {@code UpdateItem} conditioned on the item's {@code version}; if another instance wrote first,
+ * the item is reloaded and the delta reapplied. Requests that only touch the session persist the
+ * new access time at most once per touch interval. Expiry is tracked in the table's TTL attribute,
+ * and expired items that DynamoDB has not removed yet are treated as absent.
+ * <p>
+ * New sessions, id changes and deletions are written immediately so other instances see them.
+ */
+public class DynamoDbSessionRepository implements SessionRepository<DynamoDbSession> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbSessionRepository.class);
+    
+    static final String SESSION_ID = "sessionId";
+    static final String VERSION = "version";
+    static final String CREATION_TIME = "creationTime";
+    static final String LAST_ACCESSED_TIME = "lastAccessedTime";
+    static final String MAX_INACTIVE_INTERVAL = "maxInactiveInterval";
+    static final String ATTRIBUTES = "attributes";
+    
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final SessionStoreProperties properties;
+    private final Map<String, SessionRecord> nearCache = new ConcurrentHashMap<>();
+    private final Map<String, SessionDelta> pending = new ConcurrentHashMap<>();
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter();
+    private final ScheduledExecutorService writer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("session-write-behind-"));
+    
+    public DynamoDbSessionRepository(DynamoDbClient dynamoDbClient, String tableName, SessionStoreProperties properties) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.properties = properties;
+    }
+    
+    public void start() {
+        long delay = properties.getWriteBehindDelay().toMillis();
+        writer.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                logger.warn("Session write-behind failed: {}", e.getMessage());
+            }
+        }, delay, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stops the background writer and writes whatever is still pending.
+     */
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+    
+    @Override
+    public DynamoDbSession createSession() {
+        return new DynamoDbSession(properties.getMaxInactiveInterval());
+    }
+    
+    @Override
+    public void save(DynamoDbSession session) {
+        if (session.isNew() || !session.getId().equals(session.getOriginalId())) {
+            saveInFull(session);
+            return;
+        }
+        
+        SessionDelta delta = session.takeDelta();
+        if (delta.isEmpty()) {
+            return;
+        }
+        SessionRecord record = nearCache.computeIfPresent(session.getId(), (id, cached) -> cached.apply(delta));
+        if (delta.isTouchOnly() && record != null
+                && Duration.between(record.getPersistedLastAccessedTime(), delta.getLastAccessedTime())
+                        .compareTo(properties.getTouchInterval()) < 0) {
+            return;
+        }
+        pending.merge(session.getId(), delta, SessionDelta::merge);
+    }
+    
+    @Override
+    public DynamoDbSession findById(String id) {
+        SessionRecord record = nearCache.get(id);
+        if (record == null || record.isOlderThan(properties.getNearCacheTtl())) {
+            record = load(id);
+            if (record == null) {
+                nearCache.remove(id);
+                return null;
+            }
+            SessionDelta unwritten = pending.get(id);
+            if (unwritten != null) {
+                record = record.apply(unwritten);
+            }
+            nearCache.put(id, record);
+        }
+        
+        if (record.isExpired(Instant.now())) {
+            deleteById(id);
+            return null;
+        }
+        return new DynamoDbSession(record);
+    }
+    
+    @Override
+    public void deleteById(String id) {
+        pending.remove(id);
+        nearCache.remove(id);
+        dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(SESSION_ID, s(id)))
+                .build());
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "cachedSessions", nearCache.size(),
+                "pendingWrites", pending.size());
+    }
+    
+    /**
+     * Writes every pending delta. Runs on the write-behind thread.
+     */
+    void flush() {
+        for (String id : List.copyOf(pending.keySet())) {
+            SessionDelta delta = pending.remove(id);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                write(id, delta);
+            } catch (RuntimeException e) {
+                // Keep the changes for the next flush, ahead of anything saved since
+                pending.merge(id, delta, (later, earlier) -> earlier.merge(later));
+                logger.warn("Failed to write session {}; will retry: {}", id, e.getMessage());
+            }
+        }
+        
+        Instant now = Instant.now();
+        nearCache.values().removeIf(record -> record.isExpired(now)
+                || (record.isOlderThan(properties.getNearCacheTtl()) && !pending.containsKey(record.getId())));
+    }
+    
+    private void write(String id, SessionDelta delta) {
+        for (int attempt = 1; ; attempt++) {
+            SessionRecord record = nearCache.get(id);
+            if (record == null) {
+                record = load(id);
+                if (record == null) {
+                    logger.debug("Session {} no longer exists; dropping pending changes", id);
+                    return;
+                }
+            }
+            
+            try {
+                long nextVersion = record.getVersion() + 1;
+                dynamoDbClient.updateItem(toUpdateRequest(id, record.getVersion(), nextVersion, record.apply(delta), delta));
+                nearCache.computeIfPresent(id, (key, cached) -> cached.written(nextVersion, delta));
+                return;
+            } catch (ConditionalCheckFailedException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    nearCache.remove(id);
+                    throw new IllegalStateException("Session " + id + " kept changing concurrently after "
+                            + attempt + " attempts", e);
+                }
+                SessionRecord fresh = load(id);
+                if (fresh == null) {
+                    nearCache.remove(id);
+                    logger.debug("Session {} was deleted concurrently; dropping pending changes", id);
+                    return;
+                }
+                logger.debug("Session {} was updated elsewhere; reapplying local changes on version {}",
+                        id, fresh.getVersion());
+                SessionRecord merged = fresh.apply(delta);
+                SessionDelta later = pending.get(id);
+                nearCache.put(id, later != null ? merged.apply(later) : merged);
+            }
+        }
+    }
+    
+    private void saveInFull(DynamoDbSession session) {
+        // Anything not yet written for the old id is part of the session's full state
+        pending.remove(session.getOriginalId());
+        
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(SESSION_ID, s(session.getId()));
+        item.put(VERSION, n(0));
+        item.put(CREATION_TIME, n(session.getCreationTime().toEpochMilli()));
+        item.put(LAST_ACCESSED_TIME, n(session.getLastAccessedTime().toEpochMilli()));
+        item.put(MAX_INACTIVE_INTERVAL, n(session.getMaxInactiveInterval().getSeconds()));
+        Map<String, AttributeValue> attributes = new HashMap<>();
+        session.getAttributes().forEach((name, value) -> attributes.put(name, serialize(value)));
+        item.put(ATTRIBUTES, AttributeValue.builder().m(attributes).build());
+        SessionRecord record = SessionRecord.persisted(session, 0);
+        if (record.getExpiresAt() != null) {
+            item.put(properties.getTtlAttribute(), n(record.getExpiresAt().getEpochSecond()));
+        }
+        
+        dynamoDbClient.putItem(PutItemRequest.builder()
+                .tableName(tableName)
+                .item(item)
+                .conditionExpression("attribute_not_exists(#id)")
+                .expressionAttributeNames(Map.of("#id", SESSION_ID))
+                .build());
+        
+        if (!session.isNew()) {
+            deleteById(session.getOriginalId());
+        }
+        nearCache.put(session.getId(), record);
+        session.markSaved();
+    }
+    
+    private UpdateItemRequest toUpdateRequest(String id, long expectedVersion, long nextVersion,
+                                              SessionRecord updated, SessionDelta delta) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> sets = new ArrayList<>();
+        List<String> removes = new ArrayList<>();
+        
+        names.put("#version", VERSION);
+        values.put(":expected", n(expectedVersion));
+        values.put(":next", n(nextVersion));
+        sets.add("#version = :next");
+        
+        if (delta.getLastAccessedTime() != null) {
+            names.put("#lastAccessed", LAST_ACCESSED_TIME);
+            values.put(":lastAccessed", n(delta.getLastAccessedTime().toEpochMilli()));
+            sets.add("#lastAccessed = :lastAccessed");
+        }
+        if (delta.getMaxInactiveInterval() != null) {
+            names.put("#maxInactive", MAX_INACTIVE_INTERVAL);
+            values.put(":maxInactive", n(delta.getMaxInactiveInterval().getSeconds()));
+            sets.add("#maxInactive = :maxInactive");
+        }
+        if (delta.getLastAccessedTime() != null || delta.getMaxInactiveInterval() != null) {
+            names.put("#ttl", properties.getTtlAttribute());
+            if (updated.getExpiresAt() != null) {
+                values.put(":ttl", n(updated.getExpiresAt().getEpochSecond()));
+                sets.add("#ttl = :ttl");
+            } else {
+                removes.add("#ttl");
+            }
+        }
+        
+        int index = 0;
+        for (Map.Entry<String, Object> attribute : delta.getAttributes().entrySet()) {
+            String name = "#a" + index;
+            names.put("#attributes", ATTRIBUTES);
+            names.put(name, attribute.getKey());
+            if (attribute.getValue() == null) {
+                removes.add("#attributes." + name);
+            } else {
+                String value = ":a" + index;
+                values.put(value, serialize(attribute.getValue()));
+                sets.add("#attributes." + name + " = " + value);
+            }
+            index++;
+        }
+        
+        String expression = "SET " + String.join(", ", sets)
+                + (removes.isEmpty() ? "" : " REMOVE " + String.join(", ", removes));
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(SESSION_ID, s(id)))
+                .updateExpression(expression)
+                .conditionExpression("#version = :expected")
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+    
+    private SessionRecord load(String id) {
+        Map<String, AttributeValue> item = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(SESSION_ID, s(id)))
+                .consistentRead(true)
+                .build()).item();
+        if (item == null || item.isEmpty()) {
+            return null;
+        }
+        
+        Map<String, Object> attributes = new HashMap<>();
+        item.getOrDefault(ATTRIBUTES, AttributeValue.builder().m(Map.of()).build()).m()
+                .forEach((name, value) -> attributes.put(name, deserializer.convert(value.b().asByteArray())));
+        Instant lastAccessedTime = Instant.ofEpochMilli(Long.parseLong(item.get(LAST_ACCESSED_TIME).n()));
+        return new SessionRecord(id,
+                Long.parseLong(item.get(VERSION).n()),
+                Instant.ofEpochMilli(Long.parseLong(item.get(CREATION_TIME).n())),
+                lastAccessedTime,
+                Duration.ofSeconds(Long.parseLong(item.get(MAX_INACTIVE_INTERVAL).n())),
+                attributes,
+                lastAccessedTime,
+                System.nanoTime());
+    }
+    
+    private AttributeValue serialize(Object value) {
+        return AttributeValue.builder().b(SdkBytes.fromByteArray(serializer.convert(value))).build();
+    }
+    
+    private static AttributeValue s(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+    
+    private static AttributeValue n(long value) {
+        return AttributeValue.builder().n(Long.toString(value)).build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.javaninja.repository;
+
+import com.javaninja.config.DynamoDbProperties;
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.model.entity.Order;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.concurrent.ExecutorService;
+
+@Repository
+public class OrderRepository extends BatchingDynamoDbRepository<Order> {
+    
+    public OrderRepository(DynamoDbClient dynamoDbClient, DynamoDbEnhancedClient enhancedClient,
+                           DynamoDbProperties properties,
+                           @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor) {
+        super(dynamoDbClient, enhancedClient, properties, "orders", Order.class, fanOutExecutor);
+    }
+}
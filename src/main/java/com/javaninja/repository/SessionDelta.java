@@ -0,0 +1,60 @@
+package com.javaninja.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Changes made to a session during one or more requests that have not been written yet.
+ * An attribute mapped to {@code null} was removed.
+ */
+final class SessionDelta {
+    
+    static final SessionDelta EMPTY = new SessionDelta(Map.of(), null, null);
+    
+    private final Map<String, Object> attributes;
+    private final Instant lastAccessedTime;
+    private final Duration maxInactiveInterval;
+    
+    SessionDelta(Map<String, Object> attributes, Instant lastAccessedTime, Duration maxInactiveInterval) {
+        this.attributes = Collections.unmodifiableMap(new HashMap<>(attributes));
+        this.lastAccessedTime = lastAccessedTime;
+        this.maxInactiveInterval = maxInactiveInterval;
+    }
+    
+    Map<String, Object> getAttributes() {
+        return attributes;
+    }
+    
+    Instant getLastAccessedTime() {
+        return lastAccessedTime;
+    }
+    
+    Duration getMaxInactiveInterval() {
+        return maxInactiveInterval;
+    }
+    
+    boolean isEmpty() {
+        return attributes.isEmpty() && lastAccessedTime == null && maxInactiveInterval == null;
+    }
+    
+    /**
+     * Whether the only change is a new access time, which can be persisted lazily.
+     */
+    boolean isTouchOnly() {
+        return attributes.isEmpty() && maxInactiveInterval == null && lastAccessedTime != null;
+    }
+    
+    /**
+     * Combines this delta with a later one; the later one wins per attribute.
+     */
+    SessionDelta merge(SessionDelta later) {
+        Map<String, Object> merged = new HashMap<>(attributes);
+        merged.putAll(later.attributes);
+        return new SessionDelta(merged,
+                later.lastAccessedTime != null ? later.lastAccessedTime : lastAccessedTime,
+                later.maxInactiveInterval != null ? later.maxInactiveInterval : maxInactiveInterval);
+    }
+}
@@ -0,0 +1,96 @@
+package com.javaninja.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable near-cache entry: the latest local state of a session together with the version
+ * and access time last written to DynamoDB.
+ */
+final class SessionRecord {
+    
+    private final String id;
+    private final long version;
+    private final Instant creationTime;
+    private final Instant lastAccessedTime;
+    private final Duration maxInactiveInterval;
+    private final Map<String, Object> attributes;
+    private final Instant persistedLastAccessedTime;
+    private final long cachedAt;
+    
+    SessionRecord(String id, long version, Instant creationTime, Instant lastAccessedTime,
+                  Duration maxInactiveInterval, Map<String, Object> attributes,
+                  Instant persistedLastAccessedTime, long cachedAt) {
+        this.id = id;
+        this.version = version;
+        this.creationTime = creationTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.persistedLastAccessedTime = persistedLastAccessedTime;
+        this.cachedAt = cachedAt;
+    }
+    
+    /**
+     * Creates the record for a session that has just been written in full.
+     */
+    static SessionRecord persisted(DynamoDbSession session, long version) {
+        return new SessionRecord(session.getId(), version, session.getCreationTime(), session.getLastAccessedTime(),
+                session.getMaxInactiveInterval(), new HashMap<>(session.getAttributes()),
+                session.getLastAccessedTime(), System.nanoTime());
+    }
+    
+    String getId() { return id; }
+    long getVersion() { return version; }
+    Instant getCreationTime() { return creationTime; }
+    Instant getLastAccessedTime() { return lastAccessedTime; }
+    Duration getMaxInactiveInterval() { return maxInactiveInterval; }
+    Map<String, Object> getAttributes() { return attributes; }
+    Instant getPersistedLastAccessedTime() { return persistedLastAccessedTime; }
+    
+    /**
+     * Applies local changes that have not been written yet; version and cache age are unchanged.
+     */
+    SessionRecord apply(SessionDelta delta) {
+        Map<String, Object> updated = new HashMap<>(attributes);
+        delta.getAttributes().forEach((name, value) -> {
+            if (value == null) {
+                updated.remove(name);
+            } else {
+                updated.put(name, value);
+            }
+        });
+        return new SessionRecord(id, version, creationTime,
+                delta.getLastAccessedTime() != null ? delta.getLastAccessedTime() : lastAccessedTime,
+                delta.getMaxInactiveInterval() != null ? delta.getMaxInactiveInterval() : maxInactiveInterval,
+                updated, persistedLastAccessedTime, cachedAt);
+    }
+    
+    /**
+     * Returns this record after a successful write of {@code delta} at {@code newVersion}.
+     */
+    SessionRecord written(long newVersion, SessionDelta delta) {
+        Instant persisted = delta.getLastAccessedTime() != null ? delta.getLastAccessedTime() : persistedLastAccessedTime;
+        return new SessionRecord(id, newVersion, creationTime, lastAccessedTime, maxInactiveInterval, attributes,
+                persisted, System.nanoTime());
+    }
+    
+    boolean isOlderThan(Duration age) {
+        return System.nanoTime() - cachedAt > age.toNanos();
+    }
+    
+    boolean isExpired(Instant now) {
+        Instant expiresAt = getExpiresAt();
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+    
+    /**
+     * Expiry time, or {@code null} for sessions that never expire.
+     */
+    Instant getExpiresAt() {
+        return maxInactiveInterval.isNegative() ? null : lastAccessedTime.plus(maxInactiveInterval);
+    }
+}
@@ -0,0 +1,54 @@
+package com.javaninja.service;
+
+/**
+ * Consumer-side view of a message body that may live in S3. The S3 object is only
+ * downloaded on the first {@link #getBody()} call. It is deleted on {@link #acknowledge()} only
+ * when it was offloaded for a single SQS queue; bodies shared by SNS subscribers are left to expire.
+ */
+public final class ClaimCheckPayload {
+    
+    private final ClaimCheckService claimCheckService;
+    private final String bucketName;
+    private final String objectKey;
+    private final boolean deleteOnAcknowledge;
+    private volatile String body;
+    
+    ClaimCheckPayload(ClaimCheckService claimCheckService, String bucketName, String objectKey,
+                      boolean deleteOnAcknowledge) {
+        this.claimCheckService = claimCheckService;
+        this.bucketName = bucketName;
+        this.objectKey = objectKey;
+        this.deleteOnAcknowledge = deleteOnAcknowledge;
+    }
+    
+    private ClaimCheckPayload(String body) {
+        this(null, null, null, false);
+        this.body = body;
+    }
+    
+    static ClaimCheckPayload inline(String body) {
+        return new ClaimCheckPayload(body);
+    }
+    
+    public boolean isOffloaded() {
+        return claimCheckService != null;
+    }
+    
+    public String getBody() {
+        String resolved = body;
+        if (resolved == null && isOffloaded()) {
+            resolved = claimCheckService.fetch(bucketName, objectKey);
+            body = resolved;
+        }
+        return resolved;
+    }
+    
+    /**
+     * Call once the message has been processed and deleted from the queue.
+     */
+    public void acknowledge() {
+        if (isOffloaded() && deleteOnAcknowledge) {
+            claimCheckService.release(bucketName, objectKey);
+        }
+    }
+}
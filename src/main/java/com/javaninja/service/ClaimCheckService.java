@@ -0,0 +1,157 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.ClaimCheckProperties;
+import com.javaninja.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves message bodies that exceed the configured threshold to S3 and replaces them
+ * with a small pointer envelope. Consumers resolve the pointer lazily via {@link #resolve}.
+ * <p>
+ * Only bodies offloaded for a single SQS queue ({@link #offloadForQueue}) are deleted when the
+ * consumer acknowledges them. SNS delivers the same pointer to every subscriber, so SNS bodies
+ * are left in place and have to be expired by an S3 lifecycle rule on {@code key-prefix}.
+ */
+@Service
+public class ClaimCheckService {
+    
+    public static final String CLAIM_CHECK_ATTRIBUTE = "claim-check";
+    public static final String CLAIM_CHECK_VERSION = "v1";
+    
+    private static final Logger logger = LoggerFactory.getLogger(ClaimCheckService.class);
+    
+    // A UTF-16 char never encodes to more than 3 UTF-8 bytes
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
+    
+    private final S3Client s3Client;
+    private final ClaimCheckProperties properties;
+    private final ObjectMapper objectMapper;
+    private final long thresholdBytes;
+    
+    public ClaimCheckService(S3Client s3Client, ClaimCheckProperties properties, ObjectMapper objectMapper) {
+        this.s3Client = s3Client;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.thresholdBytes = properties.getThreshold().toBytes();
+        
+        if (properties.isEnabled() && (properties.getBucketName() == null || properties.getBucketName().isBlank())) {
+            throw new IllegalStateException("aws.services.claim-check.bucket-name is required when claim-check is enabled");
+        }
+    }
+    
+    /**
+     * Returns the payload unchanged when it fits inline, otherwise uploads the body to S3
+     * and returns a pointer payload tagged with the {@value #CLAIM_CHECK_ATTRIBUTE} attribute.
+     * The pointer may reach several consumers, so acknowledging it leaves the S3 object in place.
+     */
+    public MessagePayload offload(MessagePayload payload) {
+        return offload(payload, false);
+    }
+    
+    /**
+     * Like {@link #offload(MessagePayload)}, for a message sent to exactly one SQS queue: its only
+     * consumer deletes the S3 object once it acknowledges the message.
+     */
+    public MessagePayload offloadForQueue(MessagePayload payload) {
+        return offload(payload, true);
+    }
+    
+    private MessagePayload offload(MessagePayload payload, boolean deleteOnAcknowledge) {
+        String body = payload.getBody();
+        if (!properties.isEnabled() || body == null
+                || (long) body.length() * MAX_UTF8_BYTES_PER_CHAR <= thresholdBytes) {
+            return payload;
+        }
+        
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= thresholdBytes) {
+            return payload;
+        }
+        
+        String key = properties.getKeyPrefix() + UUID.randomUUID();
+        logger.info("Offloading {} byte message body to S3: bucket={}, key={}", bytes.length, properties.getBucketName(), key);
+        
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(properties.getBucketName())
+                .key(key)
+                .contentLength((long) bytes.length)
+                .contentType("text/plain; charset=utf-8")
+                .build();
+        
+        s3Client.putObject(putRequest,
+                RequestBody.fromContentProvider(() -> new ByteArrayInputStream(bytes), bytes.length, "text/plain; charset=utf-8"));
+        
+        return payload.withBody(toPointer(properties.getBucketName(), key, bytes.length, deleteOnAcknowledge))
+                .withAttribute(CLAIM_CHECK_ATTRIBUTE, CLAIM_CHECK_VERSION);
+    }
+    
+    /**
+     * Wraps a received body. Pointer bodies are fetched from S3 on first access only.
+     */
+    public ClaimCheckPayload resolve(MessagePayload payload) {
+        if (!CLAIM_CHECK_VERSION.equals(payload.getAttribute(CLAIM_CHECK_ATTRIBUTE))) {
+            return ClaimCheckPayload.inline(payload.getBody());
+        }
+        
+        try {
+            JsonNode pointer = objectMapper.readTree(payload.getBody()).path("claimCheck");
+            return new ClaimCheckPayload(this, pointer.path("bucket").asText(), pointer.path("key").asText(),
+                    pointer.path("deleteOnAcknowledge").asBoolean(false));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed claim-check pointer", e);
+        }
+    }
+    
+    String fetch(String bucketName, String objectKey) {
+        logger.info("Resolving claim-check from S3: bucket={}, key={}", bucketName, objectKey);
+        
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .build();
+        
+        return s3Client.getObjectAsBytes(getRequest).asUtf8String();
+    }
+    
+    void release(String bucketName, String objectKey) {
+        logger.info("Deleting acknowledged claim-check from S3: bucket={}, key={}", bucketName, objectKey);
+        
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .build());
+    }
+    
+    private String toPointer(String bucketName, String objectKey, long size, boolean deleteOnAcknowledge) {
+        Map<String, Object> location = new LinkedHashMap<>();
+        location.put("bucket", bucketName);
+        location.put("key", objectKey);
+        location.put("size", size);
+        // Absent in pointers fanned out through SNS, and in those written before this flag existed
+        if (deleteOnAcknowledge) {
+            location.put("deleteOnAcknowledge", true);
+        }
+        
+        try {
+            return objectMapper.writeValueAsString(Map.of("claimCheck", location));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build claim-check pointer", e);
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.javaninja.service;
+
+import com.javaninja.config.CloudWatchMetricsProperties;
+import com.javaninja.support.AwsMetricsInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchClient;
+import software.amazon.awssdk.services.cloudwatch.model.Dimension;
+import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
+import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataRequest;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.awssdk.services.cloudwatch.model.StatisticSet;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Publishes application metrics to CloudWatch without a {@code PutMetricData} call per value.
+ * <p>
+ * Values are aggregated in memory per series (name, unit and dimensions) for one interval.
+ * {@link #record} keeps a statistic set (count, sum, min, max); {@link #recordDistribution} keeps a
+ * histogram of values rounded to buckets of {@code histogram-precision} relative width, published as
+ * values/counts arrays so CloudWatch can still compute percentiles. At the end of each interval the
+ * aggregates are packed into as few {@code PutMetricData} calls as the datum and size limits allow
+ * and sent from a small executor. Recording never blocks: values for new series beyond
+ * {@code max-series}, and calls beyond {@code max-pending-requests}, are dropped and counted.
+ * <p>
+ * This replaces {@code management.metrics.export.cloudwatch}. Every AWS call reported by
+ * {@link AwsMetricsInterceptor} is recorded as an {@code aws.client.requests} distribution, and
+ * before each flush the counters and gauges whose names start with one of the {@code meters}
+ * prefixes are read from the meter registry, counters as their increment since the last flush and
+ * gauges as their current value, with tags as dimensions. Timers are not read from the registry,
+ * since their histograms are windowed rather than cumulative. The publisher's own counts are
+ * registered as {@code cloudwatch.publisher.*} meters.
+ */
+@Service
+public class CloudWatchMetricPublisher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CloudWatchMetricPublisher.class);
+    
+    // A datum carries at most 150 distinct values; larger histograms are split across datums
+    static final int MAX_VALUES_PER_DATUM = 150;
+    
+    private final CloudWatchClient cloudWatchClient;
+    private final AwsMetricsInterceptor awsMetricsInterceptor;
+    private final MeterRegistry meterRegistry;
+    private final CloudWatchMetricsProperties properties;
+    private final List<Dimension> commonDimensions;
+    private final long intervalMillis;
+    private final double bucketBase;
+    private final AtomicReference<Window> window;
+    
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong droppedValues = new AtomicLong();
+    private final AtomicLong droppedDatums = new AtomicLong();
+    private final AtomicLong publishedDatums = new AtomicLong();
+    private final AtomicLong failedDatums = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    
+    // Counter values at the last flush, so each interval publishes only the increment; used by the flush only
+    private final Map<Meter.Id, Double> counts = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private ScheduledExecutorService scheduler;
+    private ThreadPoolExecutor sender;
+    
+    public CloudWatchMetricPublisher(CloudWatchClient cloudWatchClient, AwsMetricsInterceptor awsMetricsInterceptor,
+                                     MeterRegistry meterRegistry, CloudWatchMetricsProperties properties) {
+        this.cloudWatchClient = cloudWatchClient;
+        this.awsMetricsInterceptor = awsMetricsInterceptor;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.commonDimensions = properties.getDimensions().entrySet().stream()
+                .map(entry -> Dimension.builder().name(entry.getKey()).value(entry.getValue()).build())
+                .toList();
+        this.intervalMillis = properties.getInterval().toMillis();
+        this.bucketBase = Math.log1p(properties.getHistogramPrecision());
+        this.window = new AtomicReference<>(new Window(intervalStart()));
+        registerMeters();
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            logger.info("CloudWatch metric publishing is disabled");
+            return;
+        }
+        sender = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getMaxPendingRequests()),
+                new CustomizableThreadFactory("cloudwatch-put-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        sender.allowCoreThreadTimeOut(true);
+        awsMetricsInterceptor.addListener(this::recordCall);
+        
+        // Flush on interval boundaries so each window lines up with a CloudWatch period
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cloudwatch-flush-"));
+        long delay = intervalMillis - System.currentTimeMillis() % intervalMillis;
+        scheduler.scheduleAtFixedRate(this::flush, delay, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Publishing metrics to CloudWatch namespace {} every {}", properties.getNamespace(), properties.getInterval());
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        flush();
+        sender.shutdown();
+        if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warn("{} PutMetricData call(s) still pending at shutdown", sender.getQueue().size());
+        }
+    }
+    
+    /**
+     * Adds {@code value} to the statistic set of the series for the current interval.
+     * Returns false if the value was dropped.
+     */
+    public boolean record(String name, double value, StandardUnit unit, Map<String, String> dimensions) {
+        return add(new SeriesKey(name, unit, dimensions, false), value);
+    }
+    
+    /**
+     * Adds {@code value} to the histogram of the series for the current interval.
+     * Returns false if the value was dropped.
+     */
+    public boolean recordDistribution(String name, double value, StandardUnit unit, Map<String, String> dimensions) {
+        return add(new SeriesKey(name, unit, dimensions, true), value);
+    }
+    
+    public boolean increment(String name, Map<String, String> dimensions) {
+        return record(name, 1, StandardUnit.COUNT, dimensions);
+    }
+    
+    private void recordCall(Tags tags, long nanos) {
+        Map<String, String> dimensions = new HashMap<>();
+        tags.forEach(tag -> dimensions.put(tag.getKey(), tag.getValue()));
+        recordDistribution("aws.client.requests", nanos / 1_000_000.0, StandardUnit.MILLISECONDS, dimensions);
+    }
+    
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("series", window.get().series.size());
+        stats.put("recorded", recorded.get());
+        stats.put("droppedValues", droppedValues.get());
+        stats.put("droppedDatums", droppedDatums.get());
+        stats.put("publishedDatums", publishedDatums.get());
+        stats.put("failedDatums", failedDatums.get());
+        stats.put("requests", requests.get());
+        stats.put("pendingRequests", sender != null ? sender.getQueue().size() : 0);
+        return stats;
+    }
+    
+    /**
+     * Records the exported meters, closes the current window and queues its aggregates for publishing.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            collectMeters();
+            publishWindow();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * Records the change of each exported meter since the previous flush into the current window.
+     */
+    void collectMeters() {
+        Set<Meter.Id> seen = new HashSet<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            Meter.Id id = meter.getId();
+            if (properties.getMeters().stream().noneMatch(prefix -> id.getName().startsWith(prefix))) {
+                continue;
+            }
+            seen.add(id);
+            if (meter instanceof Counter counter) {
+                collectCount(id, counter.count(), dimensions(id));
+            } else if (meter instanceof FunctionCounter counter) {
+                collectCount(id, counter.count(), dimensions(id));
+            } else if (meter instanceof Gauge gauge && Double.isFinite(gauge.value())) {
+                record(id.getName(), gauge.value(), unit(id, StandardUnit.NONE), dimensions(id));
+            }
+        }
+        // Forget removed meters
+        counts.keySet().retainAll(seen);
+    }
+    
+    private void publishWindow() {
+        Window closed = window.getAndSet(new Window(intervalStart()));
+        // Wait for recorders still adding to the old window; later ones see it closed and move on
+        closed.lock.writeLock().lock();
+        try {
+            closed.closed = true;
+        } finally {
+            closed.lock.writeLock().unlock();
+        }
+        if (closed.series.isEmpty()) {
+            return;
+        }
+        
+        List<MetricDatum> datums = new ArrayList<>();
+        closed.series.forEach((key, aggregate) -> datums.addAll(toDatums(closed.start, key, aggregate)));
+        
+        long maxBytes = properties.getMaxRequestSize().toBytes();
+        List<MetricDatum> batch = new ArrayList<>();
+        long batchBytes = 0;
+        for (MetricDatum datum : datums) {
+            int size = estimateSize(datum);
+            if (!batch.isEmpty() && (batch.size() >= properties.getMaxDatumsPerRequest() || batchBytes + size > maxBytes)) {
+                send(batch);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(datum);
+            batchBytes += size;
+        }
+        send(batch);
+        logger.debug("Flushed {} series as {} datum(s)", closed.series.size(), datums.size());
+    }
+    
+    private void collectCount(Meter.Id id, double count, Map<String, String> dimensions) {
+        Double previous = counts.put(id, count);
+        double added = count - (previous != null ? previous : 0);
+        if (added > 0) {
+            record(id.getName(), added, unit(id, StandardUnit.COUNT), dimensions);
+        }
+    }
+    
+    private static Map<String, String> dimensions(Meter.Id id) {
+        Map<String, String> dimensions = new HashMap<>();
+        for (Tag tag : id.getTagsAsIterable()) {
+            // CloudWatch rejects empty dimension values
+            if (!tag.getValue().isEmpty()) {
+                dimensions.put(tag.getKey(), tag.getValue());
+            }
+        }
+        return dimensions;
+    }
+    
+    private static StandardUnit unit(Meter.Id id, StandardUnit defaultUnit) {
+        return "bytes".equals(id.getBaseUnit()) ? StandardUnit.BYTES : defaultUnit;
+    }
+    
+    private void registerMeters() {
+        FunctionCounter.builder("cloudwatch.publisher.values", recorded, AtomicLong::get)
+                .description("Values aggregated for CloudWatch")
+                .tag("outcome", "recorded")
+                .register(meterRegistry);
+        FunctionCounter.builder("cloudwatch.publisher.values", droppedValues, AtomicLong::get)
+                .description("Values aggregated for CloudWatch")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        FunctionCounter.builder("cloudwatch.publisher.datums", publishedDatums, AtomicLong::get)
+                .description("Datums sent to CloudWatch")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        FunctionCounter.builder("cloudwatch.publisher.datums", failedDatums, AtomicLong::get)
+                .description("Datums sent to CloudWatch")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("cloudwatch.publisher.datums", droppedDatums, AtomicLong::get)
+                .description("Datums sent to CloudWatch")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("cloudwatch.publisher.pending", this,
+                        publisher -> publisher.sender != null ? publisher.sender.getQueue().size() : 0)
+                .description("PutMetricData calls waiting to be sent")
+                .register(meterRegistry);
+    }
+    
+    private boolean add(SeriesKey key, double value) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        while (true) {
+            Window current = window.get();
+            // Only fails while a flush is closing this window, by which time a new one is in place
+            if (!current.lock.readLock().tryLock()) {
+                continue;
+            }
+            try {
+                if (current.closed) {
+                    continue;
+                }
+                Aggregate aggregate = current.series.get(key);
+                if (aggregate == null) {
+                    if (current.series.size() >= properties.getMaxSeries()) {
+                        droppedValues.incrementAndGet();
+                        return false;
+                    }
+                    aggregate = current.series.computeIfAbsent(key, k -> new Aggregate(k.distribution));
+                }
+                aggregate.add(value, key.distribution ? bucket(value) : value);
+                recorded.incrementAndGet();
+                return true;
+            } finally {
+                current.lock.readLock().unlock();
+            }
+        }
+    }
+    
+    private List<MetricDatum> toDatums(Instant timestamp, SeriesKey key, Aggregate aggregate) {
+        List<Dimension> dimensions = new ArrayList<>(commonDimensions);
+        key.dimensions.forEach((name, value) -> dimensions.add(Dimension.builder().name(name).value(value).build()));
+        MetricDatum base = MetricDatum.builder()
+                .metricName(key.name)
+                .unit(key.unit)
+                .dimensions(dimensions)
+                .timestamp(timestamp)
+                .storageResolution(intervalMillis < 60_000 ? 1 : 60)
+                .build();
+        
+        if (!key.distribution) {
+            return List.of(base.toBuilder()
+                    .statisticValues(StatisticSet.builder()
+                            .sampleCount((double) aggregate.count)
+                            .sum(aggregate.sum)
+                            .minimum(aggregate.min)
+                            .maximum(aggregate.max)
+                            .build())
+                    .build());
+        }
+        
+        List<Map.Entry<Double, Long>> buckets = new ArrayList<>(new TreeMap<>(aggregate.buckets).entrySet());
+        List<MetricDatum> datums = new ArrayList<>();
+        for (int start = 0; start < buckets.size(); start += MAX_VALUES_PER_DATUM) {
+            List<Map.Entry<Double, Long>> chunk = buckets.subList(start, Math.min(start + MAX_VALUES_PER_DATUM, buckets.size()));
+            datums.add(base.toBuilder()
+                    .values(chunk.stream().map(Map.Entry::getKey).toList())
+                    .counts(chunk.stream().map(entry -> entry.getValue().doubleValue()).toList())
+                    .build());
+        }
+        return datums;
+    }
+    
+    private void send(List<MetricDatum> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        PutMetricDataRequest request = PutMetricDataRequest.builder()
+                .namespace(properties.getNamespace())
+                .metricData(batch)
+                .build();
+        try {
+            sender.execute(() -> put(request));
+        } catch (RejectedExecutionException e) {
+            droppedDatums.addAndGet(batch.size());
+            logger.warn("Dropped {} CloudWatch datum(s); {} PutMetricData call(s) already pending",
+                    batch.size(), sender.getQueue().size());
+        }
+    }
+    
+    private void put(PutMetricDataRequest request) {
+        try {
+            cloudWatchClient.putMetricData(request);
+            requests.incrementAndGet();
+            publishedDatums.addAndGet(request.metricData().size());
+        } catch (Exception e) {
+            failedDatums.addAndGet(request.metricData().size());
+            logger.warn("PutMetricData with {} datum(s) failed: {}", request.metricData().size(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Rounds a positive value to the nearest power of (1 + precision), keeping the number of distinct
+     * values per series small while bounding the relative error. Zero and negative values are kept as is.
+     */
+    double bucket(double value) {
+        if (value <= 0) {
+            return value;
+        }
+        return Math.exp(Math.round(Math.log(value) / bucketBase) * bucketBase);
+    }
+    
+    /**
+     * Conservative size of a datum in a request body, so batches stay under the payload limit
+     * before compression.
+     */
+    static int estimateSize(MetricDatum datum) {
+        int size = 400 + datum.metricName().length();
+        for (Dimension dimension : datum.dimensions()) {
+            size += 100 + dimension.name().length() + dimension.value().length();
+        }
+        return size + datum.values().size() * 120;
+    }
+    
+    private Instant intervalStart() {
+        long now = System.currentTimeMillis();
+        return Instant.ofEpochMilli(now - now % intervalMillis);
+    }
+    
+    private static final class Window {
+        
+        private final Instant start;
+        private final ConcurrentHashMap<SeriesKey, Aggregate> series = new ConcurrentHashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+        
+        private Window(Instant start) {
+            this.start = start;
+        }
+    }
+    
+    private static final class SeriesKey {
+        
+        private final String name;
+        private final StandardUnit unit;
+        private final Map<String, String> dimensions;
+        private final boolean distribution;
+        
+        private SeriesKey(String name, StandardUnit unit, Map<String, String> dimensions, boolean distribution) {
+            this.name = name;
+            this.unit = unit != null ? unit : StandardUnit.NONE;
+            this.dimensions = dimensions != null ? new TreeMap<>(dimensions) : Map.of();
+            this.distribution = distribution;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SeriesKey other)) {
+                return false;
+            }
+            return distribution == other.distribution && name.equals(other.name)
+                    && unit == other.unit && dimensions.equals(other.dimensions);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, unit, dimensions, distribution);
+        }
+    }
+    
+    private static final class Aggregate {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        // Bucketed value counts, kept for distributions only
+        private final Map<Double, Long> buckets;
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        
+        private Aggregate(boolean distribution) {
+            this.buckets = distribution ? new HashMap<>() : null;
+        }
+        
+        private void add(double value, double bucket) {
+            lock.lock();
+            try {
+                count++;
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                if (buckets != null) {
+                    buckets.merge(bucket, 1L, Long::sum);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
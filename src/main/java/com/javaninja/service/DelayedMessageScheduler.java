@@ -0,0 +1,383 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SchedulerProperties;
+import com.javaninja.log.LogRecord;
+import com.javaninja.log.Records;
+import com.javaninja.log.SegmentedLog;
+import com.javaninja.model.MessagePayload;
+import com.javaninja.support.HierarchicalTimingWheel;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds SQS messages whose delay exceeds the native 900 second limit and hands each one to
+ * SQS once it is inside that window, using the remaining time as its {@code DelaySeconds}.
+ * <p>
+ * Pending messages live in a {@link HierarchicalTimingWheel} keyed by hand-off time, so
+ * scheduling and expiry are O(1) regardless of how many are pending. Every schedule, cancel and
+ * hand-off is journaled to a local {@link SegmentedLog}, which is replayed on startup and
+ * compacted by rewriting the still-pending entries into fresh segments once finished records
+ * take up more of the journal than pending ones.
+ */
+@Service
+public class DelayedMessageScheduler {
+    
+    public static final int MAX_NATIVE_DELAY_SECONDS = 900;
+    
+    private static final Logger logger = LoggerFactory.getLogger(DelayedMessageScheduler.class);
+    
+    private static final byte RECORD_SCHEDULE = 1;
+    private static final byte RECORD_DONE = 2;
+    private static final int MAX_BATCH = 10;
+    
+    private final SchedulerProperties properties;
+    private final SqsTemplate sqsTemplate;
+    private final Map<String, Entry> pending = new ConcurrentHashMap<>();
+    private final Queue<Entry> ready = new ConcurrentLinkedQueue<>();
+    private final long tickMillis;
+    
+    // Held while a schedule record is journaled and made pending, while a cancel removes an entry
+    // and journals its done record, and while compaction rewrites pending entries, so a compaction
+    // never deletes the only copy of a new entry nor rewrites a cancelled one after its done record
+    private final ReentrantLock journalLock = new ReentrantLock();
+    
+    // Journal bytes taken by the schedule records of pending entries
+    private final AtomicLong liveBytes = new AtomicLong();
+    
+    private SegmentedLog log;
+    private HierarchicalTimingWheel<Entry> wheel;
+    private ScheduledExecutorService executor;
+    
+    public DelayedMessageScheduler(SchedulerProperties properties, SqsTemplate sqsTemplate) {
+        this.properties = properties;
+        this.sqsTemplate = sqsTemplate;
+        this.tickMillis = properties.getTick().toMillis();
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        
+        log = SegmentedLog.open(Paths.get(properties.getDirectory()), (int) properties.getSegmentSize().toBytes());
+        replay();
+        
+        wheel = new HierarchicalTimingWheel<>(properties.getWheelSize(), currentTick());
+        pending.values().forEach(this::arm);
+        compactIfNeeded(true);
+        
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sqs-scheduler-"));
+        executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        
+        logger.info("Delayed message scheduler started with {} pending message(s)", pending.size());
+    }
+    
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        log.close();
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    /**
+     * Persists the message and schedules its hand-off to SQS. Returns an id usable with {@link #cancel}.
+     */
+    public String schedule(String queueName, MessagePayload payload, Instant deliverAt) {
+        if (log == null) {
+            throw new IllegalStateException("Delays above " + MAX_NATIVE_DELAY_SECONDS
+                    + " seconds require aws.services.sqs.scheduler.enabled=true");
+        }
+        
+        Entry entry = new Entry("scheduled-" + UUID.randomUUID(), queueName, payload, deliverAt.toEpochMilli());
+        byte[] record = scheduleRecord(entry);
+        journalLock.lock();
+        try {
+            append(record);
+            addPending(entry, record.length);
+        } finally {
+            journalLock.unlock();
+        }
+        arm(entry);
+        
+        logger.info("Scheduled message {} for queue {} at {}", entry.id, queueName, deliverAt);
+        return entry.id;
+    }
+    
+    /**
+     * Cancels a message that has not been handed to SQS yet. Returns false if the id is unknown or
+     * the message was already handed off.
+     */
+    public boolean cancel(String id) {
+        Entry entry;
+        journalLock.lock();
+        try {
+            entry = removePending(id);
+            if (entry == null) {
+                return false;
+            }
+            append(doneRecord(id));
+        } finally {
+            journalLock.unlock();
+        }
+        HierarchicalTimingWheel.Timeout<Entry> timeout = entry.timeout;
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+        logger.info("Cancelled scheduled message {}", id);
+        return true;
+    }
+    
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    private void addPending(Entry entry, int recordLength) {
+        entry.journalBytes = SegmentedLog.HEADER_BYTES + recordLength;
+        Entry previous = pending.put(entry.id, entry);
+        liveBytes.addAndGet(entry.journalBytes - (previous != null ? previous.journalBytes : 0));
+    }
+    
+    private Entry removePending(String id) {
+        Entry entry = pending.remove(id);
+        if (entry != null) {
+            liveBytes.addAndGet(-entry.journalBytes);
+        }
+        return entry;
+    }
+    
+    private void arm(Entry entry) {
+        long handOffMillis = entry.deliverAtMillis - TimeUnit.SECONDS.toMillis(MAX_NATIVE_DELAY_SECONDS);
+        long deadlineTick = Math.floorDiv(handOffMillis + tickMillis - 1, tickMillis);
+        entry.timeout = wheel.add(entry, deadlineTick);
+        if (entry.timeout == null) {
+            ready.add(entry);
+        }
+    }
+    
+    private void tick() {
+        try {
+            List<Entry> due = new ArrayList<>();
+            for (Entry entry; (entry = ready.poll()) != null; ) {
+                due.add(entry);
+            }
+            wheel.advanceTo(currentTick(), due::add);
+            
+            if (!due.isEmpty()) {
+                handOff(due);
+            }
+            log.flush();
+            compactIfNeeded(false);
+        } catch (Exception e) {
+            logger.error("Scheduler tick failed", e);
+        }
+    }
+    
+    private void handOff(List<Entry> due) {
+        Map<String, List<Entry>> byQueue = new LinkedHashMap<>();
+        for (Entry entry : due) {
+            if (pending.containsKey(entry.id)) {
+                byQueue.computeIfAbsent(entry.queueName, queue -> new ArrayList<>()).add(entry);
+            }
+        }
+        
+        for (Map.Entry<String, List<Entry>> group : byQueue.entrySet()) {
+            List<Entry> entries = group.getValue();
+            for (int from = 0; from < entries.size(); from += MAX_BATCH) {
+                List<Entry> batch = entries.subList(from, Math.min(entries.size(), from + MAX_BATCH));
+                try {
+                    sendBatch(group.getKey(), batch);
+                    for (Entry entry : batch) {
+                        removePending(entry.id);
+                        append(doneRecord(entry.id));
+                    }
+                } catch (Exception e) {
+                    logger.warn("Hand-off of {} message(s) to {} failed, retrying in {}: {}",
+                            batch.size(), group.getKey(), properties.getRetryDelay(), e.getMessage());
+                    long retryTick = currentTick() + Math.max(1, properties.getRetryDelay().toMillis() / tickMillis);
+                    for (Entry entry : batch) {
+                        entry.timeout = wheel.add(entry, retryTick);
+                        if (entry.timeout == null) {
+                            ready.add(entry);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private void sendBatch(String queueName, List<Entry> batch) {
+        long now = System.currentTimeMillis();
+        List<Message<String>> messages = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            int delaySeconds = (int) Math.min(MAX_NATIVE_DELAY_SECONDS,
+                    Math.max(0, (entry.deliverAtMillis - now + 999) / 1000));
+            
+            var messageBuilder = MessageBuilder.withPayload(entry.payload.getBody());
+            entry.payload.getAttributes().forEach(messageBuilder::setHeader);
+            messageBuilder.setHeader(SqsHeaders.SQS_DELAY_HEADER, delaySeconds);
+            messages.add(messageBuilder.build());
+        }
+        sqsTemplate.sendMany(queueName, messages);
+    }
+    
+    private void replay() {
+        long position = SegmentedLog.position(0, 0);
+        int replayed = 0;
+        while (true) {
+            List<LogRecord> records = log.read(position, 10_000);
+            if (records.isEmpty()) {
+                break;
+            }
+            for (LogRecord record : records) {
+                applyRecord(record.getData());
+                replayed++;
+            }
+            position = records.get(records.size() - 1).getNextPosition();
+        }
+        logger.info("Replayed {} scheduler record(s), {} message(s) pending", replayed, pending.size());
+    }
+    
+    private void applyRecord(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            byte type = in.readByte();
+            String id = Records.readString(in);
+            if (type == RECORD_DONE) {
+                removePending(id);
+                return;
+            }
+            String queueName = Records.readString(in);
+            long deliverAtMillis = in.readLong();
+            addPending(new Entry(id, queueName, Records.readPayload(in), deliverAtMillis), data.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt scheduler record", e);
+        }
+    }
+    
+    /**
+     * Rewrites pending entries after a roll so that every older segment can be deleted. Only
+     * worth it once done records outweigh pending ones; otherwise a large pending set would be
+     * rewritten on every tick. Holds the journal lock, so an entry scheduled concurrently is
+     * either rewritten here or journaled after the roll.
+     */
+    private void compactIfNeeded(boolean force) {
+        if (log.segmentCount() <= 1) {
+            return;
+        }
+        long journalBytes = log.bytesBetween(SegmentedLog.position(0, 0), log.endPosition());
+        boolean mostlyDone = journalBytes - liveBytes.get() > liveBytes.get();
+        if (!force && !(log.segmentCount() > properties.getCompactionSegments() && mostlyDone)) {
+            return;
+        }
+        
+        journalLock.lock();
+        try {
+            long start = log.roll();
+            for (Entry entry : pending.values()) {
+                log.append(scheduleRecord(entry));
+            }
+            int deleted = log.deleteSegmentsBefore(start);
+            logger.info("Compacted scheduler log: {} pending message(s) rewritten, {} segment(s) deleted",
+                    pending.size(), deleted);
+        } catch (IOException e) {
+            logger.error("Scheduler log compaction failed", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+    
+    // Journal writes become durable at the next tick's flush
+    private void append(byte[] record) {
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal scheduler record", e);
+        }
+    }
+    
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMillis;
+    }
+    
+    private static byte[] scheduleRecord(Entry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.payload.getBody().length() + 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(RECORD_SCHEDULE);
+            Records.writeString(out, entry.id);
+            Records.writeString(out, entry.queueName);
+            out.writeLong(entry.deliverAtMillis);
+            Records.writePayload(out, entry.payload);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static byte[] doneRecord(String id) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(RECORD_DONE);
+            Records.writeString(out, id);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final String id;
+        private final String queueName;
+        private final MessagePayload payload;
+        private final long deliverAtMillis;
+        private volatile HierarchicalTimingWheel.Timeout<Entry> timeout;
+        private int journalBytes;
+        
+        private Entry(String id, String queueName, MessagePayload payload, long deliverAtMillis) {
+            this.id = id;
+            this.queueName = queueName;
+            this.payload = payload;
+            this.deliverAtMillis = deliverAtMillis;
+        }
+    }
+}
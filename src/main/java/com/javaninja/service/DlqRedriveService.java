@@ -0,0 +1,329 @@
+package com.javaninja.service;
+
+import com.javaninja.config.RedriveProperties;
+import com.javaninja.model.dto.DlqRedriveRequest;
+import com.javaninja.support.TokenBucket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Moves messages from a dead-letter queue back to a source queue with several concurrent
+ * receive, send-batch and delete-batch workers sharing one rate limit. Also offers a
+ * non-consuming peek for inspection. Finished jobs stay queryable for the configured retention
+ * and are then dropped.
+ */
+@Service
+public class DlqRedriveService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DlqRedriveService.class);
+    
+    private static final int MAX_BATCH = 10;
+    private static final int PEEK_WAIT_SECONDS = 1;
+    
+    private final SqsAsyncClient sqsAsyncClient;
+    private final RedriveProperties properties;
+    private final Map<String, RedriveJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("dlq-redrive-"));
+    
+    public DlqRedriveService(SqsAsyncClient sqsAsyncClient, RedriveProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.properties = properties;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.finish(RedriveJob.Status.CANCELLED, "Application shutting down"));
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Starts a redrive in the background.
+     *
+     * @throws IllegalArgumentException if {@code bodyPattern} is not a valid regular expression
+     */
+    public RedriveJob startRedrive(DlqRedriveRequest request) {
+        Predicate<Message> filter = buildFilter(request);
+        evictFinishedJobs();
+        
+        String sourceQueue = request.getSourceQueueName() != null && !request.getSourceQueueName().trim().isEmpty()
+                ? request.getSourceQueueName()
+                : properties.getSourceQueue();
+        int concurrency = request.getConcurrency() != null ? request.getConcurrency() : properties.getConcurrency();
+        int rate = request.getMaxMessagesPerSecond() != null ? request.getMaxMessagesPerSecond() : properties.getMaxMessagesPerSecond();
+        long maxMessages = request.getMaxMessages() != null ? request.getMaxMessages() : Long.MAX_VALUE;
+        
+        String sourceUrl = queueUrl(sourceQueue);
+        String targetUrl = queueUrl(request.getTargetQueueName());
+        
+        RedriveJob job = new RedriveJob(UUID.randomUUID().toString(), sourceQueue, request.getTargetQueueName());
+        jobs.put(job.getJobId(), job);
+        logger.info("Starting redrive {} from {} to {} with {} workers at {} msg/s",
+                job.getJobId(), sourceQueue, request.getTargetQueueName(), concurrency, rate);
+        
+        TokenBucket rateLimiter = TokenBucket.perSecond(rate);
+        AtomicLong budget = new AtomicLong(maxMessages);
+        AtomicInteger activeWorkers = new AtomicInteger(concurrency);
+        
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                try {
+                    runWorker(job, sourceUrl, targetUrl, filter, rateLimiter, budget);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    job.finish(RedriveJob.Status.CANCELLED, "Interrupted");
+                } catch (Exception e) {
+                    logger.error("Redrive {} worker failed", job.getJobId(), e);
+                    job.finish(RedriveJob.Status.FAILED, e.getMessage());
+                } finally {
+                    if (activeWorkers.decrementAndGet() == 0) {
+                        job.finish(RedriveJob.Status.COMPLETED, null);
+                        logger.info("Redrive {} finished: moved={}, skipped={}, failed={}",
+                                job.getJobId(), job.getMoved(), job.getSkipped(), job.getFailed());
+                    }
+                }
+            });
+        }
+        return job;
+    }
+    
+    public RedriveJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+    
+    public Collection<RedriveJob> getJobs() {
+        evictFinishedJobs();
+        return jobs.values();
+    }
+    
+    public boolean cancel(String jobId) {
+        RedriveJob job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        job.finish(RedriveJob.Status.CANCELLED, null);
+        return true;
+    }
+    
+    /**
+     * Samples up to {@code maxMessages} messages without consuming them. Messages are received
+     * with a zero visibility timeout, so they stay available to real consumers; note that each
+     * peek still increments their receive count.
+     */
+    public List<Map<String, Object>> peek(String queueName, int maxMessages) {
+        String queueUrl = queueUrl(queueName != null && !queueName.trim().isEmpty() ? queueName : properties.getSourceQueue());
+        Map<String, Message> sampled = new LinkedHashMap<>();
+        int attempts = maxMessages / MAX_BATCH + 2;
+        
+        for (int i = 0; i < attempts && sampled.size() < maxMessages; i++) {
+            List<Message> messages = sqsAsyncClient.receiveMessage(builder -> builder
+                    .queueUrl(queueUrl)
+                    .maxNumberOfMessages(Math.min(MAX_BATCH, maxMessages - sampled.size()))
+                    .visibilityTimeout(0)
+                    .waitTimeSeconds(PEEK_WAIT_SECONDS)
+                    .messageAttributeNames("All")
+                    .messageSystemAttributeNames(MessageSystemAttributeName.ALL))
+                    .join()
+                    .messages();
+            if (messages.isEmpty()) {
+                break;
+            }
+            messages.forEach(message -> sampled.putIfAbsent(message.messageId(), message));
+        }
+        
+        List<Map<String, Object>> result = new ArrayList<>(sampled.size());
+        for (Message message : sampled.values()) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            message.messageAttributes().forEach((name, value) -> attributes.put(name, value.stringValue()));
+            
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("messageId", message.messageId());
+            view.put("body", message.body());
+            view.put("messageAttributes", attributes);
+            view.put("receiveCount", message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT));
+            view.put("sentTimestamp", message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP));
+            result.add(view);
+        }
+        return result;
+    }
+    
+    private void runWorker(RedriveJob job, String sourceUrl, String targetUrl, Predicate<Message> filter,
+                           TokenBucket rateLimiter, AtomicLong budget) throws InterruptedException {
+        int visibilityTimeout = (int) properties.getVisibilityTimeout().toSeconds();
+        int emptyReceives = 0;
+        
+        while (job.getStatus() == RedriveJob.Status.RUNNING && budget.get() > 0) {
+            List<Message> messages = sqsAsyncClient.receiveMessage(builder -> builder
+                    .queueUrl(sourceUrl)
+                    .maxNumberOfMessages(MAX_BATCH)
+                    .visibilityTimeout(visibilityTimeout)
+                    .waitTimeSeconds(1)
+                    .messageAttributeNames("All")
+                    .messageSystemAttributeNames(MessageSystemAttributeName.ALL))
+                    .join()
+                    .messages();
+            
+            if (messages.isEmpty()) {
+                if (++emptyReceives >= properties.getEmptyReceivesBeforeStop()) {
+                    return;
+                }
+                continue;
+            }
+            emptyReceives = 0;
+            job.receivedCounter().addAndGet(messages.size());
+            
+            List<Message> matching = new ArrayList<>(messages.size());
+            for (Message message : messages) {
+                if (filter.test(message)) {
+                    matching.add(message);
+                }
+            }
+            job.skippedCounter().addAndGet(messages.size() - matching.size());
+            
+            if (matching.isEmpty()) {
+                continue;
+            }
+            
+            int granted = reserve(budget, matching.size());
+            if (granted < matching.size()) {
+                // Over budget: hand the rest straight back instead of hiding it for the visibility timeout
+                releaseVisibility(sourceUrl, matching.subList(granted, matching.size()));
+            }
+            if (granted == 0) {
+                return;
+            }
+            moveBatch(job, sourceUrl, targetUrl, matching.subList(0, granted), rateLimiter);
+        }
+    }
+    
+    private void moveBatch(RedriveJob job, String sourceUrl, String targetUrl, List<Message> batch,
+                           TokenBucket rateLimiter) throws InterruptedException {
+        rateLimiter.acquire(batch.size());
+        
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Message message = batch.get(i);
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .messageBody(message.body())
+                    .messageAttributes(message.messageAttributes())
+                    .messageGroupId(message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID))
+                    .messageDeduplicationId(message.attributes().get(MessageSystemAttributeName.MESSAGE_DEDUPLICATION_ID))
+                    .build());
+        }
+        
+        SendMessageBatchResponse sendResponse = sqsAsyncClient.sendMessageBatch(builder -> builder
+                .queueUrl(targetUrl)
+                .entries(entries))
+                .join();
+        job.failedCounter().addAndGet(sendResponse.failed().size());
+        
+        List<DeleteMessageBatchRequestEntry> deletes = new ArrayList<>(sendResponse.successful().size());
+        for (SendMessageBatchResultEntry sent : sendResponse.successful()) {
+            Message original = batch.get(Integer.parseInt(sent.id()));
+            deletes.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(sent.id())
+                    .receiptHandle(original.receiptHandle())
+                    .build());
+        }
+        if (deletes.isEmpty()) {
+            return;
+        }
+        
+        DeleteMessageBatchResponse deleteResponse = sqsAsyncClient.deleteMessageBatch(builder -> builder
+                .queueUrl(sourceUrl)
+                .entries(deletes))
+                .join();
+        job.movedCounter().addAndGet(deleteResponse.successful().size());
+        job.failedCounter().addAndGet(deleteResponse.failed().size());
+    }
+    
+    private void releaseVisibility(String sourceUrl, List<Message> messages) {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(messages.get(i).receiptHandle())
+                    .visibilityTimeout(0)
+                    .build());
+        }
+        sqsAsyncClient.changeMessageVisibilityBatch(builder -> builder
+                .queueUrl(sourceUrl)
+                .entries(entries))
+                .join();
+    }
+    
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && !job.getFinishedAt().isAfter(cutoff));
+    }
+    
+    private static int reserve(AtomicLong budget, int wanted) {
+        while (true) {
+            long remaining = budget.get();
+            int granted = (int) Math.min(remaining, wanted);
+            if (granted <= 0 || budget.compareAndSet(remaining, remaining - granted)) {
+                return Math.max(granted, 0);
+            }
+        }
+    }
+    
+    private static Predicate<Message> buildFilter(DlqRedriveRequest request) {
+        Predicate<Message> filter = message -> true;
+        
+        if (request.getAttributeName() != null && !request.getAttributeName().trim().isEmpty()) {
+            String name = request.getAttributeName();
+            String expected = request.getAttributeValue();
+            filter = filter.and(message -> {
+                MessageAttributeValue value = message.messageAttributes().get(name);
+                return value != null && (expected == null || expected.equals(value.stringValue()));
+            });
+        }
+        if (request.getBodyContains() != null && !request.getBodyContains().isEmpty()) {
+            String fragment = request.getBodyContains();
+            filter = filter.and(message -> message.body().contains(fragment));
+        }
+        if (request.getBodyPattern() != null && !request.getBodyPattern().isEmpty()) {
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(request.getBodyPattern());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid bodyPattern: " + e.getDescription(), e);
+            }
+            filter = filter.and(message -> pattern.matcher(message.body()).find());
+        }
+        return filter;
+    }
+    
+    private String queueUrl(String queueName) {
+        return sqsAsyncClient.getQueueUrl(builder -> builder.queueName(queueName)).join().queueUrl();
+    }
+}
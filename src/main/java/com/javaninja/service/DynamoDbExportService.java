@@ -0,0 +1,401 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.DynamoDbProperties;
+import com.javaninja.config.ExportProperties;
+import com.javaninja.model.dto.S3ObjectRequest;
+import com.javaninja.support.TokenBucket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.document.EnhancedDocument;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a DynamoDB table to S3 with a parallel segmented {@code Scan}.
+ * <p>
+ * Each segment streams its items as gzip-compressed NDJSON into its own multipart upload, one
+ * part per few megabytes. Every part is a complete gzip member, so the finished object is a
+ * regular multi-member gzip file and a segment can resume from its last uploaded part: after each
+ * part the upload id, part ETags and Scan position are written to a checkpoint object next to the
+ * export. Starting an export again with the same id skips finished segments and continues the rest.
+ * A failed export keeps its multipart uploads open so it can resume; {@link #discardExport} aborts
+ * them and removes what the export wrote when it will not be resumed.
+ * <p>
+ * Reads are paced by a token bucket refilled at a percentage of the table's read capacity, charged
+ * with the capacity each Scan page reports as consumed.
+ */
+@Service
+public class DynamoDbExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbExportService.class);
+    
+    private static final String CONTENT_TYPE = "application/x-ndjson";
+    
+    private final DynamoDbClient dynamoDbClient;
+    private final S3Service s3Service;
+    private final DynamoDbProperties dynamoDbProperties;
+    private final ExportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService segmentExecutor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    
+    public DynamoDbExportService(DynamoDbClient dynamoDbClient, S3Service s3Service, DynamoDbProperties dynamoDbProperties,
+                                 ExportProperties properties, ObjectMapper objectMapper) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.s3Service = s3Service;
+        this.dynamoDbProperties = dynamoDbProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.segmentExecutor = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("dynamodb-export-"));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted segments resume from their last checkpoint
+        segmentExecutor.shutdownNow();
+    }
+    
+    /**
+     * Starts exporting the table with the given logical name, or resumes {@code exportId} when set.
+     * Returns immediately; progress is available from {@link #getExport}.
+     */
+    public ExportJob startExport(String logicalTableName, String exportId, Integer segments) {
+        String tableName = dynamoDbProperties.tableName(logicalTableName);
+        String id = exportId != null ? exportId : logicalTableName + "-" + System.currentTimeMillis();
+        int totalSegments = segments != null ? segments : properties.getSegments();
+        if (exportId != null) {
+            ExportCheckpoint first = readCheckpoint(id, 0);
+            if (first == null) {
+                throw new IllegalArgumentException("No checkpoints found for export " + id);
+            }
+            if (!first.getTableName().equals(tableName)) {
+                throw new IllegalArgumentException("Export " + id + " belongs to table " + first.getTableName());
+            }
+            totalSegments = first.getTotalSegments();
+        }
+        
+        double readRate = readRate(tableName);
+        TokenBucket readBudget = TokenBucket.perSecond(readRate);
+        ExportJob job = new ExportJob(id, tableName, totalSegments, "s3://" + properties.getBucketName() + "/" + prefix(id));
+        jobs.compute(id, (key, existing) -> {
+            if (existing != null && existing.isRunning()) {
+                throw new IllegalStateException("Export " + id + " is already running");
+            }
+            return job;
+        });
+        logger.info("{} export {} of {} with {} segment(s) at {} RCU/s",
+                exportId != null ? "Resuming" : "Starting", id, tableName, totalSegments, readRate);
+        
+        List<CompletableFuture<ExportCheckpoint>> futures = new ArrayList<>(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            int current = segment;
+            futures.add(CompletableFuture.supplyAsync(() -> exportSegment(job, current, readBudget), segmentExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((ignored, e) -> {
+            if (e != null) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.error("Export {} failed; start it again with the same id to resume", id, cause);
+                job.fail(cause);
+                return;
+            }
+            try {
+                writeManifest(job, futures.stream().map(CompletableFuture::join).toList());
+                job.complete();
+                logger.info("Export {} completed: {} item(s) in {} segment(s)", id, job.getItemCount(), totalSegments);
+            } catch (RuntimeException manifestFailure) {
+                job.fail(manifestFailure);
+            }
+        });
+        return job;
+    }
+    
+    public ExportJob getExport(String exportId) {
+        return jobs.get(exportId);
+    }
+    
+    /**
+     * Gives up on an unfinished export: aborts the multipart uploads of its open segments, which S3
+     * would otherwise keep charging for, and deletes its finished segment objects and checkpoints.
+     * Returns the number of uploads aborted.
+     */
+    public int discardExport(String exportId) {
+        ExportJob job = jobs.get(exportId);
+        if (job != null && job.isRunning()) {
+            throw new IllegalStateException("Export " + exportId + " is still running");
+        }
+        ExportCheckpoint first = readCheckpoint(exportId, 0);
+        if (first == null) {
+            throw new IllegalArgumentException("No checkpoints found for export " + exportId);
+        }
+        
+        List<ExportCheckpoint> checkpoints = new ArrayList<>();
+        for (int segment = 0; segment < first.getTotalSegments(); segment++) {
+            ExportCheckpoint checkpoint = segment == 0 ? first : readCheckpoint(exportId, segment);
+            if (checkpoint != null) {
+                checkpoints.add(checkpoint);
+            }
+        }
+        if (checkpoints.size() == first.getTotalSegments() && checkpoints.stream().allMatch(ExportCheckpoint::isCompleted)) {
+            throw new IllegalStateException("Export " + exportId + " is complete");
+        }
+        
+        int aborted = 0;
+        for (ExportCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.isCompleted()) {
+                s3Service.deleteObject(properties.getBucketName(), checkpoint.getObjectKey());
+            } else if (checkpoint.getUploadId() != null) {
+                try {
+                    s3Service.abortMultipartUpload(properties.getBucketName(), checkpoint.getObjectKey(), checkpoint.getUploadId());
+                    aborted++;
+                } catch (NoSuchUploadException e) {
+                    logger.debug("Upload for segment {} of export {} was already gone", checkpoint.getSegment(), exportId);
+                }
+            }
+            // Deleted last, so a discard interrupted part way can simply be repeated
+            s3Service.deleteObject(properties.getBucketName(), checkpointKey(exportId, checkpoint.getSegment()));
+        }
+        jobs.remove(exportId);
+        logger.info("Discarded export {}: {} multipart upload(s) aborted", exportId, aborted);
+        return aborted;
+    }
+    
+    ExportCheckpoint exportSegment(ExportJob job, int segment, TokenBucket readBudget) {
+        ExportCheckpoint checkpoint = readCheckpoint(job.getExportId(), segment);
+        if (checkpoint == null) {
+            String objectKey = prefix(job.getExportId())
+                    + String.format("segment-%04d-of-%04d.ndjson.gz", segment, job.getTotalSegments());
+            checkpoint = new ExportCheckpoint(job.getExportId(), job.getTableName(), segment, job.getTotalSegments(), objectKey);
+            checkpoint.setUploadId(s3Service.createMultipartUpload(properties.getBucketName(), objectKey, CONTENT_TYPE));
+            writeCheckpoint(checkpoint);
+        }
+        job.addItems(checkpoint.getItemCount());
+        if (checkpoint.isCompleted()) {
+            job.segmentCompleted();
+            return checkpoint;
+        }
+        
+        if (!checkpoint.isScanComplete()) {
+            scanSegment(job, checkpoint, readBudget);
+        }
+        
+        List<CompletedPart> parts = new ArrayList<>();
+        for (int i = 0; i < checkpoint.getPartETags().size(); i++) {
+            parts.add(CompletedPart.builder().partNumber(i + 1).eTag(checkpoint.getPartETags().get(i)).build());
+        }
+        s3Service.completeMultipartUpload(properties.getBucketName(), checkpoint.getObjectKey(), checkpoint.getUploadId(), parts);
+        checkpoint.setCompleted(true);
+        writeCheckpoint(checkpoint);
+        job.segmentCompleted();
+        return checkpoint;
+    }
+    
+    private void scanSegment(ExportJob job, ExportCheckpoint checkpoint, TokenBucket readBudget) {
+        long partSize = properties.getPartSize().toBytes();
+        Map<String, AttributeValue> startKey = fromCheckpointKey(checkpoint.getLastEvaluatedKey());
+        PartBuffer buffer = new PartBuffer();
+        long bufferedItems = 0;
+        
+        do {
+            ScanResponse page = dynamoDbClient.scan(ScanRequest.builder()
+                    .tableName(job.getTableName())
+                    .segment(checkpoint.getSegment())
+                    .totalSegments(checkpoint.getTotalSegments())
+                    .limit(properties.getPageSize())
+                    .exclusiveStartKey(startKey)
+                    .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                    .build());
+            for (Map<String, AttributeValue> item : page.items()) {
+                buffer.writeLine(EnhancedDocument.fromAttributeValueMap(item).toJson());
+            }
+            bufferedItems += page.items().size();
+            job.addItems(page.items().size());
+            startKey = page.hasLastEvaluatedKey() && !page.lastEvaluatedKey().isEmpty() ? page.lastEvaluatedKey() : null;
+            
+            // Parts end on page boundaries so the page's LastEvaluatedKey is an exact resume point
+            if (startKey == null || buffer.size() >= partSize) {
+                int partNumber = checkpoint.getPartETags().size() + 1;
+                CompletedPart part = s3Service.uploadPart(properties.getBucketName(), checkpoint.getObjectKey(),
+                        checkpoint.getUploadId(), partNumber, buffer.finish());
+                checkpoint.getPartETags().add(part.eTag());
+                checkpoint.setItemCount(checkpoint.getItemCount() + bufferedItems);
+                checkpoint.setLastEvaluatedKey(toCheckpointKey(startKey));
+                checkpoint.setScanComplete(startKey == null);
+                writeCheckpoint(checkpoint);
+                buffer = new PartBuffer();
+                bufferedItems = 0;
+            }
+            
+            if (page.consumedCapacity() != null && page.consumedCapacity().capacityUnits() != null) {
+                acquire(readBudget, (int) Math.ceil(page.consumedCapacity().capacityUnits()));
+            }
+        } while (startKey != null);
+    }
+    
+    private double readRate(String tableName) {
+        ProvisionedThroughputDescription throughput = dynamoDbClient
+                .describeTable(DescribeTableRequest.builder().tableName(tableName).build())
+                .table()
+                .provisionedThroughput();
+        long capacity = throughput != null && throughput.readCapacityUnits() != null && throughput.readCapacityUnits() > 0
+                ? throughput.readCapacityUnits()
+                : properties.getOnDemandReadCapacity();
+        return Math.max(1, capacity * properties.getReadCapacityPercent() / 100.0);
+    }
+    
+    private ExportCheckpoint readCheckpoint(String exportId, int segment) {
+        try {
+            byte[] content = s3Service.getObject(properties.getBucketName(), checkpointKey(exportId, segment));
+            return objectMapper.readValue(content, ExportCheckpoint.class);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable checkpoint for segment " + segment + " of export " + exportId, e);
+        }
+    }
+    
+    private void writeCheckpoint(ExportCheckpoint checkpoint) {
+        putJson(checkpointKey(checkpoint.getExportId(), checkpoint.getSegment()), checkpoint);
+    }
+    
+    private void writeManifest(ExportJob job, List<ExportCheckpoint> segments) {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("exportId", job.getExportId());
+        manifest.put("tableName", job.getTableName());
+        manifest.put("format", "ndjson+gzip");
+        manifest.put("itemCount", segments.stream().mapToLong(ExportCheckpoint::getItemCount).sum());
+        manifest.put("files", segments.stream().map(ExportCheckpoint::getObjectKey).toList());
+        putJson(prefix(job.getExportId()) + "manifest.json", manifest);
+    }
+    
+    private void putJson(String key, Object value) {
+        S3ObjectRequest request = new S3ObjectRequest(properties.getBucketName(), key);
+        request.setContentType("application/json");
+        try {
+            request.setContent(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + key, e);
+        }
+        s3Service.putObject(request);
+    }
+    
+    private String prefix(String exportId) {
+        return properties.getKeyPrefix() + exportId + "/";
+    }
+    
+    private String checkpointKey(String exportId, int segment) {
+        return prefix(exportId) + String.format("_checkpoints/segment-%04d.json", segment);
+    }
+    
+    private static void acquire(TokenBucket readBudget, int capacityUnits) {
+        try {
+            readBudget.acquire(Math.max(1, capacityUnits));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Export interrupted", e);
+        }
+    }
+    
+    static Map<String, Map<String, String>> toCheckpointKey(Map<String, AttributeValue> key) {
+        if (key == null) {
+            return null;
+        }
+        Map<String, Map<String, String>> converted = new LinkedHashMap<>();
+        key.forEach((name, value) -> {
+            if (value.s() != null) {
+                converted.put(name, Map.of("S", value.s()));
+            } else if (value.n() != null) {
+                converted.put(name, Map.of("N", value.n()));
+            } else {
+                converted.put(name, Map.of("B", Base64.getEncoder().encodeToString(value.b().asByteArray())));
+            }
+        });
+        return converted;
+    }
+    
+    static Map<String, AttributeValue> fromCheckpointKey(Map<String, Map<String, String>> key) {
+        if (key == null) {
+            return null;
+        }
+        Map<String, AttributeValue> converted = new LinkedHashMap<>();
+        key.forEach((name, typed) -> {
+            if (typed.containsKey("S")) {
+                converted.put(name, AttributeValue.builder().s(typed.get("S")).build());
+            } else if (typed.containsKey("N")) {
+                converted.put(name, AttributeValue.builder().n(typed.get("N")).build());
+            } else {
+                converted.put(name, AttributeValue.builder()
+                        .b(SdkBytes.fromByteArray(Base64.getDecoder().decode(typed.get("B"))))
+                        .build());
+            }
+        });
+        return converted;
+    }
+    
+    /**
+     * Compresses one part's worth of NDJSON lines into a self-contained gzip member.
+     */
+    private static final class PartBuffer {
+        
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+        
+        private PartBuffer() {
+            try {
+                gzip = new GZIPOutputStream(bytes, 64 * 1024);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        void writeLine(String json) {
+            try {
+                gzip.write(json.getBytes(StandardCharsets.UTF_8));
+                gzip.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        int size() {
+            return bytes.size();
+        }
+        
+        byte[] finish() {
+            try {
+                gzip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.javaninja.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress of one export segment, stored next to the export in S3 after every uploaded part.
+ * {@code lastEvaluatedKey} is the Scan position just after the last uploaded item, with each
+ * key attribute stored as its DynamoDB type and value, e.g. {@code {"orderId": {"S": "o-1"}}}.
+ */
+public class ExportCheckpoint {
+    
+    private String exportId;
+    private String tableName;
+    private int segment;
+    private int totalSegments;
+    private String objectKey;
+    private String uploadId;
+    private List<String> partETags = new ArrayList<>();
+    private Map<String, Map<String, String>> lastEvaluatedKey;
+    private long itemCount;
+    private boolean scanComplete;
+    private boolean completed;
+    
+    // Constructors
+    public ExportCheckpoint() {}
+    
+    public ExportCheckpoint(String exportId, String tableName, int segment, int totalSegments, String objectKey) {
+        this.exportId = exportId;
+        this.tableName = tableName;
+        this.segment = segment;
+        this.totalSegments = totalSegments;
+        this.objectKey = objectKey;
+    }
+    
+    // Getters and Setters
+    public String getExportId() { return exportId; }
+    public void setExportId(String exportId) { this.exportId = exportId; }
+    
+    public String getTableName() { return tableName; }
+    public void setTableName(String tableName) { this.tableName = tableName; }
+    
+    public int getSegment() { return segment; }
+    public void setSegment(int segment) { this.segment = segment; }
+    
+    public int getTotalSegments() { return totalSegments; }
+    public void setTotalSegments(int totalSegments) { this.totalSegments = totalSegments; }
+    
+    public String getObjectKey() { return objectKey; }
+    public void setObjectKey(String objectKey) { this.objectKey = objectKey; }
+    
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+    
+    public List<String> getPartETags() { return partETags; }
+    public void setPartETags(List<String> partETags) { this.partETags = partETags; }
+    
+    public Map<String, Map<String, String>> getLastEvaluatedKey() { return lastEvaluatedKey; }
+    public void setLastEvaluatedKey(Map<String, Map<String, String>> lastEvaluatedKey) { this.lastEvaluatedKey = lastEvaluatedKey; }
+    
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+    
+    public boolean isScanComplete() { return scanComplete; }
+    public void setScanComplete(boolean scanComplete) { this.scanComplete = scanComplete; }
+    
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+}
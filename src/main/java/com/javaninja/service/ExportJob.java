@@ -0,0 +1,67 @@
+package com.javaninja.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live status of a scan export started by {@link DynamoDbExportService}.
+ */
+public class ExportJob {
+    
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    
+    private final String exportId;
+    private final String tableName;
+    private final int totalSegments;
+    private final String location;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong itemCount = new AtomicLong();
+    private final AtomicInteger completedSegments = new AtomicInteger();
+    private volatile String state = RUNNING;
+    private volatile String error;
+    private volatile Instant finishedAt;
+    
+    ExportJob(String exportId, String tableName, int totalSegments, String location) {
+        this.exportId = exportId;
+        this.tableName = tableName;
+        this.totalSegments = totalSegments;
+        this.location = location;
+    }
+    
+    public String getExportId() { return exportId; }
+    public String getTableName() { return tableName; }
+    public int getTotalSegments() { return totalSegments; }
+    public String getLocation() { return location; }
+    public Instant getStartedAt() { return startedAt; }
+    public long getItemCount() { return itemCount.get(); }
+    public int getCompletedSegments() { return completedSegments.get(); }
+    public String getState() { return state; }
+    public String getError() { return error; }
+    public Instant getFinishedAt() { return finishedAt; }
+    
+    public boolean isRunning() {
+        return RUNNING.equals(state);
+    }
+    
+    void addItems(long count) {
+        itemCount.addAndGet(count);
+    }
+    
+    void segmentCompleted() {
+        completedSegments.incrementAndGet();
+    }
+    
+    void complete() {
+        finishedAt = Instant.now();
+        state = COMPLETED;
+    }
+    
+    void fail(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        finishedAt = Instant.now();
+        state = FAILED;
+    }
+}
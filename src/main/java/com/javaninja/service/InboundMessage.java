@@ -0,0 +1,53 @@
+package com.javaninja.service;
+
+import com.javaninja.model.MessagePayload;
+
+import java.util.Map;
+
+/**
+ * A received SQS message. The body is resolved on first access: a claim-check pointer is
+ * fetched from S3 and the transport codec named in the attributes is reversed.
+ */
+public final class InboundMessage {
+    
+    private final String queueName;
+    private final String messageId;
+    private final Map<String, String> attributes;
+    private final ClaimCheckPayload claimCheckPayload;
+    private final MessageCodecService messageCodecService;
+    private volatile String body;
+    
+    InboundMessage(String queueName, String messageId, Map<String, String> attributes,
+                   ClaimCheckPayload claimCheckPayload, MessageCodecService messageCodecService) {
+        this.queueName = queueName;
+        this.messageId = messageId;
+        this.attributes = attributes;
+        this.claimCheckPayload = claimCheckPayload;
+        this.messageCodecService = messageCodecService;
+    }
+    
+    public String getQueueName() {
+        return queueName;
+    }
+    
+    public String getMessageId() {
+        return messageId;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+    
+    public String getBody() {
+        String resolved = body;
+        if (resolved == null) {
+            resolved = messageCodecService.decode(MessagePayload.of(claimCheckPayload.getBody(), attributes)).getBody();
+            body = resolved;
+        }
+        return resolved;
+    }
+    
+    void acknowledge() {
+        claimCheckPayload.acknowledge();
+    }
+}
@@ -0,0 +1,57 @@
+package com.javaninja.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A message published to SNS as seen by a {@link LocalTopicSubscriber}: the original body and
+ * attributes, before any transport encoding or claim-check offload.
+ */
+public final class LocalEvent {
+    
+    private final String topicArn;
+    private final String messageId;
+    private final String subject;
+    private final String message;
+    private final Map<String, String> attributes;
+    
+    LocalEvent(String topicArn, String messageId, String subject, String message, Map<String, String> attributes) {
+        this.topicArn = topicArn;
+        this.messageId = messageId;
+        this.subject = subject;
+        this.message = message;
+        this.attributes = attributes != null ? copyNonNull(attributes) : Map.of();
+    }
+    
+    // Request attributes may carry null values, which Map.copyOf rejects after SNS accepted the message
+    private static Map<String, String> copyNonNull(Map<String, String> attributes) {
+        Map<String, String> copy = new HashMap<>();
+        attributes.forEach((name, value) -> {
+            if (name != null && value != null) {
+                copy.put(name, value);
+            }
+        });
+        return Collections.unmodifiableMap(copy);
+    }
+    
+    public String getTopicArn() {
+        return topicArn;
+    }
+    
+    public String getMessageId() {
+        return messageId;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
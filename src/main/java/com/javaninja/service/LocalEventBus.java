@@ -0,0 +1,154 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.LocalEventBusProperties;
+import com.javaninja.support.FilterPolicy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers messages published through {@link SnsService} to in-process {@link LocalTopicSubscriber}s.
+ * Filter policies are compiled once at registration; matching events are handed to a bounded
+ * executor so subscriber work never runs on the publishing thread unless the queue is full.
+ */
+@Service
+public class LocalEventBus implements SmartInitializingSingleton {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LocalEventBus.class);
+    
+    private final SnsTopicRegistry topicRegistry;
+    private final ObjectMapper objectMapper;
+    private final LocalEventBusProperties properties;
+    private final ObjectProvider<LocalTopicSubscriber> subscriberBeans;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    
+    // Copy-on-write: registration is rare, dispatch reads the list on every publish
+    private volatile List<Subscription> subscriptions = List.of();
+    private ThreadPoolExecutor executor;
+    
+    public LocalEventBus(SnsTopicRegistry topicRegistry, ObjectMapper objectMapper,
+                         LocalEventBusProperties properties, ObjectProvider<LocalTopicSubscriber> subscriberBeans) {
+        this.topicRegistry = topicRegistry;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.subscriberBeans = subscriberBeans;
+    }
+    
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("local-bus-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Subscriber beans are looked up late so they may themselves depend on SnsService
+        subscriberBeans.orderedStream().forEach(this::register);
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    public void register(LocalTopicSubscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber,
+                FilterPolicy.compile(subscriber.filterPolicy(), objectMapper));
+        lock.lock();
+        try {
+            List<Subscription> updated = new ArrayList<>(subscriptions);
+            updated.add(subscription);
+            subscriptions = List.copyOf(updated);
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Registered local subscriber {} for topic {}", subscriber.getClass().getSimpleName(), subscriber.topic());
+    }
+    
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+    
+    /**
+     * Dispatches an event to every subscriber of its topic whose filter policy matches.
+     * Returns the number of subscribers the event was handed to.
+     */
+    public int publish(LocalEvent event) {
+        int matched = 0;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                executor.execute(() -> deliver(subscription, event));
+                matched++;
+            }
+        }
+        return matched;
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "subscribers", subscriptions.size(),
+                "delivered", delivered.get(),
+                "failed", failed.get(),
+                "queued", executor.getQueue().size());
+    }
+    
+    private void deliver(Subscription subscription, LocalEvent event) {
+        try {
+            subscription.subscriber.onEvent(event);
+            delivered.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Local subscriber {} failed for message {}",
+                    subscription.subscriber.getClass().getSimpleName(), event.getMessageId(), e);
+        }
+    }
+    
+    private final class Subscription {
+        
+        private final LocalTopicSubscriber subscriber;
+        private final FilterPolicy filterPolicy;
+        private volatile String topicArn;
+        
+        private Subscription(LocalTopicSubscriber subscriber, FilterPolicy filterPolicy) {
+            this.subscriber = subscriber;
+            this.filterPolicy = filterPolicy;
+        }
+        
+        boolean accepts(LocalEvent event) {
+            String arn = topicArn;
+            if (arn == null) {
+                // Logical names may only resolve once the registry has listed the topics
+                try {
+                    arn = topicRegistry.resolve(subscriber.topic());
+                    topicArn = arn;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }
+            return arn.equals(event.getTopicArn()) && filterPolicy.matches(event.getAttributes());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.javaninja.service;
+
+/**
+ * In-process subscriber to an SNS topic. Messages published through {@link SnsService} are
+ * delivered directly by {@link LocalEventBus} when they match the filter policy, without the
+ * SNS to SQS round trip; they are still published to SNS for remote subscribers.
+ */
+public interface LocalTopicSubscriber {
+    
+    /**
+     * Logical topic name from {@code aws.services.sns.topics} or a full topic ARN.
+     */
+    String topic();
+    
+    /**
+     * SNS filter policy JSON applied to message attributes; {@code null} receives every message.
+     */
+    default String filterPolicy() {
+        return null;
+    }
+    
+    void onEvent(LocalEvent event) throws Exception;
+}
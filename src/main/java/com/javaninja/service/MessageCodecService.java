@@ -0,0 +1,86 @@
+package com.javaninja.service;
+
+import com.javaninja.codec.IdentityCodec;
+import com.javaninja.codec.JacksonBinaryCodec;
+import com.javaninja.codec.MessageCodec;
+import com.javaninja.config.MessageCodecProperties;
+import com.javaninja.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the configured {@link MessageCodec} to outgoing payloads and reverses whichever
+ * codec is named in the attributes of incoming ones.
+ */
+@Service
+public class MessageCodecService {
+    
+    public static final String CODEC_ATTRIBUTE = "content-codec";
+    public static final String CODEC_VERSION_ATTRIBUTE = "content-codec-version";
+    
+    private static final Logger logger = LoggerFactory.getLogger(MessageCodecService.class);
+    
+    private final MessageCodec outboundCodec;
+    private final long minSize;
+    private final Map<String, MessageCodec> codecs = new ConcurrentHashMap<>();
+    
+    public MessageCodecService(MessageCodecProperties properties) {
+        this.outboundCodec = lookup(properties.getName());
+        this.minSize = properties.getMinSize().toBytes();
+        
+        logger.info("Outbound message codec: {} v{}", outboundCodec.name(), outboundCodec.version());
+    }
+    
+    public MessagePayload encode(MessagePayload payload) {
+        String body = payload.getBody();
+        if (outboundCodec instanceof IdentityCodec || body == null || belowMinSize(body)) {
+            return payload;
+        }
+        
+        String encoded;
+        try {
+            encoded = outboundCodec.encode(body);
+        } catch (IllegalArgumentException e) {
+            // Bodies the codec cannot represent, such as plain text for smile or cbor, go out as-is
+            logger.debug("Sending body unencoded: {}", e.getMessage());
+            return payload;
+        }
+        return payload.withBody(encoded)
+                .withAttribute(CODEC_ATTRIBUTE, outboundCodec.name())
+                .withAttribute(CODEC_VERSION_ATTRIBUTE, String.valueOf(outboundCodec.version()));
+    }
+    
+    public MessagePayload decode(MessagePayload payload) {
+        String codecName = payload.getAttribute(CODEC_ATTRIBUTE);
+        if (codecName == null) {
+            return payload;
+        }
+        
+        MessageCodec codec = lookup(codecName);
+        String version = payload.getAttribute(CODEC_VERSION_ATTRIBUTE);
+        if (version != null && Integer.parseInt(version) > codec.version()) {
+            throw new IllegalArgumentException("Unsupported " + codecName + " codec version: " + version);
+        }
+        
+        return payload.withBody(codec.decode(payload.getBody()));
+    }
+    
+    public MessageCodec getOutboundCodec() {
+        return outboundCodec;
+    }
+    
+    // UTF-8 never takes fewer bytes than chars, so only short strings need encoding to measure
+    private boolean belowMinSize(String body) {
+        return body.length() < minSize && body.getBytes(StandardCharsets.UTF_8).length < minSize;
+    }
+    
+    private MessageCodec lookup(String codecName) {
+        return codecs.computeIfAbsent(codecName, name ->
+                IdentityCodec.NAME.equals(name) ? new IdentityCodec() : JacksonBinaryCodec.fromName(name));
+    }
+}
@@ -0,0 +1,335 @@
+package com.javaninja.service;
+
+import com.javaninja.config.PollerProperties;
+import com.javaninja.model.MessagePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consumes several SQS queues with one shared worker pool. Each queue is long-polled into a
+ * small prefetch buffer, and a single dispatcher hands buffered messages to workers using
+ * deficit round robin weighted by the configured queue weights. Queues without backlog are
+ * skipped, so their share of the pool goes to whichever queues have messages waiting.
+ * <p>
+ * A message that waits in the buffer longer than {@code max-prefetch-age} is made visible again
+ * rather than dispatched, since its visibility timeout may run out before a handler finishes.
+ */
+@Service
+public class MultiQueuePoller implements SmartLifecycle {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MultiQueuePoller.class);
+    
+    private static final int MAX_RECEIVE = 10;
+    
+    private final SqsAsyncClient sqsAsyncClient;
+    private final PollerProperties properties;
+    private final ObjectProvider<QueueMessageHandler> handlers;
+    private final ClaimCheckService claimCheckService;
+    private final MessageCodecService messageCodecService;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition messagesAvailable = lock.newCondition();
+    private final List<QueueState> queues = new ArrayList<>();
+    private volatile boolean running;
+    private int cursor;
+    private Semaphore workerPermits;
+    private ExecutorService workers;
+    private Thread dispatcher;
+    
+    public MultiQueuePoller(SqsAsyncClient sqsAsyncClient, PollerProperties properties,
+                            ObjectProvider<QueueMessageHandler> handlers, ClaimCheckService claimCheckService,
+                            MessageCodecService messageCodecService) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.properties = properties;
+        this.handlers = handlers;
+        this.claimCheckService = claimCheckService;
+        this.messageCodecService = messageCodecService;
+    }
+    
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        
+        for (PollerProperties.QueueSettings settings : properties.getQueues()) {
+            QueueMessageHandler handler = handlers.orderedStream()
+                    .filter(candidate -> candidate.supports(settings.getName()))
+                    .findFirst()
+                    .orElse(null);
+            if (handler == null) {
+                logger.warn("No QueueMessageHandler supports queue {}, it will not be polled", settings.getName());
+                continue;
+            }
+            String queueUrl = sqsAsyncClient.getQueueUrl(builder -> builder.queueName(settings.getName())).join().queueUrl();
+            queues.add(new QueueState(settings.getName(), queueUrl, Math.max(1, settings.getWeight()), handler));
+        }
+        if (queues.isEmpty()) {
+            return;
+        }
+        
+        workerPermits = new Semaphore(properties.getWorkerThreads());
+        workers = Executors.newFixedThreadPool(properties.getWorkerThreads(), new CustomizableThreadFactory("sqs-worker-"));
+        running = true;
+        queues.forEach(this::fetch);
+        
+        dispatcher = new Thread(this::dispatchLoop, "sqs-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        
+        logger.info("Multi-queue poller started for {} queue(s) with {} workers", queues.size(), properties.getWorkerThreads());
+    }
+    
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Messages dispatched per queue since startup.
+     */
+    public Map<String, Long> getDispatchCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        queues.forEach(queue -> counts.put(queue.name, queue.dispatched.get()));
+        return counts;
+    }
+    
+    private void fetch(QueueState queue) {
+        if (!running || !queue.fetching.compareAndSet(false, true)) {
+            return;
+        }
+        int room = properties.getPrefetch() - queue.buffered.get();
+        if (room <= 0) {
+            queue.fetching.set(false);
+            return;
+        }
+        
+        sqsAsyncClient.receiveMessage(builder -> builder
+                .queueUrl(queue.url)
+                .maxNumberOfMessages(Math.min(MAX_RECEIVE, room))
+                .waitTimeSeconds((int) properties.getWaitTime().toSeconds())
+                .visibilityTimeout((int) properties.getVisibilityTimeout().toSeconds())
+                .messageAttributeNames("All"))
+                .whenComplete((response, error) -> {
+                    queue.fetching.set(false);
+                    if (error != null) {
+                        logger.warn("Receive from {} failed: {}", queue.name, error.getMessage());
+                        CompletableFuture.delayedExecutor(1, TimeUnit.SECONDS).execute(() -> fetch(queue));
+                        return;
+                    }
+                    if (!response.messages().isEmpty()) {
+                        long receivedAt = System.nanoTime();
+                        response.messages().forEach(message -> queue.buffer.add(new Prefetched(message, receivedAt)));
+                        queue.buffered.addAndGet(response.messages().size());
+                        signal();
+                    }
+                    fetch(queue);
+                });
+    }
+    
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                workerPermits.acquire();
+                Dispatch next = nextByDeficitRoundRobin();
+                if (next == null) {
+                    workerPermits.release();
+                    awaitMessages();
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        process(next.queue, next.message);
+                    } finally {
+                        workerPermits.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Dispatcher error", e);
+            }
+        }
+    }
+    
+    /**
+     * Picks the next message. On arriving at a queue with backlog the dispatcher credits it
+     * with its weight and keeps serving it until the credit is spent or its buffer is empty.
+     * Empty queues lose their credit so they cannot bank capacity while idle.
+     */
+    private Dispatch nextByDeficitRoundRobin() {
+        for (int visited = 0; visited < queues.size(); visited++) {
+            QueueState queue = queues.get(cursor);
+            Message message = pollFresh(queue);
+            if (message == null) {
+                queue.deficit = 0;
+                cursor = (cursor + 1) % queues.size();
+                continue;
+            }
+            
+            queue.buffered.decrementAndGet();
+            if (queue.deficit < 1) {
+                queue.deficit += queue.weight;
+            }
+            queue.deficit--;
+            if (queue.deficit < 1) {
+                cursor = (cursor + 1) % queues.size();
+            }
+            
+            queue.dispatched.incrementAndGet();
+            fetch(queue);
+            return new Dispatch(queue, message);
+        }
+        return null;
+    }
+    
+    /**
+     * Takes the next buffered message that is young enough to dispatch. Older ones are made
+     * visible again at once so that SQS redelivers them with a fresh visibility timeout.
+     */
+    private Message pollFresh(QueueState queue) {
+        long maxAgeNanos = properties.getMaxPrefetchAge().toNanos();
+        for (Prefetched prefetched; (prefetched = queue.buffer.poll()) != null; ) {
+            if (System.nanoTime() - prefetched.receivedAt <= maxAgeNanos) {
+                return prefetched.message;
+            }
+            queue.buffered.decrementAndGet();
+            release(queue, prefetched.message);
+            fetch(queue);
+        }
+        return null;
+    }
+    
+    private void release(QueueState queue, Message message) {
+        logger.debug("Message {} from {} waited too long in the prefetch buffer, releasing it", message.messageId(), queue.name);
+        sqsAsyncClient.changeMessageVisibility(builder -> builder
+                .queueUrl(queue.url)
+                .receiptHandle(message.receiptHandle())
+                .visibilityTimeout(0))
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        logger.warn("Releasing message {} from {} failed: {}", message.messageId(), queue.name, error.getMessage());
+                    }
+                });
+    }
+    
+    private void process(QueueState queue, Message message) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        message.messageAttributes().forEach((name, value) -> attributes.put(name, value.stringValue()));
+        
+        try {
+            InboundMessage inbound = new InboundMessage(queue.name, message.messageId(), attributes,
+                    claimCheckService.resolve(MessagePayload.of(message.body(), attributes)), messageCodecService);
+            queue.handler.handle(inbound);
+            sqsAsyncClient.deleteMessage(builder -> builder
+                    .queueUrl(queue.url)
+                    .receiptHandle(message.receiptHandle()))
+                    .join();
+            inbound.acknowledge();
+        } catch (Exception e) {
+            logger.warn("Handler failed for message {} from {}, leaving it for redelivery: {}",
+                    message.messageId(), queue.name, e.getMessage());
+        }
+    }
+    
+    private void signal() {
+        lock.lock();
+        try {
+            messagesAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void awaitMessages() throws InterruptedException {
+        lock.lock();
+        try {
+            messagesAvailable.await(100, TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static final class QueueState {
+        
+        private final String name;
+        private final String url;
+        private final int weight;
+        private final QueueMessageHandler handler;
+        private final Queue<Prefetched> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicBoolean fetching = new AtomicBoolean();
+        private final AtomicLong dispatched = new AtomicLong();
+        
+        // Only touched by the dispatcher thread
+        private int deficit;
+        
+        private QueueState(String name, String url, int weight, QueueMessageHandler handler) {
+            this.name = name;
+            this.url = url;
+            this.weight = weight;
+            this.handler = handler;
+        }
+    }
+    
+    private static final class Prefetched {
+        
+        private final Message message;
+        private final long receivedAt;
+        
+        private Prefetched(Message message, long receivedAt) {
+            this.message = message;
+            this.receivedAt = receivedAt;
+        }
+    }
+    
+    private static final class Dispatch {
+        
+        private final QueueState queue;
+        private final Message message;
+        
+        private Dispatch(QueueState queue, Message message) {
+            this.queue = queue;
+            this.message = message;
+        }
+    }
+}
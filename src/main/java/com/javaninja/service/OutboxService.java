@@ -0,0 +1,433 @@
+package com.javaninja.service;
+
+import com.javaninja.config.OutboxProperties;
+import com.javaninja.log.LogRecord;
+import com.javaninja.log.Records;
+import com.javaninja.log.SegmentedLog;
+import com.javaninja.model.MessagePayload;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in durable outbox for SQS and SNS sends. Messages are appended to a local
+ * {@link SegmentedLog} and acknowledged immediately; a background drainer delivers them in
+ * batches, checkpoints progress and deletes fully delivered segments. Delivery is
+ * at-least-once: a batch that fails part-way is retried from the first undelivered entry.
+ * <p>
+ * Throttling, server errors and network failures are retried indefinitely; riding them out is
+ * what the outbox is for. An entry that AWS rejects outright (a 4xx other than throttling, or a
+ * sender fault in a batch result) is retried on its own, and after {@code max-attempts} such
+ * rejections it is moved to the {@code dead-letter} log so it no longer blocks the entries
+ * behind it.
+ */
+@Service
+public class OutboxService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+    
+    private static final byte TYPE_SQS = 1;
+    private static final byte TYPE_SNS = 2;
+    
+    // Set on the type byte of records that carry send options; older records have none
+    private static final byte WITH_OPTIONS = 0x10;
+    
+    private static final String SUBJECT = "subject";
+    private static final String MESSAGE_GROUP_ID = "messageGroupId";
+    private static final String MESSAGE_DEDUPLICATION_ID = "messageDeduplicationId";
+    private static final String DELIVER_AT = "deliverAt";
+    
+    // SQS SendMessageBatch and SNS PublishBatch both cap a batch at 10 entries and 256 KB
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+    
+    private final OutboxProperties properties;
+    private final SqsTemplate sqsTemplate;
+    private final SnsClient snsClient;
+    
+    private SegmentedLog log;
+    private SegmentedLog deadLetters;
+    private Path checkpointFile;
+    private volatile long checkpoint;
+    private ScheduledExecutorService executor;
+    
+    // Only touched by the drain thread: the entry that AWS last rejected and how often in a row
+    private long failingPosition = -1;
+    private int failedAttempts;
+    
+    public OutboxService(OutboxProperties properties, SqsTemplate sqsTemplate, SnsClient snsClient) {
+        this.properties = properties;
+        this.sqsTemplate = sqsTemplate;
+        this.snsClient = snsClient;
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        
+        Path directory = Paths.get(properties.getDirectory());
+        log = SegmentedLog.open(directory, (int) properties.getSegmentSize().toBytes());
+        deadLetters = SegmentedLog.open(directory.resolve("dead-letter"), (int) properties.getSegmentSize().toBytes());
+        checkpointFile = directory.resolve("checkpoint");
+        checkpoint = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile).trim())
+                : SegmentedLog.position(0, 0);
+        
+        executor = Executors.newScheduledThreadPool(2, new CustomizableThreadFactory("outbox-"));
+        long flushMillis = properties.getFlushInterval().toMillis();
+        long drainMillis = properties.getDrainInterval().toMillis();
+        executor.scheduleWithFixedDelay(log::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::drain, drainMillis, drainMillis, TimeUnit.MILLISECONDS);
+        
+        logger.info("Outbox enabled at {}, resuming from position {}", directory, checkpoint);
+    }
+    
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        log.close();
+        deadLetters.close();
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    public String enqueueSqs(String queueName, MessagePayload payload) {
+        return enqueueSqs(queueName, payload, 0);
+    }
+    
+    /**
+     * Queues an SQS send delayed by {@code delaySeconds} from now. Time spent in the outbox counts
+     * against the delay, so the message still becomes visible when the caller asked for.
+     */
+    public String enqueueSqs(String queueName, MessagePayload payload, int delaySeconds) {
+        if (delaySeconds <= 0) {
+            return append(TYPE_SQS, queueName, payload, Collections.emptyMap());
+        }
+        long deliverAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delaySeconds);
+        return append(TYPE_SQS, queueName, payload, Map.of(DELIVER_AT, String.valueOf(deliverAt)));
+    }
+    
+    public String enqueueSns(String topicArn, MessagePayload payload, String subject,
+                             String messageGroupId, String messageDeduplicationId) {
+        Map<String, String> options = new LinkedHashMap<>();
+        putIfPresent(options, SUBJECT, subject);
+        putIfPresent(options, MESSAGE_GROUP_ID, messageGroupId);
+        putIfPresent(options, MESSAGE_DEDUPLICATION_ID, messageDeduplicationId);
+        return append(TYPE_SNS, topicArn, payload, options);
+    }
+    
+    /**
+     * Number of bytes appended but not yet delivered.
+     */
+    public long getBacklogBytes() {
+        if (log == null) {
+            return 0;
+        }
+        return log.bytesBetween(checkpoint, log.endPosition());
+    }
+    
+    private static void putIfPresent(Map<String, String> options, String name, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            options.put(name, value);
+        }
+    }
+    
+    private String append(byte type, String destination, MessagePayload payload, Map<String, String> options) {
+        if (log == null) {
+            throw new IllegalStateException("Outbox is not enabled");
+        }
+        try {
+            long position = log.append(serialize(new Entry(type, destination, payload, options)));
+            logger.debug("Appended message for {} to outbox at position {}", destination, position);
+            return "outbox-" + Long.toHexString(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append message to outbox", e);
+        }
+    }
+    
+    void drain() {
+        try {
+            while (true) {
+                List<LogRecord> records = log.read(checkpoint, properties.getDrainBatchSize());
+                if (records.isEmpty()) {
+                    return;
+                }
+                
+                Delivery delivery = deliver(records);
+                int delivered = delivery.delivered;
+                if (delivered < records.size() && delivery.rejection != null
+                        && rejected(records.get(delivered), delivery.rejection)) {
+                    delivered++;
+                }
+                if (delivered > 0) {
+                    saveCheckpoint(records.get(delivered - 1).getNextPosition());
+                    log.deleteSegmentsBefore(checkpoint);
+                }
+                if (delivered < records.size()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Outbox drain interrupted, will retry: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Counts a rejection of the entry at {@code record}. A rejected batch only marks its first
+     * entry, which is then retried alone so that the rejection can be pinned on the right entry.
+     * Returns true once the entry has been moved to the dead-letter log.
+     */
+    private boolean rejected(LogRecord record, String reason) throws IOException {
+        if (record.getPosition() != failingPosition) {
+            failingPosition = record.getPosition();
+            failedAttempts = 0;
+            return false;
+        }
+        if (++failedAttempts < properties.getMaxAttempts()) {
+            return false;
+        }
+        deadLetters.append(record.getData());
+        deadLetters.flush();
+        logger.error("Outbox entry at position {} rejected {} times, moved to dead-letter log: {}",
+                record.getPosition(), failedAttempts, reason);
+        failingPosition = -1;
+        return true;
+    }
+    
+    /**
+     * Sends records in order, grouping consecutive entries for the same destination into
+     * batches. Reports how many leading records were delivered and, if the next one was
+     * rejected by AWS, why.
+     */
+    private Delivery deliver(List<LogRecord> records) {
+        int index = 0;
+        while (index < records.size()) {
+            Entry first;
+            try {
+                first = deserialize(records.get(index).getData());
+            } catch (UncheckedIOException e) {
+                return new Delivery(index, e.getMessage());
+            }
+            boolean isolated = records.get(index).getPosition() == failingPosition;
+            List<Entry> batch = new ArrayList<>(MAX_BATCH_ENTRIES);
+            batch.add(first);
+            int batchBytes = records.get(index).getData().length;
+            
+            int next = index + 1;
+            while (!isolated && next < records.size() && batch.size() < MAX_BATCH_ENTRIES) {
+                byte[] data = records.get(next).getData();
+                if (batchBytes + data.length > MAX_BATCH_BYTES) {
+                    break;
+                }
+                Entry entry;
+                try {
+                    entry = deserialize(data);
+                } catch (UncheckedIOException e) {
+                    break;
+                }
+                if (entry.type != first.type || !entry.destination.equals(first.destination)) {
+                    break;
+                }
+                batch.add(entry);
+                batchBytes += data.length;
+                next++;
+            }
+            
+            Delivery sent;
+            try {
+                sent = first.type == TYPE_SQS
+                        ? sendSqs(first.destination, batch, isolated)
+                        : publishSns(first.destination, batch);
+            } catch (Exception e) {
+                logger.warn("Outbox delivery to {} failed: {}", first.destination, e.getMessage());
+                // A batch with rejected entries is retried entry by entry to find the culprit
+                boolean rejection = isRejection(e) || e instanceof SendBatchOperationFailedException;
+                return new Delivery(index, rejection ? e.getMessage() : null);
+            }
+            if (sent.delivered < batch.size()) {
+                return new Delivery(index + sent.delivered, sent.rejection);
+            }
+            if (isolated) {
+                failingPosition = -1;
+            }
+            index = next;
+        }
+        return new Delivery(index, null);
+    }
+    
+    /**
+     * A batch that fails is sent as a whole again, so only the exception tells whether to retry.
+     * An isolated entry is sent with SendMessage, whose errors are not folded into a batch result.
+     */
+    private Delivery sendSqs(String queueName, List<Entry> batch, boolean isolated) {
+        long now = System.currentTimeMillis();
+        List<Message<String>> messages = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            var messageBuilder = MessageBuilder.withPayload(entry.payload.getBody());
+            entry.payload.getAttributes().forEach(messageBuilder::setHeader);
+            String deliverAt = entry.options.get(DELIVER_AT);
+            if (deliverAt != null) {
+                long delaySeconds = (Long.parseLong(deliverAt) - now + 999) / 1000;
+                if (delaySeconds > 0) {
+                    messageBuilder.setHeader(SqsHeaders.SQS_DELAY_HEADER, (int) delaySeconds);
+                }
+            }
+            messages.add(messageBuilder.build());
+        }
+        
+        if (isolated) {
+            sqsTemplate.send(queueName, messages.get(0));
+        } else {
+            sqsTemplate.sendMany(queueName, messages);
+        }
+        return new Delivery(batch.size(), null);
+    }
+    
+    private Delivery publishSns(String topicArn, List<Entry> batch) {
+        List<PublishBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Entry entry = batch.get(i);
+            entries.add(SnsService.toBatchEntry(String.valueOf(i), entry.payload, entry.options.get(SUBJECT),
+                    entry.options.get(MESSAGE_GROUP_ID), entry.options.get(MESSAGE_DEDUPLICATION_ID)));
+        }
+        
+        PublishBatchResponse response = snsClient.publishBatch(PublishBatchRequest.builder()
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(entries)
+                .build());
+        
+        BatchResultErrorEntry firstFailure = null;
+        for (BatchResultErrorEntry failure : response.failed()) {
+            if (firstFailure == null || Integer.parseInt(failure.id()) < Integer.parseInt(firstFailure.id())) {
+                firstFailure = failure;
+            }
+        }
+        if (firstFailure == null) {
+            return new Delivery(batch.size(), null);
+        }
+        String rejection = Boolean.TRUE.equals(firstFailure.senderFault())
+                ? firstFailure.code() + ": " + firstFailure.message()
+                : null;
+        return new Delivery(Integer.parseInt(firstFailure.id()), rejection);
+    }
+    
+    /**
+     * True when AWS refused the request itself, so sending it again cannot succeed.
+     */
+    private static boolean isRejection(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AwsServiceException serviceException) {
+                int status = serviceException.statusCode();
+                return status >= 400 && status < 500 && !serviceException.isThrottlingException();
+            }
+        }
+        return false;
+    }
+    
+    private void saveCheckpoint(long position) throws IOException {
+        Path temp = checkpointFile.resolveSibling("checkpoint.tmp");
+        Files.writeString(temp, Long.toString(position));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = position;
+    }
+    
+    private static byte[] serialize(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.payload.getBody().length() + 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(entry.type | WITH_OPTIONS);
+        Records.writeString(out, entry.destination);
+        Records.writePayload(out, entry.payload);
+        out.writeShort(entry.options.size());
+        for (Map.Entry<String, String> option : entry.options.entrySet()) {
+            Records.writeString(out, option.getKey());
+            Records.writeString(out, option.getValue());
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static Entry deserialize(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            byte header = in.readByte();
+            String destination = Records.readString(in);
+            MessagePayload payload = Records.readPayload(in);
+            Map<String, String> options = new LinkedHashMap<>();
+            if ((header & WITH_OPTIONS) != 0) {
+                int count = in.readShort();
+                for (int i = 0; i < count; i++) {
+                    options.put(Records.readString(in), Records.readString(in));
+                }
+            }
+            return new Entry((byte) (header & ~WITH_OPTIONS), destination, payload, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt outbox record", e);
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final byte type;
+        private final String destination;
+        private final MessagePayload payload;
+        private final Map<String, String> options;
+        
+        private Entry(byte type, String destination, MessagePayload payload, Map<String, String> options) {
+            this.type = type;
+            this.destination = destination;
+            this.payload = payload;
+            this.options = options;
+        }
+    }
+    
+    private static final class Delivery {
+        
+        private final int delivered;
+        private final String rejection;
+        
+        private Delivery(int delivered, String rejection) {
+            this.delivered = delivered;
+            this.rejection = rejection;
+        }
+    }
+}
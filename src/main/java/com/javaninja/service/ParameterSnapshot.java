@@ -0,0 +1,91 @@
+package com.javaninja.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of cached parameters. Names are kept sorted so a hierarchy is a contiguous
+ * sub-map; updates produce a new snapshot that {@link ParameterStoreService} swaps in atomically.
+ */
+public final class ParameterSnapshot {
+    
+    static final ParameterSnapshot EMPTY = new ParameterSnapshot(new TreeMap<>(), Set.of(), Set.of(), null);
+    
+    private final NavigableMap<String, String> values;
+    private final Set<String> paths;
+    private final Set<String> names;
+    private final Instant loadedAt;
+    
+    private ParameterSnapshot(NavigableMap<String, String> values, Set<String> paths, Set<String> names, Instant loadedAt) {
+        this.values = Collections.unmodifiableNavigableMap(values);
+        this.paths = Collections.unmodifiableSet(paths);
+        this.names = Collections.unmodifiableSet(names);
+        this.loadedAt = loadedAt;
+    }
+    
+    static ParameterSnapshot of(Map<String, String> values, Collection<String> paths, Collection<String> names) {
+        return new ParameterSnapshot(new TreeMap<>(values), new LinkedHashSet<>(paths), new LinkedHashSet<>(names), Instant.now());
+    }
+    
+    /**
+     * Copy with {@code added} parameters and the path or names they were loaded for.
+     */
+    ParameterSnapshot with(Map<String, String> added, Collection<String> addedPaths, Collection<String> addedNames) {
+        TreeMap<String, String> mergedValues = new TreeMap<>(values);
+        mergedValues.putAll(added);
+        Set<String> mergedPaths = new LinkedHashSet<>(paths);
+        mergedPaths.addAll(addedPaths);
+        Set<String> mergedNames = new LinkedHashSet<>(names);
+        mergedNames.addAll(addedNames);
+        return new ParameterSnapshot(mergedValues, mergedPaths, mergedNames, loadedAt);
+    }
+    
+    public String get(String name) {
+        return values.get(name);
+    }
+    
+    public boolean containsPath(String path) {
+        String normalized = ParameterStoreService.normalizePath(path);
+        return paths.stream().anyMatch(normalized::startsWith);
+    }
+    
+    /**
+     * Parameters under {@code path}; with {@code recursive} false only its direct children.
+     */
+    public Map<String, String> getByPath(String path, boolean recursive) {
+        String prefix = ParameterStoreService.normalizePath(path);
+        NavigableMap<String, String> subtree = values.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (recursive) {
+            return subtree;
+        }
+        Map<String, String> children = new TreeMap<>();
+        subtree.forEach((name, value) -> {
+            if (name.indexOf('/', prefix.length()) < 0) {
+                children.put(name, value);
+            }
+        });
+        return Collections.unmodifiableMap(children);
+    }
+    
+    public Map<String, String> getValues() {
+        return values;
+    }
+    
+    public Set<String> getPaths() {
+        return paths;
+    }
+    
+    public Set<String> getNames() {
+        return names;
+    }
+    
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,232 @@
+package com.javaninja.service;
+
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.config.ParameterStoreProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reads SSM Parameter Store values from an in-memory {@link ParameterSnapshot}.
+ * Hierarchies are loaded with paginated {@code GetParametersByPath} and individual names with
+ * {@code GetParameters}, 10 per call. Every change publishes a new immutable snapshot, so reads
+ * never take a lock; a scheduled refresh reloads everything that has been requested so far.
+ * Only a bounded number of paths beyond the configured ones are cached that way.
+ */
+@Service
+public class ParameterStoreService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ParameterStoreService.class);
+    
+    // GetParameters accepts at most 10 names per call
+    static final int MAX_NAMES_PER_CALL = 10;
+    
+    private final SsmClient ssmClient;
+    private final ParameterStoreProperties properties;
+    private final ExecutorService fanOutExecutor;
+    private final AtomicReference<ParameterSnapshot> snapshot = new AtomicReference<>(ParameterSnapshot.EMPTY);
+    private final ScheduledExecutorService refresher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("parameter-refresh-"));
+    
+    public ParameterStoreService(SsmClient ssmClient, ParameterStoreProperties properties,
+                                 @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor) {
+        this.ssmClient = ssmClient;
+        this.properties = properties;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (properties.getPaths().isEmpty()) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Initial parameter load failed: {}", e.getMessage());
+        }
+        long interval = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                logger.warn("Parameter refresh failed; keeping previous snapshot: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    public ParameterSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+    
+    public String getParameter(String name) {
+        String value = snapshot.get().get(name);
+        if (value == null) {
+            value = getParameters(List.of(name)).get(name);
+        }
+        return value;
+    }
+    
+    /**
+     * Returns the requested parameters, fetching the ones not yet cached. Names that do not exist
+     * are absent from the result.
+     */
+    public Map<String, String> getParameters(List<String> names) {
+        ParameterSnapshot current = snapshot.get();
+        Map<String, String> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            String value = current.get(name);
+            if (value != null) {
+                result.put(name, value);
+            } else {
+                missing.add(name);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            Map<String, String> fetched = fetchByNames(missing);
+            snapshot.updateAndGet(previous -> previous.with(fetched, List.of(), fetched.keySet()));
+            result.putAll(fetched);
+        }
+        return result;
+    }
+    
+    public Map<String, String> getParametersByPath(String path, boolean recursive) {
+        ParameterSnapshot current = snapshot.get();
+        if (current.containsPath(path)) {
+            return current.getByPath(path, recursive);
+        }
+        
+        // Always load the whole subtree so later non-recursive and recursive reads are both local
+        Map<String, String> fetched = fetchByPath(path);
+        String normalized = normalizePath(path);
+        ParameterSnapshot updated = snapshot.updateAndGet(previous -> canRegister(previous, normalized)
+                ? previous.with(fetched, List.of(normalized), List.of())
+                : previous);
+        if (!updated.containsPath(normalized)) {
+            logger.debug("Not caching parameter path {}; serving it uncached", normalized);
+            return ParameterSnapshot.of(fetched, List.of(normalized), List.of()).getByPath(normalized, recursive);
+        }
+        return updated.getByPath(path, recursive);
+    }
+    
+    private boolean canRegister(ParameterSnapshot current, String path) {
+        if ("/".equals(path)) {
+            return false;
+        }
+        Set<String> configured = new HashSet<>();
+        properties.getPaths().forEach(configuredPath -> configured.add(normalizePath(configuredPath)));
+        long requested = current.getPaths().stream().filter(registered -> !configured.contains(registered)).count();
+        return configured.contains(path) || requested < properties.getMaxRequestedPaths();
+    }
+    
+    /**
+     * Reloads every configured or previously requested path and name into a fresh snapshot.
+     * Parameters deleted in SSM disappear from the cache on the next refresh.
+     */
+    public ParameterSnapshot refresh() {
+        ParameterSnapshot current = snapshot.get();
+        Set<String> paths = new LinkedHashSet<>(current.getPaths());
+        properties.getPaths().forEach(path -> paths.add(normalizePath(path)));
+        
+        List<CompletableFuture<Map<String, String>>> loads = new ArrayList<>();
+        for (String path : paths) {
+            loads.add(CompletableFuture.supplyAsync(() -> fetchByPath(path), fanOutExecutor));
+        }
+        
+        // fetchByNames fans out on its own, so it runs here rather than inside a pool task
+        Map<String, String> values = new HashMap<>(fetchByNames(List.copyOf(current.getNames())));
+        loads.forEach(load -> values.putAll(load.join()));
+        
+        // Merge rather than set: paths and names added while this refresh was loading keep the
+        // values they were loaded with instead of being dropped until the next refresh
+        ParameterSnapshot refreshed = snapshot.updateAndGet(latest -> {
+            Map<String, String> merged = new HashMap<>(values);
+            Set<String> mergedPaths = new LinkedHashSet<>(paths);
+            Set<String> mergedNames = new LinkedHashSet<>(current.getNames());
+            for (String added : latest.getPaths()) {
+                if (mergedPaths.add(added)) {
+                    merged.putAll(latest.getByPath(added, true));
+                }
+            }
+            for (String added : latest.getNames()) {
+                if (mergedNames.add(added) && latest.get(added) != null) {
+                    merged.put(added, latest.get(added));
+                }
+            }
+            return ParameterSnapshot.of(merged, mergedPaths, mergedNames);
+        });
+        logger.info("Parameter snapshot refreshed: {} parameter(s) from {} path(s)", values.size(), paths.size());
+        return refreshed;
+    }
+    
+    private Map<String, String> fetchByPath(String path) {
+        GetParametersByPathRequest request = GetParametersByPathRequest.builder()
+                .path(normalizePath(path))
+                .recursive(true)
+                .withDecryption(properties.isWithDecryption())
+                .build();
+        
+        Map<String, String> values = new HashMap<>();
+        for (Parameter parameter : ssmClient.getParametersByPathPaginator(request).parameters()) {
+            values.put(parameter.name(), parameter.value());
+        }
+        return values;
+    }
+    
+    private Map<String, String> fetchByNames(List<String> names) {
+        List<CompletableFuture<GetParametersResponse>> chunks = new ArrayList<>();
+        for (int start = 0; start < names.size(); start += MAX_NAMES_PER_CALL) {
+            List<String> chunk = names.subList(start, Math.min(start + MAX_NAMES_PER_CALL, names.size()));
+            GetParametersRequest request = GetParametersRequest.builder()
+                    .names(chunk)
+                    .withDecryption(properties.isWithDecryption())
+                    .build();
+            chunks.add(CompletableFuture.supplyAsync(() -> ssmClient.getParameters(request), fanOutExecutor));
+        }
+        
+        Map<String, String> values = new HashMap<>();
+        for (CompletableFuture<GetParametersResponse> chunk : chunks) {
+            GetParametersResponse response = chunk.join();
+            response.parameters().forEach(parameter -> values.put(parameter.name(), parameter.value()));
+            if (!response.invalidParameters().isEmpty()) {
+                logger.debug("Parameters not found: {}", response.invalidParameters());
+            }
+        }
+        return values;
+    }
+    
+    static String normalizePath(String path) {
+        return path.endsWith("/") ? path : path + "/";
+    }
+}
@@ -0,0 +1,12 @@
+package com.javaninja.service;
+
+/**
+ * Application callback for messages consumed by {@link MultiQueuePoller}. A message is deleted
+ * from its queue when {@link #handle} returns normally and left for redelivery if it throws.
+ */
+public interface QueueMessageHandler {
+    
+    boolean supports(String queueName);
+    
+    void handle(InboundMessage message) throws Exception;
+}
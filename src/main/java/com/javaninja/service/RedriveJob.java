@@ -0,0 +1,63 @@
+package com.javaninja.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live progress of a dead-letter queue redrive. Counters are updated by the workers and can be
+ * read at any time while the job runs.
+ */
+public class RedriveJob {
+    
+    public enum Status { RUNNING, COMPLETED, CANCELLED, FAILED }
+    
+    private final String jobId;
+    private final String sourceQueueName;
+    private final String targetQueueName;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong moved = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    
+    RedriveJob(String jobId, String sourceQueueName, String targetQueueName) {
+        this.jobId = jobId;
+        this.sourceQueueName = sourceQueueName;
+        this.targetQueueName = targetQueueName;
+    }
+    
+    void finish(Status finalStatus, String failure) {
+        if (status == Status.RUNNING) {
+            status = finalStatus;
+            error = failure;
+            finishedAt = Instant.now();
+        }
+    }
+    
+    AtomicLong receivedCounter() { return received; }
+    AtomicLong movedCounter() { return moved; }
+    AtomicLong skippedCounter() { return skipped; }
+    AtomicLong failedCounter() { return failed; }
+    
+    public String getJobId() { return jobId; }
+    public String getSourceQueueName() { return sourceQueueName; }
+    public String getTargetQueueName() { return targetQueueName; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+    public long getReceived() { return received.get(); }
+    public long getMoved() { return moved.get(); }
+    public long getSkipped() { return skipped.get(); }
+    public long getFailed() { return failed.get(); }
+    
+    public double getMessagesPerSecond() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return moved.get() * 1000.0 / millis;
+    }
+}
@@ -3,14 +3,20 @@ package com.javaninja.service;
 import com.javaninja.model.dto.S3ObjectRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,13 +26,34 @@ public class S3Service {
     
     private final S3Client s3Client;
     
-    public S3Service(S3Client s3Client) {
+    // Only available when aws.async.enabled is set
+    private final ObjectProvider<S3AsyncClient> s3AsyncClient;
+    
+    public S3Service(S3Client s3Client, ObjectProvider<S3AsyncClient> s3AsyncClient) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
     }
     
     public String putObject(S3ObjectRequest request) {
         logger.info("Uploading object to S3: bucket={}, key={}", request.getBucketName(), request.getObjectKey());
         
+        PutObjectResponse response = s3Client.putObject(toPutObjectRequest(request), RequestBody.fromBytes(content(request)));
+        
+        logger.info("Object uploaded successfully with ETag: {}", response.eTag());
+        return response.eTag();
+    }
+    
+    /**
+     * Non-blocking variant of {@link #putObject}.
+     */
+    public CompletableFuture<String> putObjectAsync(S3ObjectRequest request) {
+        logger.info("Uploading object to S3 asynchronously: bucket={}, key={}", request.getBucketName(), request.getObjectKey());
+        
+        return asyncClient().putObject(toPutObjectRequest(request), AsyncRequestBody.fromBytes(content(request)))
+                .thenApply(PutObjectResponse::eTag);
+    }
+    
+    private PutObjectRequest toPutObjectRequest(S3ObjectRequest request) {
         Map<String, String> metadata = new HashMap<>();
         if (request.getMetadata() != null) {
             metadata.put("custom-metadata", request.getMetadata());
@@ -41,14 +68,13 @@ public class S3Service {
             putRequestBuilder.contentType(request.getContentType());
         }
         
-        RequestBody requestBody = request.getContent() != null 
-                ? RequestBody.fromBytes(request.getContent())
-                : RequestBody.fromString("Default content");
-        
-        PutObjectResponse response = s3Client.putObject(putRequestBuilder.build(), requestBody);
-        
-        logger.info("Object uploaded successfully with ETag: {}", response.eTag());
-        return response.eTag();
+        return putRequestBuilder.build();
+    }
+    
+    private static byte[] content(S3ObjectRequest request) {
+        return request.getContent() != null
+                ? request.getContent()
+                : "Default content".getBytes(StandardCharsets.UTF_8);
     }
     
     public byte[] getObject(String bucketName, String objectKey) {
@@ -65,6 +91,21 @@ public class S3Service {
         return content;
     }
     
+    /**
+     * Non-blocking variant of {@link #getObject}.
+     */
+    public CompletableFuture<byte[]> getObjectAsync(String bucketName, String objectKey) {
+        logger.info("Downloading object from S3 asynchronously: bucket={}, key={}", bucketName, objectKey);
+        
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .build();
+        
+        return asyncClient().getObject(getRequest, AsyncResponseTransformer.toBytes())
+                .thenApply(response -> response.asByteArray());
+    }
+    
     public void deleteObject(String bucketName, String objectKey) {
         logger.info("Deleting object from S3: bucket={}, key={}", bucketName, objectKey);
         
@@ -78,24 +119,106 @@ public class S3Service {
         logger.info("Object deleted successfully");
     }
     
+    /**
+     * Non-blocking variant of {@link #deleteObject}.
+     */
+    public CompletableFuture<Void> deleteObjectAsync(String bucketName, String objectKey) {
+        logger.info("Deleting object from S3 asynchronously: bucket={}, key={}", bucketName, objectKey);
+        
+        DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .build();
+        
+        return asyncClient().deleteObject(deleteRequest).thenApply(response -> null);
+    }
+    
     public List<String> listObjects(String bucketName, String prefix) {
         logger.info("Listing objects in S3 bucket: {}, prefix: {}", bucketName, prefix);
         
+        ListObjectsV2Response response = s3Client.listObjectsV2(toListRequest(bucketName, prefix));
+        
+        List<String> objectKeys = response.contents().stream()
+                .map(S3Object::key)
+                .collect(Collectors.toList());
+        
+        logger.info("Found {} objects", objectKeys.size());
+        return objectKeys;
+    }
+    
+    /**
+     * Non-blocking variant of {@link #listObjects}.
+     */
+    public CompletableFuture<List<String>> listObjectsAsync(String bucketName, String prefix) {
+        logger.info("Listing objects in S3 bucket asynchronously: {}, prefix: {}", bucketName, prefix);
+        
+        return asyncClient().listObjectsV2(toListRequest(bucketName, prefix))
+                .thenApply(response -> response.contents().stream()
+                        .map(S3Object::key)
+                        .collect(Collectors.toList()));
+    }
+    
+    private static ListObjectsV2Request toListRequest(String bucketName, String prefix) {
         ListObjectsV2Request.Builder listRequestBuilder = ListObjectsV2Request.builder()
                 .bucket(bucketName);
         
         if (prefix != null && !prefix.trim().isEmpty()) {
             listRequestBuilder.prefix(prefix);
         }
+        return listRequestBuilder.build();
+    }
+    
+    public String createMultipartUpload(String bucketName, String objectKey, String contentType) {
+        logger.info("Starting multipart upload: bucket={}, key={}", bucketName, objectKey);
         
-        ListObjectsV2Response response = s3Client.listObjectsV2(listRequestBuilder.build());
+        CreateMultipartUploadRequest.Builder createRequestBuilder = CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey);
         
-        List<String> objectKeys = response.contents().stream()
-                .map(S3Object::key)
-                .collect(Collectors.toList());
+        if (contentType != null && !contentType.trim().isEmpty()) {
+            createRequestBuilder.contentType(contentType);
+        }
         
-        logger.info("Found {} objects", objectKeys.size());
-        return objectKeys;
+        return s3Client.createMultipartUpload(createRequestBuilder.build()).uploadId();
+    }
+    
+    public CompletedPart uploadPart(String bucketName, String objectKey, String uploadId, int partNumber, byte[] content) {
+        logger.debug("Uploading part {} ({} bytes): bucket={}, key={}", partNumber, content.length, bucketName, objectKey);
+        
+        UploadPartRequest partRequest = UploadPartRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) content.length)
+                .build();
+        
+        UploadPartResponse response = s3Client.uploadPart(partRequest, RequestBody.fromBytes(content));
+        return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+    }
+    
+    public String completeMultipartUpload(String bucketName, String objectKey, String uploadId, List<CompletedPart> parts) {
+        CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build();
+        
+        CompleteMultipartUploadResponse response = s3Client.completeMultipartUpload(completeRequest);
+        
+        logger.info("Multipart upload completed with {} part(s): bucket={}, key={}", parts.size(), bucketName, objectKey);
+        return response.eTag();
+    }
+    
+    public void abortMultipartUpload(String bucketName, String objectKey, String uploadId) {
+        logger.info("Aborting multipart upload: bucket={}, key={}", bucketName, objectKey);
+        
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(objectKey)
+                .uploadId(uploadId)
+                .build());
     }
     
     public boolean bucketExists(String bucketName) {
@@ -107,5 +230,12 @@ public class S3Service {
             return false;
         }
     }
+    
+    private S3AsyncClient asyncClient() {
+        S3AsyncClient client = s3AsyncClient.getIfAvailable();
+        if (client == null) {
+            throw new IllegalStateException("Async S3 client is not configured; set aws.async.enabled=true");
+        }
+        return client;
+    }
 }
-
@@ -0,0 +1,174 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SecretIndexProperties;
+import com.javaninja.model.dto.SecretMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.model.Tag;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Local index of secret names, ARNs and metadata built from paginated {@code ListSecrets}.
+ * A scheduled refresh applies only the entries that changed, and the service's own create,
+ * update and delete calls update the index immediately. Secrets scheduled for deletion are
+ * not listed and therefore do not exist as far as the index is concerned.
+ */
+@Service
+public class SecretMetadataIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SecretMetadataIndex.class);
+    
+    private final SecretsManagerClient secretsManagerClient;
+    private final SecretIndexProperties properties;
+    private final ScheduledExecutorService refresher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("secret-index-"));
+    
+    private final Map<String, SecretMetadata> byName = new ConcurrentHashMap<>();
+    private final Map<String, String> nameByArn = new ConcurrentHashMap<>();
+    
+    // Local changes made while a listing is in flight must not be undone by that listing
+    private final Map<String, Instant> localChanges = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    
+    public SecretMetadataIndex(SecretsManagerClient secretsManagerClient, SecretIndexProperties properties) {
+        this.secretsManagerClient = secretsManagerClient;
+        this.properties = properties;
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refresh();
+        long interval = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * Whether lookups can be answered locally; false until the first listing succeeds.
+     */
+    public boolean isAvailable() {
+        return loaded;
+    }
+    
+    public boolean contains(String secretId) {
+        return get(secretId) != null;
+    }
+    
+    public SecretMetadata get(String secretId) {
+        SecretMetadata metadata = byName.get(secretId);
+        if (metadata == null) {
+            String name = nameByArn.get(secretId);
+            metadata = name != null ? byName.get(name) : null;
+        }
+        return metadata;
+    }
+    
+    public int size() {
+        return byName.size();
+    }
+    
+    void onCreated(String name, String arn, String description) {
+        localChanges.put(name, Instant.now());
+        put(new SecretMetadata(name, arn, description, Instant.now(), null));
+    }
+    
+    void onUpdated(String secretId, String description) {
+        SecretMetadata existing = get(secretId);
+        if (existing != null) {
+            localChanges.put(existing.getName(), Instant.now());
+            put(new SecretMetadata(existing.getName(), existing.getArn(),
+                    description != null ? description : existing.getDescription(), Instant.now(), existing.getTags()));
+        }
+    }
+    
+    void onDeleted(String secretId) {
+        SecretMetadata existing = get(secretId);
+        String name = existing != null ? existing.getName() : secretId;
+        localChanges.put(name, Instant.now());
+        remove(name);
+    }
+    
+    void refresh() {
+        Instant startedAt = Instant.now();
+        try {
+            Set<String> listed = new HashSet<>();
+            int changed = 0;
+            for (SecretListEntry entry : secretsManagerClient.listSecretsPaginator(ListSecretsRequest.builder().build()).secretList()) {
+                listed.add(entry.name());
+                if (changedLocallySince(entry.name(), startedAt)) {
+                    continue;
+                }
+                SecretMetadata existing = byName.get(entry.name());
+                if (existing == null || !Objects.equals(existing.getLastChangedDate(), entry.lastChangedDate())) {
+                    put(toMetadata(entry));
+                    changed++;
+                }
+            }
+            
+            int removed = 0;
+            for (String name : Set.copyOf(byName.keySet())) {
+                if (!listed.contains(name) && !changedLocallySince(name, startedAt)) {
+                    remove(name);
+                    removed++;
+                }
+            }
+            localChanges.values().removeIf(changedAt -> changedAt.isBefore(startedAt));
+            loaded = true;
+            logger.info("Secret index refreshed: {} secret(s), {} changed, {} removed", byName.size(), changed, removed);
+        } catch (Exception e) {
+            logger.warn("Failed to refresh secret index: {}", e.getMessage());
+        }
+    }
+    
+    private boolean changedLocallySince(String name, Instant since) {
+        Instant changedAt = localChanges.get(name);
+        return changedAt != null && !changedAt.isBefore(since);
+    }
+    
+    private void put(SecretMetadata metadata) {
+        SecretMetadata previous = byName.put(metadata.getName(), metadata);
+        if (previous != null && previous.getArn() != null && !previous.getArn().equals(metadata.getArn())) {
+            nameByArn.remove(previous.getArn());
+        }
+        if (metadata.getArn() != null) {
+            nameByArn.put(metadata.getArn(), metadata.getName());
+        }
+    }
+    
+    private void remove(String name) {
+        SecretMetadata previous = byName.remove(name);
+        if (previous != null && previous.getArn() != null) {
+            nameByArn.remove(previous.getArn());
+        }
+    }
+    
+    private static SecretMetadata toMetadata(SecretListEntry entry) {
+        Map<String, String> tags = entry.tags().stream()
+                .collect(Collectors.toMap(Tag::key, Tag::value, (first, second) -> second));
+        return new SecretMetadata(entry.name(), entry.arn(), entry.description(), entry.lastChangedDate(), tags);
+    }
+}
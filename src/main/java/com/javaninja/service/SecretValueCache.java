@@ -0,0 +1,224 @@
+package com.javaninja.service;
+
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.config.SecretCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of secret values keyed by secret id and version stage.
+ * Fresh values are returned directly; values past the ttl but within max-stale are returned
+ * while one background refresh replaces them; older or missing values are loaded inline.
+ * Concurrent loads of the same key share a single Secrets Manager call.
+ */
+@Component
+public class SecretValueCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SecretValueCache.class);
+    
+    private static final String KEY_SEPARATOR = "\u0000";
+    
+    private final SecretCacheProperties properties;
+    private final ExecutorService fanOutExecutor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    
+    // Bumped on every invalidation; each invalidated secret id records the generation it was
+    // invalidated at, so only loads of that secret that started earlier are kept out of the cache.
+    // Grows with the number of distinct secrets updated or deleted through this service.
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    public SecretValueCache(SecretCacheProperties properties,
+                            @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor) {
+        this.properties = properties;
+        this.fanOutExecutor = fanOutExecutor;
+    }
+    
+    public String get(String secretId, String versionStage, Supplier<String> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        
+        String key = key(secretId, versionStage);
+        Entry entry = cached(secretId, key, () -> CompletableFuture.supplyAsync(loader, fanOutExecutor));
+        if (entry != null) {
+            return entry.value;
+        }
+        
+        misses.incrementAndGet();
+        try {
+            return load(secretId, key, () -> CompletableFuture.completedFuture(loader.get())).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    /**
+     * Non-blocking variant of {@link #get}: cached values complete immediately, and a miss completes
+     * when {@code loader} does. Concurrent misses share one load with blocking callers.
+     */
+    public CompletableFuture<String> getAsync(String secretId, String versionStage,
+                                              Supplier<CompletableFuture<String>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        
+        String key = key(secretId, versionStage);
+        Entry entry = cached(secretId, key, loader);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(entry.value);
+        }
+        
+        misses.incrementAndGet();
+        return load(secretId, key, loader);
+    }
+    
+    /**
+     * Current invalidation generation. Read it before fetching values elsewhere and pass it to
+     * {@link #put}, so values of secrets invalidated during the fetch are not cached.
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * Stores a value fetched elsewhere, e.g. by a batch call, unless the secret was invalidated
+     * after {@code fetchGeneration}.
+     */
+    public void put(String secretId, String versionStage, String value, long fetchGeneration) {
+        if (properties.isEnabled()) {
+            store(secretId, key(secretId, versionStage), value, fetchGeneration);
+        }
+    }
+    
+    /**
+     * Drops every cached version stage of a secret. Loads of it already in flight still complete
+     * for their callers but no longer populate the cache, and later reads start a new load.
+     */
+    public void invalidate(String secretId) {
+        invalidatedAt.put(secretId, generation.incrementAndGet());
+        String prefix = secretId + KEY_SEPARATOR;
+        inFlight.keySet().removeIf(key -> key.startsWith(prefix));
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "size", entries.size(),
+                "hits", hits.get(),
+                "staleHits", staleHits.get(),
+                "misses", misses.get());
+    }
+    
+    /**
+     * Returns the entry for {@code key} if it is fresh, or stale but still servable, in which case
+     * a background refresh is started.
+     */
+    private Entry cached(String secretId, String key, Supplier<CompletableFuture<String>> refresher) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long age = System.nanoTime() - entry.loadedAt;
+        if (age < properties.getTtl().toNanos()) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        if (age < properties.getTtl().plus(properties.getMaxStale()).toNanos()) {
+            staleHits.incrementAndGet();
+            refreshAsync(secretId, key, refresher);
+            return entry;
+        }
+        return null;
+    }
+    
+    private void refreshAsync(String secretId, String key, Supplier<CompletableFuture<String>> loader) {
+        if (!inFlight.containsKey(key)) {
+            load(secretId, key, loader).exceptionally(e -> {
+                // Keep serving the stale value; the next stale read retries
+                logger.warn("Background refresh of secret {} failed: {}", displayName(key), e.getMessage());
+                return null;
+            });
+        }
+    }
+    
+    private CompletableFuture<String> load(String secretId, String key, Supplier<CompletableFuture<String>> loader) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        
+        long startGeneration = generation.get();
+        CompletableFuture<String> source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException e) {
+            // Includes a refresh rejected by a saturated executor; later reads must be able to retry
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+        source.whenComplete((value, e) -> {
+            if (e == null) {
+                store(secretId, key, value, startGeneration);
+                future.complete(value);
+            } else {
+                future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+            inFlight.remove(key, future);
+        });
+        return future;
+    }
+    
+    private void store(String secretId, String key, String value, long startGeneration) {
+        if (isInvalidatedSince(secretId, startGeneration)) {
+            return;
+        }
+        Entry entry = new Entry(value, System.nanoTime());
+        entries.put(key, entry);
+        // An invalidation between the check and the put would otherwise leave the old value cached
+        if (isInvalidatedSince(secretId, startGeneration)) {
+            entries.remove(key, entry);
+        }
+    }
+    
+    private boolean isInvalidatedSince(String secretId, long startGeneration) {
+        Long invalidated = invalidatedAt.get(secretId);
+        return invalidated != null && invalidated > startGeneration;
+    }
+    
+    private static String key(String secretId, String versionStage) {
+        return secretId + KEY_SEPARATOR + (versionStage != null ? versionStage : "");
+    }
+    
+    private static String displayName(String key) {
+        return key.replace(KEY_SEPARATOR, "@");
+    }
+    
+    private static final class Entry {
+        
+        private final String value;
+        private final long loadedAt;
+        
+        private Entry(String value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
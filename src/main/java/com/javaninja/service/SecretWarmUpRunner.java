@@ -0,0 +1,46 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SecretWarmUpProperties;
+import com.javaninja.model.dto.SecretBatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the configured secrets into the cache with parallel batch calls. Runners complete before
+ * the readiness state changes to ACCEPTING_TRAFFIC, so the first requests find warm values.
+ */
+@Component
+public class SecretWarmUpRunner implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SecretWarmUpRunner.class);
+    
+    private final SecretsManagerService secretsManagerService;
+    private final SecretWarmUpProperties properties;
+    
+    public SecretWarmUpRunner(SecretsManagerService secretsManagerService, SecretWarmUpProperties properties) {
+        this.secretsManagerService = secretsManagerService;
+        this.properties = properties;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.getSecretIds().isEmpty()) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        SecretBatchResult result = secretsManagerService.batchGetSecretValues(properties.getSecretIds());
+        logger.info("Warmed {} of {} secret(s) in {} ms", result.getSecretValues().size(),
+                properties.getSecretIds().size(), (System.nanoTime() - start) / 1_000_000);
+        
+        if (!result.getErrors().isEmpty()) {
+            logger.warn("Secret warm-up failures: {}", result.getErrors().keySet());
+            if (properties.isFailOnError()) {
+                throw new IllegalStateException("Failed to warm secrets: " + result.getErrors().keySet());
+            }
+        }
+    }
+}
@@ -1,21 +1,53 @@
 package com.javaninja.service;
 
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.model.dto.SecretBatchRequest;
+import com.javaninja.model.dto.SecretBatchResult;
+import com.javaninja.model.dto.SecretMetadata;
 import com.javaninja.model.dto.SecretsManagerRequest;
+import com.javaninja.support.FanOutScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.secretsmanager.model.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
 @Service
 public class SecretsManagerService {
     
     private static final Logger logger = LoggerFactory.getLogger(SecretsManagerService.class);
     
+    // BatchGetSecretValue accepts at most 20 ids per call
+    static final int MAX_BATCH_SECRET_IDS = 20;
+    
     private final SecretsManagerClient secretsManagerClient;
+    // Only available when aws.async.enabled is set
+    private final ObjectProvider<SecretsManagerAsyncClient> secretsManagerAsyncClient;
+    private final SecretValueCache secretValueCache;
+    private final SecretMetadataIndex secretMetadataIndex;
+    private final ExecutorService fanOutExecutor;
     
-    public SecretsManagerService(SecretsManagerClient secretsManagerClient) {
+    public SecretsManagerService(SecretsManagerClient secretsManagerClient,
+            ObjectProvider<SecretsManagerAsyncClient> secretsManagerAsyncClient, SecretValueCache secretValueCache,
+            SecretMetadataIndex secretMetadataIndex,
+            @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor) {
         this.secretsManagerClient = secretsManagerClient;
+        this.secretsManagerAsyncClient = secretsManagerAsyncClient;
+        this.secretValueCache = secretValueCache;
+        this.secretMetadataIndex = secretMetadataIndex;
+        this.fanOutExecutor = fanOutExecutor;
     }
     
     public String createSecret(SecretsManagerRequest request) {
@@ -30,24 +62,122 @@ public class SecretsManagerService {
         }
         
         CreateSecretResponse response = secretsManagerClient.createSecret(createRequestBuilder.build());
+        secretMetadataIndex.onCreated(response.name(), response.arn(), request.getDescription());
         
         logger.info("Secret created successfully with ARN: {}", response.arn());
         return response.arn();
     }
     
     public String getSecretValue(String secretName) {
+        return getSecretValue(secretName, null);
+    }
+    
+    /**
+     * Returns the secret string for a version stage (AWSCURRENT when {@code versionStage} is null),
+     * served from {@link SecretValueCache} when possible.
+     */
+    public String getSecretValue(String secretName, String versionStage) {
+        return secretValueCache.get(secretName, versionStage, () -> fetchSecretValue(secretName, versionStage));
+    }
+    
+    /**
+     * Non-blocking variant of {@link #getSecretValue(String, String)}; cache hits complete immediately.
+     */
+    public CompletableFuture<String> getSecretValueAsync(String secretName, String versionStage) {
+        return secretValueCache.getAsync(secretName, versionStage, () -> {
+            SecretsManagerAsyncClient client = secretsManagerAsyncClient.getIfAvailable();
+            if (client == null) {
+                throw new IllegalStateException("Async Secrets Manager client is not configured; set aws.async.enabled=true");
+            }
+            logger.info("Retrieving secret value asynchronously: {}", secretName);
+            return client.getSecretValue(toGetSecretValueRequest(secretName, versionStage))
+                    .thenApply(GetSecretValueResponse::secretString);
+        });
+    }
+    
+    private String fetchSecretValue(String secretName, String versionStage) {
         logger.info("Retrieving secret value: {}", secretName);
         
-        GetSecretValueRequest getRequest = GetSecretValueRequest.builder()
-                .secretId(secretName)
-                .build();
-        
-        GetSecretValueResponse response = secretsManagerClient.getSecretValue(getRequest);
+        GetSecretValueResponse response = secretsManagerClient.getSecretValue(toGetSecretValueRequest(secretName, versionStage));
         
         logger.info("Secret value retrieved successfully");
         return response.secretString();
     }
     
+    private static GetSecretValueRequest toGetSecretValueRequest(String secretName, String versionStage) {
+        GetSecretValueRequest.Builder getRequestBuilder = GetSecretValueRequest.builder()
+                .secretId(secretName);
+        
+        if (versionStage != null && !versionStage.trim().isEmpty()) {
+            getRequestBuilder.versionStage(versionStage);
+        }
+        return getRequestBuilder.build();
+    }
+    
+    /**
+     * Fetches current secret values with {@code BatchGetSecretValue}. Explicit ids are split into
+     * chunks of 20 fetched in parallel; filters are followed page by page. Returned values are
+     * added to the cache under both name and ARN.
+     */
+    public SecretBatchResult batchGetSecretValues(SecretBatchRequest request) {
+        if (request.getSecretIds() != null && !request.getSecretIds().isEmpty()) {
+            return batchGetSecretValues(request.getSecretIds());
+        }
+        
+        List<Filter> filters = new ArrayList<>();
+        request.getFilters().forEach((key, values) -> filters.add(Filter.builder().key(key).values(values).build()));
+        logger.info("Retrieving secret values matching {} filter(s)", filters.size());
+        
+        SecretBatchResult result = new SecretBatchResult();
+        long generation = secretValueCache.generation();
+        secretsManagerClient.batchGetSecretValuePaginator(BatchGetSecretValueRequest.builder().filters(filters).build())
+                .forEach(page -> collect(page, result, generation));
+        
+        logger.info("Retrieved {} secret value(s), {} error(s)", result.getSecretValues().size(), result.getErrors().size());
+        return result;
+    }
+    
+    public SecretBatchResult batchGetSecretValues(List<String> secretIds) {
+        logger.info("Retrieving {} secret value(s) in batches of {}", secretIds.size(), MAX_BATCH_SECRET_IDS);
+        
+        SecretBatchResult result = new SecretBatchResult();
+        long generation = secretValueCache.generation();
+        try (FanOutScope<SecretBatchResult> scope = new FanOutScope<>(fanOutExecutor)) {
+            for (int start = 0; start < secretIds.size(); start += MAX_BATCH_SECRET_IDS) {
+                List<String> chunk = secretIds.subList(start, Math.min(start + MAX_BATCH_SECRET_IDS, secretIds.size()));
+                scope.fork(() -> fetchChunk(chunk, generation));
+            }
+            scope.join().forEach(result::merge);
+        }
+        
+        logger.info("Retrieved {} secret value(s), {} error(s)", result.getSecretValues().size(), result.getErrors().size());
+        return result;
+    }
+    
+    private SecretBatchResult fetchChunk(List<String> secretIds, long generation) {
+        SecretBatchResult result = new SecretBatchResult();
+        try {
+            BatchGetSecretValueResponse response = secretsManagerClient.batchGetSecretValue(
+                    BatchGetSecretValueRequest.builder().secretIdList(secretIds).build());
+            collect(response, result, generation);
+        } catch (Exception e) {
+            logger.error("Failed to retrieve secret batch", e);
+            secretIds.forEach(secretId -> result.addError(secretId, e.getClass().getSimpleName(), e.getMessage()));
+        }
+        return result;
+    }
+    
+    private void collect(BatchGetSecretValueResponse response, SecretBatchResult result, long generation) {
+        for (SecretValueEntry entry : response.secretValues()) {
+            result.addValue(entry.name(), entry.secretString());
+            secretValueCache.put(entry.name(), null, entry.secretString(), generation);
+            secretValueCache.put(entry.arn(), null, entry.secretString(), generation);
+        }
+        for (APIErrorType error : response.errors()) {
+            result.addError(error.secretId(), error.errorCode(), error.message());
+        }
+    }
+    
     public String updateSecret(SecretsManagerRequest request) {
         logger.info("Updating secret: {}", request.getSecretName());
         
@@ -60,6 +190,8 @@ public class SecretsManagerService {
         }
         
         UpdateSecretResponse response = secretsManagerClient.updateSecret(updateRequestBuilder.build());
+        invalidateCached(request.getSecretName(), response.name(), response.arn());
+        secretMetadataIndex.onUpdated(request.getSecretName(), request.getDescription());
         
         logger.info("Secret updated successfully, version: {}", response.versionId());
         return response.versionId();
@@ -76,25 +208,68 @@ public class SecretsManagerService {
         }
         
         DeleteSecretResponse response = secretsManagerClient.deleteSecret(deleteRequestBuilder.build());
+        invalidateCached(secretName, response.name(), response.arn());
+        secretMetadataIndex.onDeleted(secretName);
         
         logger.info("Secret deletion scheduled, deletion date: {}", response.deletionDate());
     }
     
+    // Values may be cached under the id the caller used as well as under the name and ARN
+    private void invalidateCached(String... secretIds) {
+        Arrays.stream(secretIds).filter(Objects::nonNull).distinct().forEach(secretValueCache::invalidate);
+    }
+    
+    /**
+     * Answered from the local index when it has the secret. Misses, and every lookup until the index
+     * has loaded, fall back to {@code DescribeSecret}, which also covers secrets created elsewhere
+     * since the last refresh and partial ARNs.
+     */
     public boolean secretExists(String secretName) {
-        try {
-            DescribeSecretRequest describeRequest = DescribeSecretRequest.builder()
-                    .secretId(secretName)
-                    .build();
-            
-            secretsManagerClient.describeSecret(describeRequest);
+        if (secretMetadataIndex.isAvailable() && secretMetadataIndex.contains(secretName)) {
             return true;
-        } catch (ResourceNotFoundException e) {
-            logger.warn("Secret {} does not exist", secretName);
-            return false;
+        }
+        try {
+            return describeSecret(secretName) != null;
         } catch (Exception e) {
             logger.warn("Error checking secret existence: {}", e.getMessage());
             return false;
         }
     }
+    
+    /**
+     * Returns metadata from the local index, or from {@code DescribeSecret} when the index does not
+     * have the secret. Returns {@code null} when the secret does not exist.
+     */
+    public SecretMetadata getSecretMetadata(String secretName) {
+        if (secretMetadataIndex.isAvailable()) {
+            SecretMetadata metadata = secretMetadataIndex.get(secretName);
+            if (metadata != null) {
+                return metadata;
+            }
+        }
+        return describeSecret(secretName);
+    }
+    
+    // Secrets scheduled for deletion are treated as missing, as they are by the index
+    private SecretMetadata describeSecret(String secretName) {
+        try {
+            DescribeSecretResponse response = secretsManagerClient.describeSecret(
+                    DescribeSecretRequest.builder().secretId(secretName).build());
+            if (response.deletedDate() != null) {
+                logger.warn("Secret {} is scheduled for deletion", secretName);
+                return null;
+            }
+            Map<String, String> tags = new LinkedHashMap<>();
+            response.tags().forEach(tag -> tags.put(tag.key(), tag.value()));
+            return new SecretMetadata(response.name(), response.arn(), response.description(),
+                    response.lastChangedDate(), tags);
+        } catch (ResourceNotFoundException e) {
+            logger.warn("Secret {} does not exist", secretName);
+            return null;
+        }
+    }
+    
+    public Map<String, Object> getCacheStats() {
+        return secretValueCache.getStats();
+    }
 }
-
@@ -0,0 +1,257 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SesProperties;
+import com.javaninja.model.dto.SesBulkEmailRequest;
+import com.javaninja.model.dto.SesDestination;
+import com.javaninja.model.dto.SesSendResult;
+import com.javaninja.support.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.BulkEmailDestination;
+import software.amazon.awssdk.services.ses.model.BulkEmailDestinationStatus;
+import software.amazon.awssdk.services.ses.model.BulkEmailStatus;
+import software.amazon.awssdk.services.ses.model.Destination;
+import software.amazon.awssdk.services.ses.model.GetSendQuotaResponse;
+import software.amazon.awssdk.services.ses.model.SendBulkTemplatedEmailRequest;
+import software.amazon.awssdk.services.ses.model.SendBulkTemplatedEmailResponse;
+import software.amazon.awssdk.services.ses.model.SesException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends templated bulk email through SES, 50 destinations per {@code SendBulkTemplatedEmail} call.
+ * <p>
+ * Calls are paced by a token bucket charged one token per recipient. Its rate starts at the
+ * account's max send rate from {@code GetSendQuota}, is cut multiplicatively whenever SES throttles
+ * a call or a destination, and grows back in steps while sends succeed, so sending stays close to
+ * the quota without repeatedly exceeding it. Throttled destinations are retried.
+ */
+@Service
+public class SesService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SesService.class);
+    
+    // SendBulkTemplatedEmail accepts at most 50 destinations per call
+    static final int MAX_DESTINATIONS_PER_CALL = 50;
+    
+    private final SesClient sesClient;
+    private final SesProperties properties;
+    private final TokenBucket rateLimiter;
+    private final ScheduledExecutorService quotaRefresher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("ses-quota-"));
+    
+    private final ReentrantLock rateLock = new ReentrantLock();
+    private double ceilingRate;
+    private double currentRate;
+    private long lastAdjustedNanos = System.nanoTime();
+    
+    public SesService(SesClient sesClient, SesProperties properties) {
+        this.sesClient = sesClient;
+        this.properties = properties;
+        this.ceilingRate = properties.getMinSendRate();
+        this.currentRate = properties.getMinSendRate();
+        this.rateLimiter = TokenBucket.perSecond(currentRate);
+    }
+    
+    @PostConstruct
+    public void start() {
+        refreshQuota();
+        long interval = properties.getQuotaRefreshInterval().toMillis();
+        quotaRefresher.scheduleWithFixedDelay(this::refreshQuota, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        quotaRefresher.shutdownNow();
+    }
+    
+    /**
+     * Sends the template to every destination and returns one result per destination, in request order.
+     * A chunk that SES rejects outright is reported as failed for each of its destinations, and the
+     * remaining chunks are still sent.
+     */
+    public List<SesSendResult> sendBulkTemplatedEmail(SesBulkEmailRequest request) throws InterruptedException {
+        String source = request.getSource() != null ? request.getSource() : properties.getSource();
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("No source given and aws.services.ses.source is not configured");
+        }
+        
+        List<SesDestination> destinations = request.getDestinations();
+        SesSendResult[] results = new SesSendResult[destinations.size()];
+        for (int start = 0; start < destinations.size(); start += MAX_DESTINATIONS_PER_CALL) {
+            List<Integer> pending = new ArrayList<>();
+            for (int i = start; i < Math.min(start + MAX_DESTINATIONS_PER_CALL, destinations.size()); i++) {
+                pending.add(i);
+            }
+            sendChunk(request, source, pending, results);
+        }
+        logger.info("Bulk templated email {} sent to {} destination(s)", request.getTemplate(), destinations.size());
+        return Arrays.asList(results);
+    }
+    
+    public Map<String, Object> getSendQuota() {
+        GetSendQuotaResponse current = sesClient.getSendQuota();
+        applyQuota(current);
+        
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("maxSendRate", current.maxSendRate());
+        view.put("max24HourSend", current.max24HourSend());
+        view.put("sentLast24Hours", current.sentLast24Hours());
+        view.put("currentSendRate", getCurrentRate());
+        return view;
+    }
+    
+    public double getCurrentRate() {
+        rateLock.lock();
+        try {
+            return currentRate;
+        } finally {
+            rateLock.unlock();
+        }
+    }
+    
+    void refreshQuota() {
+        try {
+            applyQuota(sesClient.getSendQuota());
+        } catch (Exception e) {
+            logger.warn("Failed to read SES send quota; keeping {} msg/s: {}", getCurrentRate(), e.getMessage());
+        }
+    }
+    
+    private void sendChunk(SesBulkEmailRequest request, String source, List<Integer> pending,
+                           SesSendResult[] results) throws InterruptedException {
+        List<SesDestination> destinations = request.getDestinations();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            rateLimiter.acquire(pending.stream().mapToInt(i -> destinations.get(i).recipientCount()).sum());
+            
+            SendBulkTemplatedEmailResponse response;
+            try {
+                response = sesClient.sendBulkTemplatedEmail(toRequest(request, source, pending));
+            } catch (SesException e) {
+                if (!e.isThrottlingException() || attempt >= properties.getMaxAttempts()) {
+                    logger.error("Bulk templated email {} failed for {} destination(s)", request.getTemplate(), pending.size(), e);
+                    String error = e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : e.getClass().getSimpleName();
+                    for (int index : pending) {
+                        results[index] = new SesSendResult(index, destinations.get(index).allRecipients(),
+                                null, BulkEmailStatus.FAILED.toString(), error + ": " + e.getMessage());
+                    }
+                    return;
+                }
+                onThrottled();
+                continue;
+            }
+            
+            List<Integer> throttled = new ArrayList<>();
+            List<BulkEmailDestinationStatus> statuses = response.status();
+            for (int i = 0; i < pending.size(); i++) {
+                int index = pending.get(i);
+                BulkEmailDestinationStatus status = statuses.get(i);
+                if (status.status() == BulkEmailStatus.ACCOUNT_THROTTLED && attempt < properties.getMaxAttempts()) {
+                    throttled.add(index);
+                } else {
+                    results[index] = new SesSendResult(index, destinations.get(index).allRecipients(),
+                            status.messageId(), status.statusAsString(), status.error());
+                }
+            }
+            
+            if (throttled.isEmpty()) {
+                onSuccess();
+            } else {
+                onThrottled();
+            }
+            pending = throttled;
+        }
+    }
+    
+    private SendBulkTemplatedEmailRequest toRequest(SesBulkEmailRequest request, String source, List<Integer> indexes) {
+        List<BulkEmailDestination> destinations = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            SesDestination destination = request.getDestinations().get(index);
+            destinations.add(BulkEmailDestination.builder()
+                    .destination(Destination.builder()
+                            .toAddresses(destination.getTo())
+                            .ccAddresses(destination.getCc())
+                            .bccAddresses(destination.getBcc())
+                            .build())
+                    .replacementTemplateData(destination.getReplacementTemplateData())
+                    .build());
+        }
+        
+        String configurationSet = request.getConfigurationSetName() != null
+                ? request.getConfigurationSetName()
+                : properties.getConfigurationSetName();
+        return SendBulkTemplatedEmailRequest.builder()
+                .source(source)
+                .template(request.getTemplate())
+                .defaultTemplateData(request.getDefaultTemplateData())
+                .configurationSetName(configurationSet)
+                .destinations(destinations)
+                .build();
+    }
+    
+    private void applyQuota(GetSendQuotaResponse latest) {
+        rateLock.lock();
+        try {
+            double ceiling = Math.max(properties.getMinSendRate(), latest.maxSendRate() * properties.getRateUtilization());
+            if (ceiling != ceilingRate) {
+                logger.info("SES max send rate is {} msg/s; pacing at up to {} msg/s", latest.maxSendRate(), ceiling);
+            }
+            // A first quota read, or a raised quota, starts at the new ceiling; a lowered one caps the current rate
+            currentRate = currentRate == ceilingRate ? ceiling : Math.min(currentRate, ceiling);
+            ceilingRate = ceiling;
+            updateBucket();
+        } finally {
+            rateLock.unlock();
+        }
+    }
+    
+    private void onThrottled() {
+        rateLock.lock();
+        try {
+            long now = System.nanoTime();
+            // One cut per recovery interval; a burst of throttled calls reflects the same overshoot
+            if (now - lastAdjustedNanos < properties.getRecoveryInterval().toNanos() && currentRate < ceilingRate) {
+                return;
+            }
+            currentRate = Math.max(properties.getMinSendRate(), currentRate * properties.getDecreaseFactor());
+            lastAdjustedNanos = now;
+            updateBucket();
+            logger.warn("SES throttled sends; reducing rate to {} msg/s", currentRate);
+        } finally {
+            rateLock.unlock();
+        }
+    }
+    
+    private void onSuccess() {
+        rateLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (currentRate >= ceilingRate || now - lastAdjustedNanos < properties.getRecoveryInterval().toNanos()) {
+                return;
+            }
+            currentRate = Math.min(ceilingRate, currentRate + ceilingRate * properties.getIncreaseStep());
+            lastAdjustedNanos = now;
+            updateBucket();
+            logger.debug("Raising SES send rate to {} msg/s", currentRate);
+        } finally {
+            rateLock.unlock();
+        }
+    }
+    
+    private void updateBucket() {
+        rateLimiter.setRatePerSecond(currentRate, Math.max(1, currentRate));
+    }
+}
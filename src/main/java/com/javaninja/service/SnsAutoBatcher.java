@@ -0,0 +1,172 @@
+package com.javaninja.service;
+
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.config.SnsPublishProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent single publishes to the same topic into {@code PublishBatch} calls.
+ * A batch is sent when it reaches 10 entries or 256 KB, or when its first entry has waited
+ * for the linger window, whichever comes first. Batches are sent on a dedicated pool; if it is
+ * saturated the batch fails rather than being sent on the linger timer or the caller's thread.
+ */
+@Service
+public class SnsAutoBatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SnsAutoBatcher.class);
+    
+    private final SnsClient snsClient;
+    private final SnsPublishProperties properties;
+    private final ExecutorService publishExecutor;
+    private final ScheduledExecutorService lingerTimer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sns-linger-"));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, PendingBatch> pending = new HashMap<>();
+    
+    public SnsAutoBatcher(SnsClient snsClient, SnsPublishProperties properties,
+                          @Qualifier(ExecutorConfig.SNS_PUBLISH_EXECUTOR) ExecutorService publishExecutor) {
+        this.snsClient = snsClient;
+        this.properties = properties;
+        this.publishExecutor = publishExecutor;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        lingerTimer.shutdownNow();
+        List<Map.Entry<String, PendingBatch>> remaining;
+        lock.lock();
+        try {
+            remaining = new ArrayList<>(pending.entrySet());
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        remaining.forEach(entry -> send(entry.getKey(), entry.getValue()));
+    }
+    
+    public boolean isEnabled() {
+        return properties.isAutoBatch();
+    }
+    
+    /**
+     * Queues an entry for {@code topicArn}; the entry id is assigned by the batcher. The returned
+     * future completes with the SNS message id once the batch containing the entry is sent.
+     */
+    public CompletableFuture<String> submit(String topicArn, PublishBatchRequestEntry entry) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        int entryBytes = SnsService.estimateSize(entry);
+        PendingBatch full = null;
+        PendingBatch overflow = null;
+        
+        lock.lock();
+        try {
+            PendingBatch batch = pending.get(topicArn);
+            if (batch != null && batch.bytes + entryBytes > SnsService.MAX_BATCH_BYTES) {
+                pending.remove(topicArn);
+                overflow = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new PendingBatch();
+                pending.put(topicArn, batch);
+                PendingBatch scheduled = batch;
+                lingerTimer.schedule(() -> flushIfPending(topicArn, scheduled),
+                        properties.getLinger().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            batch.entries.add(entry);
+            batch.futures.add(future);
+            batch.bytes += entryBytes;
+            if (batch.entries.size() >= SnsService.MAX_BATCH_ENTRIES) {
+                pending.remove(topicArn);
+                full = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        if (overflow != null) {
+            dispatch(topicArn, overflow);
+        }
+        if (full != null) {
+            dispatch(topicArn, full);
+        }
+        return future;
+    }
+    
+    private void flushIfPending(String topicArn, PendingBatch batch) {
+        lock.lock();
+        try {
+            if (pending.get(topicArn) != batch) {
+                return;
+            }
+            pending.remove(topicArn);
+        } finally {
+            lock.unlock();
+        }
+        dispatch(topicArn, batch);
+    }
+    
+    private void dispatch(String topicArn, PendingBatch batch) {
+        try {
+            publishExecutor.execute(() -> send(topicArn, batch));
+        } catch (RejectedExecutionException e) {
+            logger.warn("SNS publish pool is saturated, failing batch of {} message(s) to {}", batch.entries.size(), topicArn);
+            batch.futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+    
+    private void send(String topicArn, PendingBatch batch) {
+        List<PublishBatchRequestEntry> entries = new ArrayList<>(batch.entries.size());
+        for (int i = 0; i < batch.entries.size(); i++) {
+            entries.add(batch.entries.get(i).toBuilder().id(String.valueOf(i)).build());
+        }
+        
+        try {
+            PublishBatchResponse response = snsClient.publishBatch(PublishBatchRequest.builder()
+                    .topicArn(topicArn)
+                    .publishBatchRequestEntries(entries)
+                    .build());
+            
+            for (PublishBatchResultEntry success : response.successful()) {
+                batch.futures.get(Integer.parseInt(success.id())).complete(success.messageId());
+            }
+            for (BatchResultErrorEntry failure : response.failed()) {
+                batch.futures.get(Integer.parseInt(failure.id())).completeExceptionally(
+                        new IllegalStateException(failure.code() + ": " + failure.message()));
+            }
+            logger.debug("Auto-batched {} message(s) to {}", entries.size(), topicArn);
+        } catch (Exception e) {
+            batch.futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+    
+    private static final class PendingBatch {
+        
+        private final List<PublishBatchRequestEntry> entries = new ArrayList<>(SnsService.MAX_BATCH_ENTRIES);
+        private final List<CompletableFuture<String>> futures = new ArrayList<>(SnsService.MAX_BATCH_ENTRIES);
+        private int bytes;
+    }
+}
@@ -1,30 +1,184 @@
 package com.javaninja.service;
 
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.config.SnsPublishProperties;
+import com.javaninja.model.MessagePayload;
+import com.javaninja.model.dto.SnsBatchEntry;
+import com.javaninja.model.dto.SnsBatchPublishRequest;
+import com.javaninja.model.dto.SnsBroadcastRequest;
 import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.model.dto.SnsPublishResult;
+import com.javaninja.support.FanOutScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
 import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
 import software.amazon.awssdk.services.sns.model.PublishRequest;
 import software.amazon.awssdk.services.sns.model.PublishResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 @Service
 public class SnsService {
     
     private static final Logger logger = LoggerFactory.getLogger(SnsService.class);
     
+    static final int MAX_BATCH_ENTRIES = 10;
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+    
+    // Placeholder for a broadcast topic whose publish has started but not finished
+    private static final SnsPublishResult IN_FLIGHT = new SnsPublishResult();
+    
     private final SnsClient snsClient;
+    // Only available when aws.async.enabled is set
+    private final ObjectProvider<SnsAsyncClient> snsAsyncClient;
+    private final MessageCodecService messageCodecService;
+    private final ClaimCheckService claimCheckService;
+    private final OutboxService outboxService;
+    private final SnsAutoBatcher autoBatcher;
+    private final SnsTopicRegistry topicRegistry;
+    private final LocalEventBus localEventBus;
+    private final SnsPublishProperties publishProperties;
+    private final ExecutorService fanOutExecutor;
+    private final ExecutorService publishExecutor;
     
-    public SnsService(SnsClient snsClient) {
+    public SnsService(SnsClient snsClient, ObjectProvider<SnsAsyncClient> snsAsyncClient,
+            MessageCodecService messageCodecService, ClaimCheckService claimCheckService, OutboxService outboxService,
+            SnsAutoBatcher autoBatcher, SnsTopicRegistry topicRegistry, LocalEventBus localEventBus,
+            SnsPublishProperties publishProperties,
+            @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor,
+            @Qualifier(ExecutorConfig.SNS_PUBLISH_EXECUTOR) ExecutorService publishExecutor) {
         this.snsClient = snsClient;
+        this.snsAsyncClient = snsAsyncClient;
+        this.publishProperties = publishProperties;
+        this.topicRegistry = topicRegistry;
+        this.localEventBus = localEventBus;
+        this.messageCodecService = messageCodecService;
+        this.claimCheckService = claimCheckService;
+        this.outboxService = outboxService;
+        this.autoBatcher = autoBatcher;
+        this.fanOutExecutor = fanOutExecutor;
+        this.publishExecutor = publishExecutor;
     }
     
     public String publishMessage(SnsMessageRequest request) {
-        logger.info("Publishing message to topic: {}", request.getTopicArn());
+        String topicArn = topicRegistry.resolve(request.getTopicArn());
+        logger.info("Publishing message to topic: {}", topicArn);
+        
+        MessagePayload payload = claimCheckService.offload(
+                messageCodecService.encode(MessagePayload.of(request.getMessage(), request.getMessageAttributes())));
+        String messageId = publish(topicArn, payload, request);
+        
+        publishLocally(topicArn, messageId, request);
+        return messageId;
+    }
+    
+    /**
+     * Non-blocking variant of {@link #publishMessage}. Topic resolution, claim-check offload of large
+     * bodies and outbox writes may block, so they run on the SNS publish pool rather than the calling
+     * thread; the returned future fails with a {@link java.util.concurrent.RejectedExecutionException}
+     * when that pool is saturated.
+     */
+    public CompletableFuture<String> publishMessageAsync(SnsMessageRequest request) {
+        return CompletableFuture.supplyAsync(() -> startPublishAsync(request), publishExecutor)
+                .thenCompose(published -> published);
+    }
+    
+    private CompletableFuture<String> startPublishAsync(SnsMessageRequest request) {
+        String topicArn = topicRegistry.resolve(request.getTopicArn());
+        logger.info("Publishing message to topic asynchronously: {}", topicArn);
+        
+        MessagePayload payload = claimCheckService.offload(
+                messageCodecService.encode(MessagePayload.of(request.getMessage(), request.getMessageAttributes())));
+        
+        CompletableFuture<String> published;
+        if (outboxService.isEnabled()) {
+            published = CompletableFuture.completedFuture(outboxService.enqueueSns(topicArn, payload,
+                    request.getSubject(), request.getMessageGroupId(), request.getMessageDeduplicationId()));
+        } else if (autoBatcher.isEnabled()) {
+            published = autoBatcher.submit(topicArn, toBatchEntry(null, payload, request.getSubject(),
+                    request.getMessageGroupId(), request.getMessageDeduplicationId()));
+        } else {
+            SnsAsyncClient client = snsAsyncClient.getIfAvailable();
+            if (client == null) {
+                throw new IllegalStateException("Async SNS client is not configured; set aws.async.enabled=true");
+            }
+            published = client.publish(toPublishRequest(topicArn, payload, request)).thenApply(PublishResponse::messageId);
+        }
+        
+        return published.thenApply(messageId -> {
+            logger.info("Message published successfully with ID: {}", messageId);
+            publishLocally(topicArn, messageId, request);
+            return messageId;
+        });
+    }
+    
+    private void publishLocally(String topicArn, String messageId, SnsMessageRequest request) {
+        // Local subscribers only see messages that SNS (or the outbox) has accepted
+        if (localEventBus.hasSubscribers()) {
+            localEventBus.publish(new LocalEvent(topicArn, messageId, request.getSubject(),
+                    request.getMessage(), request.getMessageAttributes()));
+        }
+    }
+    
+    private String publish(String topicArn, MessagePayload payload, SnsMessageRequest request) {
+        if (outboxService.isEnabled()) {
+            String outboxId = outboxService.enqueueSns(topicArn, payload, request.getSubject(),
+                    request.getMessageGroupId(), request.getMessageDeduplicationId());
+            logger.info("Message queued in outbox with ID: {}", outboxId);
+            return outboxId;
+        }
+        
+        if (autoBatcher.isEnabled()) {
+            PublishBatchRequestEntry entry = toBatchEntry(null, payload, request.getSubject(),
+                    request.getMessageGroupId(), request.getMessageDeduplicationId());
+            try {
+                String messageId = autoBatcher.submit(topicArn, entry).join();
+                logger.info("Message published in auto-batch with ID: {}", messageId);
+                return messageId;
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
         
+        PublishResponse response = snsClient.publish(toPublishRequest(topicArn, payload, request));
+        
+        logger.info("Message published successfully with ID: {}", response.messageId());
+        return response.messageId();
+    }
+    
+    private PublishRequest toPublishRequest(String topicArn, MessagePayload payload, SnsMessageRequest request) {
         PublishRequest.Builder publishRequestBuilder = PublishRequest.builder()
-                .topicArn(request.getTopicArn())
-                .message(request.getMessage());
+                .topicArn(topicArn)
+                .message(payload.getBody());
+        
+        if (!payload.getAttributes().isEmpty()) {
+            publishRequestBuilder.messageAttributes(toMessageAttributes(payload.getAttributes()));
+        }
         
         if (request.getSubject() != null && !request.getSubject().trim().isEmpty()) {
             publishRequestBuilder.subject(request.getSubject());
@@ -37,22 +191,243 @@ public class SnsService {
         if (request.getMessageDeduplicationId() != null && !request.getMessageDeduplicationId().trim().isEmpty()) {
             publishRequestBuilder.messageDeduplicationId(request.getMessageDeduplicationId());
         }
+        return publishRequestBuilder.build();
+    }
+    
+    /**
+     * Publishes entries with {@code PublishBatch}, splitting them into chunks of at most 10
+     * entries and 256 KB that are sent concurrently. Results are returned in request order.
+     */
+    public List<SnsPublishResult> publishBatch(SnsBatchPublishRequest request) {
+        String topicArn = topicRegistry.resolve(request.getTopicArn());
+        List<SnsBatchEntry> entries = request.getEntries();
+        logger.info("Publishing batch of {} message(s) to topic: {}", entries.size(), topicArn);
         
-        PublishResponse response = snsClient.publish(publishRequestBuilder.build());
+        List<String> ids = new ArrayList<>(entries.size());
+        List<PublishBatchRequestEntry> prepared = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            SnsBatchEntry entry = entries.get(i);
+            ids.add(entry.getId() != null && !entry.getId().trim().isEmpty() ? entry.getId() : String.valueOf(i));
+            
+            MessagePayload payload = claimCheckService.offload(
+                    messageCodecService.encode(MessagePayload.of(entry.getMessage(), entry.getMessageAttributes())));
+            prepared.add(toBatchEntry(String.valueOf(i), payload, entry.getSubject(),
+                    entry.getMessageGroupId(), entry.getMessageDeduplicationId()));
+        }
         
-        logger.info("Message published successfully with ID: {}", response.messageId());
-        return response.messageId();
+        SnsPublishResult[] results = new SnsPublishResult[prepared.size()];
+        try (FanOutScope<Void> scope = new FanOutScope<>(fanOutExecutor)) {
+            int chunkStart = 0;
+            int chunkBytes = 0;
+            for (int i = 0; i < prepared.size(); i++) {
+                int entryBytes = estimateSize(prepared.get(i));
+                if (i > chunkStart && (i - chunkStart == MAX_BATCH_ENTRIES || chunkBytes + entryBytes > MAX_BATCH_BYTES)) {
+                    List<PublishBatchRequestEntry> chunk = prepared.subList(chunkStart, i);
+                    scope.fork(() -> {
+                        publishChunk(topicArn, chunk, ids, results);
+                        return null;
+                    });
+                    chunkStart = i;
+                    chunkBytes = 0;
+                }
+                chunkBytes += entryBytes;
+            }
+            List<PublishBatchRequestEntry> lastChunk = prepared.subList(chunkStart, prepared.size());
+            scope.fork(() -> {
+                publishChunk(topicArn, lastChunk, ids, results);
+                return null;
+            });
+            scope.join();
+        }
+        
+        if (localEventBus.hasSubscribers()) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].isSuccess()) {
+                    SnsBatchEntry entry = entries.get(i);
+                    localEventBus.publish(new LocalEvent(topicArn, results[i].getMessageId(), entry.getSubject(),
+                            entry.getMessage(), entry.getMessageAttributes()));
+                }
+            }
+        }
+        
+        long failed = Arrays.stream(results).filter(result -> !result.isSuccess()).count();
+        logger.info("Batch published to {}: {} succeeded, {} failed", topicArn, results.length - failed, failed);
+        return Arrays.asList(results);
     }
     
-    public boolean checkTopicExists(String topicArn) {
+    private void publishChunk(String topicArn, List<PublishBatchRequestEntry> chunk,
+                              List<String> ids, SnsPublishResult[] results) {
+        try {
+            PublishBatchResponse response = snsClient.publishBatch(PublishBatchRequest.builder()
+                    .topicArn(topicArn)
+                    .publishBatchRequestEntries(chunk)
+                    .build());
+            
+            for (PublishBatchResultEntry success : response.successful()) {
+                int index = Integer.parseInt(success.id());
+                results[index] = SnsPublishResult.success(ids.get(index), success.messageId());
+            }
+            for (BatchResultErrorEntry failure : response.failed()) {
+                int index = Integer.parseInt(failure.id());
+                results[index] = SnsPublishResult.failure(ids.get(index), failure.code(), failure.message());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to publish batch chunk to {}", topicArn, e);
+            for (PublishBatchRequestEntry entry : chunk) {
+                int index = Integer.parseInt(entry.id());
+                results[index] = SnsPublishResult.failure(ids.get(index), e.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Publishes one message to several topics concurrently, at most {@code broadcast-concurrency}
+     * at a time. The request is encoded and built once and only the topic ARN differs per call.
+     * Returns one result per topic in request order. Lanes run on the SNS publish pool, which
+     * rejects work when saturated rather than running it on the caller, so the deadline holds.
+     * Topics still being published at the deadline are reported as {@code UNKNOWN}, since SNS may
+     * have accepted them; topics never started are reported as failed and are not started afterwards.
+     */
+    public List<SnsPublishResult> broadcast(SnsBroadcastRequest request) {
+        List<String> topics = request.getTopics();
+        long deadlineMillis = request.getDeadlineMillis() != null
+                ? request.getDeadlineMillis() : publishProperties.getBroadcastDeadline().toMillis();
+        logger.info("Broadcasting message to {} topic(s)", topics.size());
+        
+        MessagePayload payload = claimCheckService.offload(
+                messageCodecService.encode(MessagePayload.of(request.getMessage(), request.getMessageAttributes())));
+        PublishRequest.Builder baseBuilder = PublishRequest.builder().message(payload.getBody());
+        if (!payload.getAttributes().isEmpty()) {
+            baseBuilder.messageAttributes(toMessageAttributes(payload.getAttributes()));
+        }
+        if (request.getSubject() != null && !request.getSubject().trim().isEmpty()) {
+            baseBuilder.subject(request.getSubject());
+        }
+        PublishRequest base = baseBuilder.build();
+        
+        // A topic moves from null to IN_FLIGHT to its result; each step is a compare-and-set so the
+        // lanes and the deadline handling below never both settle the same topic
+        AtomicReferenceArray<SnsPublishResult> results = new AtomicReferenceArray<>(topics.size());
+        AtomicInteger nextTopic = new AtomicInteger();
+        AtomicBoolean expired = new AtomicBoolean();
+        String notStarted = "Broadcast deadline reached before the topic was published";
+        
+        // Each lane publishes topics one after another, which bounds the broadcast's concurrency
+        // without holding more than that many publish threads
+        int lanes = Math.min(Math.max(1, publishProperties.getBroadcastConcurrency()), topics.size());
+        try (FanOutScope<Void> scope = new FanOutScope<>(publishExecutor)) {
+            for (int lane = 0; lane < lanes; lane++) {
+                try {
+                    scope.fork(() -> {
+                        int index;
+                        while (!expired.get() && (index = nextTopic.getAndIncrement()) < topics.size()) {
+                            if (!results.compareAndSet(index, null, IN_FLIGHT)) {
+                                break;
+                            }
+                            results.compareAndSet(index, IN_FLIGHT, publishToTopic(topics.get(index), base));
+                        }
+                        return null;
+                    });
+                } catch (RejectedExecutionException e) {
+                    // Fewer lanes just means less concurrency; with none the topics fail below
+                    logger.warn("SNS publish pool saturated; broadcast running with {} of {} lane(s)", lane, lanes);
+                    notStarted = "SNS publish pool saturated";
+                    break;
+                }
+            }
+            
+            try {
+                scope.join(Duration.ofMillis(deadlineMillis));
+            } catch (TimeoutException e) {
+                logger.warn("Broadcast deadline of {} ms reached; returning partial results", deadlineMillis);
+            } catch (CancellationException e) {
+                logger.warn("Broadcast interrupted; returning partial results");
+            } catch (RuntimeException e) {
+                // publishToTopic records failures per topic, so lanes only fail on unexpected errors
+                logger.error("Broadcast lane failed", e);
+            }
+            
+            // Outcomes are recorded before closing the scope cancels the lanes still publishing
+            expired.set(true);
+            for (int i = 0; i < topics.size(); i++) {
+                results.compareAndSet(i, IN_FLIGHT, SnsPublishResult.unknown(topics.get(i)));
+                results.compareAndSet(i, null, SnsPublishResult.failure(topics.get(i), "NotAttempted", notStarted));
+            }
+        }
+        
+        List<SnsPublishResult> resultList = new ArrayList<>(topics.size());
+        for (int i = 0; i < topics.size(); i++) {
+            SnsPublishResult result = results.get(i);
+            resultList.add(result);
+            if (result.isSuccess() && localEventBus.hasSubscribers()) {
+                localEventBus.publish(new LocalEvent(topicRegistry.resolve(topics.get(i)), result.getMessageId(),
+                        request.getSubject(), request.getMessage(), request.getMessageAttributes()));
+            }
+        }
+        return resultList;
+    }
+    
+    private SnsPublishResult publishToTopic(String topic, PublishRequest base) {
         try {
-            // Simple check by attempting to get topic attributes
-            snsClient.getTopicAttributes(builder -> builder.topicArn(topicArn));
-            return true;
+            String topicArn = topicRegistry.resolve(topic);
+            PublishResponse response = snsClient.publish(base.toBuilder().topicArn(topicArn).build());
+            return SnsPublishResult.success(topic, response.messageId());
         } catch (Exception e) {
-            logger.warn("Topic {} does not exist or is not accessible: {}", topicArn, e.getMessage());
-            return false;
+            logger.warn("Broadcast to {} failed: {}", topic, e.getMessage());
+            return SnsPublishResult.failure(topic, e.getClass().getSimpleName(), e.getMessage());
         }
     }
+    
+    public boolean checkTopicExists(String topicArn) {
+        // Served from the registry cache; only unknown or expired topics call GetTopicAttributes
+        return topicRegistry.exists(topicArn);
+    }
+    
+    public Map<String, SnsTopicRegistry.TopicInfo> getTopics() {
+        return topicRegistry.getTopics();
+    }
+    
+    static Map<String, MessageAttributeValue> toMessageAttributes(Map<String, String> attributes) {
+        Map<String, MessageAttributeValue> messageAttributes = new HashMap<>();
+        attributes.forEach((name, value) -> messageAttributes.put(name, MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build()));
+        return messageAttributes;
+    }
+    
+    static PublishBatchRequestEntry toBatchEntry(String id, MessagePayload payload, String subject,
+                                                 String messageGroupId, String messageDeduplicationId) {
+        PublishBatchRequestEntry.Builder entryBuilder = PublishBatchRequestEntry.builder()
+                .id(id)
+                .message(payload.getBody());
+        
+        if (!payload.getAttributes().isEmpty()) {
+            entryBuilder.messageAttributes(toMessageAttributes(payload.getAttributes()));
+        }
+        if (subject != null && !subject.trim().isEmpty()) {
+            entryBuilder.subject(subject);
+        }
+        if (messageGroupId != null && !messageGroupId.trim().isEmpty()) {
+            entryBuilder.messageGroupId(messageGroupId);
+        }
+        if (messageDeduplicationId != null && !messageDeduplicationId.trim().isEmpty()) {
+            entryBuilder.messageDeduplicationId(messageDeduplicationId);
+        }
+        return entryBuilder.build();
+    }
+    
+    /**
+     * Size of an entry as counted against the 256 KB batch limit: message plus attribute names and values.
+     */
+    static int estimateSize(PublishBatchRequestEntry entry) {
+        int size = entry.message().getBytes(StandardCharsets.UTF_8).length;
+        for (Map.Entry<String, MessageAttributeValue> attribute : entry.messageAttributes().entrySet()) {
+            size += attribute.getKey().length() + attribute.getValue().dataType().length();
+            if (attribute.getValue().stringValue() != null) {
+                size += attribute.getValue().stringValue().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return size;
+    }
 }
-
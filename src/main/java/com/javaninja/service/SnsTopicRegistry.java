@@ -0,0 +1,213 @@
+package com.javaninja.service;
+
+import com.javaninja.config.ExecutorConfig;
+import com.javaninja.config.SnsTopicProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.GetTopicAttributesResponse;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sns.model.Topic;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the logical topic names in {@code aws.services.sns.topics} to ARNs and caches topic
+ * attributes. Names are resolved once at startup and attributes of every configured topic are
+ * refreshed in the background, so publishing and existence checks normally make no lookup calls.
+ * Other ARNs passed to {@link #exists} are looked up on demand and kept in a small LRU cache.
+ */
+@Service
+public class SnsTopicRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SnsTopicRegistry.class);
+    
+    private final SnsClient snsClient;
+    private final SnsTopicProperties properties;
+    private final ExecutorService fanOutExecutor;
+    private final ScheduledExecutorService refresher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sns-topic-refresh-"));
+    
+    // Logical name -> ARN; replaced wholesale when names are re-resolved
+    private volatile Map<String, String> logicalNames = Collections.emptyMap();
+    private final Map<String, TopicInfo> topics = new ConcurrentHashMap<>();
+    private final Map<String, TopicInfo> probed;
+    
+    public SnsTopicRegistry(SnsClient snsClient, SnsTopicProperties properties,
+                            @Qualifier(ExecutorConfig.AWS_FAN_OUT_EXECUTOR) ExecutorService fanOutExecutor) {
+        this.snsClient = snsClient;
+        this.properties = properties;
+        this.fanOutExecutor = fanOutExecutor;
+        int maxProbed = properties.getRegistry().getMaxProbedTopics();
+        this.probed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TopicInfo> eldest) {
+                return size() > maxProbed;
+            }
+        });
+    }
+    
+    @PostConstruct
+    public void start() {
+        refreshAll();
+        long interval = properties.getRegistry().getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    /**
+     * Returns the ARN for a logical topic name; values that are already ARNs are returned as-is.
+     */
+    public String resolve(String topic) {
+        if (topic.startsWith("arn:")) {
+            return topic;
+        }
+        String arn = logicalNames.get(topic);
+        if (arn == null) {
+            throw new UnknownTopicException(topic);
+        }
+        return arn;
+    }
+    
+    public boolean exists(String topic) {
+        String arn;
+        try {
+            arn = resolve(topic);
+        } catch (UnknownTopicException e) {
+            return false;
+        }
+        Map<String, TopicInfo> cache = logicalNames.containsValue(arn) ? topics : probed;
+        TopicInfo info = cache.get(arn);
+        if (info == null || info.isExpired(properties.getRegistry().getTtl())) {
+            info = load(arn, cache);
+        }
+        return info != null && info.isExists();
+    }
+    
+    /**
+     * Snapshot of the configured topics keyed by logical name.
+     */
+    public Map<String, TopicInfo> getTopics() {
+        Map<String, TopicInfo> snapshot = new LinkedHashMap<>();
+        Map<String, String> names = logicalNames;
+        properties.getTopics().keySet().forEach(name -> {
+            String arn = names.get(name);
+            snapshot.put(name, arn != null ? topics.getOrDefault(arn, TopicInfo.missing(arn)) : TopicInfo.missing(null));
+        });
+        return snapshot;
+    }
+    
+    void refreshAll() {
+        try {
+            logicalNames = resolveLogicalNames();
+            
+            Set<String> arns = new LinkedHashSet<>(logicalNames.values());
+            topics.keySet().retainAll(arns);
+            
+            CompletableFuture.allOf(arns.stream()
+                    .map(arn -> CompletableFuture.runAsync(() -> load(arn, topics), fanOutExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+            logger.info("Resolved {} of {} configured SNS topics; {} topic(s) cached",
+                    logicalNames.size(), properties.getTopics().size(), topics.size());
+        } catch (Exception e) {
+            logger.warn("Failed to refresh SNS topic registry: {}", e.getMessage());
+        }
+    }
+    
+    private Map<String, String> resolveLogicalNames() {
+        Map<String, String> configured = properties.getTopics();
+        Map<String, String> resolved = new HashMap<>();
+        Map<String, String> byTopicName = new HashMap<>();
+        configured.forEach((name, value) -> {
+            if (value.startsWith("arn:")) {
+                resolved.put(name, value);
+            } else {
+                byTopicName.put(value, name);
+            }
+        });
+        
+        if (!byTopicName.isEmpty()) {
+            // One paginated listing resolves every plain topic name; the ARN ends with ":<name>"
+            for (Topic topic : snsClient.listTopicsPaginator().topics()) {
+                String arn = topic.topicArn();
+                String name = byTopicName.get(arn.substring(arn.lastIndexOf(':') + 1));
+                if (name != null) {
+                    resolved.put(name, arn);
+                }
+            }
+            byTopicName.forEach((topicName, name) -> {
+                if (!resolved.containsKey(name)) {
+                    logger.warn("SNS topic {} ({}) was not found", name, topicName);
+                }
+            });
+        }
+        return Collections.unmodifiableMap(resolved);
+    }
+    
+    private TopicInfo load(String arn, Map<String, TopicInfo> cache) {
+        try {
+            GetTopicAttributesResponse response = snsClient.getTopicAttributes(builder -> builder.topicArn(arn));
+            TopicInfo info = new TopicInfo(arn, true, response.attributes(), Instant.now());
+            cache.put(arn, info);
+            return info;
+        } catch (NotFoundException e) {
+            TopicInfo info = new TopicInfo(arn, false, Collections.emptyMap(), Instant.now());
+            cache.put(arn, info);
+            return info;
+        } catch (Exception e) {
+            // Transient failures are not cached; keep serving the previous entry if there is one
+            logger.warn("Topic {} does not exist or is not accessible: {}", arn, e.getMessage());
+            return cache.get(arn);
+        }
+    }
+    
+    public static class TopicInfo {
+        
+        private final String arn;
+        private final boolean exists;
+        private final Map<String, String> attributes;
+        private final Instant loadedAt;
+        
+        TopicInfo(String arn, boolean exists, Map<String, String> attributes, Instant loadedAt) {
+            this.arn = arn;
+            this.exists = exists;
+            this.attributes = attributes;
+            this.loadedAt = loadedAt;
+        }
+        
+        static TopicInfo missing(String arn) {
+            return new TopicInfo(arn, false, Collections.emptyMap(), null);
+        }
+        
+        boolean isExpired(Duration ttl) {
+            return loadedAt == null || loadedAt.plus(ttl).isBefore(Instant.now());
+        }
+        
+        public String getArn() { return arn; }
+        public boolean isExists() { return exists; }
+        public Map<String, String> getAttributes() { return attributes; }
+        public Instant getLoadedAt() { return loadedAt; }
+    }
+}
@@ -1,30 +1,65 @@
 package com.javaninja.service;
 
+import com.javaninja.model.MessagePayload;
 import com.javaninja.model.dto.SqsMessageRequest;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 public class SqsService {
     
     private static final Logger logger = LoggerFactory.getLogger(SqsService.class);
     
     private final SqsTemplate sqsTemplate;
+    private final MessageCodecService messageCodecService;
+    private final ClaimCheckService claimCheckService;
+    private final OutboxService outboxService;
+    private final DelayedMessageScheduler delayedMessageScheduler;
     
-    public SqsService(SqsTemplate sqsTemplate) {
+    public SqsService(SqsTemplate sqsTemplate, MessageCodecService messageCodecService,
+            ClaimCheckService claimCheckService, OutboxService outboxService,
+            DelayedMessageScheduler delayedMessageScheduler) {
         this.sqsTemplate = sqsTemplate;
+        this.messageCodecService = messageCodecService;
+        this.claimCheckService = claimCheckService;
+        this.outboxService = outboxService;
+        this.delayedMessageScheduler = delayedMessageScheduler;
     }
     
     public String sendMessage(SqsMessageRequest request) {
         try {
             logger.info("Sending message to queue: {}", request.getQueueName());
             
-            var message = MessageBuilder
-                .withPayload(request.getMessageBody())
-                .build();
+            MessagePayload payload = claimCheckService.offloadForQueue(
+                    messageCodecService.encode(MessagePayload.of(request.getMessageBody())));
+            
+            Integer delaySeconds = request.getDelaySeconds();
+            if (delaySeconds != null && delaySeconds > DelayedMessageScheduler.MAX_NATIVE_DELAY_SECONDS) {
+                String scheduledId = delayedMessageScheduler.schedule(
+                        request.getQueueName(), payload, Instant.now().plusSeconds(delaySeconds));
+                logger.info("Message delayed {}s beyond the SQS limit, scheduled with ID: {}", delaySeconds, scheduledId);
+                return scheduledId;
+            }
+            
+            if (outboxService.isEnabled()) {
+                String outboxId = outboxService.enqueueSqs(request.getQueueName(), payload,
+                        delaySeconds != null ? delaySeconds : 0);
+                logger.info("Message queued in outbox with ID: {}", outboxId);
+                return outboxId;
+            }
+            
+            var messageBuilder = MessageBuilder.withPayload(payload.getBody());
+            payload.getAttributes().forEach(messageBuilder::setHeader);
+            if (delaySeconds != null && delaySeconds > 0) {
+                messageBuilder.setHeader(SqsHeaders.SQS_DELAY_HEADER, delaySeconds);
+            }
+            var message = messageBuilder.build();
             
             var result = sqsTemplate.send(request.getQueueName(), message);
             
@@ -36,5 +71,13 @@ public class SqsService {
             throw new RuntimeException("Failed to send message to SQS queue", e);
         }
     }
+    
+    /**
+     * Cancels a message scheduled beyond the SQS delay limit, using the id {@link #sendMessage} returned.
+     * Returns false if it is unknown or has already been handed to SQS.
+     */
+    public boolean cancelScheduledMessage(String scheduledId) {
+        return delayedMessageScheduler.isEnabled() && delayedMessageScheduler.cancel(scheduledId);
+    }
 }
 
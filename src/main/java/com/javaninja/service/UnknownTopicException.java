@@ -0,0 +1,11 @@
+package com.javaninja.service;
+
+/**
+ * Thrown when a logical SNS topic name is not configured or could not be resolved to an ARN.
+ */
+public class UnknownTopicException extends IllegalArgumentException {
+    
+    public UnknownTopicException(String topic) {
+        super("Unknown SNS topic: " + topic);
+    }
+}
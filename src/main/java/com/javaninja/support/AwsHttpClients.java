@@ -0,0 +1,80 @@
+package com.javaninja.support;
+
+import com.javaninja.config.AwsHttpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the pooled Apache HTTP clients handed to the synchronous AWS clients. Services without an
+ * entry under {@code aws.http.services} share one pool; each listed service gets its own. Clients
+ * passed to an SDK builder are not closed by the SDK, so they are closed here on shutdown.
+ */
+public class AwsHttpClients implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AwsHttpClients.class);
+    
+    static final String SHARED_POOL = "shared";
+    
+    private final AwsHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SdkHttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, HttpPoolMetricPublisher> publishers = new ConcurrentHashMap<>();
+    
+    public AwsHttpClients(AwsHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public SdkHttpClient httpClient(String service) {
+        return clients.computeIfAbsent(poolName(service), this::build);
+    }
+    
+    /**
+     * Adds the pool metric publisher for {@code service} to {@code builder} when pool metrics are enabled.
+     */
+    public ClientOverrideConfiguration.Builder withPoolMetrics(ClientOverrideConfiguration.Builder builder, String service) {
+        if (properties.isMetricsEnabled()) {
+            builder.addMetricPublisher(publishers.computeIfAbsent(poolName(service),
+                    pool -> new HttpPoolMetricPublisher(meterRegistry, pool)));
+        }
+        return builder;
+    }
+    
+    String poolName(String service) {
+        return properties.getServices().containsKey(service) ? service : SHARED_POOL;
+    }
+    
+    @Override
+    public void close() {
+        clients.values().forEach(SdkHttpClient::close);
+        clients.clear();
+    }
+    
+    private SdkHttpClient build(String pool) {
+        AwsHttpProperties.Pool overrides = properties.getServices().getOrDefault(pool, new AwsHttpProperties.Pool());
+        int maxConnections = valueOrDefault(overrides.getMaxConnections(), properties.getMaxConnections());
+        logger.info("Creating AWS HTTP connection pool '{}' with {} max connections", pool, maxConnections);
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionAcquisitionTimeout(valueOrDefault(overrides.getConnectionAcquisitionTimeout(),
+                        properties.getConnectionAcquisitionTimeout()))
+                .connectionTimeout(valueOrDefault(overrides.getConnectionTimeout(), properties.getConnectionTimeout()))
+                .socketTimeout(valueOrDefault(overrides.getSocketTimeout(), properties.getSocketTimeout()))
+                .useIdleConnectionReaper(properties.isUseIdleConnectionReaper())
+                .connectionMaxIdleTime(valueOrDefault(overrides.getConnectionMaxIdleTime(), properties.getConnectionMaxIdleTime()))
+                .connectionTimeToLive(valueOrDefault(overrides.getConnectionTimeToLive(), properties.getConnectionTimeToLive()))
+                .tcpKeepAlive(valueOrDefault(overrides.getTcpKeepAlive(), properties.isTcpKeepAlive()))
+                .build();
+    }
+    
+    private static <T> T valueOrDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
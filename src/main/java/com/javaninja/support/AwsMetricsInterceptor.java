@@ -0,0 +1,204 @@
+package com.javaninja.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.sync.RequestBody;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDK execution interceptor that publishes Micrometer metrics for every AWS call:
+ * <ul>
+ *   <li>{@code aws.client.requests} - timer with a percentile histogram, covering all attempts</li>
+ *   <li>{@code aws.client.request.bytes} / {@code aws.client.response.bytes} - payload bytes per attempt</li>
+ *   <li>{@code aws.client.retries} - attempts beyond the first</li>
+ * </ul>
+ * All meters are tagged with {@code service} and {@code operation}. The counters also carry
+ * {@code resource} (bucket, queue, topic, table or secret name), capped at {@link #MAX_RESOURCES}
+ * values by {@link #resourceTagLimit()}; the timer carries {@code outcome} and {@code error}
+ * instead, since every extra tag value multiplies its histogram buckets.
+ */
+public class AwsMetricsInterceptor implements ExecutionInterceptor {
+    
+    // Distinct resource tag values kept across the counters; meters for further resources are dropped
+    public static final int MAX_RESOURCES = 100;
+    
+    // Request fields naming the resource a call acts on, in order of preference
+    private static final List<String> RESOURCE_FIELDS = List.of("Bucket", "QueueUrl", "TopicArn", "TableName", "SecretId");
+    
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("AwsMetricsStartNanos");
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("AwsMetricsAttempts");
+    private static final ExecutionAttribute<Tags> TAGS = new ExecutionAttribute<>("AwsMetricsTags");
+    private static final ExecutionAttribute<String> RESOURCE = new ExecutionAttribute<>("AwsMetricsResource");
+    
+    private final List<CallListener> listeners = new CopyOnWriteArrayList<>();
+    private final Meter.MeterProvider<Timer> requests;
+    private final Meter.MeterProvider<Counter> requestBytes;
+    private final Meter.MeterProvider<Counter> responseBytes;
+    private final Meter.MeterProvider<Counter> retries;
+    
+    public AwsMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.requests = Timer.builder("aws.client.requests")
+                .description("AWS SDK call latency including retries")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+        this.requestBytes = Counter.builder("aws.client.request.bytes")
+                .description("Request payload bytes sent to AWS")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.responseBytes = Counter.builder("aws.client.response.bytes")
+                .description("Response payload bytes received from AWS")
+                .baseUnit("bytes")
+                .withRegistry(meterRegistry);
+        this.retries = Counter.builder("aws.client.retries")
+                .description("AWS SDK attempts beyond the first")
+                .withRegistry(meterRegistry);
+    }
+    
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+        executionAttributes.putAttribute(TAGS, Tags.of(
+                "service", String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME)),
+                "operation", String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME))));
+        executionAttributes.putAttribute(RESOURCE, resource(context.request()));
+    }
+    
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        executionAttributes.putAttribute(ATTEMPTS, attempts != null ? attempts + 1 : 1);
+        
+        Optional<Long> length = context.requestBody().flatMap(RequestBody::optionalContentLength);
+        if (length.isEmpty()) {
+            length = context.asyncRequestBody().flatMap(AsyncRequestBody::contentLength);
+        }
+        if (length.isEmpty()) {
+            length = contentLength(context.httpRequest().firstMatchingHeader("Content-Length"));
+        }
+        length.ifPresent(bytes -> requestBytes.withTags(resourceTags(executionAttributes)).increment(bytes));
+    }
+    
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        contentLength(context.httpResponse().firstMatchingHeader("Content-Length"))
+                .ifPresent(bytes -> responseBytes.withTags(resourceTags(executionAttributes)).increment(bytes));
+    }
+    
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, "SUCCESS", "none");
+    }
+    
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Throwable exception = context.exception();
+        if (exception instanceof SdkServiceException serviceException) {
+            String error = serviceException instanceof AwsServiceException awsException && awsException.awsErrorDetails() != null
+                    ? awsException.awsErrorDetails().errorCode()
+                    : null;
+            String outcome = serviceException.isThrottlingException() ? "THROTTLED"
+                    : serviceException.statusCode() >= 500 ? "SERVER_ERROR" : "CLIENT_ERROR";
+            record(executionAttributes, outcome, error != null ? error : String.valueOf(serviceException.statusCode()));
+        } else {
+            // No usable response: timeouts, connection failures, interrupted calls
+            record(executionAttributes, "UNKNOWN", exception.getClass().getSimpleName());
+        }
+    }
+    
+    private void record(ExecutionAttributes executionAttributes, String outcome, String error) {
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        Tags tags = tags(executionAttributes).and("outcome", outcome, "error", error);
+        long nanos = System.nanoTime() - start;
+        requests.withTags(tags).record(nanos, TimeUnit.NANOSECONDS);
+        listeners.forEach(listener -> listener.onCall(tags, nanos));
+        
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (attempts != null && attempts > 1) {
+            retries.withTags(resourceTags(executionAttributes)).increment(attempts - 1);
+        }
+    }
+    
+    /**
+     * Registers a listener for the latency of every completed call, e.g. to export it without
+     * reading the timer's windowed histogram.
+     */
+    public void addListener(CallListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Caps the distinct {@code resource} values across the {@code aws.client} meters, since secret
+     * ids and topic ARNs come from API callers.
+     */
+    public static MeterFilter resourceTagLimit() {
+        return MeterFilter.maximumAllowableTags("aws.client", "resource", MAX_RESOURCES, MeterFilter.deny());
+    }
+    
+    private static Tags tags(ExecutionAttributes executionAttributes) {
+        Tags tags = executionAttributes.getAttribute(TAGS);
+        return tags != null ? tags : Tags.empty();
+    }
+    
+    private static Tags resourceTags(ExecutionAttributes executionAttributes) {
+        String resource = executionAttributes.getAttribute(RESOURCE);
+        return tags(executionAttributes).and("resource", resource != null ? resource : "none");
+    }
+    
+    static String resource(SdkRequest request) {
+        for (String field : RESOURCE_FIELDS) {
+            Optional<String> value = request.getValueForField(field, String.class);
+            if (value.isPresent()) {
+                String resource = value.get();
+                return switch (field) {
+                    case "QueueUrl" -> resource.substring(resource.lastIndexOf('/') + 1);
+                    case "TopicArn" -> resource.substring(resource.lastIndexOf(':') + 1);
+                    case "SecretId" -> secretName(resource);
+                    default -> resource;
+                };
+            }
+        }
+        return "none";
+    }
+    
+    // Secret names may contain '/', so only an ARN is trimmed, to the name after its sixth ':'
+    private static String secretName(String secretId) {
+        String[] parts = secretId.split(":", 7);
+        return secretId.startsWith("arn:") && parts.length == 7 ? parts[6] : secretId;
+    }
+    
+    private static Optional<Long> contentLength(Optional<String> header) {
+        try {
+            return header.map(Long::parseLong);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Receives each completed call with the timer's tags and its duration in nanoseconds.
+     */
+    public interface CallListener {
+        void onCall(Tags tags, long nanos);
+    }
+}
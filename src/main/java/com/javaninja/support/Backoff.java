@@ -0,0 +1,34 @@
+package com.javaninja.support;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter: attempt {@code n} sleeps a random time between zero
+ * and {@code min(max, base * 2^n)}, which spreads retries from concurrent callers.
+ */
+public class Backoff {
+    
+    private final long baseMillis;
+    private final long maxMillis;
+    private final int maxAttempts;
+    
+    public Backoff(Duration base, Duration max, int maxAttempts) {
+        this.baseMillis = base.toMillis();
+        this.maxMillis = max.toMillis();
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public long delayMillis(int attempt) {
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+    
+    public void sleep(int attempt) throws InterruptedException {
+        Thread.sleep(delayMillis(attempt));
+    }
+}
@@ -0,0 +1,98 @@
+package com.javaninja.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a group of subtasks on an executor as one unit, in the manner of Java 21's
+ * {@code StructuredTaskScope.ShutdownOnFailure} (still a preview API there): the first failure
+ * cancels the subtasks that are still running, and closing the scope cancels whatever is left,
+ * so no subtask outlives the method that forked it.
+ * <pre>
+ * try (FanOutScope&lt;Result&gt; scope = new FanOutScope&lt;&gt;(executor)) {
+ *     chunks.forEach(chunk -&gt; scope.fork(() -&gt; fetch(chunk)));
+ *     List&lt;Result&gt; results = scope.join();
+ * }
+ * </pre>
+ * A scope is owned by the thread that created it, is joined once, and is not thread-safe.
+ */
+public class FanOutScope<T> implements AutoCloseable {
+    
+    private final ExecutorCompletionService<T> completionService;
+    private final List<Future<T>> subtasks = new ArrayList<>();
+    
+    public FanOutScope(ExecutorService executor) {
+        this.completionService = new ExecutorCompletionService<>(executor);
+    }
+    
+    public void fork(Callable<T> task) {
+        subtasks.add(completionService.submit(task));
+    }
+    
+    /**
+     * Waits for every subtask and returns their results in fork order. If a subtask fails the
+     * others are cancelled and its exception is rethrown, unwrapped when it is unchecked.
+     */
+    public List<T> join() {
+        try {
+            return await(false, 0);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * Like {@link #join()}, but gives up after {@code timeout}. Subtasks that have not finished
+     * by then keep running until the scope is closed, so the caller can record what is missing
+     * before they are cancelled.
+     */
+    public List<T> join(Duration timeout) throws TimeoutException {
+        return await(true, System.nanoTime() + timeout.toNanos());
+    }
+    
+    private List<T> await(boolean timed, long deadlineNanos) throws TimeoutException {
+        try {
+            for (int completed = 0; completed < subtasks.size(); completed++) {
+                Future<T> subtask = timed
+                        ? completionService.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)
+                        : completionService.take();
+                if (subtask == null) {
+                    throw new TimeoutException("Subtasks did not complete in time");
+                }
+                subtask.get();
+            }
+            
+            List<T> results = new ArrayList<>(subtasks.size());
+            for (Future<T> subtask : subtasks) {
+                results.add(subtask.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            cancelAll();
+            throw e.getCause() instanceof RuntimeException cause ? cause : new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for subtasks");
+        }
+    }
+    
+    @Override
+    public void close() {
+        cancelAll();
+    }
+    
+    private void cancelAll() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+}
@@ -0,0 +1,203 @@
+package com.javaninja.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * SNS subscription filter policy over message attributes, compiled once into predicates.
+ * Supports exact string and numeric values, {@code prefix}, {@code suffix},
+ * {@code equals-ignore-case}, {@code anything-but}, {@code numeric} ranges and {@code exists}.
+ * As in SNS, every key must match and any condition within a key's array may match.
+ */
+public final class FilterPolicy {
+    
+    private static final FilterPolicy MATCH_ALL = new FilterPolicy(List.of());
+    
+    private final List<KeyMatcher> keys;
+    
+    private FilterPolicy(List<KeyMatcher> keys) {
+        this.keys = keys;
+    }
+    
+    public static FilterPolicy matchAll() {
+        return MATCH_ALL;
+    }
+    
+    public static FilterPolicy compile(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            return MATCH_ALL;
+        }
+        try {
+            return compile(objectMapper.readTree(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid filter policy: " + e.getOriginalMessage(), e);
+        }
+    }
+    
+    public static FilterPolicy compile(JsonNode policy) {
+        if (!policy.isObject()) {
+            throw new IllegalArgumentException("Filter policy must be a JSON object");
+        }
+        List<KeyMatcher> keys = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = policy.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            keys.add(compileKey(field.getKey(), field.getValue()));
+        }
+        return new FilterPolicy(List.copyOf(keys));
+    }
+    
+    public boolean matches(Map<String, String> attributes) {
+        for (KeyMatcher key : keys) {
+            if (!key.matches(attributes.get(key.name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static KeyMatcher compileKey(String name, JsonNode conditions) {
+        if (!conditions.isArray()) {
+            throw new IllegalArgumentException("Conditions for '" + name + "' must be an array");
+        }
+        // Exact string and numeric values collapse into hash sets; everything else becomes a predicate
+        Set<String> exactStrings = new HashSet<>();
+        Set<BigDecimal> exactNumbers = new HashSet<>();
+        List<Predicate<String>> predicates = new ArrayList<>();
+        Boolean exists = null;
+        
+        for (JsonNode condition : conditions) {
+            if (condition.isTextual()) {
+                exactStrings.add(condition.asText());
+            } else if (condition.isNumber()) {
+                exactNumbers.add(normalize(condition.decimalValue()));
+            } else if (condition.isObject() && condition.has("exists")) {
+                exists = condition.get("exists").asBoolean();
+            } else if (condition.isObject()) {
+                predicates.add(compileOperator(name, condition));
+            } else {
+                throw new IllegalArgumentException("Unsupported condition for '" + name + "': " + condition);
+            }
+        }
+        return new KeyMatcher(name, exactStrings, exactNumbers, predicates, exists);
+    }
+    
+    private static Predicate<String> compileOperator(String name, JsonNode condition) {
+        Map.Entry<String, JsonNode> operator = condition.fields().next();
+        JsonNode operand = operator.getValue();
+        switch (operator.getKey()) {
+            case "prefix": {
+                String prefix = operand.asText();
+                return value -> value.startsWith(prefix);
+            }
+            case "suffix": {
+                String suffix = operand.asText();
+                return value -> value.endsWith(suffix);
+            }
+            case "equals-ignore-case": {
+                String expected = operand.asText().toLowerCase(Locale.ROOT);
+                return value -> value.toLowerCase(Locale.ROOT).equals(expected);
+            }
+            case "anything-but":
+                return compileKey(name, operand.isArray() ? operand : JsonNodeFactory.instance.arrayNode().add(operand))
+                        .asPredicate().negate();
+            case "numeric":
+                return compileNumericRange(name, operand);
+            default:
+                throw new IllegalArgumentException("Unsupported operator for '" + name + "': " + operator.getKey());
+        }
+    }
+    
+    private static Predicate<String> compileNumericRange(String name, JsonNode range) {
+        if (!range.isArray() || range.size() % 2 != 0) {
+            throw new IllegalArgumentException("Numeric condition for '" + name + "' must be operator/value pairs");
+        }
+        Predicate<BigDecimal> predicate = number -> true;
+        for (int i = 0; i < range.size(); i += 2) {
+            BigDecimal bound = range.get(i + 1).decimalValue();
+            Predicate<BigDecimal> comparison;
+            switch (range.get(i).asText()) {
+                case "=":  comparison = number -> number.compareTo(bound) == 0; break;
+                case "<":  comparison = number -> number.compareTo(bound) < 0; break;
+                case "<=": comparison = number -> number.compareTo(bound) <= 0; break;
+                case ">":  comparison = number -> number.compareTo(bound) > 0; break;
+                case ">=": comparison = number -> number.compareTo(bound) >= 0; break;
+                default:
+                    throw new IllegalArgumentException("Unsupported numeric operator for '" + name + "': " + range.get(i));
+            }
+            predicate = predicate.and(comparison);
+        }
+        Predicate<BigDecimal> numeric = predicate;
+        return value -> {
+            BigDecimal number = parseNumber(value);
+            return number != null && numeric.test(number);
+        };
+    }
+    
+    private static BigDecimal parseNumber(String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static BigDecimal normalize(BigDecimal number) {
+        return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+    }
+    
+    private static final class KeyMatcher {
+        
+        private final String name;
+        private final Set<String> exactStrings;
+        private final Set<BigDecimal> exactNumbers;
+        private final List<Predicate<String>> predicates;
+        private final Boolean exists;
+        
+        private KeyMatcher(String name, Set<String> exactStrings, Set<BigDecimal> exactNumbers,
+                           List<Predicate<String>> predicates, Boolean exists) {
+            this.name = name;
+            this.exactStrings = exactStrings;
+            this.exactNumbers = exactNumbers;
+            this.predicates = List.copyOf(predicates);
+            this.exists = exists;
+        }
+        
+        boolean matches(String value) {
+            if (value == null) {
+                return Boolean.FALSE.equals(exists);
+            }
+            if (Boolean.TRUE.equals(exists) || exactStrings.contains(value)) {
+                return true;
+            }
+            if (!exactNumbers.isEmpty()) {
+                BigDecimal number = parseNumber(value);
+                if (number != null && exactNumbers.contains(normalize(number))) {
+                    return true;
+                }
+            }
+            for (Predicate<String> predicate : predicates) {
+                if (predicate.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        Predicate<String> asPredicate() {
+            return value -> value != null && matches(value);
+        }
+    }
+}
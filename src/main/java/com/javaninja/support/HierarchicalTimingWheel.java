@@ -0,0 +1,242 @@
+package com.javaninja.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with O(1) insert, cancel and per-entry expiry.
+ * <p>
+ * Time is measured in ticks. Level {@code i} has {@code wheelSize} slots of
+ * {@code wheelSize^i} ticks each, so four levels of 512 slots cover more than 2,000 years at a
+ * one-second tick. An entry is stored in the lowest level whose range reaches its deadline;
+ * when the clock reaches a higher-level slot, that slot's entries cascade down to finer levels
+ * until they expire from level 0. Entries are kept in intrusive doubly linked lists, so there is
+ * no per-entry allocation beyond the {@link Timeout} handle.
+ */
+public class HierarchicalTimingWheel<T> {
+    
+    private final int wheelSize;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+    private long size;
+    
+    public HierarchicalTimingWheel(int wheelSize, long startTick) {
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("Wheel size must be at least 2");
+        }
+        this.wheelSize = wheelSize;
+        this.currentTick = startTick;
+    }
+    
+    /**
+     * Schedules {@code item} to expire at {@code deadlineTick}. Returns {@code null} when the
+     * deadline has already passed, in which case the caller should handle the item immediately.
+     */
+    public Timeout<T> add(T item, long deadlineTick) {
+        lock.lock();
+        try {
+            if (deadlineTick <= currentTick) {
+                return null;
+            }
+            Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+            place(timeout);
+            size++;
+            return timeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Removes a pending entry. Returns {@code false} if it already expired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.bucket == null) {
+                return false;
+            }
+            timeout.bucket.remove(timeout);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Moves the clock forward to {@code targetTick}, passing every expired item to
+     * {@code expired}. The callback runs outside the wheel's lock.
+     */
+    public void advanceTo(long targetTick, Consumer<T> expired) {
+        List<T> fired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                
+                long span = 1;
+                for (int level = 1; level < levels.size(); level++) {
+                    span *= wheelSize;
+                    if (currentTick % span != 0) {
+                        break;
+                    }
+                    Bucket<T> bucket = levels.get(level)[(int) ((currentTick / span) % wheelSize)];
+                    if (bucket != null) {
+                        cascade(bucket, fired);
+                    }
+                }
+                
+                if (!levels.isEmpty()) {
+                    Bucket<T> bucket = levels.get(0)[(int) (currentTick % wheelSize)];
+                    if (bucket != null) {
+                        drain(bucket, fired);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        fired.forEach(expired);
+    }
+    
+    public long getCurrentTick() {
+        lock.lock();
+        try {
+            return currentTick;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void place(Timeout<T> timeout) {
+        long span = 1;
+        for (int level = 0; ; level++) {
+            long distance = timeout.deadlineTick / span - currentTick / span;
+            if (distance < wheelSize) {
+                slot(level, (int) ((timeout.deadlineTick / span) % wheelSize)).append(timeout);
+                return;
+            }
+            span *= wheelSize;
+        }
+    }
+    
+    private void cascade(Bucket<T> bucket, List<T> fired) {
+        Timeout<T> timeout = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+            if (timeout.deadlineTick <= currentTick) {
+                fired.add(timeout.item);
+                size--;
+            } else {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+    
+    private void drain(Bucket<T> bucket, List<T> fired) {
+        Timeout<T> timeout = bucket.head;
+        bucket.head = null;
+        bucket.tail = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+            fired.add(timeout.item);
+            size--;
+            timeout = next;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Bucket<T> slot(int level, int index) {
+        while (levels.size() <= level) {
+            levels.add(new Bucket[wheelSize]);
+        }
+        Bucket<T>[] slots = levels.get(level);
+        Bucket<T> bucket = slots[index];
+        if (bucket == null) {
+            bucket = new Bucket<>();
+            slots[index] = bucket;
+        }
+        return bucket;
+    }
+    
+    /**
+     * Handle for a scheduled entry, used to cancel it.
+     */
+    public static final class Timeout<T> {
+        
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Bucket<T> bucket;
+        
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+        
+        public T getItem() {
+            return item;
+        }
+        
+        public long getDeadlineTick() {
+            return deadlineTick;
+        }
+    }
+    
+    private static final class Bucket<T> {
+        
+        private Timeout<T> head;
+        private Timeout<T> tail;
+        
+        void append(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+        
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.javaninja.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SDK metric publisher that exposes the connection pool state reported with each call as gauges:
+ * {@code aws.http.pool.leased}, {@code aws.http.pool.available}, {@code aws.http.pool.pending} and
+ * {@code aws.http.pool.max}, tagged with the pool name. Values are those of the most recent call,
+ * so an idle pool keeps showing its last state.
+ */
+public class HttpPoolMetricPublisher implements MetricPublisher {
+    
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger max = new AtomicInteger();
+    
+    public HttpPoolMetricPublisher(MeterRegistry meterRegistry, String pool) {
+        register(meterRegistry, "aws.http.pool.leased", "Connections in use", pool, leased);
+        register(meterRegistry, "aws.http.pool.available", "Idle connections available for reuse", pool, available);
+        register(meterRegistry, "aws.http.pool.pending", "Calls waiting for a connection", pool, pending);
+        register(meterRegistry, "aws.http.pool.max", "Maximum connections", pool, max);
+    }
+    
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        // Pool metrics sit in the HttpClient collection under each ApiCallAttempt; the last attempt wins
+        update(leased, metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY));
+        update(available, metricCollection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY));
+        update(pending, metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+        update(max, metricCollection.metricValues(HttpMetric.MAX_CONCURRENCY));
+        metricCollection.children().forEach(this::publish);
+    }
+    
+    @Override
+    public void close() {
+    }
+    
+    private static void update(AtomicInteger gauge, List<Integer> values) {
+        if (!values.isEmpty()) {
+            gauge.set(values.get(values.size() - 1));
+        }
+    }
+    
+    private static void register(MeterRegistry meterRegistry, String name, String description,
+                                 String pool, AtomicInteger value) {
+        Gauge.builder(name, value, AtomicInteger::get)
+                .description(description)
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,101 @@
+package com.javaninja.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe token bucket used to pace AWS calls. Tokens refill continuously at
+ * {@code ratePerSecond} up to {@code capacity}; {@link #acquire(int)} blocks until enough are
+ * available. The rate can be changed at runtime, which adaptive callers use after throttling.
+ */
+public class TokenBucket {
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private double capacity;
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+    
+    public TokenBucket(double ratePerSecond, double capacity) {
+        if (ratePerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * Creates a bucket that allows bursts of one second's worth of tokens.
+     */
+    public static TokenBucket perSecond(double ratePerSecond) {
+        return new TokenBucket(ratePerSecond, Math.max(1, ratePerSecond));
+    }
+    
+    /**
+     * Blocks until {@code permits} tokens are available and takes them. Never holds the lock
+     * while sleeping.
+     */
+    public void acquire(int permits) throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            lock.lock();
+            try {
+                refill();
+                if (tokens >= permits || (tokens >= capacity && permits > capacity)) {
+                    tokens -= permits;
+                    return;
+                }
+                waitNanos = (long) ((permits - tokens) / ratePerSecond * TimeUnit.SECONDS.toNanos(1));
+            } finally {
+                lock.unlock();
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+    
+    /**
+     * Takes {@code permits} tokens if available without waiting.
+     */
+    public boolean tryAcquire(int permits) {
+        lock.lock();
+        try {
+            refill();
+            if (tokens >= permits) {
+                tokens -= permits;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public double getRatePerSecond() {
+        lock.lock();
+        try {
+            return ratePerSecond;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void setRatePerSecond(double ratePerSecond, double capacity) {
+        lock.lock();
+        try {
+            refill();
+            this.ratePerSecond = ratePerSecond;
+            this.capacity = capacity;
+            this.tokens = Math.min(tokens, capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+    }
+}
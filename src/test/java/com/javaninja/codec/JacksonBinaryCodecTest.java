@@ -0,0 +1,35 @@
+package com.javaninja.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for JacksonBinaryCodec.
+ * Tests that every supported codec round-trips a JSON body.
+ */
+class JacksonBinaryCodecTest {
+
+    private static final String BODY = "{\"eventType\":\"ORDER_CREATED\",\"orderId\":12345,"
+            + "\"items\":[{\"sku\":\"A-1\",\"quantity\":2},{\"sku\":\"B-7\",\"quantity\":1}],\"total\":99.5}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"smile", "cbor", "smile+deflate", "cbor+gzip", "json+deflate"})
+    void encodeDecode_ShouldRoundTripJson(String codecName) throws Exception {
+        // Given
+        MessageCodec codec = JacksonBinaryCodec.fromName(codecName);
+
+        // When
+        String encoded = codec.encode(BODY);
+        String decoded = codec.decode(encoded);
+
+        // Then
+        assertThat(codec.name()).isEqualTo(codecName);
+        assertThat(encoded).matches("[A-Za-z0-9+/=]+");
+        assertThat(objectMapper.readTree(decoded)).isEqualTo(objectMapper.readTree(BODY));
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.context.annotation.Primary;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.ssm.SsmClient;
 
 import static org.mockito.Mockito.mock;
 
@@ -19,6 +21,12 @@ public class TestAwsConfig {
         return mock(SqsTemplate.class);
     }
     
+    @Bean
+    @Primary
+    public SqsAsyncClient sqsAsyncClient() {
+        return mock(SqsAsyncClient.class);
+    }
+    
     @Bean
     @Primary
     public SnsClient snsClient() {
@@ -36,5 +44,10 @@ public class TestAwsConfig {
     public SecretsManagerClient secretsManagerClient() {
         return mock(SecretsManagerClient.class);
     }
+    
+    @Bean
+    @Primary
+    public SsmClient ssmClient() {
+        return mock(SsmClient.class);
+    }
 }
-
@@ -0,0 +1,106 @@
+package com.javaninja.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.service.S3Service;
+import com.javaninja.service.SecretsManagerService;
+import com.javaninja.service.SnsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for AsyncAwsController using MockMvc.
+ * Tests that async endpoints complete from service futures, including failed ones.
+ */
+@WebMvcTest(controllers = AsyncAwsController.class, properties = "aws.async.enabled=true")
+class AsyncAwsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private S3Service s3Service;
+
+    @MockBean
+    private SnsService snsService;
+
+    @MockBean
+    private SecretsManagerService secretsManagerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void publishMessage_WhenFutureCompletes_ShouldReturnSuccess() throws Exception {
+        // Given
+        SnsMessageRequest request = new SnsMessageRequest();
+        request.setTopicArn("arn:aws:sns:us-east-1:123456789012:test-topic");
+        request.setMessage("Test SNS message");
+        when(snsService.publishMessageAsync(any(SnsMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture("msg-12345"));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/async/sns/publish")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.messageId").value("msg-12345"));
+    }
+
+    @Test
+    void listObjects_WhenFutureCompletes_ShouldReturnKeys() throws Exception {
+        // Given
+        when(s3Service.listObjectsAsync(eq("test-bucket"), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("a.txt", "b.txt")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/async/s3/list/test-bucket"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.objectKeys[1]").value("b.txt"));
+    }
+
+    @Test
+    void getSecretValue_WhenFutureFails_ShouldReturnError() throws Exception {
+        // Given
+        when(secretsManagerService.getSecretValueAsync("db-password", null))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Access denied")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/async/secrets/db-password"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.error").value("Access denied"));
+    }
+}
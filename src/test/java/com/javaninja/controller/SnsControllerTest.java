@@ -1,7 +1,12 @@
 package com.javaninja.controller;
 
+import com.javaninja.model.dto.SnsBatchEntry;
+import com.javaninja.model.dto.SnsBatchPublishRequest;
+import com.javaninja.model.dto.SnsBroadcastRequest;
 import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.model.dto.SnsPublishResult;
 import com.javaninja.service.SnsService;
+import com.javaninja.service.UnknownTopicException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -132,6 +139,21 @@ class SnsControllerTest {
                 .andExpect(jsonPath("$.timestamp").exists());
     }
 
+    @Test
+    void publishMessage_WithUnknownTopic_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(snsService.publishMessage(any(SnsMessageRequest.class)))
+                .thenThrow(new UnknownTopicException("missing-topic"));
+
+        // When & Then
+        mockMvc.perform(post("/api/sns/publish")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.error").value("Unknown SNS topic: missing-topic"));
+    }
+
     @Test
     void publishMessage_WithOptionalFields_ShouldReturnSuccess() throws Exception {
         // Given
@@ -235,5 +257,60 @@ class SnsControllerTest {
 
         verify(snsService, never()).publishMessage(any(SnsMessageRequest.class));
     }
-}
 
+    @Test
+    void publishBatch_WithPartialFailure_ShouldReturnPerEntryResults() throws Exception {
+        // Given
+        SnsBatchPublishRequest batchRequest = new SnsBatchPublishRequest(testTopicArn, List.of(
+                new SnsBatchEntry("a", "First message"),
+                new SnsBatchEntry("b", "Second message")));
+        when(snsService.publishBatch(any(SnsBatchPublishRequest.class))).thenReturn(List.of(
+                SnsPublishResult.success("a", "msg-1"),
+                SnsPublishResult.failure("b", "InternalError", "Try again")));
+
+        // When & Then
+        mockMvc.perform(post("/api/sns/publish-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PARTIAL"))
+                .andExpect(jsonPath("$.successful").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].messageId").value("msg-1"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("InternalError"));
+    }
+
+    @Test
+    void publishBatch_WithNoEntries_ShouldReturnBadRequest() throws Exception {
+        // Given
+        SnsBatchPublishRequest batchRequest = new SnsBatchPublishRequest(testTopicArn, List.of());
+
+        // When & Then
+        mockMvc.perform(post("/api/sns/publish-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(snsService, never()).publishBatch(any(SnsBatchPublishRequest.class));
+    }
+
+    @Test
+    void broadcast_WithUnfinishedTopic_ShouldReturnPartialResults() throws Exception {
+        // Given
+        SnsBroadcastRequest broadcastRequest = new SnsBroadcastRequest(
+                List.of("user-notifications", "system-alerts"), "Service degraded");
+        when(snsService.broadcast(any(SnsBroadcastRequest.class))).thenReturn(List.of(
+                SnsPublishResult.success("user-notifications", "msg-1"),
+                SnsPublishResult.unknown("system-alerts")));
+
+        // When & Then
+        mockMvc.perform(post("/api/sns/broadcast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(broadcastRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PARTIAL"))
+                .andExpect(jsonPath("$.successful").value(1))
+                .andExpect(jsonPath("$.results[1].id").value("system-alerts"))
+                .andExpect(jsonPath("$.results[1].status").value("UNKNOWN"));
+    }
+}
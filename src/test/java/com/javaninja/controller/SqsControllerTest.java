@@ -18,7 +18,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Unit tests for SqsController using MockMvc.
- * Tests AWS SQS integration endpoints.
+ * Tests AWS SQS integration endpoints, including cancelling scheduled messages.
  */
 @WebMvcTest(SqsController.class)
 class SqsControllerTest {
@@ -62,6 +62,29 @@ class SqsControllerTest {
         verify(sqsService, times(1)).sendMessage(any(SqsMessageRequest.class));
     }
 
+    @Test
+    void cancelScheduledMessage_WhenPending_ShouldReturnSuccess() throws Exception {
+        // Given
+        when(sqsService.cancelScheduledMessage("scheduled-1")).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(delete("/api/sqs/scheduled/scheduled-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.scheduledId").value("scheduled-1"));
+    }
+
+    @Test
+    void cancelScheduledMessage_WhenAlreadyHandedOff_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(sqsService.cancelScheduledMessage("scheduled-2")).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(delete("/api/sqs/scheduled/scheduled-2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("ERROR"));
+    }
+
     @Test
     void health_ShouldReturnHealthStatus() throws Exception {
         // When & Then
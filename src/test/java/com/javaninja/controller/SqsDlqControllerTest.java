@@ -0,0 +1,110 @@
+package com.javaninja.controller;
+
+import com.javaninja.model.dto.DlqRedriveRequest;
+import com.javaninja.service.DlqRedriveService;
+import com.javaninja.service.RedriveJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for SqsDlqController using MockMvc.
+ * Tests DLQ redrive and peek endpoints, including rejection of invalid redrive filters.
+ */
+@WebMvcTest(SqsDlqController.class)
+class SqsDlqControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DlqRedriveService dlqRedriveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void startRedrive_WithValidRequest_ShouldReturnAccepted() throws Exception {
+        // Given
+        RedriveJob job = mock(RedriveJob.class);
+        when(job.getJobId()).thenReturn("job-1");
+        when(job.getStatus()).thenReturn(RedriveJob.Status.RUNNING);
+        when(job.getSourceQueueName()).thenReturn("dead-letter-queue");
+        when(job.getTargetQueueName()).thenReturn("order-events-queue");
+        when(job.getStartedAt()).thenReturn(Instant.now());
+        when(dlqRedriveService.startRedrive(any(DlqRedriveRequest.class))).thenReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/sqs/dlq/redrive")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DlqRedriveRequest(null, "order-events-queue"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.targetQueueName").value("order-events-queue"));
+    }
+
+    @Test
+    void startRedrive_WithoutTargetQueue_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/sqs/dlq/redrive")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DlqRedriveRequest())))
+                .andExpect(status().isBadRequest());
+
+        verify(dlqRedriveService, never()).startRedrive(any(DlqRedriveRequest.class));
+    }
+
+    @Test
+    void startRedrive_WithInvalidBodyPattern_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(dlqRedriveService.startRedrive(any(DlqRedriveRequest.class)))
+                .thenThrow(new IllegalArgumentException("Invalid bodyPattern: Unclosed character class"));
+
+        // When & Then
+        mockMvc.perform(post("/api/sqs/dlq/redrive")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new DlqRedriveRequest(null, "order-events-queue"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.message").value("Invalid bodyPattern: Unclosed character class"));
+    }
+
+    @Test
+    void getRedrive_WithUnknownJob_ShouldReturnNotFound() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/sqs/dlq/redrive/{jobId}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.jobId").value("missing"));
+    }
+
+    @Test
+    void peek_ShouldReturnSampledMessages() throws Exception {
+        // Given
+        when(dlqRedriveService.peek(eq("dead-letter-queue"), eq(5)))
+                .thenReturn(List.of(Map.of("messageId", "m-1", "body", "{}")));
+
+        // When & Then
+        mockMvc.perform(get("/api/sqs/dlq/peek")
+                .param("queueName", "dead-letter-queue")
+                .param("maxMessages", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.messageCount").value(1))
+                .andExpect(jsonPath("$.messages[0].messageId").value("m-1"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.javaninja.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load tests for the REST API.
+ * Tests sustained throughput and latency of the S3, SQS, SNS and Secrets Manager endpoints with
+ * every AWS call served by {@link FakeAwsServer}, and how the API degrades when AWS throttles.
+ * Tagged {@code load} and excluded from the default build; run with {@code mvn test -Pload}.
+ * Each run's report is written to {@code target/load-reports}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.javaninja=WARN")
+class ApiLoadTest {
+
+    private static final double REQUESTS_PER_SECOND = 200;
+    private static final Duration DURATION = Duration.ofSeconds(10);
+    private static final String BUCKET = "load-test-bucket";
+    private static final String QUEUE = "load-test-queue";
+    private static final String SECRET = "load-test-credentials";
+    private static final Path REPORTS = Path.of("target", "load-reports");
+
+    private static FakeAwsServer fake;
+    private static String topicArn;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void awsProperties(DynamicPropertyRegistry registry) throws IOException {
+        fake = FakeAwsServer.start().withLatency(Duration.ofMillis(2), Duration.ofMillis(3));
+        // Topics and secrets have to exist before the application resolves them at startup
+        topicArn = fake.sns().createTopic("load-test-topic");
+        for (String topic : new String[] {"user-notifications-topic", "order-notifications-topic", "system-alerts-topic"}) {
+            fake.sns().createTopic(topic);
+        }
+        fake.secretsManager().putSecret(SECRET, "{\"username\":\"load\",\"password\":\"test\"}");
+
+        // Clients built in AwsConfig use the SDK's default region and credential providers
+        System.setProperty("aws.region", "us-east-1");
+        System.setProperty("aws.accessKeyId", "test");
+        System.setProperty("aws.secretAccessKey", "test");
+        registry.add("spring.cloud.aws.endpoint", () -> fake.endpoint().toString());
+    }
+
+    @AfterEach
+    void resetFaults() {
+        fake.resetFaults();
+        fake.withLatency(Duration.ofMillis(2), Duration.ofMillis(3));
+    }
+
+    @AfterAll
+    static void stopFake() {
+        fake.close();
+        System.clearProperty("aws.region");
+        System.clearProperty("aws.accessKeyId");
+        System.clearProperty("aws.secretAccessKey");
+    }
+
+    @Test
+    void mixedTraffic_ShouldSustainTargetRateWithoutErrors() throws Exception {
+        // Given
+        try (LoadGenerator generator = new LoadGenerator(256)) {
+            generator.run("warm-up", REQUESTS_PER_SECOND, Duration.ofSeconds(3), this::mixedRequest);
+
+            // When
+            LoadReport report = generator.run("mixed", REQUESTS_PER_SECOND, DURATION, this::mixedRequest);
+            write(report);
+
+            // Then
+            assertThat(report.getErrors()).isEmpty();
+            assertThat(report.getThroughput()).isGreaterThanOrEqualTo(REQUESTS_PER_SECOND * 0.9);
+            assertThat(fake.sns().getPublishedCount(topicArn)).isPositive();
+            assertThat(fake.sqs().getSentCount(QUEUE)).isPositive();
+        }
+    }
+
+    @Test
+    void sqsSend_WhenAwsThrottles_ShouldReportFailuresAndKeepServing() throws Exception {
+        // Given
+        fake.withRateLimit(REQUESTS_PER_SECOND / 2);
+
+        try (LoadGenerator generator = new LoadGenerator(256)) {
+            // When
+            LoadReport report = generator.run("sqs-throttled", REQUESTS_PER_SECOND, DURATION, this::sqsSend);
+            write(report);
+
+            // Then
+            assertThat(fake.getThrottledCount()).isPositive();
+            assertThat(report.getRequestCount()).isEqualTo((long) (REQUESTS_PER_SECOND * DURATION.toSeconds()));
+            assertThat(report.getErrors()).allSatisfy((status, count) -> assertThat(status).isEqualTo("500"));
+        }
+    }
+
+    private static void write(LoadReport report) throws IOException {
+        Files.createDirectories(REPORTS);
+        Files.writeString(REPORTS.resolve(report.getName() + ".txt"), report + System.lineSeparator());
+    }
+
+    private HttpRequest mixedRequest(long sequence) {
+        return switch ((int) (sequence % 4)) {
+            case 0 -> post("/api/s3/upload", "{\"bucketName\":\"" + BUCKET + "\",\"objectKey\":\"objects/" + sequence + ".json\","
+                    + "\"contentType\":\"application/json\",\"content\":\""
+                    + Base64.getEncoder().encodeToString(("{\"sequence\":" + sequence + "}").getBytes(StandardCharsets.UTF_8)) + "\"}");
+            case 1 -> sqsSend(sequence);
+            case 2 -> post("/api/sns/publish", "{\"topicArn\":\"" + topicArn + "\",\"message\":\"event " + sequence + "\","
+                    + "\"messageAttributes\":{\"eventType\":\"LOAD_TEST\"}}");
+            default -> HttpRequest.newBuilder(uri("/api/secrets/" + SECRET)).GET().build();
+        };
+    }
+
+    private HttpRequest sqsSend(long sequence) {
+        return post("/api/sqs/send", "{\"queueName\":\"" + QUEUE + "\","
+                + "\"messageBody\":\"{\\\"eventType\\\":\\\"ORDER_CREATED\\\",\\\"orderId\\\":\\\"ord-" + sequence + "\\\"}\"}");
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
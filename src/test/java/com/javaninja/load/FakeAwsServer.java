@@ -0,0 +1,396 @@
+package com.javaninja.load;
+
+import com.javaninja.support.TokenBucket;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the S3, SQS, SNS and Secrets Manager HTTP APIs, covering the operations
+ * this application calls. Requests are routed by the service named in their SigV4 credential
+ * scope, so every client can share the one endpoint. Buckets and queues are created on first use;
+ * topics and secrets are seeded through {@link #sns()} and {@link #secretsManager()}. Latency and
+ * throttling can be injected to see how the application behaves when AWS
+ * slows down or pushes back; throttled requests get each protocol's own throttling error, which
+ * the SDK retries.
+ */
+public class FakeAwsServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeAwsServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FakeS3 s3 = new FakeS3();
+    private final FakeSqs sqs = new FakeSqs();
+    private final FakeSns sns = new FakeSns();
+    private final FakeSecretsManager secretsManager = new FakeSecretsManager();
+    private final Map<String, Service> services = Map.of(
+            "s3", s3,
+            "sqs", sqs,
+            "sns", sns,
+            "secretsmanager", secretsManager);
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    private volatile long latencyNanos;
+    private volatile long latencyJitterNanos;
+    private volatile double throttleProbability;
+    private volatile TokenBucket rateLimit;
+
+    private FakeAwsServer(int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("fake-aws-"));
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public static FakeAwsServer start() throws IOException {
+        return start(64);
+    }
+
+    /**
+     * Starts a server on a free loopback port. Injected latency holds a thread, so {@code threads}
+     * bounds the requests served concurrently.
+     */
+    public static FakeAwsServer start(int threads) throws IOException {
+        FakeAwsServer fake = new FakeAwsServer(threads);
+        fake.server.start();
+        logger.info("Fake AWS server listening on {}", fake.endpoint());
+        return fake;
+    }
+
+    public URI endpoint() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Delays every response by {@code latency} plus a uniformly random share of {@code jitter}.
+     */
+    public FakeAwsServer withLatency(Duration latency, Duration jitter) {
+        this.latencyNanos = latency.toNanos();
+        this.latencyJitterNanos = jitter.toNanos();
+        return this;
+    }
+
+    /**
+     * Answers requests beyond {@code requestsPerSecond} (summed over all services) with a
+     * throttling error, like an account-level API rate limit.
+     */
+    public FakeAwsServer withRateLimit(double requestsPerSecond) {
+        this.rateLimit = TokenBucket.perSecond(requestsPerSecond);
+        return this;
+    }
+
+    /**
+     * Throttles each request with the given probability, independently of the rate limit.
+     */
+    public FakeAwsServer withThrottleProbability(double probability) {
+        this.throttleProbability = probability;
+        return this;
+    }
+
+    public void resetFaults() {
+        latencyNanos = 0;
+        latencyJitterNanos = 0;
+        throttleProbability = 0;
+        rateLimit = null;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    public FakeS3 s3() {
+        return s3;
+    }
+
+    public FakeSqs sqs() {
+        return sqs;
+    }
+
+    public FakeSns sns() {
+        return sns;
+    }
+
+    public FakeSecretsManager secretsManager() {
+        return secretsManager;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            Request request = Request.from(exchange);
+            Service service = services.get(request.service());
+
+            Response response;
+            if (service == null) {
+                response = Response.of(400, "text/plain", "Unsupported service: " + request.service());
+            } else {
+                delay();
+                if (shouldThrottle()) {
+                    throttled.incrementAndGet();
+                    response = service.throttled();
+                } else {
+                    response = service.handle(request);
+                }
+            }
+            response.send(exchange);
+        } catch (Exception e) {
+            logger.error("Fake AWS server failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            Response.of(500, "text/plain", String.valueOf(e.getMessage())).send(exchange);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void delay() throws InterruptedException {
+        long nanos = latencyNanos;
+        if (latencyJitterNanos > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(latencyJitterNanos + 1);
+        }
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    private boolean shouldThrottle() {
+        TokenBucket bucket = rateLimit;
+        if (bucket != null && !bucket.tryAcquire(1)) {
+            return true;
+        }
+        return throttleProbability > 0 && ThreadLocalRandom.current().nextDouble() < throttleProbability;
+    }
+
+    static String md5Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String requestId() {
+        return UUID.randomUUID().toString();
+    }
+
+    static String escapeXml(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+    /**
+     * One emulated AWS service. Implementations are thread-safe; requests arrive concurrently.
+     */
+    interface Service {
+
+        Response handle(Request request) throws Exception;
+
+        Response throttled();
+    }
+
+    static class Request {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> query;
+        private final Headers headers;
+        private final byte[] body;
+
+        private Request(String method, String path, Map<String, String> query, Headers headers, byte[] body) {
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static Request from(HttpExchange exchange) throws IOException {
+            Headers headers = exchange.getRequestHeaders();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String encoding = headers.getFirst("Content-Encoding");
+            if (encoding != null && encoding.contains("aws-chunked")) {
+                body = decodeAwsChunked(body);
+            }
+            URI uri = exchange.getRequestURI();
+            return new Request(exchange.getRequestMethod(), uri.getPath(), parseForm(uri.getRawQuery()), headers, body);
+        }
+
+        String method() {
+            return method;
+        }
+
+        String path() {
+            return path;
+        }
+
+        Map<String, String> query() {
+            return query;
+        }
+
+        String header(String name) {
+            return headers.getFirst(name);
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * The service from the {@code Credential=AKID/date/region/service/aws4_request} scope.
+         */
+        String service() {
+            String authorization = header("Authorization");
+            if (authorization == null) {
+                return "";
+            }
+            int start = authorization.indexOf("Credential=");
+            if (start < 0) {
+                return "";
+            }
+            int end = authorization.indexOf(',', start);
+            String[] scope = authorization.substring(start + "Credential=".length(), end < 0 ? authorization.length() : end)
+                    .split("/");
+            return scope.length > 3 ? scope[3] : "";
+        }
+
+        /**
+         * The operation of a JSON protocol request, from {@code X-Amz-Target: Prefix.Operation}.
+         */
+        String target() {
+            String target = header("X-Amz-Target");
+            return target == null ? "" : target.substring(target.indexOf('.') + 1);
+        }
+
+        static Map<String, String> parseForm(String form) {
+            Map<String, String> values = new LinkedHashMap<>();
+            if (form == null || form.isEmpty()) {
+                return values;
+            }
+            for (String pair : form.split("&")) {
+                int equals = pair.indexOf('=');
+                String name = equals < 0 ? pair : pair.substring(0, equals);
+                String value = equals < 0 ? "" : pair.substring(equals + 1);
+                values.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+            return values;
+        }
+
+        /**
+         * Strips the {@code aws-chunked} framing S3 uploads use for streaming signatures and
+         * trailing checksums: {@code hex-size[;chunk-signature=...]\r\n data \r\n}, ending with a
+         * zero-size chunk and optional trailer headers.
+         */
+        static byte[] decodeAwsChunked(byte[] body) {
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream(body.length);
+            int position = 0;
+            while (position < body.length) {
+                int lineEnd = position;
+                while (lineEnd + 1 < body.length && !(body[lineEnd] == '\r' && body[lineEnd + 1] == '\n')) {
+                    lineEnd++;
+                }
+                String chunkHeader = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+                int semicolon = chunkHeader.indexOf(';');
+                int size = Integer.parseInt((semicolon < 0 ? chunkHeader : chunkHeader.substring(0, semicolon)).trim(), 16);
+                if (size == 0) {
+                    break;
+                }
+                position = lineEnd + 2;
+                decoded.write(body, position, size);
+                position += size + 2;
+            }
+            return decoded.toByteArray();
+        }
+    }
+
+    static class Response {
+
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Response of(int status, String contentType, String body) {
+            return of(status, contentType, body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response of(int status, String contentType, byte[] body) {
+            return new Response(status, contentType, body);
+        }
+
+        static Response empty(int status) {
+            return new Response(status, null, new byte[0]);
+        }
+
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        void send(HttpExchange exchange) throws IOException {
+            Headers responseHeaders = exchange.getResponseHeaders();
+            headers.forEach(responseHeaders::set);
+            if (contentType != null) {
+                responseHeaders.set("Content-Type", contentType);
+            }
+            String requestId = requestId();
+            responseHeaders.set("x-amzn-RequestId", requestId);
+            responseHeaders.set("x-amz-request-id", requestId);
+
+            if (body.length == 0 || "HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
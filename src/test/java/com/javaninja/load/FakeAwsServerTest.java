@@ -0,0 +1,165 @@
+package com.javaninja.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FakeAwsServer.
+ * Tests that real SDK clients round-trip through each emulated service, including the checksums
+ * the SDK validates, and that injected throttling surfaces as a throttling error.
+ */
+class FakeAwsServerTest {
+
+    private static FakeAwsServer fake;
+    private static S3Client s3Client;
+    private static SqsAsyncClient sqsClient;
+    private static SnsClient snsClient;
+    private static SecretsManagerClient secretsManagerClient;
+
+    @BeforeAll
+    static void startFake() throws Exception {
+        fake = FakeAwsServer.start(8);
+        s3Client = configure(S3Client.builder().forcePathStyle(true)).build();
+        sqsClient = configure(SqsAsyncClient.builder()).build();
+        snsClient = configure(SnsClient.builder()).build();
+        secretsManagerClient = configure(SecretsManagerClient.builder()).build();
+    }
+
+    @AfterAll
+    static void stopFake() {
+        s3Client.close();
+        sqsClient.close();
+        snsClient.close();
+        secretsManagerClient.close();
+        fake.close();
+    }
+
+    @BeforeEach
+    void resetFaults() {
+        fake.resetFaults();
+    }
+
+    @Test
+    void s3_ShouldStoreListAndReturnObjects() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            String key = "reports/" + i;
+            s3Client.putObject(builder -> builder.bucket("test-bucket").key(key), RequestBody.fromString("report " + i));
+        }
+        s3Client.putObject(builder -> builder.bucket("test-bucket").key("other"), RequestBody.fromString("other"));
+
+        // When
+        byte[] content = s3Client.getObjectAsBytes(builder -> builder.bucket("test-bucket").key("reports/1")).asByteArray();
+        List<String> keys = s3Client.listObjectsV2Paginator(builder -> builder.bucket("test-bucket").prefix("reports/").maxKeys(2))
+                .contents().stream()
+                .map(S3Object::key)
+                .toList();
+
+        // Then
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo("report 1");
+        assertThat(keys).containsExactly("reports/0", "reports/1", "reports/2");
+    }
+
+    @Test
+    void sqs_ShouldDeliverMessageWithAttributes() {
+        // Given
+        String queueUrl = sqsClient.getQueueUrl(builder -> builder.queueName("test-queue")).join().queueUrl();
+        sqsClient.sendMessage(builder -> builder
+                .queueUrl(queueUrl)
+                .messageBody("{\"orderId\":\"ord-1\"}")
+                .messageAttributes(Map.of(
+                        "eventType", MessageAttributeValue.builder().dataType("String").stringValue("ORDER_CREATED").build(),
+                        "priority", MessageAttributeValue.builder().dataType("Number").stringValue("5").build())))
+                .join();
+
+        // When
+        List<Message> messages = sqsClient.receiveMessage(builder -> builder
+                        .queueUrl(queueUrl)
+                        .maxNumberOfMessages(10)
+                        .messageAttributeNames("All"))
+                .join()
+                .messages();
+        sqsClient.deleteMessage(builder -> builder.queueUrl(queueUrl).receiptHandle(messages.get(0).receiptHandle())).join();
+
+        // Then
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).body()).isEqualTo("{\"orderId\":\"ord-1\"}");
+        assertThat(messages.get(0).messageAttributes().get("eventType").stringValue()).isEqualTo("ORDER_CREATED");
+        assertThat(fake.sqs().getMessageCount("test-queue")).isZero();
+    }
+
+    @Test
+    void sns_ShouldCountPublishedMessages() {
+        // Given
+        String topicArn = snsClient.createTopic(builder -> builder.name("test-topic")).topicArn();
+
+        // When
+        snsClient.publish(builder -> builder.topicArn(topicArn).message("single"));
+        snsClient.publishBatch(builder -> builder.topicArn(topicArn).publishBatchRequestEntries(
+                entry -> entry.id("1").message("first"),
+                entry -> entry.id("2").message("second")));
+
+        // Then
+        assertThat(snsClient.listTopics().topics()).anyMatch(topic -> topic.topicArn().equals(topicArn));
+        assertThat(fake.sns().getPublishedCount(topicArn)).isEqualTo(3);
+    }
+
+    @Test
+    void secretsManager_ShouldReturnSeededSecretAndRejectUnknownOnes() {
+        // Given
+        fake.secretsManager().putSecret("test/secret", "{\"password\":\"s3cret\"}");
+
+        // When
+        String value = secretsManagerClient.getSecretValue(builder -> builder.secretId("test/secret")).secretString();
+
+        // Then
+        assertThat(value).isEqualTo("{\"password\":\"s3cret\"}");
+        assertThatThrownBy(() -> secretsManagerClient.getSecretValue(builder -> builder.secretId("missing")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void throttling_ShouldSurfaceAsThrottlingError() {
+        // Given
+        fake.withThrottleProbability(1.0);
+        long throttledBefore = fake.getThrottledCount();
+
+        // When / Then
+        assertThatThrownBy(() -> secretsManagerClient.getSecretValue(builder -> builder.secretId("test/secret")))
+                .isInstanceOfSatisfying(SecretsManagerException.class,
+                        e -> assertThat(e.isThrottlingException()).isTrue());
+        assertThat(fake.getThrottledCount()).isEqualTo(throttledBefore + 1);
+    }
+
+    private static <B extends AwsClientBuilder<B, ?>> B configure(B builder) {
+        return builder
+                .endpointOverride(fake.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .overrideConfiguration(override -> override.retryStrategy(AwsRetryStrategy.doNotRetry()));
+    }
+}
@@ -0,0 +1,214 @@
+package com.javaninja.load;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * S3 REST API over path-style URLs: PutObject, GetObject, DeleteObject, ListObjectsV2, HeadBucket
+ * and multipart uploads. ETags are the MD5 of the content, which the SDK verifies on upload.
+ */
+public class FakeS3 implements FakeAwsServer.Service {
+
+    private static final String XML = "application/xml";
+    private static final String NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+    private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    // Objects keyed by "bucket/key", sorted so a listing is a range scan
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    public int getObjectCount() {
+        return objects.size();
+    }
+
+    public byte[] getContent(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        return object == null ? null : object.content;
+    }
+
+    @Override
+    public FakeAwsServer.Response handle(FakeAwsServer.Request request) {
+        String path = request.path().substring(1);
+        int slash = path.indexOf('/');
+        String bucket = slash < 0 ? path : path.substring(0, slash);
+        String key = slash < 0 ? "" : path.substring(slash + 1);
+        Map<String, String> query = request.query();
+
+        switch (request.method()) {
+            case "PUT":
+                if (key.isEmpty()) {
+                    return FakeAwsServer.Response.empty(200);
+                }
+                return query.containsKey("uploadId")
+                        ? uploadPart(query.get("uploadId"), Integer.parseInt(query.get("partNumber")), request.body())
+                        : putObject(bucket, key, request);
+            case "GET":
+                return key.isEmpty() ? listObjects(bucket, query) : getObject(bucket, key);
+            case "HEAD":
+                return key.isEmpty() || objects.containsKey(bucket + "/" + key)
+                        ? FakeAwsServer.Response.empty(200)
+                        : FakeAwsServer.Response.empty(404);
+            case "DELETE":
+                if (query.containsKey("uploadId")) {
+                    uploads.remove(query.get("uploadId"));
+                } else {
+                    objects.remove(bucket + "/" + key);
+                }
+                return FakeAwsServer.Response.empty(204);
+            case "POST":
+                if (query.containsKey("uploads")) {
+                    return createMultipartUpload(bucket, key);
+                }
+                if (query.containsKey("uploadId")) {
+                    return completeMultipartUpload(bucket, key, query.get("uploadId"), request.bodyAsString());
+                }
+                return error(501, "NotImplemented", "POST " + request.path() + " is not supported");
+            default:
+                return error(405, "MethodNotAllowed", request.method() + " is not supported");
+        }
+    }
+
+    @Override
+    public FakeAwsServer.Response throttled() {
+        return error(503, "SlowDown", "Please reduce your request rate.");
+    }
+
+    private FakeAwsServer.Response putObject(String bucket, String key, FakeAwsServer.Request request) {
+        String contentType = request.header("Content-Type");
+        StoredObject object = new StoredObject(request.body(), contentType != null ? contentType : "binary/octet-stream");
+        objects.put(bucket + "/" + key, object);
+        return FakeAwsServer.Response.empty(200).header("ETag", object.eTag);
+    }
+
+    private FakeAwsServer.Response getObject(String bucket, String key) {
+        StoredObject object = objects.get(bucket + "/" + key);
+        if (object == null) {
+            return error(404, "NoSuchKey", "The specified key does not exist.");
+        }
+        return FakeAwsServer.Response.of(200, object.contentType, object.content)
+                .header("ETag", object.eTag)
+                .header("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(object.lastModified.atOffset(ZoneOffset.UTC)));
+    }
+
+    private FakeAwsServer.Response listObjects(String bucket, Map<String, String> query) {
+        String prefix = query.getOrDefault("prefix", "");
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        String from = bucket + "/" + query.getOrDefault("continuation-token", query.getOrDefault("start-after", prefix));
+        boolean inclusive = !query.containsKey("continuation-token") && !query.containsKey("start-after");
+
+        StringBuilder contents = new StringBuilder();
+        int count = 0;
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : objects.tailMap(from, inclusive).entrySet()) {
+            if (!entry.getKey().startsWith(bucket + "/")) {
+                break;
+            }
+            String key = entry.getKey().substring(bucket.length() + 1);
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (count == maxKeys) {
+                truncated = true;
+                break;
+            }
+            StoredObject object = entry.getValue();
+            contents.append("<Contents><Key>").append(FakeAwsServer.escapeXml(key)).append("</Key>")
+                    .append("<LastModified>").append(object.lastModified).append("</LastModified>")
+                    .append("<ETag>").append(FakeAwsServer.escapeXml(object.eTag)).append("</ETag>")
+                    .append("<Size>").append(object.content.length).append("</Size>")
+                    .append("<StorageClass>STANDARD</StorageClass></Contents>");
+            count++;
+            lastKey = key;
+        }
+
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"").append(NAMESPACE).append("\">")
+                .append("<Name>").append(FakeAwsServer.escapeXml(bucket)).append("</Name>")
+                .append("<Prefix>").append(FakeAwsServer.escapeXml(prefix)).append("</Prefix>")
+                .append("<KeyCount>").append(count).append("</KeyCount>")
+                .append("<MaxKeys>").append(maxKeys).append("</MaxKeys>")
+                .append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (truncated) {
+            xml.append("<NextContinuationToken>").append(FakeAwsServer.escapeXml(lastKey)).append("</NextContinuationToken>");
+        }
+        return FakeAwsServer.Response.of(200, XML, xml.append(contents).append("</ListBucketResult>").toString());
+    }
+
+    private FakeAwsServer.Response createMultipartUpload(String bucket, String key) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ConcurrentSkipListMap<>());
+        return FakeAwsServer.Response.of(200, XML, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<InitiateMultipartUploadResult xmlns=\"" + NAMESPACE + "\">"
+                + "<Bucket>" + FakeAwsServer.escapeXml(bucket) + "</Bucket>"
+                + "<Key>" + FakeAwsServer.escapeXml(key) + "</Key>"
+                + "<UploadId>" + uploadId + "</UploadId>"
+                + "</InitiateMultipartUploadResult>");
+    }
+
+    private FakeAwsServer.Response uploadPart(String uploadId, int partNumber, byte[] content) {
+        NavigableMap<Integer, byte[]> parts = uploads.get(uploadId);
+        if (parts == null) {
+            return error(404, "NoSuchUpload", "The specified upload does not exist.");
+        }
+        parts.put(partNumber, content);
+        return FakeAwsServer.Response.empty(200).header("ETag", "\"" + FakeAwsServer.md5Hex(content) + "\"");
+    }
+
+    private FakeAwsServer.Response completeMultipartUpload(String bucket, String key, String uploadId, String body) {
+        NavigableMap<Integer, byte[]> parts = uploads.remove(uploadId);
+        if (parts == null) {
+            return error(404, "NoSuchUpload", "The specified upload does not exist.");
+        }
+
+        // Only the parts named in the completion request make up the object
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        Matcher partNumbers = PART_NUMBER.matcher(body);
+        while (partNumbers.find()) {
+            byte[] part = parts.get(Integer.parseInt(partNumbers.group(1)));
+            if (part == null) {
+                return error(400, "InvalidPart", "Part " + partNumbers.group(1) + " was not uploaded.");
+            }
+            content.writeBytes(part);
+        }
+        StoredObject object = new StoredObject(content.toByteArray(), "binary/octet-stream");
+        objects.put(bucket + "/" + key, object);
+
+        return FakeAwsServer.Response.of(200, XML, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<CompleteMultipartUploadResult xmlns=\"" + NAMESPACE + "\">"
+                + "<Bucket>" + FakeAwsServer.escapeXml(bucket) + "</Bucket>"
+                + "<Key>" + FakeAwsServer.escapeXml(key) + "</Key>"
+                + "<ETag>" + FakeAwsServer.escapeXml(object.eTag) + "</ETag>"
+                + "</CompleteMultipartUploadResult>");
+    }
+
+    private static FakeAwsServer.Response error(int status, String code, String message) {
+        return FakeAwsServer.Response.of(status, XML, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<Error><Code>" + code + "</Code><Message>" + FakeAwsServer.escapeXml(message) + "</Message>"
+                + "<RequestId>" + FakeAwsServer.requestId() + "</RequestId></Error>");
+    }
+
+    private static class StoredObject {
+
+        private final byte[] content;
+        private final String contentType;
+        private final String eTag;
+        private final Instant lastModified = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        StoredObject(byte[] content, String contentType) {
+            this.content = content;
+            this.contentType = contentType;
+            this.eTag = "\"" + FakeAwsServer.md5Hex(content) + "\"";
+        }
+    }
+}
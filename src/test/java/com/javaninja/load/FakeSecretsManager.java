@@ -0,0 +1,214 @@
+package com.javaninja.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Secrets Manager JSON protocol: CreateSecret, GetSecretValue, PutSecretValue, UpdateSecret,
+ * DescribeSecret, ListSecrets, BatchGetSecretValue and DeleteSecret. Secrets are looked up by
+ * name or ARN and keep only their current version. Seed the secrets a test reads with
+ * {@link #putSecret(String, String)}.
+ */
+public class FakeSecretsManager implements FakeAwsServer.Service {
+
+    private static final String JSON = "application/x-amz-json-1.1";
+    private static final String ARN_PREFIX = "arn:aws:secretsmanager:us-east-1:000000000000:secret:";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StoredSecret> secrets = new ConcurrentSkipListMap<>();
+
+    public void putSecret(String name, String value) {
+        secrets.compute(name, (ignored, existing) -> existing == null
+                ? new StoredSecret(name, null, value, null)
+                : existing.withValue(value, null));
+    }
+
+    @Override
+    public FakeAwsServer.Response handle(FakeAwsServer.Request request) throws Exception {
+        JsonNode body = objectMapper.readTree(request.body().length == 0 ? "{}".getBytes(StandardCharsets.UTF_8) : request.body());
+        ObjectNode response = objectMapper.createObjectNode();
+        String operation = request.target();
+
+        if ("CreateSecret".equals(operation)) {
+            String name = body.path("Name").asText();
+            StoredSecret created = new StoredSecret(name, text(body, "Description"), text(body, "SecretString"), text(body, "SecretBinary"));
+            if (secrets.putIfAbsent(name, created) != null) {
+                return error("ResourceExistsException", "The operation failed because the secret " + name + " already exists.");
+            }
+            return ok(version(response, created));
+        }
+        if ("ListSecrets".equals(operation)) {
+            ArrayNode list = response.putArray("SecretList");
+            secrets.values().forEach(secret -> describe(list.addObject(), secret));
+            return ok(response);
+        }
+        if ("BatchGetSecretValue".equals(operation)) {
+            return ok(batchGet(body, response));
+        }
+
+        StoredSecret secret = find(body.path("SecretId").asText());
+        if (secret == null) {
+            return notFound();
+        }
+        switch (operation) {
+            case "GetSecretValue" -> value(response, secret);
+            case "DescribeSecret" -> describe(response, secret);
+            case "PutSecretValue", "UpdateSecret" -> {
+                boolean newValue = body.hasNonNull("SecretString") || body.hasNonNull("SecretBinary");
+                StoredSecret updated = newValue
+                        ? secret.withValue(text(body, "SecretString"), text(body, "SecretBinary"))
+                        : secret;
+                if (body.hasNonNull("Description")) {
+                    updated.description = body.get("Description").asText();
+                }
+                secrets.put(secret.name, updated);
+                version(response, updated);
+            }
+            case "DeleteSecret" -> {
+                secrets.remove(secret.name);
+                response.put("ARN", secret.arn)
+                        .put("Name", secret.name)
+                        .put("DeletionDate", System.currentTimeMillis() / 1000.0);
+            }
+            default -> {
+                return FakeAwsServer.Response.of(400, JSON, objectMapper.createObjectNode()
+                        .put("__type", "InvalidRequestException")
+                        .put("message", operation + " is not supported")
+                        .toString());
+            }
+        }
+        return ok(response);
+    }
+
+    @Override
+    public FakeAwsServer.Response throttled() {
+        return error("ThrottlingException", "Rate exceeded");
+    }
+
+    private ObjectNode batchGet(JsonNode body, ObjectNode response) {
+        List<String> secretIds = new ArrayList<>();
+        body.path("SecretIdList").forEach(id -> secretIds.add(id.asText()));
+        if (secretIds.isEmpty()) {
+            // Filters select by name prefix; other filter keys are not emulated
+            List<String> prefixes = new ArrayList<>();
+            body.path("Filters").forEach(filter -> filter.path("Values").forEach(value -> prefixes.add(value.asText())));
+            secrets.keySet().stream()
+                    .filter(name -> prefixes.isEmpty() || prefixes.stream().anyMatch(name::startsWith))
+                    .forEach(secretIds::add);
+        }
+
+        ArrayNode values = response.putArray("SecretValues");
+        ArrayNode errors = response.putArray("Errors");
+        for (String secretId : secretIds) {
+            StoredSecret secret = find(secretId);
+            if (secret == null) {
+                errors.addObject()
+                        .put("SecretId", secretId)
+                        .put("ErrorCode", "ResourceNotFoundException")
+                        .put("Message", "Secrets Manager can't find the specified secret.");
+            } else {
+                value(values.addObject(), secret);
+            }
+        }
+        return response;
+    }
+
+    private StoredSecret find(String secretId) {
+        StoredSecret secret = secrets.get(secretId);
+        if (secret != null || !secretId.startsWith(ARN_PREFIX)) {
+            return secret;
+        }
+        return secrets.values().stream().filter(candidate -> candidate.arn.equals(secretId)).findFirst().orElse(null);
+    }
+
+    private static ObjectNode version(ObjectNode node, StoredSecret secret) {
+        return node.put("ARN", secret.arn)
+                .put("Name", secret.name)
+                .put("VersionId", secret.versionId);
+    }
+
+    private static void value(ObjectNode node, StoredSecret secret) {
+        version(node, secret)
+                .put("CreatedDate", secret.createdDate);
+        if (secret.secretString != null) {
+            node.put("SecretString", secret.secretString);
+        }
+        if (secret.secretBinary != null) {
+            node.put("SecretBinary", secret.secretBinary);
+        }
+        node.putArray("VersionStages").add("AWSCURRENT");
+    }
+
+    private static void describe(ObjectNode node, StoredSecret secret) {
+        node.put("ARN", secret.arn)
+                .put("Name", secret.name)
+                .put("CreatedDate", secret.createdDate)
+                .put("LastChangedDate", secret.lastChangedDate);
+        if (secret.description != null) {
+            node.put("Description", secret.description);
+        }
+        node.putObject("SecretVersionsToStages").putArray(secret.versionId).add("AWSCURRENT");
+    }
+
+    private static String text(JsonNode body, String field) {
+        return body.hasNonNull(field) ? body.get(field).asText() : null;
+    }
+
+    private FakeAwsServer.Response ok(ObjectNode response) throws Exception {
+        return FakeAwsServer.Response.of(200, JSON, objectMapper.writeValueAsBytes(response));
+    }
+
+    private FakeAwsServer.Response notFound() {
+        return error("ResourceNotFoundException", "Secrets Manager can't find the specified secret.");
+    }
+
+    private FakeAwsServer.Response error(String type, String message) {
+        return FakeAwsServer.Response.of(400, JSON, objectMapper.createObjectNode()
+                .put("__type", type)
+                .put("message", message)
+                .toString());
+    }
+
+    private static class StoredSecret {
+
+        private final String name;
+        private final String arn;
+        private final double createdDate;
+        private final String secretString;
+        private final String secretBinary;
+        private final String versionId = UUID.randomUUID().toString();
+        private final double lastChangedDate = System.currentTimeMillis() / 1000.0;
+        private volatile String description;
+
+        StoredSecret(String name, String description, String secretString, String secretBinary) {
+            this(name, ARN_PREFIX + name + "-" + UUID.randomUUID().toString().substring(0, 6),
+                    System.currentTimeMillis() / 1000.0, description, secretString, secretBinary);
+        }
+
+        private StoredSecret(String name, String arn, double createdDate, String description,
+                             String secretString, String secretBinary) {
+            this.name = name;
+            this.arn = arn;
+            this.createdDate = createdDate;
+            this.description = description;
+            this.secretString = secretString;
+            this.secretBinary = secretBinary;
+        }
+
+        /**
+         * A new current version with the given value, keeping the secret's identity.
+         */
+        StoredSecret withValue(String secretString, String secretBinary) {
+            return new StoredSecret(name, arn, createdDate, description, secretString, secretBinary);
+        }
+    }
+}
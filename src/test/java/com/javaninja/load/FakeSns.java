@@ -0,0 +1,111 @@
+package com.javaninja.load;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SNS query protocol: CreateTopic, ListTopics, GetTopicAttributes, Publish and PublishBatch.
+ * Published messages are counted per topic rather than delivered. Unlike buckets and queues,
+ * topics must exist before use, because the application resolves topic names through ListTopics
+ * at startup; create them with {@link #createTopic(String)}.
+ */
+public class FakeSns implements FakeAwsServer.Service {
+
+    private static final String XML = "text/xml";
+    private static final String NAMESPACE = "http://sns.amazonaws.com/doc/2010-03-31/";
+    private static final String ARN_PREFIX = "arn:aws:sns:us-east-1:000000000000:";
+
+    private final Map<String, AtomicLong> topics = new ConcurrentSkipListMap<>();
+
+    public String createTopic(String name) {
+        String arn = ARN_PREFIX + name;
+        topics.computeIfAbsent(arn, ignored -> new AtomicLong());
+        return arn;
+    }
+
+    public long getPublishedCount(String topicArn) {
+        AtomicLong published = topics.get(topicArn);
+        return published == null ? 0 : published.get();
+    }
+
+    @Override
+    public FakeAwsServer.Response handle(FakeAwsServer.Request request) {
+        Map<String, String> form = FakeAwsServer.Request.parseForm(request.bodyAsString());
+        String action = form.getOrDefault("Action", "");
+
+        switch (action) {
+            case "CreateTopic":
+                return result(action, "<TopicArn>" + createTopic(form.get("Name")) + "</TopicArn>");
+            case "ListTopics": {
+                StringBuilder members = new StringBuilder("<Topics>");
+                topics.keySet().forEach(arn -> members.append("<member><TopicArn>").append(arn).append("</TopicArn></member>"));
+                return result(action, members.append("</Topics>").toString());
+            }
+            case "GetTopicAttributes": {
+                String arn = form.get("TopicArn");
+                AtomicLong published = topics.get(arn);
+                if (published == null) {
+                    return notFound();
+                }
+                return result(action, "<Attributes>"
+                        + entry("TopicArn", arn)
+                        + entry("DisplayName", arn.substring(arn.lastIndexOf(':') + 1))
+                        + entry("SubscriptionsConfirmed", "0")
+                        + entry("SubscriptionsPending", "0")
+                        + "</Attributes>");
+            }
+            case "Publish": {
+                AtomicLong published = topics.get(form.get("TopicArn"));
+                if (published == null) {
+                    return notFound();
+                }
+                published.incrementAndGet();
+                return result(action, "<MessageId>" + UUID.randomUUID() + "</MessageId>");
+            }
+            case "PublishBatch": {
+                AtomicLong published = topics.get(form.get("TopicArn"));
+                if (published == null) {
+                    return notFound();
+                }
+                StringBuilder successful = new StringBuilder("<Successful>");
+                for (int i = 1; form.containsKey("PublishBatchRequestEntries.member." + i + ".Id"); i++) {
+                    published.incrementAndGet();
+                    successful.append("<member><Id>")
+                            .append(FakeAwsServer.escapeXml(form.get("PublishBatchRequestEntries.member." + i + ".Id")))
+                            .append("</Id><MessageId>").append(UUID.randomUUID()).append("</MessageId></member>");
+                }
+                return result(action, successful.append("</Successful><Failed/>").toString());
+            }
+            default:
+                return error(400, "InvalidAction", "The action " + action + " is not valid for this endpoint.");
+        }
+    }
+
+    @Override
+    public FakeAwsServer.Response throttled() {
+        return error(400, "Throttling", "Rate exceeded");
+    }
+
+    private static FakeAwsServer.Response result(String action, String content) {
+        return FakeAwsServer.Response.of(200, XML, "<" + action + "Response xmlns=\"" + NAMESPACE + "\">"
+                + "<" + action + "Result>" + content + "</" + action + "Result>"
+                + "<ResponseMetadata><RequestId>" + FakeAwsServer.requestId() + "</RequestId></ResponseMetadata>"
+                + "</" + action + "Response>");
+    }
+
+    private static String entry(String key, String value) {
+        return "<entry><key>" + key + "</key><value>" + FakeAwsServer.escapeXml(value) + "</value></entry>";
+    }
+
+    private static FakeAwsServer.Response notFound() {
+        return error(404, "NotFound", "Topic does not exist");
+    }
+
+    private static FakeAwsServer.Response error(int status, String code, String message) {
+        return FakeAwsServer.Response.of(status, XML, "<ErrorResponse xmlns=\"" + NAMESPACE + "\">"
+                + "<Error><Type>Sender</Type><Code>" + code + "</Code><Message>" + FakeAwsServer.escapeXml(message) + "</Message></Error>"
+                + "<RequestId>" + FakeAwsServer.requestId() + "</RequestId></ErrorResponse>");
+    }
+}
@@ -0,0 +1,282 @@
+package com.javaninja.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SQS JSON protocol: CreateQueue, GetQueueUrl, GetQueueAttributes, SendMessage(Batch),
+ * ReceiveMessage with long polling and visibility timeouts, and DeleteMessage(Batch). Responses
+ * carry the body and attribute MD5 digests the SDK checks on every send and receive.
+ */
+public class FakeSqs implements FakeAwsServer.Service {
+
+    private static final String JSON = "application/x-amz-json-1.0";
+    private static final String ACCOUNT = "000000000000";
+    private static final int DEFAULT_VISIBILITY_TIMEOUT = 30;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, FakeQueue> queues = new ConcurrentHashMap<>();
+
+    public int getMessageCount(String queueName) {
+        FakeQueue queue = queues.get(queueName);
+        return queue == null ? 0 : queue.visible.size() + queue.inFlight.size();
+    }
+
+    public int getSentCount(String queueName) {
+        FakeQueue queue = queues.get(queueName);
+        return queue == null ? 0 : queue.sent.get();
+    }
+
+    @Override
+    public FakeAwsServer.Response handle(FakeAwsServer.Request request) throws Exception {
+        JsonNode body = objectMapper.readTree(request.body().length == 0 ? "{}".getBytes(StandardCharsets.UTF_8) : request.body());
+        ObjectNode response = objectMapper.createObjectNode();
+
+        switch (request.target()) {
+            case "CreateQueue", "GetQueueUrl" -> {
+                String name = body.path("QueueName").asText();
+                queues.computeIfAbsent(name, FakeQueue::new);
+                response.put("QueueUrl", "http://" + request.header("Host") + "/" + ACCOUNT + "/" + name);
+            }
+            case "GetQueueAttributes" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                response.putObject("Attributes")
+                        .put("ApproximateNumberOfMessages", String.valueOf(queue.visible.size()))
+                        .put("ApproximateNumberOfMessagesNotVisible", String.valueOf(queue.inFlight.size()))
+                        .put("QueueArn", "arn:aws:sqs:us-east-1:" + ACCOUNT + ":" + queue.name);
+            }
+            case "SendMessage" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                send(queue, body, response);
+            }
+            case "SendMessageBatch" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                ArrayNode successful = response.putArray("Successful");
+                response.putArray("Failed");
+                for (JsonNode entry : body.path("Entries")) {
+                    ObjectNode result = successful.addObject().put("Id", entry.path("Id").asText());
+                    send(queue, entry, result);
+                }
+            }
+            case "ReceiveMessage" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                receive(queue, body, response.putArray("Messages"));
+            }
+            case "DeleteMessage" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                queue.inFlight.remove(body.path("ReceiptHandle").asText());
+            }
+            case "DeleteMessageBatch" -> {
+                FakeQueue queue = queue(body);
+                if (queue == null) {
+                    return nonExistentQueue();
+                }
+                ArrayNode successful = response.putArray("Successful");
+                response.putArray("Failed");
+                for (JsonNode entry : body.path("Entries")) {
+                    queue.inFlight.remove(entry.path("ReceiptHandle").asText());
+                    successful.addObject().put("Id", entry.path("Id").asText());
+                }
+            }
+            default -> {
+                return error(400, "UnsupportedOperation", request.target() + " is not supported");
+            }
+        }
+        return FakeAwsServer.Response.of(200, JSON, objectMapper.writeValueAsBytes(response));
+    }
+
+    @Override
+    public FakeAwsServer.Response throttled() {
+        return error(400, "ThrottlingException", "Rate exceeded");
+    }
+
+    private FakeQueue queue(JsonNode body) {
+        String url = body.path("QueueUrl").asText();
+        return queues.get(url.substring(url.lastIndexOf('/') + 1));
+    }
+
+    private void send(FakeQueue queue, JsonNode entry, ObjectNode result) {
+        StoredMessage message = new StoredMessage(entry.path("MessageBody").asText(),
+                entry.path("MessageAttributes"), entry.path("MessageSystemAttributes"));
+        queue.visible.add(message);
+        queue.sent.incrementAndGet();
+
+        result.put("MessageId", message.messageId)
+                .put("MD5OfMessageBody", message.bodyMd5);
+        if (message.attributesMd5 != null) {
+            result.put("MD5OfMessageAttributes", message.attributesMd5);
+        }
+        if (!message.systemAttributes.isEmpty()) {
+            result.put("MD5OfMessageSystemAttributes", attributesMd5(message.systemAttributes));
+        }
+    }
+
+    private void receive(FakeQueue queue, JsonNode body, ArrayNode messages) throws InterruptedException {
+        int maxMessages = body.path("MaxNumberOfMessages").asInt(1);
+        int visibilityTimeout = body.path("VisibilityTimeout").asInt(DEFAULT_VISIBILITY_TIMEOUT);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(body.path("WaitTimeSeconds").asInt(0));
+        queue.releaseExpired();
+
+        List<StoredMessage> received = new ArrayList<>(maxMessages);
+        StoredMessage first = queue.visible.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (first != null) {
+            received.add(first);
+            queue.visible.drainTo(received, maxMessages - 1);
+        }
+
+        for (StoredMessage message : received) {
+            message.receiveCount++;
+            String receiptHandle = UUID.randomUUID().toString();
+            if (visibilityTimeout == 0) {
+                queue.visible.addFirst(message);
+            } else {
+                message.visibleAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(visibilityTimeout);
+                queue.inFlight.put(receiptHandle, message);
+            }
+
+            ObjectNode node = messages.addObject()
+                    .put("MessageId", message.messageId)
+                    .put("ReceiptHandle", receiptHandle)
+                    .put("Body", message.body)
+                    .put("MD5OfBody", message.bodyMd5);
+            node.putObject("Attributes")
+                    .put("ApproximateReceiveCount", String.valueOf(message.receiveCount))
+                    .put("SentTimestamp", String.valueOf(message.sentTimestamp));
+            if (message.attributesMd5 != null) {
+                node.set("MessageAttributes", objectMapper.valueToTree(message.attributes));
+                node.put("MD5OfMessageAttributes", message.attributesMd5);
+            }
+        }
+    }
+
+    private FakeAwsServer.Response nonExistentQueue() {
+        return error(400, "QueueDoesNotExist", "The specified queue does not exist.");
+    }
+
+    private FakeAwsServer.Response error(int status, String type, String message) {
+        ObjectNode error = objectMapper.createObjectNode()
+                .put("__type", "com.amazonaws.sqs#" + type)
+                .put("message", message);
+        return FakeAwsServer.Response.of(status, JSON, error.toString());
+    }
+
+    /**
+     * The SQS message attribute digest: for each attribute in name order, the length-prefixed
+     * name and data type, a transport byte (1 for strings and numbers, 2 for binary) and the
+     * length-prefixed value.
+     */
+    static String attributesMd5(Map<String, JsonNode> attributes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Map.Entry<String, JsonNode> attribute : new TreeMap<>(attributes).entrySet()) {
+            JsonNode value = attribute.getValue();
+            writeLengthPrefixed(bytes, attribute.getKey().getBytes(StandardCharsets.UTF_8));
+            writeLengthPrefixed(bytes, value.path("DataType").asText().getBytes(StandardCharsets.UTF_8));
+            if (value.hasNonNull("BinaryValue")) {
+                bytes.write(2);
+                writeLengthPrefixed(bytes, Base64.getDecoder().decode(value.get("BinaryValue").asText()));
+            } else {
+                bytes.write(1);
+                writeLengthPrefixed(bytes, value.path("StringValue").asText().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes.toByteArray()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeLengthPrefixed(ByteArrayOutputStream bytes, byte[] value) {
+        bytes.writeBytes(ByteBuffer.allocate(4).putInt(value.length).array());
+        bytes.writeBytes(value);
+    }
+
+    private static Map<String, JsonNode> fields(JsonNode node) {
+        Map<String, JsonNode> fields = new TreeMap<>();
+        node.fields().forEachRemaining(field -> fields.put(field.getKey(), field.getValue()));
+        return fields;
+    }
+
+    private static class FakeQueue {
+
+        private final String name;
+        private final LinkedBlockingDeque<StoredMessage> visible = new LinkedBlockingDeque<>();
+        private final Map<String, StoredMessage> inFlight = new ConcurrentHashMap<>();
+        private final AtomicInteger sent = new AtomicInteger();
+
+        FakeQueue(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns received but undeleted messages whose visibility timeout has passed.
+         */
+        void releaseExpired() {
+            long now = System.nanoTime();
+            Iterator<StoredMessage> iterator = inFlight.values().iterator();
+            while (iterator.hasNext()) {
+                StoredMessage message = iterator.next();
+                if (now - message.visibleAt >= 0) {
+                    iterator.remove();
+                    visible.add(message);
+                }
+            }
+        }
+    }
+
+    private static class StoredMessage {
+
+        private final String messageId = UUID.randomUUID().toString();
+        private final long sentTimestamp = System.currentTimeMillis();
+        private final String body;
+        private final String bodyMd5;
+        private final Map<String, JsonNode> attributes;
+        private final Map<String, JsonNode> systemAttributes;
+        private final String attributesMd5;
+        private volatile int receiveCount;
+        private volatile long visibleAt;
+
+        StoredMessage(String body, JsonNode attributes, JsonNode systemAttributes) {
+            this.body = body;
+            this.bodyMd5 = FakeAwsServer.md5Hex(body.getBytes(StandardCharsets.UTF_8));
+            this.attributes = fields(attributes);
+            this.systemAttributes = fields(systemAttributes);
+            this.attributesMd5 = this.attributes.isEmpty() ? null : attributesMd5(this.attributes);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.javaninja.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop HTTP load generator. Requests are issued on a fixed schedule at the target rate
+ * whether or not earlier ones have completed, and each latency is measured from the request's
+ * scheduled start rather than from when it was actually sent. A closed loop, or timing from the
+ * send, would stop measuring exactly when the server stalls ("coordinated omission") and report
+ * latencies far better than callers would see.
+ */
+public class LoadGenerator implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final HttpClient httpClient;
+    private final int maxInFlight;
+
+    /**
+     * @param maxInFlight cap on outstanding requests; once reached, sending waits for a response,
+     *                    and the wait counts toward the latency of the delayed requests
+     */
+    public LoadGenerator(int maxInFlight) {
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends {@code requestsPerSecond * duration} requests evenly spaced over {@code duration} and
+     * waits for the responses. Responses other than 2xx count as errors.
+     *
+     * @param requests builds the request for each sequence number, so bodies and keys can vary
+     */
+    public LoadReport run(String name, double requestsPerSecond, Duration duration,
+                          LongFunction<HttpRequest> requests) throws InterruptedException {
+        long total = (long) (requestsPerSecond * duration.toNanos() / 1e9);
+        double intervalNanos = 1e9 / requestsPerSecond;
+        Histogram latencies = new ConcurrentHistogram(3);
+        Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            httpClient.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                            errors.computeIfAbsent(cause.getClass().getSimpleName(), key -> new LongAdder()).increment();
+                        } else if (response.statusCode() / 100 != 2) {
+                            errors.computeIfAbsent(String.valueOf(response.statusCode()), key -> new LongAdder()).increment();
+                        }
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(name + ": requests still in flight a minute after the last was sent");
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Long> errorCounts = new ConcurrentHashMap<>();
+        errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+        return new LoadReport(name, requestsPerSecond, elapsed, latencies.copy(), errorCounts);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.javaninja.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of one {@link LoadGenerator} run. Latencies are in microseconds and measured from each
+ * request's scheduled start, so time spent queued behind a slow server is included.
+ */
+public class LoadReport {
+
+    private final String name;
+    private final double targetRate;
+    private final Duration elapsed;
+    private final Histogram latencies;
+    private final Map<String, Long> errors;
+
+    LoadReport(String name, double targetRate, Duration elapsed, Histogram latencies, Map<String, Long> errors) {
+        this.name = name;
+        this.targetRate = targetRate;
+        this.elapsed = elapsed;
+        this.latencies = latencies;
+        this.errors = Collections.unmodifiableMap(new TreeMap<>(errors));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequestCount() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * Completed requests per second, successful or not.
+     */
+    public double getThroughput() {
+        return getRequestCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Failed requests keyed by HTTP status, or by exception type when no response arrived.
+     */
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+
+    public Duration getLatency(double percentile) {
+        return Duration.ofNanos(latencies.getValueAtPercentile(percentile) * 1_000);
+    }
+
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(latencies.getMaxValue() * 1_000);
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d requests in %.2fs, %.1f/s (target %.1f/s), %d errors %s%n"
+                        + "  latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f",
+                name, getRequestCount(), elapsed.toNanos() / 1e9, getThroughput(), targetRate,
+                getErrorCount(), errors,
+                millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / 1_000.0);
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.javaninja.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SegmentedLog.
+ * Tests appends across segment boundaries, recovery after reopen and compaction.
+ */
+class SegmentedLogTest {
+
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldRollSegmentsAndReadBackInOrder() throws Exception {
+        try (SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES)) {
+            // Given
+            for (int i = 0; i < 20; i++) {
+                log.append(("record-" + i + "-padding-padding").getBytes(StandardCharsets.UTF_8));
+            }
+
+            // When
+            List<LogRecord> records = log.read(SegmentedLog.position(0, 0), 100);
+
+            // Then
+            assertThat(log.segmentCount()).isGreaterThan(1);
+            assertThat(records).hasSize(20);
+            assertThat(new String(records.get(19).getData(), StandardCharsets.UTF_8)).startsWith("record-19-");
+        }
+    }
+
+    @Test
+    void read_FromCheckpoint_ShouldResumeAfterReopen() throws Exception {
+        // Given
+        long checkpoint;
+        try (SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(("record-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            checkpoint = log.read(SegmentedLog.position(0, 0), 4).get(3).getNextPosition();
+        }
+
+        // When
+        try (SegmentedLog reopened = SegmentedLog.open(directory, SEGMENT_BYTES)) {
+            List<LogRecord> remaining = reopened.read(checkpoint, 100);
+            reopened.append("record-10".getBytes(StandardCharsets.UTF_8));
+
+            // Then
+            assertThat(remaining).hasSize(6);
+            assertThat(new String(remaining.get(0).getData(), StandardCharsets.UTF_8)).isEqualTo("record-4");
+            assertThat(reopened.read(checkpoint, 100)).hasSize(7);
+        }
+    }
+
+    @Test
+    void deleteSegmentsBefore_ShouldKeepActiveAndLaterSegments() throws Exception {
+        try (SegmentedLog log = SegmentedLog.open(directory, SEGMENT_BYTES)) {
+            // Given
+            for (int i = 0; i < 30; i++) {
+                log.append(("record-" + i + "-padding-padding").getBytes(StandardCharsets.UTF_8));
+            }
+            long end = log.endPosition();
+
+            // When
+            int deleted = log.deleteSegmentsBefore(end);
+
+            // Then
+            assertThat(deleted).isGreaterThan(0);
+            assertThat(log.segmentCount()).isEqualTo(1);
+            assertThat(log.read(end, 10)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.javaninja.repository;
+
+import com.javaninja.config.SessionStoreProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.serializer.support.SerializingConverter;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DynamoDbSessionRepository.
+ * Tests near-cache reads, write-behind coalescing, touch throttling and version conflicts.
+ */
+@ExtendWith(MockitoExtension.class)
+class DynamoDbSessionRepositoryTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    private DynamoDbSessionRepository sessionRepository;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = new DynamoDbSessionRepository(dynamoDbClient, "Sessions", new SessionStoreProperties());
+    }
+
+    @Test
+    void save_WithSeveralRequests_ShouldReadFromNearCacheAndCoalesceIntoOneUpdate() {
+        // Given
+        DynamoDbSession created = sessionRepository.createSession();
+        sessionRepository.save(created);
+
+        // When
+        DynamoDbSession first = sessionRepository.findById(created.getId());
+        first.setAttribute("cart", "item-1");
+        sessionRepository.save(first);
+        DynamoDbSession second = sessionRepository.findById(created.getId());
+        second.setAttribute("locale", "en");
+        sessionRepository.save(second);
+        sessionRepository.flush();
+
+        // Then
+        assertThat(second.<String>getAttribute("cart")).isEqualTo("item-1");
+        verify(dynamoDbClient).putItem(any(PutItemRequest.class));
+        verify(dynamoDbClient, never()).getItem(any(GetItemRequest.class));
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient).updateItem(captor.capture());
+        assertThat(captor.getValue().expressionAttributeNames()).containsValues("cart", "locale");
+        assertThat(captor.getValue().expressionAttributeValues().get(":expected").n()).isEqualTo("0");
+    }
+
+    @Test
+    void save_WhenOnlyTouchedWithinTouchInterval_ShouldNotWrite() {
+        // Given
+        DynamoDbSession created = sessionRepository.createSession();
+        sessionRepository.save(created);
+
+        // When
+        DynamoDbSession session = sessionRepository.findById(created.getId());
+        session.setLastAccessedTime(Instant.now());
+        sessionRepository.save(session);
+        sessionRepository.flush();
+
+        // Then
+        verify(dynamoDbClient, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void flush_WhenVersionConflicts_ShouldReloadAndRetryOnLatestVersion() {
+        // Given
+        DynamoDbSession created = sessionRepository.createSession();
+        sessionRepository.save(created);
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("The conditional request failed").build())
+                .thenReturn(UpdateItemResponse.builder().build());
+        when(dynamoDbClient.getItem(any(GetItemRequest.class))).thenReturn(GetItemResponse.builder()
+                .item(item(created.getId(), 5, Map.of("theme", "dark")))
+                .build());
+
+        // When
+        DynamoDbSession session = sessionRepository.findById(created.getId());
+        session.setAttribute("cart", "item-1");
+        sessionRepository.save(session);
+        sessionRepository.flush();
+
+        // Then
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient, times(2)).updateItem(captor.capture());
+        assertThat(captor.getAllValues().get(1).expressionAttributeValues().get(":expected").n()).isEqualTo("5");
+        DynamoDbSession reloaded = sessionRepository.findById(created.getId());
+        assertThat(reloaded.getAttributeNames()).containsExactlyInAnyOrder("theme", "cart");
+    }
+
+    private static Map<String, AttributeValue> item(String id, long version, Map<String, String> attributes) {
+        SerializingConverter serializer = new SerializingConverter();
+        Map<String, AttributeValue> serialized = new HashMap<>();
+        attributes.forEach((name, value) -> serialized.put(name,
+                AttributeValue.builder().b(SdkBytes.fromByteArray(serializer.convert(value))).build()));
+        long now = System.currentTimeMillis();
+        return Map.of(
+                "sessionId", AttributeValue.builder().s(id).build(),
+                "version", AttributeValue.builder().n(Long.toString(version)).build(),
+                "creationTime", AttributeValue.builder().n(Long.toString(now)).build(),
+                "lastAccessedTime", AttributeValue.builder().n(Long.toString(now)).build(),
+                "maxInactiveInterval", AttributeValue.builder().n("1800").build(),
+                "attributes", AttributeValue.builder().m(serialized).build());
+    }
+}
@@ -0,0 +1,180 @@
+package com.javaninja.repository;
+
+import com.javaninja.config.DynamoDbProperties;
+import com.javaninja.model.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserRepository.
+ * Tests BatchGetItem/BatchWriteItem chunking, retries of unprocessed keys and items and
+ * collapsing of duplicate keys in a batch write.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserRepositoryTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @Mock
+    private DynamoDbEnhancedClient enhancedClient;
+
+    private ExecutorService executor;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        DynamoDbProperties properties = new DynamoDbProperties();
+        properties.setTables(Map.of("users", "Users"));
+        properties.getBatch().setMaxAttempts(3);
+        properties.getBatch().setInitialBackoff(Duration.ofMillis(1));
+        properties.getBatch().setMaxBackoff(Duration.ofMillis(5));
+
+        executor = Executors.newFixedThreadPool(4);
+        userRepository = new UserRepository(dynamoDbClient, enhancedClient, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findAllById_WithOneHundredFiftyIds_ShouldIssueTwoBatchGetCalls() {
+        // Given
+        List<String> ids = IntStream.range(0, 150).mapToObj(i -> "user-" + i).collect(Collectors.toList());
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(invocation -> {
+            BatchGetItemRequest request = invocation.getArgument(0);
+            return BatchGetItemResponse.builder()
+                    .responses(Map.of("Users", request.requestItems().get("Users").keys()))
+                    .build();
+        });
+
+        // When
+        List<User> users = userRepository.findAllById(ids);
+
+        // Then
+        assertThat(users).hasSize(150);
+        assertThat(users).extracting(User::getUserId).containsExactlyInAnyOrderElementsOf(ids);
+        verify(dynamoDbClient, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void findAllById_WithUnprocessedKeys_ShouldRetryOnlyThoseKeys() {
+        // Given
+        Map<String, AttributeValue> first = key("user-1");
+        Map<String, AttributeValue> second = key("user-2");
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(BatchGetItemResponse.builder()
+                        .responses(Map.of("Users", List.of(first)))
+                        .unprocessedKeys(Map.of("Users", KeysAndAttributes.builder().keys(second).build()))
+                        .build())
+                .thenReturn(BatchGetItemResponse.builder()
+                        .responses(Map.of("Users", List.of(second)))
+                        .build());
+
+        // When
+        List<User> users = userRepository.findAllById(List.of("user-1", "user-2", "user-1"));
+
+        // Then
+        assertThat(users).extracting(User::getUserId).containsExactlyInAnyOrder("user-1", "user-2");
+        verify(dynamoDbClient).batchGetItem(argThat((BatchGetItemRequest request) ->
+                request.requestItems().get("Users").keys().equals(List.of(second))));
+    }
+
+    @Test
+    void saveAll_WithSixtyItems_ShouldWriteChunksOfTwentyFiveAndRetryUnprocessed() {
+        // Given
+        List<User> users = IntStream.range(0, 60)
+                .mapToObj(i -> new User("user-" + i, "user" + i + "@example.com", "User " + i))
+                .collect(Collectors.toList());
+        AtomicBoolean throttled = new AtomicBoolean();
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            List<WriteRequest> writes = request.requestItems().get("Users");
+            assertThat(writes.size()).isLessThanOrEqualTo(25);
+            if (writes.size() > 1 && throttled.compareAndSet(false, true)) {
+                return BatchWriteItemResponse.builder()
+                        .unprocessedItems(Map.of("Users", writes.subList(0, 1)))
+                        .build();
+            }
+            return BatchWriteItemResponse.builder().build();
+        });
+
+        // When
+        int saved = userRepository.saveAll(users);
+
+        // Then
+        assertThat(saved).isEqualTo(60);
+        verify(dynamoDbClient, times(4)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    void saveAll_WithDuplicateKeys_ShouldWriteLastItemPerKey() {
+        // Given
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(BatchWriteItemResponse.builder().build());
+        List<User> users = List.of(
+                new User("user-1", "old@example.com", "Old"),
+                new User("user-2", "b@example.com", "B"),
+                new User("user-1", "new@example.com", "New"));
+
+        // When
+        int saved = userRepository.saveAll(users);
+
+        // Then
+        assertThat(saved).isEqualTo(2);
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDbClient).batchWriteItem(captor.capture());
+        List<WriteRequest> writes = captor.getValue().requestItems().get("Users");
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(0).putRequest().item().get("userId").s()).isEqualTo("user-1");
+        assertThat(writes.get(0).putRequest().item().get("email").s()).isEqualTo("new@example.com");
+    }
+
+    @Test
+    void saveAll_WhenItemsStayUnprocessed_ShouldFailAfterMaxAttempts() {
+        // Given
+        when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            return BatchWriteItemResponse.builder().unprocessedItems(request.requestItems()).build();
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> userRepository.saveAll(List.of(new User("user-1", "a@example.com", "A"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("after 3 attempts");
+        verify(dynamoDbClient, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    private static Map<String, AttributeValue> key(String userId) {
+        return Map.of("userId", AttributeValue.builder().s(userId).build());
+    }
+}
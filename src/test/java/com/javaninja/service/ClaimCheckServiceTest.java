@@ -0,0 +1,124 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.ClaimCheckProperties;
+import com.javaninja.model.MessagePayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClaimCheckService.
+ * Tests S3 offload of large message bodies, lazy consumer-side resolution and that only
+ * bodies offloaded for a single queue are deleted on acknowledge.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClaimCheckServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    private ClaimCheckService claimCheckService;
+
+    @BeforeEach
+    void setUp() {
+        ClaimCheckProperties properties = new ClaimCheckProperties();
+        properties.setEnabled(true);
+        properties.setBucketName("payload-bucket");
+        properties.setThreshold(DataSize.ofBytes(1024));
+
+        claimCheckService = new ClaimCheckService(s3Client, properties, new ObjectMapper());
+    }
+
+    @Test
+    void offload_WithSmallBody_ShouldReturnSamePayloadWithoutS3Call() {
+        // Given
+        MessagePayload payload = MessagePayload.of("small body");
+
+        // When
+        MessagePayload result = claimCheckService.offload(payload);
+
+        // Then
+        assertThat(result).isSameAs(payload);
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void offload_WithLargeBody_ShouldUploadAndReturnPointer() {
+        // Given
+        MessagePayload payload = MessagePayload.of("x".repeat(2048));
+
+        // When
+        MessagePayload result = claimCheckService.offload(payload);
+
+        // Then
+        assertThat(result.getAttribute(ClaimCheckService.CLAIM_CHECK_ATTRIBUTE)).isEqualTo(ClaimCheckService.CLAIM_CHECK_VERSION);
+        assertThat(result.getBody()).contains("payload-bucket").hasSizeLessThan(256);
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void resolve_WithQueuePointer_ShouldFetchLazilyAndDeleteOnAcknowledge() {
+        // Given
+        MessagePayload pointer = claimCheckService.offloadForQueue(MessagePayload.of("y".repeat(2048)));
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), "y".repeat(2048).getBytes()));
+
+        // When
+        ClaimCheckPayload resolved = claimCheckService.resolve(pointer);
+
+        // Then
+        verify(s3Client, never()).getObjectAsBytes(any(GetObjectRequest.class));
+        assertThat(resolved.isOffloaded()).isTrue();
+        assertThat(resolved.getBody()).hasSize(2048);
+        assertThat(resolved.getBody()).hasSize(2048);
+        verify(s3Client, times(1)).getObjectAsBytes(any(GetObjectRequest.class));
+
+        resolved.acknowledge();
+        verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    void resolve_WithSnsPointer_ShouldKeepObjectForOtherSubscribersAfterAcknowledge() {
+        // Given
+        MessagePayload pointer = claimCheckService.offload(MessagePayload.of("z".repeat(2048)));
+        when(s3Client.getObjectAsBytes(any(GetObjectRequest.class)))
+                .thenReturn(ResponseBytes.fromByteArray(GetObjectResponse.builder().build(), "z".repeat(2048).getBytes()));
+        ClaimCheckPayload firstSubscriber = claimCheckService.resolve(pointer);
+        ClaimCheckPayload secondSubscriber = claimCheckService.resolve(pointer);
+
+        // When
+        firstSubscriber.getBody();
+        firstSubscriber.acknowledge();
+
+        // Then
+        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
+        assertThat(secondSubscriber.getBody()).hasSize(2048);
+    }
+
+    @Test
+    void resolve_WithInlineBody_ShouldNotTouchS3() {
+        // When
+        ClaimCheckPayload resolved = claimCheckService.resolve(MessagePayload.of("inline"));
+        resolved.acknowledge();
+
+        // Then
+        assertThat(resolved.isOffloaded()).isFalse();
+        assertThat(resolved.getBody()).isEqualTo("inline");
+        verifyNoInteractions(s3Client);
+    }
+}
@@ -0,0 +1,191 @@
+package com.javaninja.service;
+
+import com.javaninja.config.CloudWatchMetricsProperties;
+import com.javaninja.support.AwsMetricsInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchClient;
+import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
+import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataRequest;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CloudWatchMetricPublisher.
+ * Tests local aggregation, request packing, dropping when limits are reached and that counters
+ * from the meter registry are published as their increment per interval.
+ */
+@ExtendWith(MockitoExtension.class)
+class CloudWatchMetricPublisherTest {
+
+    @Mock
+    private CloudWatchClient cloudWatchClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CloudWatchMetricsProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CloudWatchMetricsProperties();
+        properties.setEnabled(true);
+        properties.setNamespace("Test");
+        properties.setDimensions(Map.of("Application", "poc"));
+        properties.setThreads(1);
+        // Long enough that no scheduled flush splits a test; shutdown flushes instead
+        properties.setInterval(Duration.ofDays(1));
+    }
+
+    @Test
+    void record_ShouldPublishOneStatisticSetPerSeries() throws InterruptedException {
+        // Given
+        CloudWatchMetricPublisher publisher = startPublisher();
+        publisher.record("Latency", 10, StandardUnit.MILLISECONDS, Map.of("Operation", "Get"));
+        publisher.record("Latency", 30, StandardUnit.MILLISECONDS, Map.of("Operation", "Get"));
+        publisher.record("Latency", 20, StandardUnit.MILLISECONDS, Map.of("Operation", "Get"));
+
+        // When
+        publisher.shutdown();
+
+        // Then
+        List<MetricDatum> datums = publishedDatums(1);
+        assertThat(datums).hasSize(1);
+        MetricDatum datum = datums.get(0);
+        assertThat(datum.metricName()).isEqualTo("Latency");
+        assertThat(datum.dimensions()).extracting("name").containsExactly("Application", "Operation");
+        assertThat(datum.statisticValues().sampleCount()).isEqualTo(3.0);
+        assertThat(datum.statisticValues().sum()).isEqualTo(60.0);
+        assertThat(datum.statisticValues().minimum()).isEqualTo(10.0);
+        assertThat(datum.statisticValues().maximum()).isEqualTo(30.0);
+    }
+
+    @Test
+    void recordDistribution_ShouldSplitLargeHistogramsAndPackRequests() throws InterruptedException {
+        // Given
+        properties.setMaxDatumsPerRequest(2);
+        CloudWatchMetricPublisher publisher = startPublisher();
+        for (int i = 1; i <= 1000; i++) {
+            publisher.recordDistribution("PayloadSize", i, StandardUnit.BYTES, Map.of());
+            publisher.recordDistribution("PayloadSize", i, StandardUnit.BYTES, Map.of());
+        }
+
+        // When
+        publisher.shutdown();
+
+        // Then
+        ArgumentCaptor<PutMetricDataRequest> captor = ArgumentCaptor.forClass(PutMetricDataRequest.class);
+        verify(cloudWatchClient, atLeast(2)).putMetricData(captor.capture());
+        List<MetricDatum> datums = captor.getAllValues().stream()
+                .peek(request -> assertThat(request.metricData()).hasSizeLessThanOrEqualTo(2))
+                .flatMap(request -> request.metricData().stream())
+                .toList();
+        assertThat(datums).allSatisfy(datum ->
+                assertThat(datum.values()).hasSizeLessThanOrEqualTo(CloudWatchMetricPublisher.MAX_VALUES_PER_DATUM));
+        double total = datums.stream().flatMap(datum -> datum.counts().stream()).mapToDouble(Double::doubleValue).sum();
+        assertThat(total).isEqualTo(2000.0);
+    }
+
+    @Test
+    void record_WhenMaxSeriesReached_ShouldDropNewSeries() throws InterruptedException {
+        // Given
+        properties.setMaxSeries(1);
+        CloudWatchMetricPublisher publisher = startPublisher();
+
+        // When
+        boolean first = publisher.increment("Requests", Map.of("Queue", "a"));
+        boolean existing = publisher.increment("Requests", Map.of("Queue", "a"));
+        boolean dropped = publisher.increment("Requests", Map.of("Queue", "b"));
+        publisher.shutdown();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(existing).isTrue();
+        assertThat(dropped).isFalse();
+        assertThat(publisher.getStats()).containsEntry("droppedValues", 1L);
+        assertThat(publishedDatums(1)).hasSize(1);
+    }
+
+    @Test
+    void flush_WithRegistryCounter_ShouldPublishOnlyTheIncrementPerInterval() throws InterruptedException {
+        // Given
+        Counter counter = Counter.builder("aws.client.retries").tag("service", "S3").register(meterRegistry);
+        meterRegistry.counter("other.requests").increment();
+        CloudWatchMetricPublisher publisher = startPublisher();
+        counter.increment(3);
+        publisher.flush();
+        counter.increment(2);
+
+        // When
+        publisher.shutdown();
+
+        // Then
+        ArgumentCaptor<PutMetricDataRequest> captor = ArgumentCaptor.forClass(PutMetricDataRequest.class);
+        verify(cloudWatchClient, times(2)).putMetricData(captor.capture());
+        List<MetricDatum> retries = captor.getAllValues().stream()
+                .flatMap(request -> request.metricData().stream())
+                .filter(datum -> datum.metricName().equals("aws.client.retries"))
+                .toList();
+        assertThat(retries).extracting(datum -> datum.statisticValues().sum()).containsExactly(3.0, 2.0);
+        assertThat(retries.get(0).dimensions()).extracting("name").contains("service");
+        assertThat(captor.getAllValues()).flatExtracting(PutMetricDataRequest::metricData)
+                .extracting(MetricDatum::metricName)
+                .doesNotContain("other.requests");
+    }
+
+    @Test
+    void getStats_ShouldBeRegisteredAsMeters() throws InterruptedException {
+        // Given
+        CloudWatchMetricPublisher publisher = startPublisher();
+
+        // When
+        publisher.increment("Requests", Map.of());
+        publisher.shutdown();
+
+        // Then
+        assertThat(meterRegistry.get("cloudwatch.publisher.values").tag("outcome", "recorded").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cloudwatch.publisher.datums").tag("outcome", "published").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void bucket_ShouldStayWithinPrecision() {
+        // Given
+        CloudWatchMetricPublisher publisher = newPublisher();
+
+        // When & Then
+        for (double value : new double[] {0.5, 3, 42, 1234.5, 987654}) {
+            assertThat(Math.abs(publisher.bucket(value) - value) / value).isLessThanOrEqualTo(0.01);
+        }
+        assertThat(publisher.bucket(0)).isZero();
+    }
+
+    private CloudWatchMetricPublisher startPublisher() {
+        CloudWatchMetricPublisher publisher = newPublisher();
+        publisher.start();
+        return publisher;
+    }
+
+    private CloudWatchMetricPublisher newPublisher() {
+        return new CloudWatchMetricPublisher(cloudWatchClient, new AwsMetricsInterceptor(meterRegistry), meterRegistry, properties);
+    }
+
+    private List<MetricDatum> publishedDatums(int requests) {
+        ArgumentCaptor<PutMetricDataRequest> captor = ArgumentCaptor.forClass(PutMetricDataRequest.class);
+        verify(cloudWatchClient, times(requests)).putMetricData(captor.capture());
+        assertThat(captor.getValue().namespace()).isEqualTo("Test");
+        return captor.getValue().metricData();
+    }
+}
@@ -0,0 +1,203 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SchedulerProperties;
+import com.javaninja.model.MessagePayload;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DelayedMessageScheduler.
+ * Tests that the journal survives a restart: pending entries are replayed, handed-off and
+ * cancelled ones are not sent again, failed hand-offs are retried after the retry delay and
+ * compaction keeps pending entries while dropping finished ones.
+ */
+@ExtendWith(MockitoExtension.class)
+class DelayedMessageSchedulerTest {
+
+    private static final String QUEUE = "orders";
+
+    @Mock
+    private SqsTemplate sqsTemplate;
+
+    @TempDir
+    Path directory;
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    private SchedulerProperties properties;
+    private DelayedMessageScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new SchedulerProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setTick(Duration.ofMillis(20));
+        properties.setRetryDelay(Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scheduler.stop();
+    }
+
+    @Test
+    void start_AfterRestart_ShouldReplayPendingEntry() throws Exception {
+        // Given
+        scheduler = start();
+        String id = scheduler.schedule(QUEUE, MessagePayload.of("order reminder"), Instant.now().plus(Duration.ofHours(1)));
+
+        // When
+        scheduler.stop();
+        scheduler = start();
+
+        // Then
+        assertThat(scheduler.getPendingCount()).isEqualTo(1);
+        assertThat(scheduler.cancel(id)).isTrue();
+        verifyNoInteractions(sqsTemplate);
+    }
+
+    @Test
+    void start_AfterCancel_ShouldNotReplayCancelledEntry() throws Exception {
+        // Given
+        scheduler = start();
+        String id = scheduler.schedule(QUEUE, MessagePayload.of("order reminder"), Instant.now().plus(Duration.ofHours(1)));
+        scheduler.cancel(id);
+
+        // When
+        scheduler.stop();
+        scheduler = start();
+
+        // Then
+        assertThat(scheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void handOff_ThenRestart_ShouldNotResend() throws Exception {
+        // Given
+        recordSends();
+        scheduler = start();
+        scheduler.schedule(QUEUE, MessagePayload.of("order reminder"), dueNow());
+        awaitPending(0);
+
+        // When
+        scheduler.stop();
+        scheduler = start();
+        Thread.sleep(200);
+
+        // Then
+        assertThat(scheduler.getPendingCount()).isZero();
+        assertThat(sent).containsExactly("order reminder");
+    }
+
+    @Test
+    void handOff_WhenSendManyFails_ShouldRetryAfterRetryDelay() throws Exception {
+        // Given
+        List<Long> attempts = new CopyOnWriteArrayList<>();
+        when(sqsTemplate.sendMany(eq(QUEUE), any())).thenAnswer(invocation -> {
+            attempts.add(System.nanoTime());
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("Throttled");
+            }
+            return null;
+        });
+        scheduler = start();
+
+        // When
+        scheduler.schedule(QUEUE, MessagePayload.of("order reminder"), dueNow());
+        awaitPending(0);
+
+        // Then
+        assertThat(attempts).hasSize(2);
+        // The retry is due retry-delay after the failure, give or take one tick
+        assertThat(Duration.ofNanos(attempts.get(1) - attempts.get(0)))
+                .isGreaterThanOrEqualTo(properties.getRetryDelay().minus(properties.getTick()));
+    }
+
+    @Test
+    void start_WithManySegments_ShouldCompactKeepingOnlyPendingEntries() throws Exception {
+        // Given
+        recordSends();
+        properties.setSegmentSize(DataSize.ofBytes(512));
+        properties.setCompactionSegments(1);
+        scheduler = start();
+        Instant later = Instant.now().plus(Duration.ofHours(1));
+        Instant now = dueNow();
+        for (int i = 0; i < 10; i++) {
+            scheduler.schedule(QUEUE, MessagePayload.of("pending " + i), later);
+            scheduler.schedule(QUEUE, MessagePayload.of("due " + i), now);
+        }
+        awaitPending(10);
+        scheduler.stop();
+        long segmentsBefore = segmentFiles();
+
+        // When
+        scheduler = start();
+        scheduler.stop();
+        long segmentsAfter = segmentFiles();
+        scheduler = start();
+        Thread.sleep(200);
+
+        // Then
+        assertThat(segmentsAfter).isLessThan(segmentsBefore);
+        assertThat(scheduler.getPendingCount()).isEqualTo(10);
+        assertThat(sent).hasSize(10).allMatch(body -> body.startsWith("due "));
+    }
+
+    // Delivery time whose hand-off to SQS is due immediately
+    private static Instant dueNow() {
+        return Instant.now().plusSeconds(DelayedMessageScheduler.MAX_NATIVE_DELAY_SECONDS);
+    }
+
+    private DelayedMessageScheduler start() throws IOException {
+        DelayedMessageScheduler started = new DelayedMessageScheduler(properties, sqsTemplate);
+        started.start();
+        return started;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordSends() {
+        when(sqsTemplate.sendMany(eq(QUEUE), any())).thenAnswer(invocation -> {
+            Collection<Message<String>> messages = invocation.getArgument(1);
+            messages.forEach(message -> sent.add(message.getPayload()));
+            return null;
+        });
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduler.getPendingCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(scheduler.getPendingCount()).isEqualTo(count);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.javaninja.service;
+
+import com.javaninja.config.RedriveProperties;
+import com.javaninja.model.dto.DlqRedriveRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DlqRedriveService.
+ * Tests that batches rejected by the filter do not end a redrive, that messages over the
+ * budget are made visible again, that an invalid body pattern is rejected up front and that
+ * finished jobs are dropped after their retention.
+ */
+@ExtendWith(MockitoExtension.class)
+class DlqRedriveServiceTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    private RedriveProperties properties;
+    private DlqRedriveService redriveService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RedriveProperties();
+        properties.setConcurrency(1);
+        properties.setMaxMessagesPerSecond(1000);
+        properties.setEmptyReceivesBeforeStop(1);
+        redriveService = new DlqRedriveService(sqsAsyncClient, properties);
+
+        lenient().when(sqsAsyncClient.getQueueUrl(any(Consumer.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                GetQueueUrlResponse.builder().queueUrl("https://sqs/" + apply(invocation, GetQueueUrlRequest.builder()).queueName()).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        redriveService.shutdown();
+    }
+
+    @Test
+    void startRedrive_WhenBatchIsFilteredOut_ShouldKeepReceiving() throws Exception {
+        // Given
+        when(sqsAsyncClient.receiveMessage(any(Consumer.class))).thenReturn(
+                received(message("1", "drop"), message("2", "drop")),
+                received(message("3", "keep"), message("4", "drop")),
+                received());
+        stubSuccessfulMoves();
+        DlqRedriveRequest request = new DlqRedriveRequest("orders-dlq", "orders");
+        request.setBodyContains("keep");
+
+        // When
+        RedriveJob job = awaitFinished(redriveService.startRedrive(request));
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(RedriveJob.Status.COMPLETED);
+        assertThat(job.getReceived()).isEqualTo(4);
+        assertThat(job.getSkipped()).isEqualTo(3);
+        assertThat(job.getMoved()).isEqualTo(1);
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(Consumer.class));
+    }
+
+    @Test
+    void startRedrive_WhenBudgetIsExhausted_ShouldReleaseRemainingMessages() throws Exception {
+        // Given
+        when(sqsAsyncClient.receiveMessage(any(Consumer.class))).thenReturn(
+                received(message("1", "a"), message("2", "b"), message("3", "c")));
+        stubSuccessfulMoves();
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(Consumer.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+        DlqRedriveRequest request = new DlqRedriveRequest("orders-dlq", "orders");
+        request.setMaxMessages(2L);
+
+        // When
+        RedriveJob job = awaitFinished(redriveService.startRedrive(request));
+
+        // Then
+        assertThat(job.getMoved()).isEqualTo(2);
+        verify(sqsAsyncClient, times(1)).receiveMessage(any(Consumer.class));
+
+        ArgumentCaptor<Consumer<ChangeMessageVisibilityBatchRequest.Builder>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(captor.capture());
+        ChangeMessageVisibilityBatchRequest.Builder builder = ChangeMessageVisibilityBatchRequest.builder();
+        captor.getValue().accept(builder);
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = builder.build().entries();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).receiptHandle()).isEqualTo("receipt-3");
+        assertThat(entries.get(0).visibilityTimeout()).isZero();
+    }
+
+    @Test
+    void startRedrive_WithInvalidBodyPattern_ShouldThrowWithoutStartingJob() {
+        // Given
+        DlqRedriveRequest request = new DlqRedriveRequest("orders-dlq", "orders");
+        request.setBodyPattern("order-[");
+
+        // When / Then
+        assertThatThrownBy(() -> redriveService.startRedrive(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bodyPattern");
+        assertThat(redriveService.getJobs()).isEmpty();
+        verifyNoInteractions(sqsAsyncClient);
+    }
+
+    @Test
+    void startRedrive_AfterJobRetention_ShouldDropFinishedJobs() throws Exception {
+        // Given
+        properties.setJobRetention(Duration.ZERO);
+        when(sqsAsyncClient.receiveMessage(any(Consumer.class))).thenReturn(received());
+        RedriveJob finished = awaitFinished(redriveService.startRedrive(new DlqRedriveRequest("orders-dlq", "orders")));
+
+        // When
+        RedriveJob next = redriveService.startRedrive(new DlqRedriveRequest("orders-dlq", "orders"));
+
+        // Then
+        assertThat(finished.getStatus()).isEqualTo(RedriveJob.Status.COMPLETED);
+        assertThat(redriveService.getJob(finished.getJobId())).isNull();
+        assertThat(redriveService.getJob(next.getJobId())).isSameAs(next);
+    }
+
+    private void stubSuccessfulMoves() {
+        when(sqsAsyncClient.sendMessageBatch(any(Consumer.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest sent = apply(invocation, SendMessageBatchRequest.builder());
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                    .successful(sent.entries().stream()
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .build());
+        });
+        when(sqsAsyncClient.deleteMessageBatch(any(Consumer.class))).thenAnswer(invocation -> {
+            DeleteMessageBatchRequest deleted = apply(invocation, DeleteMessageBatchRequest.builder());
+            return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                    .successful(deleted.entries().stream()
+                            .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .build());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, B extends SdkBuilder<B, R>> R apply(InvocationOnMock invocation, B builder) {
+        invocation.getArgument(0, Consumer.class).accept(builder);
+        return builder.build();
+    }
+
+    private static CompletableFuture<ReceiveMessageResponse> received(Message... messages) {
+        return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(messages).build());
+    }
+
+    private static Message message(String id, String body) {
+        return Message.builder().messageId(id).receiptHandle("receipt-" + id).body(body).build();
+    }
+
+    private static RedriveJob awaitFinished(RedriveJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getStatus() == RedriveJob.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+}
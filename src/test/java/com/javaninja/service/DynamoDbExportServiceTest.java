@@ -0,0 +1,215 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.DynamoDbProperties;
+import com.javaninja.config.ExportProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DynamoDbExportService.
+ * Tests per-segment multipart uploads of gzip NDJSON, resuming from checkpoints and discarding
+ * unfinished exports.
+ */
+@ExtendWith(MockitoExtension.class)
+class DynamoDbExportServiceTest {
+
+    private static final String BUCKET = "spring-cloud-aws-backups";
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @Mock
+    private S3Service s3Service;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DynamoDbExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        DynamoDbProperties dynamoDbProperties = new DynamoDbProperties();
+        dynamoDbProperties.setTables(Map.of("orders", "Orders"));
+        ExportProperties properties = new ExportProperties();
+        properties.setSegments(2);
+        properties.setThreads(2);
+        properties.setPartSize(DataSize.ofMegabytes(5));
+        exportService = new DynamoDbExportService(dynamoDbClient, s3Service, dynamoDbProperties, properties, objectMapper);
+
+        lenient().when(dynamoDbClient.describeTable(any(DescribeTableRequest.class))).thenReturn(DescribeTableResponse.builder()
+                .table(TableDescription.builder()
+                        .provisionedThroughput(ProvisionedThroughputDescription.builder().readCapacityUnits(100L).build())
+                        .build())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportService.shutdown();
+    }
+
+    @Test
+    void startExport_ShouldUploadOneGzipObjectPerSegment() throws Exception {
+        // Given
+        when(s3Service.getObject(eq(BUCKET), anyString())).thenThrow(NoSuchKeyException.builder().build());
+        when(s3Service.createMultipartUpload(eq(BUCKET), anyString(), anyString())).thenReturn("upload-1");
+        when(s3Service.uploadPart(eq(BUCKET), anyString(), eq("upload-1"), anyInt(), any(byte[].class)))
+                .thenAnswer(invocation -> CompletedPart.builder()
+                        .partNumber(invocation.getArgument(3))
+                        .eTag("etag-" + invocation.getArgument(3))
+                        .build());
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            return ScanResponse.builder()
+                    .items(order("o-" + request.segment() + "-a"), order("o-" + request.segment() + "-b"))
+                    .build();
+        });
+
+        // When
+        ExportJob job = exportService.startExport("orders", null, null);
+        awaitFinished(job);
+
+        // Then
+        assertThat(job.getState()).isEqualTo(ExportJob.COMPLETED);
+        assertThat(job.getItemCount()).isEqualTo(4);
+        ArgumentCaptor<byte[]> parts = ArgumentCaptor.forClass(byte[].class);
+        verify(s3Service, times(2)).uploadPart(eq(BUCKET), anyString(), eq("upload-1"), eq(1), parts.capture());
+        assertThat(gunzip(parts.getValue()).split("\n")).hasSize(2).allMatch(line -> line.contains("\"orderId\""));
+        verify(s3Service, times(2)).completeMultipartUpload(eq(BUCKET), anyString(), eq("upload-1"), anyList());
+    }
+
+    @Test
+    void startExport_WithExistingExportId_ShouldSkipFinishedSegmentsAndResumeFromCheckpoint() throws Exception {
+        // Given
+        ExportCheckpoint finished = new ExportCheckpoint("orders-1", "Orders", 0, 2, "exports/orders-1/segment-0000-of-0002.ndjson.gz");
+        finished.setItemCount(10);
+        finished.setCompleted(true);
+        ExportCheckpoint partial = new ExportCheckpoint("orders-1", "Orders", 1, 2, "exports/orders-1/segment-0001-of-0002.ndjson.gz");
+        partial.setUploadId("upload-2");
+        partial.setPartETags(List.of("etag-1"));
+        partial.setItemCount(5);
+        partial.setLastEvaluatedKey(Map.of("orderId", Map.of("S", "o-5")));
+        when(s3Service.getObject(BUCKET, "exports/orders-1/_checkpoints/segment-0000.json"))
+                .thenReturn(objectMapper.writeValueAsBytes(finished));
+        when(s3Service.getObject(BUCKET, "exports/orders-1/_checkpoints/segment-0001.json"))
+                .thenReturn(objectMapper.writeValueAsBytes(partial));
+        when(s3Service.uploadPart(eq(BUCKET), anyString(), eq("upload-2"), eq(2), any(byte[].class)))
+                .thenReturn(CompletedPart.builder().partNumber(2).eTag("etag-2").build());
+        when(dynamoDbClient.scan(any(ScanRequest.class))).thenReturn(ScanResponse.builder().items(order("o-6")).build());
+
+        // When
+        ExportJob job = exportService.startExport("orders", "orders-1", null);
+        awaitFinished(job);
+
+        // Then
+        assertThat(job.getState()).isEqualTo(ExportJob.COMPLETED);
+        assertThat(job.getItemCount()).isEqualTo(16);
+        ArgumentCaptor<ScanRequest> scans = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDbClient).scan(scans.capture());
+        assertThat(scans.getValue().segment()).isEqualTo(1);
+        assertThat(scans.getValue().exclusiveStartKey().get("orderId").s()).isEqualTo("o-5");
+        verify(s3Service, never()).createMultipartUpload(anyString(), anyString(), anyString());
+        verify(s3Service).completeMultipartUpload(eq(BUCKET), eq(partial.getObjectKey()), eq("upload-2"),
+                argThat((List<CompletedPart> completed) -> completed.size() == 2));
+    }
+
+    @Test
+    void discardExport_ShouldAbortOpenUploadsAndDeleteObjectsAndCheckpoints() throws Exception {
+        // Given
+        ExportCheckpoint finished = new ExportCheckpoint("orders-1", "Orders", 0, 2, "exports/orders-1/segment-0000-of-0002.ndjson.gz");
+        finished.setCompleted(true);
+        ExportCheckpoint partial = new ExportCheckpoint("orders-1", "Orders", 1, 2, "exports/orders-1/segment-0001-of-0002.ndjson.gz");
+        partial.setUploadId("upload-2");
+        when(s3Service.getObject(BUCKET, "exports/orders-1/_checkpoints/segment-0000.json"))
+                .thenReturn(objectMapper.writeValueAsBytes(finished));
+        when(s3Service.getObject(BUCKET, "exports/orders-1/_checkpoints/segment-0001.json"))
+                .thenReturn(objectMapper.writeValueAsBytes(partial));
+
+        // When
+        int aborted = exportService.discardExport("orders-1");
+
+        // Then
+        assertThat(aborted).isEqualTo(1);
+        verify(s3Service).abortMultipartUpload(BUCKET, partial.getObjectKey(), "upload-2");
+        verify(s3Service).deleteObject(BUCKET, finished.getObjectKey());
+        verify(s3Service).deleteObject(BUCKET, "exports/orders-1/_checkpoints/segment-0000.json");
+        verify(s3Service).deleteObject(BUCKET, "exports/orders-1/_checkpoints/segment-0001.json");
+        assertThat(exportService.getExport("orders-1")).isNull();
+    }
+
+    @Test
+    void discardExport_WithCompletedExport_ShouldThrowAndKeepObjects() throws Exception {
+        // Given
+        for (int segment = 0; segment < 2; segment++) {
+            ExportCheckpoint checkpoint = new ExportCheckpoint("orders-1", "Orders", segment, 2,
+                    String.format("exports/orders-1/segment-%04d-of-0002.ndjson.gz", segment));
+            checkpoint.setCompleted(true);
+            when(s3Service.getObject(BUCKET, String.format("exports/orders-1/_checkpoints/segment-%04d.json", segment)))
+                    .thenReturn(objectMapper.writeValueAsBytes(checkpoint));
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> exportService.discardExport("orders-1"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(s3Service, never()).deleteObject(anyString(), anyString());
+    }
+
+    @Test
+    void discardExport_WithUnknownExportId_ShouldThrow() {
+        // Given
+        when(s3Service.getObject(eq(BUCKET), anyString())).thenThrow(NoSuchKeyException.builder().build());
+
+        // When / Then
+        assertThatThrownBy(() -> exportService.discardExport("missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, AttributeValue> order(String orderId) {
+        return Map.of(
+                "orderId", AttributeValue.builder().s(orderId).build(),
+                "total", AttributeValue.builder().n("42.50").build());
+    }
+
+    private static String gunzip(byte[] content) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
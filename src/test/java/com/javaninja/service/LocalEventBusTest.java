@@ -0,0 +1,103 @@
+package com.javaninja.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javaninja.config.LocalEventBusProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LocalEventBus.
+ * Tests delivery to subscribers whose filter policy matches and that events built from
+ * attributes with null values are still dispatched.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocalEventBusTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:123456789012:orders";
+
+    @Mock
+    private SnsTopicRegistry topicRegistry;
+
+    @Mock
+    private ObjectProvider<LocalTopicSubscriber> subscriberBeans;
+
+    private LocalEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new LocalEventBus(topicRegistry, new ObjectMapper(), new LocalEventBusProperties(), subscriberBeans);
+        eventBus.start();
+        when(topicRegistry.resolve("orders")).thenReturn(TOPIC_ARN);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void publish_WithNullAttributeValue_ShouldDeliverWithoutIt() throws Exception {
+        // Given
+        CompletableFuture<LocalEvent> received = new CompletableFuture<>();
+        eventBus.register(subscriber("{\"eventType\":[\"created\"]}", received));
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("eventType", "created");
+        attributes.put("traceId", null);
+
+        // When
+        int matched = eventBus.publish(new LocalEvent(TOPIC_ARN, "message-1", null, "order created", attributes));
+
+        // Then
+        assertThat(matched).isEqualTo(1);
+        LocalEvent event = received.get(5, TimeUnit.SECONDS);
+        assertThat(event.getMessage()).isEqualTo("order created");
+        assertThat(event.getAttributes()).containsExactly(Map.entry("eventType", "created"));
+    }
+
+    @Test
+    void publish_WhenFilterPolicyDoesNotMatch_ShouldNotDeliver() {
+        // Given
+        CompletableFuture<LocalEvent> received = new CompletableFuture<>();
+        eventBus.register(subscriber("{\"eventType\":[\"created\"]}", received));
+
+        // When
+        int matched = eventBus.publish(new LocalEvent(TOPIC_ARN, "message-1", null, "order shipped",
+                Map.of("eventType", "shipped")));
+
+        // Then
+        assertThat(matched).isZero();
+        assertThat(received).isNotDone();
+    }
+
+    private static LocalTopicSubscriber subscriber(String filterPolicy, CompletableFuture<LocalEvent> received) {
+        return new LocalTopicSubscriber() {
+            @Override
+            public String topic() {
+                return "orders";
+            }
+
+            @Override
+            public String filterPolicy() {
+                return filterPolicy;
+            }
+
+            @Override
+            public void onEvent(LocalEvent event) {
+                received.complete(event);
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.javaninja.service;
+
+import com.javaninja.config.MessageCodecProperties;
+import com.javaninja.model.MessagePayload;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for MessageCodecService.
+ * Tests codec selection by body size, the pass-through for bodies a codec cannot encode and
+ * decoding by the codec named in the attributes.
+ */
+class MessageCodecServiceTest {
+
+    private static final String JSON_BODY = "{\"orderId\":\"ord-1\",\"total\":0.1000000000000000055511151231257827}";
+
+    @Test
+    void encode_WithJsonBody_ShouldRoundTripWithoutLosingPrecision() {
+        // Given
+        MessageCodecService service = service("smile+deflate", 16);
+
+        // When
+        MessagePayload encoded = service.encode(MessagePayload.of(JSON_BODY));
+        MessagePayload decoded = service.decode(encoded);
+
+        // Then
+        assertThat(encoded.getAttribute(MessageCodecService.CODEC_ATTRIBUTE)).isEqualTo("smile+deflate");
+        assertThat(encoded.getAttribute(MessageCodecService.CODEC_VERSION_ATTRIBUTE)).isEqualTo("1");
+        assertThat(decoded.getBody()).isEqualTo(JSON_BODY);
+    }
+
+    @Test
+    void encode_WithPlainTextBody_ShouldSendItUnencoded() {
+        // Given
+        MessageCodecService service = service("cbor", 16);
+        String body = "Order ord-1 was shipped to the customer today";
+
+        // When
+        MessagePayload encoded = service.encode(MessagePayload.of(body));
+
+        // Then
+        assertThat(encoded.getBody()).isEqualTo(body);
+        assertThat(encoded.getAttributes()).doesNotContainKey(MessageCodecService.CODEC_ATTRIBUTE);
+    }
+
+    @Test
+    void encode_ShouldMeasureMinSizeInUtf8Bytes() {
+        // Given
+        MessageCodecService service = service("smile", 16);
+        // 12 chars, but 20 bytes in UTF-8
+        String body = "{\"k\":\"" + "€".repeat(4) + "\"}";
+
+        // When
+        MessagePayload encoded = service.encode(MessagePayload.of(body));
+
+        // Then
+        assertThat(body.length()).isLessThan(16);
+        assertThat(encoded.getAttribute(MessageCodecService.CODEC_ATTRIBUTE)).isEqualTo("smile");
+        assertThat(service.decode(encoded).getBody()).isEqualTo(body);
+    }
+
+    @Test
+    void encode_BelowMinSize_ShouldSendBodyAsIs() {
+        // Given
+        MessageCodecService service = service("smile", 1024);
+
+        // When
+        MessagePayload encoded = service.encode(MessagePayload.of(JSON_BODY));
+
+        // Then
+        assertThat(encoded.getBody()).isEqualTo(JSON_BODY);
+        assertThat(encoded.getAttributes()).isEmpty();
+    }
+
+    @Test
+    void decode_WithoutCodecAttribute_ShouldReturnPayloadUnchanged() {
+        // Given
+        MessageCodecService service = service("smile", 16);
+        MessagePayload payload = MessagePayload.of("plain body");
+
+        // When
+        MessagePayload decoded = service.decode(payload);
+
+        // Then
+        assertThat(decoded).isSameAs(payload);
+    }
+
+    private static MessageCodecService service(String codec, int minSizeBytes) {
+        MessageCodecProperties properties = new MessageCodecProperties();
+        properties.setName(codec);
+        properties.setMinSize(DataSize.ofBytes(minSizeBytes));
+        return new MessageCodecService(properties);
+    }
+}
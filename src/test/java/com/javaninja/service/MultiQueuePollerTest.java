@@ -0,0 +1,219 @@
+package com.javaninja.service;
+
+import com.javaninja.config.MessageCodecProperties;
+import com.javaninja.config.PollerProperties;
+import com.javaninja.model.MessagePayload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MultiQueuePoller.
+ * Tests weighted deficit round robin dispatch, release of messages that waited too long in the
+ * prefetch buffer and that a message whose body cannot be resolved is left for redelivery.
+ */
+@ExtendWith(MockitoExtension.class)
+class MultiQueuePollerTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private ObjectProvider<QueueMessageHandler> handlers;
+
+    @Mock
+    private ClaimCheckService claimCheckService;
+
+    private final Map<String, List<Message>> backlog = new ConcurrentHashMap<>();
+    private final List<String> handled = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> deleted = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> released = Collections.synchronizedList(new ArrayList<>());
+
+    private PollerProperties properties;
+    private MultiQueuePoller poller;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PollerProperties();
+        properties.setEnabled(true);
+        properties.setWorkerThreads(1);
+
+        when(sqsAsyncClient.getQueueUrl(any(Consumer.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                GetQueueUrlResponse.builder().queueUrl(apply(invocation, GetQueueUrlRequest.builder()).queueName()).build()));
+        // Each queue returns its backlog once; later receives stay outstanding
+        when(sqsAsyncClient.receiveMessage(any(Consumer.class))).thenAnswer(invocation -> {
+            List<Message> messages = backlog.remove(apply(invocation, ReceiveMessageRequest.builder()).queueUrl());
+            return messages == null
+                    ? new CompletableFuture<ReceiveMessageResponse>()
+                    : CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(messages).build());
+        });
+        when(sqsAsyncClient.deleteMessage(any(Consumer.class))).thenAnswer(invocation -> {
+            deleted.add(apply(invocation, DeleteMessageRequest.builder()).receiptHandle());
+            return CompletableFuture.completedFuture(DeleteMessageResponse.builder().build());
+        });
+        lenient().when(claimCheckService.resolve(any(MessagePayload.class)))
+                .thenAnswer(invocation -> ClaimCheckPayload.inline(invocation.getArgument(0, MessagePayload.class).getBody()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.stop();
+    }
+
+    @Test
+    void start_WithBackloggedQueues_ShouldDispatchByWeight() throws Exception {
+        // Given
+        properties.setQueues(List.of(queue("orders", 3), queue("audit", 1)));
+        backlog.put("orders", messages("orders", 6));
+        backlog.put("audit", messages("audit", 6));
+        handleWith(message -> handled.add(message.getQueueName()));
+
+        // When
+        startPoller();
+        awaitSize(deleted, 12);
+
+        // Then
+        assertThat(handled).containsExactly(
+                "orders", "orders", "orders", "audit",
+                "orders", "orders", "orders", "audit",
+                "audit", "audit", "audit", "audit");
+        assertThat(poller.getDispatchCounts()).containsEntry("orders", 6L).containsEntry("audit", 6L);
+    }
+
+    @Test
+    void start_WhenMessageWaitsPastMaxPrefetchAge_ShouldReleaseItInsteadOfDispatching() throws Exception {
+        // Given
+        properties.setMaxPrefetchAge(Duration.ofMillis(200));
+        properties.setQueues(List.of(queue("orders", 1)));
+        backlog.put("orders", messages("orders", 2));
+        when(sqsAsyncClient.changeMessageVisibility(any(Consumer.class))).thenAnswer(invocation -> {
+            ChangeMessageVisibilityRequest request = apply(invocation, ChangeMessageVisibilityRequest.builder());
+            assertThat(request.visibilityTimeout()).isZero();
+            released.add(request.receiptHandle());
+            return CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build());
+        });
+        handleWith(message -> {
+            handled.add(message.getMessageId());
+            // Keeps the only worker busy while the second message ages in the buffer
+            Thread.sleep(400);
+        });
+
+        // When
+        startPoller();
+        awaitSize(released, 1);
+
+        // Then
+        assertThat(released).containsExactly("receipt-orders-1");
+        assertThat(handled).containsExactly("orders-0");
+        assertThat(deleted).containsExactly("receipt-orders-0");
+    }
+
+    @Test
+    void start_WhenBodyCannotBeResolved_ShouldLeaveMessageAndKeepDispatching() throws Exception {
+        // Given
+        properties.setQueues(List.of(queue("orders", 1)));
+        backlog.put("orders", messages("orders", 2));
+        when(claimCheckService.resolve(any(MessagePayload.class))).thenAnswer(invocation -> {
+            MessagePayload payload = invocation.getArgument(0);
+            if (payload.getBody().equals("body-orders-0")) {
+                throw new IllegalArgumentException("Malformed claim-check pointer");
+            }
+            return ClaimCheckPayload.inline(payload.getBody());
+        });
+        handleWith(message -> handled.add(message.getMessageId()));
+
+        // When
+        startPoller();
+        awaitSize(deleted, 1);
+
+        // Then
+        assertThat(handled).containsExactly("orders-1");
+        assertThat(deleted).containsExactly("receipt-orders-1");
+    }
+
+    private void startPoller() {
+        poller = new MultiQueuePoller(sqsAsyncClient, properties, handlers, claimCheckService,
+                new MessageCodecService(new MessageCodecProperties()));
+        poller.start();
+    }
+
+    private void handleWith(MessageHandler handler) {
+        QueueMessageHandler queueMessageHandler = new QueueMessageHandler() {
+            @Override
+            public boolean supports(String queueName) {
+                return true;
+            }
+
+            @Override
+            public void handle(InboundMessage message) throws Exception {
+                handler.handle(message);
+            }
+        };
+        when(handlers.orderedStream()).thenAnswer(invocation -> Stream.of(queueMessageHandler));
+    }
+
+    private static PollerProperties.QueueSettings queue(String name, int weight) {
+        PollerProperties.QueueSettings settings = new PollerProperties.QueueSettings();
+        settings.setName(name);
+        settings.setWeight(weight);
+        return settings;
+    }
+
+    private static List<Message> messages(String queue, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Message.builder()
+                        .messageId(queue + "-" + i)
+                        .receiptHandle("receipt-" + queue + "-" + i)
+                        .body("body-" + queue + "-" + i)
+                        .build())
+                .toList();
+    }
+
+    private static void awaitSize(List<String> list, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (list.size() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, B extends SdkBuilder<B, R>> R apply(InvocationOnMock invocation, B builder) {
+        invocation.getArgument(0, Consumer.class).accept(builder);
+        return builder.build();
+    }
+
+    private interface MessageHandler {
+        void handle(InboundMessage message) throws Exception;
+    }
+}
@@ -0,0 +1,225 @@
+package com.javaninja.service;
+
+import com.javaninja.config.OutboxProperties;
+import com.javaninja.log.SegmentedLog;
+import com.javaninja.model.MessagePayload;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxService.
+ * Tests that SNS publish options and SQS delays survive the log, that a rejected entry is
+ * dead-lettered without blocking later entries, recovery from a torn record and the backlog
+ * size across segments.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private SqsTemplate sqsTemplate;
+
+    @Mock
+    private SnsClient snsClient;
+
+    @Captor
+    private ArgumentCaptor<Collection<Message<String>>> messagesCaptor;
+
+    @TempDir
+    Path directory;
+
+    private OutboxProperties properties;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new OutboxProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setMaxAttempts(2);
+        // The tests drain explicitly
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setDrainInterval(Duration.ofHours(1));
+        outboxService = start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        outboxService.stop();
+    }
+
+    @Test
+    void drain_WithSnsEntry_ShouldPublishSubjectAndFifoIds() {
+        // Given
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenReturn(PublishBatchResponse.builder().build());
+        outboxService.enqueueSns("arn:aws:sns:us-east-1:123456789012:orders.fifo", MessagePayload.of("order created"),
+                "Order", "customer-42", "ord-1");
+
+        // When
+        outboxService.drain();
+
+        // Then
+        ArgumentCaptor<PublishBatchRequest> captor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsClient).publishBatch(captor.capture());
+        PublishBatchRequestEntry entry = captor.getValue().publishBatchRequestEntries().get(0);
+        assertThat(entry.message()).isEqualTo("order created");
+        assertThat(entry.subject()).isEqualTo("Order");
+        assertThat(entry.messageGroupId()).isEqualTo("customer-42");
+        assertThat(entry.messageDeduplicationId()).isEqualTo("ord-1");
+        assertThat(outboxService.getBacklogBytes()).isZero();
+    }
+
+    @Test
+    void drain_WithDelayedSqsEntry_ShouldSendRemainingDelay() {
+        // Given
+        outboxService.enqueueSqs("orders", MessagePayload.of("order created"), 300);
+        outboxService.enqueueSqs("orders", MessagePayload.of("order shipped"));
+
+        // When
+        outboxService.drain();
+
+        // Then
+        verify(sqsTemplate).sendMany(eq("orders"), messagesCaptor.capture());
+        List<Message<String>> messages = List.copyOf(messagesCaptor.getValue());
+        assertThat((Integer) messages.get(0).getHeaders().get(SqsHeaders.SQS_DELAY_HEADER)).isBetween(299, 300);
+        assertThat(messages.get(1).getHeaders()).doesNotContainKey(SqsHeaders.SQS_DELAY_HEADER);
+    }
+
+    @Test
+    void drain_WhenEntryIsRejected_ShouldDeadLetterItAfterMaxAttemptsAndDeliverTheRest() throws Exception {
+        // Given
+        SqsException rejection = (SqsException) SqsException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("InvalidParameterValue").errorMessage("Invalid body").build())
+                .build();
+        when(sqsTemplate.sendMany(eq("q-bad"), any())).thenThrow(rejection);
+        when(sqsTemplate.send(eq("q-bad"), any(Message.class))).thenThrow(rejection);
+        outboxService.enqueueSqs("q-bad", MessagePayload.of("bad"));
+        outboxService.enqueueSqs("q-good", MessagePayload.of("good"));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            outboxService.drain();
+        }
+
+        // Then
+        verify(sqsTemplate).sendMany(eq("q-good"), messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).extracting(Message::getPayload).containsExactly("good");
+        // One batch attempt, then one isolated send per allowed attempt
+        verify(sqsTemplate, times(2)).send(eq("q-bad"), any(Message.class));
+        assertThat(outboxService.getBacklogBytes()).isZero();
+
+        outboxService.stop();
+        try (SegmentedLog deadLetters = SegmentedLog.open(directory.resolve("dead-letter"), (int) properties.getSegmentSize().toBytes())) {
+            assertThat(deadLetters.read(SegmentedLog.position(0, 0), 10)).hasSize(1);
+        }
+        outboxService = start();
+    }
+
+    @Test
+    void drain_WhenAwsIsThrottling_ShouldKeepRetryingWithoutDeadLettering() {
+        // Given
+        SqsException throttled = (SqsException) SqsException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").errorMessage("Rate exceeded").build())
+                .build();
+        when(sqsTemplate.sendMany(eq("orders"), any())).thenThrow(throttled);
+        outboxService.enqueueSqs("orders", MessagePayload.of("order created"));
+        long backlog = outboxService.getBacklogBytes();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            outboxService.drain();
+        }
+
+        // Then
+        verify(sqsTemplate, times(5)).sendMany(eq("orders"), any());
+        verify(sqsTemplate, never()).send(eq("orders"), any(Message.class));
+        assertThat(outboxService.getBacklogBytes()).isEqualTo(backlog);
+    }
+
+    @Test
+    void start_AfterTornRecord_ShouldDeliverOnlyIntactRecords() throws Exception {
+        // Given
+        outboxService.enqueueSqs("orders", MessagePayload.of("order-1"));
+        outboxService.enqueueSqs("orders", MessagePayload.of("order-2"));
+        String lastId = outboxService.enqueueSqs("orders", MessagePayload.of("order-3"));
+        outboxService.stop();
+
+        long position = Long.parseLong(lastId.substring("outbox-".length()), 16);
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve("0000000000.log").toFile(), "rw")) {
+            // Flip a byte past the [length][crc] header so the checksum no longer matches
+            long dataOffset = SegmentedLog.offset(position) + 8;
+            segment.seek(dataOffset);
+            int original = segment.read();
+            segment.seek(dataOffset);
+            segment.write(original ^ 0xFF);
+        }
+
+        // When
+        outboxService = start();
+        outboxService.drain();
+
+        // Then
+        verify(sqsTemplate).sendMany(eq("orders"), messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue()).extracting(Message::getPayload).containsExactly("order-1", "order-2");
+        assertThat(outboxService.getBacklogBytes()).isZero();
+    }
+
+    @Test
+    void getBacklogBytes_AcrossSegments_ShouldCountOnlyStoredRecords() throws Exception {
+        // Given
+        outboxService.stop();
+        properties.setDirectory(directory.resolve("small-segments").toString());
+        properties.setSegmentSize(DataSize.ofBytes(512));
+        outboxService = start();
+        String body = "{\"orderId\":\"ord-1\",\"status\":\"CREATED\"}";
+        outboxService.enqueueSqs("orders", MessagePayload.of(body));
+        long recordBytes = outboxService.getBacklogBytes();
+
+        // When
+        for (int i = 1; i < 20; i++) {
+            outboxService.enqueueSqs("orders", MessagePayload.of(body));
+        }
+        long backlog = outboxService.getBacklogBytes();
+        outboxService.drain();
+
+        // Then
+        assertThat(recordBytes * 20).isGreaterThan(512);
+        assertThat(backlog).isEqualTo(recordBytes * 20);
+        assertThat(outboxService.getBacklogBytes()).isZero();
+    }
+
+    private OutboxService start() throws Exception {
+        OutboxService service = new OutboxService(properties, sqsTemplate, snsClient);
+        service.start();
+        return service;
+    }
+}
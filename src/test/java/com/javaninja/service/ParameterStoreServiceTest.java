@@ -0,0 +1,154 @@
+package com.javaninja.service;
+
+import com.javaninja.config.ParameterStoreProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.paginators.GetParametersByPathIterable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ParameterStoreService.
+ * Tests chunked GetParameters calls, hierarchy loads, snapshot reads, the bound on cached
+ * request paths and that a refresh keeps parameters added while it was loading.
+ */
+@ExtendWith(MockitoExtension.class)
+class ParameterStoreServiceTest {
+
+    @Mock
+    private SsmClient ssmClient;
+
+    @Mock
+    private GetParametersByPathIterable pathIterable;
+
+    private ParameterStoreProperties properties;
+    private ExecutorService executor;
+    private ParameterStoreService parameterStoreService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ParameterStoreProperties();
+        executor = Executors.newFixedThreadPool(4);
+        parameterStoreService = new ParameterStoreService(ssmClient, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getParameters_WithTwentyFiveNames_ShouldFetchInChunksOfTenThenServeFromSnapshot() {
+        // Given
+        List<String> names = IntStream.range(0, 25).mapToObj(i -> "/features/flag-" + i).collect(Collectors.toList());
+        when(ssmClient.getParameters(any(GetParametersRequest.class))).thenAnswer(invocation -> {
+            GetParametersRequest request = invocation.getArgument(0);
+            return GetParametersResponse.builder()
+                    .parameters(request.names().stream()
+                            .map(name -> Parameter.builder().name(name).value("on").build())
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+
+        // When
+        Map<String, String> first = parameterStoreService.getParameters(names);
+        Map<String, String> second = parameterStoreService.getParameters(names);
+
+        // Then
+        assertThat(first).hasSize(25);
+        assertThat(second).isEqualTo(first);
+        verify(ssmClient, times(3)).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test
+    void getParametersByPath_ShouldLoadSubtreeOnceAndFilterDirectChildren() {
+        // Given
+        when(ssmClient.getParametersByPathPaginator(any(GetParametersByPathRequest.class))).thenReturn(pathIterable);
+        when(pathIterable.parameters()).thenReturn(() -> List.of(
+                Parameter.builder().name("/app/timeout").value("30").build(),
+                Parameter.builder().name("/app/db/url").value("jdbc:postgresql://db").build()).iterator());
+
+        // When
+        Map<String, String> recursive = parameterStoreService.getParametersByPath("/app", true);
+        Map<String, String> children = parameterStoreService.getParametersByPath("/app/", false);
+
+        // Then
+        assertThat(recursive).containsOnlyKeys("/app/timeout", "/app/db/url");
+        assertThat(children).containsOnlyKeys("/app/timeout");
+        assertThat(parameterStoreService.getParameter("/app/db/url")).isEqualTo("jdbc:postgresql://db");
+        verify(ssmClient, times(1)).getParametersByPathPaginator(any(GetParametersByPathRequest.class));
+    }
+
+    @Test
+    void getParametersByPath_BeyondMaxRequestedPaths_ShouldServeUncached() {
+        // Given
+        properties.setMaxRequestedPaths(1);
+        when(ssmClient.getParametersByPathPaginator(any(GetParametersByPathRequest.class))).thenReturn(pathIterable);
+        when(pathIterable.parameters()).thenReturn(() -> List.of(
+                Parameter.builder().name("/a/timeout").value("30").build(),
+                Parameter.builder().name("/b/timeout").value("60").build()).iterator());
+
+        // When
+        parameterStoreService.getParametersByPath("/a", true);
+        parameterStoreService.getParametersByPath("/a", true);
+        Map<String, String> uncached = parameterStoreService.getParametersByPath("/b", true);
+        parameterStoreService.getParametersByPath("/b", true);
+        parameterStoreService.getParametersByPath("/", true);
+
+        // Then
+        assertThat(uncached).containsOnlyKeys("/b/timeout");
+        assertThat(parameterStoreService.getSnapshot().getPaths()).containsExactly("/a/");
+        verify(ssmClient, times(4)).getParametersByPathPaginator(any(GetParametersByPathRequest.class));
+    }
+
+    @Test
+    void refresh_WhenParametersAreAddedDuringLoad_ShouldKeepThem() throws Exception {
+        // Given
+        properties.setPaths(List.of("/config"));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ssmClient.getParametersByPathPaginator(any(GetParametersByPathRequest.class))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return pathIterable;
+        });
+        when(pathIterable.parameters()).thenReturn(() -> List.of(
+                Parameter.builder().name("/config/timeout").value("30").build()).iterator());
+        when(ssmClient.getParameters(any(GetParametersRequest.class))).thenReturn(GetParametersResponse.builder()
+                .parameters(Parameter.builder().name("/features/dark-mode").value("on").build())
+                .build());
+
+        // When
+        CompletableFuture<ParameterSnapshot> refresh = CompletableFuture.supplyAsync(parameterStoreService::refresh);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        parameterStoreService.getParameters(List.of("/features/dark-mode"));
+        release.countDown();
+        ParameterSnapshot refreshed = refresh.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(refreshed.get("/config/timeout")).isEqualTo("30");
+        assertThat(refreshed.get("/features/dark-mode")).isEqualTo("on");
+        assertThat(refreshed.getNames()).contains("/features/dark-mode");
+    }
+}
@@ -0,0 +1,104 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SecretIndexProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.ListSecretsRequest;
+import software.amazon.awssdk.services.secretsmanager.model.SecretListEntry;
+import software.amazon.awssdk.services.secretsmanager.paginators.ListSecretsIterable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SecretMetadataIndex.
+ * Tests listing-based refresh and immediate updates from local mutations.
+ */
+@ExtendWith(MockitoExtension.class)
+class SecretMetadataIndexTest {
+
+    @Mock
+    private SecretsManagerClient secretsManagerClient;
+
+    @Mock
+    private ListSecretsIterable listSecretsIterable;
+
+    private final List<SecretListEntry> listed = new ArrayList<>();
+    private SecretMetadataIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SecretMetadataIndex(secretsManagerClient, new SecretIndexProperties());
+        when(secretsManagerClient.listSecretsPaginator(any(ListSecretsRequest.class))).thenReturn(listSecretsIterable);
+        when(listSecretsIterable.secretList()).thenAnswer(invocation -> (SdkIterable<SecretListEntry>) () -> List.copyOf(listed).iterator());
+    }
+
+    @Test
+    void refresh_ShouldIndexListedSecretsByNameAndArn() {
+        // Given
+        listed.add(entry("db-password"));
+        listed.add(entry("api-key"));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.isAvailable()).isTrue();
+        assertThat(index.contains("db-password")).isTrue();
+        assertThat(index.contains("arn:aws:secretsmanager:us-east-1:123456789012:secret:api-key")).isTrue();
+        assertThat(index.contains("missing")).isFalse();
+    }
+
+    @Test
+    void refresh_ShouldDropSecretsNoLongerListed() {
+        // Given
+        listed.add(entry("db-password"));
+        listed.add(entry("api-key"));
+        index.refresh();
+        listed.remove(1);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.contains("db-password")).isTrue();
+        assertThat(index.contains("api-key")).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void onCreatedAndOnDeleted_ShouldUpdateIndexImmediately() {
+        // Given
+        index.refresh();
+
+        // When
+        index.onCreated("new-secret", "arn:new-secret", "created locally");
+
+        // Then
+        assertThat(index.get("arn:new-secret").getDescription()).isEqualTo("created locally");
+
+        // When
+        index.onDeleted("new-secret");
+
+        // Then
+        assertThat(index.contains("new-secret")).isFalse();
+    }
+
+    private static SecretListEntry entry(String name) {
+        return SecretListEntry.builder()
+                .name(name)
+                .arn("arn:aws:secretsmanager:us-east-1:123456789012:secret:" + name)
+                .lastChangedDate(Instant.parse("2024-01-01T00:00:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,233 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SecretCacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SecretValueCache.
+ * Tests ttl hits, miss coalescing, stale-while-revalidate, invalidation of cached and in-flight
+ * values and recovery from a rejected background refresh.
+ */
+class SecretValueCacheTest {
+
+    private SecretCacheProperties properties;
+    private ExecutorService executor;
+    private SecretValueCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SecretCacheProperties();
+        executor = Executors.newFixedThreadPool(4);
+        cache = new SecretValueCache(properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_WithinTtl_ShouldLoadOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String first = cache.get("db-password", null, () -> "secret-" + loads.incrementAndGet());
+        String second = cache.get("db-password", null, () -> "secret-" + loads.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo("secret-1");
+        assertThat(second).isEqualTo("secret-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_WithConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> readers = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            readers.add(CompletableFuture.supplyAsync(() -> cache.get("api-key", null, () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return "value";
+            }), executor));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        for (CompletableFuture<String> reader : readers) {
+            assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_WhenStale_ShouldReturnOldValueAndRefreshInBackground() throws Exception {
+        // Given
+        properties.setTtl(Duration.ZERO);
+        properties.setMaxStale(Duration.ofMinutes(1));
+        cache.get("api-key", "AWSCURRENT", () -> "v1");
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        // When
+        String stale = cache.get("api-key", "AWSCURRENT", () -> {
+            refreshed.countDown();
+            return "v2";
+        });
+
+        // Then
+        assertThat(stale).isEqualTo("v1");
+        assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void getAsync_ShouldShareLoadWithBlockingReaders() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> pending = cache.getAsync("api-key", null, () -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> cache.get("api-key", null, () -> {
+            loads.incrementAndGet();
+            return "other";
+        }), executor);
+        response.complete("value");
+
+        // Then
+        assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(cache.getAsync("api-key", null, CompletableFuture::new)).isCompletedWithValue("value");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidate_ShouldDropEveryVersionStage() {
+        // Given
+        cache.put("db-password", "AWSCURRENT", "current", cache.generation());
+        cache.put("db-password", "AWSPREVIOUS", "previous", cache.generation());
+
+        // When
+        cache.invalidate("db-password");
+
+        // Then
+        assertThat(cache.get("db-password", "AWSCURRENT", () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.get("db-password", "AWSPREVIOUS", () -> "reloaded-previous")).isEqualTo("reloaded-previous");
+    }
+
+    @Test
+    void put_OfValueFetchedBeforeInvalidation_ShouldBeIgnored() {
+        // Given
+        long fetchGeneration = cache.generation();
+        cache.invalidate("db-password");
+
+        // When
+        cache.put("db-password", null, "old", fetchGeneration);
+        cache.put("api-key", null, "unaffected", fetchGeneration);
+
+        // Then
+        assertThat(cache.get("db-password", null, () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.get("api-key", null, () -> "reloaded")).isEqualTo("unaffected");
+    }
+
+    @Test
+    void invalidate_WhileLoadIsInFlight_ShouldNotCacheTheOldValue() throws Exception {
+        // Given
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> pending = cache.getAsync("db-password", null, () -> response);
+
+        // When
+        cache.invalidate("db-password");
+        CompletableFuture<String> afterInvalidate = cache.getAsync("db-password", null,
+                () -> CompletableFuture.completedFuture("new"));
+        response.complete("old");
+
+        // Then
+        assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(afterInvalidate).isCompletedWithValue("new");
+        assertThat(cache.get("db-password", null, () -> "reloaded")).isEqualTo("new");
+    }
+
+    @Test
+    void invalidate_OfOtherSecret_ShouldNotDiscardInFlightLoad() throws Exception {
+        // Given
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> pending = cache.getAsync("api-key", null, () -> response);
+
+        // When
+        cache.invalidate("db-password");
+        response.complete("value");
+
+        // Then
+        assertThat(pending.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(cache.get("api-key", null, () -> "reloaded")).isEqualTo("value");
+    }
+
+    @Test
+    void get_WhenBackgroundRefreshIsRejected_ShouldRetryOnNextStaleRead() throws Exception {
+        // Given
+        AtomicBoolean saturated = new AtomicBoolean();
+        ExecutorService rejectingOnce = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (saturated.getAndSet(false)) {
+                    throw new RejectedExecutionException("Pool saturated");
+                }
+                super.execute(command);
+            }
+        };
+        SecretValueCache rejectingCache = new SecretValueCache(properties, rejectingOnce);
+        properties.setTtl(Duration.ZERO);
+        properties.setMaxStale(Duration.ofMinutes(1));
+        rejectingCache.get("api-key", null, () -> "v1");
+        saturated.set(true);
+
+        // When
+        String rejected = rejectingCache.get("api-key", null, () -> "v2");
+        CountDownLatch refreshed = new CountDownLatch(1);
+        String retried = rejectingCache.get("api-key", null, () -> {
+            refreshed.countDown();
+            return "v2";
+        });
+
+        // Then
+        assertThat(rejected).isEqualTo("v1");
+        assertThat(retried).isEqualTo("v1");
+        assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+        rejectingOnce.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
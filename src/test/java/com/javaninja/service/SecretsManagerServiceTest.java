@@ -0,0 +1,178 @@
+package com.javaninja.service;
+
+import com.javaninja.model.dto.SecretBatchResult;
+import com.javaninja.model.dto.SecretMetadata;
+import com.javaninja.model.dto.SecretsManagerRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.DeleteSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DeleteSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
+import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.UpdateSecretResponse;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SecretsManagerService.
+ * Tests batch retrieval chunking, cache population, invalidation under both name and ARN and
+ * index-backed existence checks that fall back to DescribeSecret on a miss.
+ */
+@ExtendWith(MockitoExtension.class)
+class SecretsManagerServiceTest {
+
+    @Mock
+    private SecretsManagerClient secretsManagerClient;
+
+    @Mock
+    private ObjectProvider<SecretsManagerAsyncClient> secretsManagerAsyncClient;
+
+    @Mock
+    private SecretValueCache secretValueCache;
+
+    @Mock
+    private SecretMetadataIndex secretMetadataIndex;
+
+    private ExecutorService executor;
+    private SecretsManagerService secretsManagerService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        secretsManagerService = new SecretsManagerService(secretsManagerClient, secretsManagerAsyncClient,
+                secretValueCache, secretMetadataIndex, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void batchGetSecretValues_WithMoreThanTwentyIds_ShouldFetchInChunks() {
+        // Given
+        List<String> secretIds = IntStream.range(0, 25).mapToObj(i -> "secret-" + i).collect(Collectors.toList());
+        when(secretValueCache.generation()).thenReturn(7L);
+        when(secretsManagerClient.batchGetSecretValue(any(BatchGetSecretValueRequest.class))).thenAnswer(invocation -> {
+            BatchGetSecretValueRequest request = invocation.getArgument(0);
+            return BatchGetSecretValueResponse.builder()
+                    .secretValues(request.secretIdList().stream()
+                            .filter(id -> !id.equals("secret-24"))
+                            .map(id -> SecretValueEntry.builder().name(id).arn("arn:" + id).secretString("value-" + id).build())
+                            .collect(Collectors.toList()))
+                    .errors(request.secretIdList().contains("secret-24")
+                            ? List.of(APIErrorType.builder().secretId("secret-24").errorCode("ResourceNotFoundException")
+                                    .message("not found").build())
+                            : List.of())
+                    .build();
+        });
+
+        // When
+        SecretBatchResult result = secretsManagerService.batchGetSecretValues(secretIds);
+
+        // Then
+        ArgumentCaptor<BatchGetSecretValueRequest> captor = ArgumentCaptor.forClass(BatchGetSecretValueRequest.class);
+        verify(secretsManagerClient, times(2)).batchGetSecretValue(captor.capture());
+        assertThat(captor.getAllValues()).extracting(request -> request.secretIdList().size())
+                .containsExactlyInAnyOrder(20, 5);
+        assertThat(result.getSecretValues()).hasSize(24).containsEntry("secret-3", "value-secret-3");
+        assertThat(result.getErrors()).containsOnlyKeys("secret-24");
+        verify(secretValueCache).put("secret-3", null, "value-secret-3", 7L);
+        verify(secretValueCache).put("arn:secret-3", null, "value-secret-3", 7L);
+    }
+
+    @Test
+    void updateSecret_ShouldInvalidateNameAndArn() {
+        // Given
+        when(secretsManagerClient.updateSecret(any(UpdateSecretRequest.class))).thenReturn(UpdateSecretResponse.builder()
+                .name("prod/db/password").arn("arn:prod/db/password").versionId("v2").build());
+
+        // When
+        secretsManagerService.updateSecret(new SecretsManagerRequest("prod/db/password", "new-value"));
+
+        // Then
+        verify(secretValueCache).invalidate("prod/db/password");
+        verify(secretValueCache).invalidate("arn:prod/db/password");
+    }
+
+    @Test
+    void deleteSecret_ByArn_ShouldInvalidateNameAndArn() {
+        // Given
+        when(secretsManagerClient.deleteSecret(any(DeleteSecretRequest.class))).thenReturn(DeleteSecretResponse.builder()
+                .name("prod/db/password").arn("arn:prod/db/password").build());
+
+        // When
+        secretsManagerService.deleteSecret("arn:prod/db/password", false);
+
+        // Then
+        verify(secretValueCache).invalidate("prod/db/password");
+        verify(secretValueCache).invalidate("arn:prod/db/password");
+    }
+
+    @Test
+    void secretExists_WhenIndexIsAvailable_ShouldNotCallDescribe() {
+        // Given
+        when(secretMetadataIndex.isAvailable()).thenReturn(true);
+        when(secretMetadataIndex.contains("db-password")).thenReturn(true);
+
+        // When
+        boolean exists = secretsManagerService.secretExists("db-password");
+
+        // Then
+        assertThat(exists).isTrue();
+        verifyNoInteractions(secretsManagerClient);
+    }
+
+    @Test
+    void secretExists_WhenIndexMisses_ShouldFallBackToDescribe() {
+        // Given
+        when(secretMetadataIndex.isAvailable()).thenReturn(true);
+        when(secretMetadataIndex.contains("created-elsewhere")).thenReturn(false);
+        when(secretsManagerClient.describeSecret(any(DescribeSecretRequest.class)))
+                .thenReturn(DescribeSecretResponse.builder().name("created-elsewhere").arn("arn:created-elsewhere").build());
+
+        // When
+        boolean exists = secretsManagerService.secretExists("created-elsewhere");
+
+        // Then
+        assertThat(exists).isTrue();
+    }
+
+    @Test
+    void getSecretMetadata_WhenIndexMissesAndSecretIsMissing_ShouldReturnNull() {
+        // Given
+        when(secretMetadataIndex.isAvailable()).thenReturn(true);
+        when(secretMetadataIndex.get("missing")).thenReturn(null);
+        when(secretsManagerClient.describeSecret(any(DescribeSecretRequest.class)))
+                .thenThrow(ResourceNotFoundException.builder().message("not found").build());
+
+        // When
+        SecretMetadata metadata = secretsManagerService.getSecretMetadata("missing");
+
+        // Then
+        assertThat(metadata).isNull();
+        verify(secretsManagerClient).describeSecret(any(DescribeSecretRequest.class));
+    }
+}
@@ -0,0 +1,149 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SesProperties;
+import com.javaninja.model.dto.SesBulkEmailRequest;
+import com.javaninja.model.dto.SesDestination;
+import com.javaninja.model.dto.SesSendResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ses.SesClient;
+import software.amazon.awssdk.services.ses.model.BulkEmailDestinationStatus;
+import software.amazon.awssdk.services.ses.model.BulkEmailStatus;
+import software.amazon.awssdk.services.ses.model.GetSendQuotaResponse;
+import software.amazon.awssdk.services.ses.model.SendBulkTemplatedEmailRequest;
+import software.amazon.awssdk.services.ses.model.SendBulkTemplatedEmailResponse;
+import software.amazon.awssdk.services.ses.model.SesException;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SesService.
+ * Tests 50-destination chunking, quota-based pacing, retries of throttled destinations and that
+ * a rejected chunk fails only its own destinations.
+ */
+@ExtendWith(MockitoExtension.class)
+class SesServiceTest {
+
+    @Mock
+    private SesClient sesClient;
+
+    private SesService sesService;
+
+    @BeforeEach
+    void setUp() {
+        SesProperties properties = new SesProperties();
+        properties.setSource("noreply@example.com");
+        sesService = new SesService(sesClient, properties);
+
+        when(sesClient.getSendQuota()).thenReturn(GetSendQuotaResponse.builder()
+                .maxSendRate(1000.0)
+                .max24HourSend(50000.0)
+                .sentLast24Hours(0.0)
+                .build());
+        sesService.refreshQuota();
+    }
+
+    @Test
+    void sendBulkTemplatedEmail_WithOneHundredTwentyDestinations_ShouldSendThreeCalls() throws Exception {
+        // Given
+        List<SesDestination> destinations = IntStream.range(0, 120)
+                .mapToObj(i -> new SesDestination(List.of("user" + i + "@example.com"), "{\"name\":\"User " + i + "\"}"))
+                .collect(Collectors.toList());
+        when(sesClient.sendBulkTemplatedEmail(any(SendBulkTemplatedEmailRequest.class))).thenAnswer(invocation -> {
+            SendBulkTemplatedEmailRequest request = invocation.getArgument(0);
+            return SendBulkTemplatedEmailResponse.builder()
+                    .status(request.destinations().stream()
+                            .map(destination -> success(destination.destination().toAddresses().get(0)))
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+
+        // When
+        List<SesSendResult> results = sesService.sendBulkTemplatedEmail(new SesBulkEmailRequest("welcome", destinations));
+
+        // Then
+        assertThat(results).hasSize(120).allMatch(SesSendResult::isSuccess);
+        assertThat(results.get(119).getMessageId()).isEqualTo("id-user119@example.com");
+        ArgumentCaptor<SendBulkTemplatedEmailRequest> captor = ArgumentCaptor.forClass(SendBulkTemplatedEmailRequest.class);
+        verify(sesClient, times(3)).sendBulkTemplatedEmail(captor.capture());
+        assertThat(captor.getAllValues()).extracting(request -> request.destinations().size()).containsExactly(50, 50, 20);
+        assertThat(captor.getValue().source()).isEqualTo("noreply@example.com");
+    }
+
+    @Test
+    void sendBulkTemplatedEmail_WhenDestinationThrottled_ShouldLowerRateAndRetryIt() throws Exception {
+        // Given
+        List<SesDestination> destinations = List.of(
+                new SesDestination(List.of("a@example.com"), "{}"),
+                new SesDestination(List.of("b@example.com"), "{}"));
+        when(sesClient.sendBulkTemplatedEmail(any(SendBulkTemplatedEmailRequest.class)))
+                .thenReturn(SendBulkTemplatedEmailResponse.builder()
+                        .status(success("a@example.com"),
+                                BulkEmailDestinationStatus.builder().status(BulkEmailStatus.ACCOUNT_THROTTLED).build())
+                        .build())
+                .thenReturn(SendBulkTemplatedEmailResponse.builder()
+                        .status(success("b@example.com"))
+                        .build());
+
+        // When
+        List<SesSendResult> results = sesService.sendBulkTemplatedEmail(new SesBulkEmailRequest("welcome", destinations));
+
+        // Then
+        assertThat(results).extracting(SesSendResult::getMessageId).containsExactly("id-a@example.com", "id-b@example.com");
+        assertThat(sesService.getCurrentRate()).isEqualTo(500.0);
+        ArgumentCaptor<SendBulkTemplatedEmailRequest> captor = ArgumentCaptor.forClass(SendBulkTemplatedEmailRequest.class);
+        verify(sesClient, times(2)).sendBulkTemplatedEmail(captor.capture());
+        assertThat(captor.getValue().destinations()).hasSize(1);
+        assertThat(captor.getValue().destinations().get(0).destination().toAddresses()).containsExactly("b@example.com");
+    }
+
+    @Test
+    void sendBulkTemplatedEmail_WhenLaterChunkIsRejected_ShouldReportItsDestinationsAndContinue() throws Exception {
+        // Given
+        List<SesDestination> destinations = IntStream.range(0, 120)
+                .mapToObj(i -> new SesDestination(List.of("user" + i + "@example.com"), "{}"))
+                .collect(Collectors.toList());
+        SesException rejected = (SesException) SesException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("MessageRejected").errorMessage("Address blacklisted").build())
+                .build();
+        when(sesClient.sendBulkTemplatedEmail(any(SendBulkTemplatedEmailRequest.class))).thenAnswer(invocation -> {
+            SendBulkTemplatedEmailRequest request = invocation.getArgument(0);
+            if (request.destinations().get(0).destination().toAddresses().get(0).equals("user50@example.com")) {
+                throw rejected;
+            }
+            return SendBulkTemplatedEmailResponse.builder()
+                    .status(request.destinations().stream()
+                            .map(destination -> success(destination.destination().toAddresses().get(0)))
+                            .collect(Collectors.toList()))
+                    .build();
+        });
+
+        // When
+        List<SesSendResult> results = sesService.sendBulkTemplatedEmail(new SesBulkEmailRequest("welcome", destinations));
+
+        // Then
+        assertThat(results).hasSize(120);
+        assertThat(results.subList(0, 50)).allMatch(SesSendResult::isSuccess);
+        assertThat(results.subList(50, 100)).noneMatch(SesSendResult::isSuccess);
+        assertThat(results.get(50).getStatus()).isEqualTo("Failed");
+        assertThat(results.get(50).getError()).startsWith("MessageRejected");
+        assertThat(results.subList(100, 120)).allMatch(SesSendResult::isSuccess);
+        verify(sesClient, times(3)).sendBulkTemplatedEmail(any(SendBulkTemplatedEmailRequest.class));
+    }
+
+    private static BulkEmailDestinationStatus success(String address) {
+        return BulkEmailDestinationStatus.builder().status(BulkEmailStatus.SUCCESS).messageId("id-" + address).build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SnsPublishProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnsAutoBatcher.
+ * Tests coalescing of concurrent submits, sending after the linger window or at 10 entries,
+ * mapping of per-entry results back to callers and failure when the send pool is saturated.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnsAutoBatcherTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:123456789012:orders";
+
+    @Mock
+    private SnsClient snsClient;
+
+    private SnsPublishProperties properties;
+    private ExecutorService executor;
+    private SnsAutoBatcher autoBatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SnsPublishProperties();
+        properties.setAutoBatch(true);
+        executor = Executors.newFixedThreadPool(2);
+        autoBatcher = new SnsAutoBatcher(snsClient, properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        autoBatcher.shutdown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_WithinLinger_ShouldCoalesceIntoOneBatch() throws Exception {
+        // Given
+        properties.setLinger(Duration.ofMillis(200));
+        stubPublishBatch("never-fails");
+
+        // When
+        List<CompletableFuture<String>> futures = submit(3);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Then
+        ArgumentCaptor<PublishBatchRequest> captor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsClient, times(1)).publishBatch(captor.capture());
+        assertThat(captor.getValue().publishBatchRequestEntries()).extracting(PublishBatchRequestEntry::message)
+                .containsExactly("message 0", "message 1", "message 2");
+        assertThat(futures.get(2).get()).isEqualTo("message-id-2");
+    }
+
+    @Test
+    void submit_SingleEntry_ShouldBeSentOnceLingerExpires() throws Exception {
+        // Given
+        properties.setLinger(Duration.ofMillis(100));
+        stubPublishBatch("never-fails");
+        long start = System.nanoTime();
+
+        // When
+        String messageId = submit(1).get(0).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(messageId).isEqualTo("message-id-0");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void submit_WithTenEntries_ShouldSendWithoutWaitingForLinger() throws Exception {
+        // Given
+        properties.setLinger(Duration.ofMinutes(1));
+        stubPublishBatch("never-fails");
+
+        // When
+        List<CompletableFuture<String>> futures = submit(12);
+        CompletableFuture.allOf(futures.subList(0, 10).toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(snsClient, times(1)).publishBatch(any(PublishBatchRequest.class));
+        assertThat(futures.get(10)).isNotDone();
+    }
+
+    @Test
+    void submit_WithFailedEntry_ShouldFailOnlyThatFuture() throws Exception {
+        // Given
+        properties.setLinger(Duration.ofMillis(50));
+        stubPublishBatch("1");
+
+        // When
+        List<CompletableFuture<String>> futures = submit(3);
+
+        // Then
+        assertThat(futures.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("message-id-0");
+        assertThat(futures.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("message-id-2");
+        assertThatThrownBy(() -> futures.get(1).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("InvalidParameter");
+    }
+
+    @Test
+    void submit_WhenPublishPoolIsSaturated_ShouldFailInsteadOfSendingOnCaller() throws Exception {
+        // Given
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        SnsAutoBatcher batcher = new SnsAutoBatcher(snsClient, properties, saturated);
+
+        // When
+        List<CompletableFuture<String>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> batcher.submit(TOPIC_ARN, PublishBatchRequestEntry.builder().message("message " + i).build()))
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(futures).allMatch(CompletableFuture::isCompletedExceptionally);
+        assertThatThrownBy(() -> futures.get(0).join()).hasCauseInstanceOf(RejectedExecutionException.class);
+        verify(snsClient, never()).publishBatch(any(PublishBatchRequest.class));
+        release.countDown();
+        batcher.shutdown();
+        saturated.shutdown();
+    }
+
+    private List<CompletableFuture<String>> submit(int count) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(autoBatcher.submit(TOPIC_ARN, PublishBatchRequestEntry.builder().message("message " + i).build()));
+        }
+        return futures;
+    }
+
+    private void stubPublishBatch(String failingId) {
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenAnswer(invocation -> {
+            PublishBatchRequest request = invocation.getArgument(0);
+            List<PublishBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (PublishBatchRequestEntry entry : request.publishBatchRequestEntries()) {
+                if (entry.id().equals(failingId)) {
+                    failed.add(BatchResultErrorEntry.builder().id(entry.id()).code("InvalidParameter")
+                            .message("Invalid parameter").senderFault(true).build());
+                } else {
+                    successful.add(PublishBatchResultEntry.builder().id(entry.id()).messageId("message-id-" + entry.id()).build());
+                }
+            }
+            return PublishBatchResponse.builder().successful(successful).failed(failed).build();
+        });
+    }
+}
@@ -0,0 +1,255 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SnsPublishProperties;
+import com.javaninja.model.MessagePayload;
+import com.javaninja.model.dto.SnsBatchEntry;
+import com.javaninja.model.dto.SnsBatchPublishRequest;
+import com.javaninja.model.dto.SnsBroadcastRequest;
+import com.javaninja.model.dto.SnsMessageRequest;
+import com.javaninja.model.dto.SnsPublishResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchResponse;
+import software.amazon.awssdk.services.sns.model.PublishBatchResultEntry;
+import software.amazon.awssdk.services.sns.model.PublishRequest;
+import software.amazon.awssdk.services.sns.model.PublishResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnsService.
+ * Tests that batch publishes are split at 10 entries and 256 KB and that results, including
+ * failed entries, are mapped back to the caller's entry ids, and that broadcasts return at the
+ * deadline and distinguish unfinished topics from topics never started, and that async publishes
+ * do their blocking work off the calling thread.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnsServiceTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:123456789012:orders";
+
+    @Mock
+    private SnsClient snsClient;
+
+    @Mock
+    private ObjectProvider<SnsAsyncClient> snsAsyncClient;
+
+    @Mock
+    private MessageCodecService messageCodecService;
+
+    @Mock
+    private ClaimCheckService claimCheckService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private SnsAutoBatcher autoBatcher;
+
+    @Mock
+    private SnsTopicRegistry topicRegistry;
+
+    @Mock
+    private LocalEventBus localEventBus;
+
+    private SnsPublishProperties publishProperties;
+    private ExecutorService executor;
+    private SnsService snsService;
+
+    @BeforeEach
+    void setUp() {
+        publishProperties = new SnsPublishProperties();
+        executor = Executors.newFixedThreadPool(4);
+        snsService = new SnsService(snsClient, snsAsyncClient, messageCodecService, claimCheckService, outboxService,
+                autoBatcher, topicRegistry, localEventBus, publishProperties, executor, executor);
+
+        lenient().when(topicRegistry.resolve(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(messageCodecService.encode(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(claimCheckService.offload(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void publishBatch_WithTwentyFiveEntries_ShouldSendChunksOfTen() {
+        // Given
+        stubPublishBatch(Set.of());
+        List<SnsBatchEntry> entries = IntStream.range(0, 25)
+                .mapToObj(i -> new SnsBatchEntry("order-" + i, "message " + i))
+                .collect(Collectors.toList());
+
+        // When
+        List<SnsPublishResult> results = snsService.publishBatch(new SnsBatchPublishRequest(TOPIC_ARN, entries));
+
+        // Then
+        assertThat(publishedChunkSizes()).containsExactlyInAnyOrder(10, 10, 5);
+        assertThat(results).hasSize(25).allMatch(SnsPublishResult::isSuccess);
+        assertThat(results.get(17).getId()).isEqualTo("order-17");
+        assertThat(results.get(17).getMessageId()).isEqualTo("message-id-17");
+    }
+
+    @Test
+    void publishBatch_WithLargeEntries_ShouldSplitAt256Kb() {
+        // Given
+        stubPublishBatch(Set.of());
+        String body = "x".repeat(100 * 1024);
+        List<SnsBatchEntry> entries = IntStream.range(0, 5)
+                .mapToObj(i -> new SnsBatchEntry("order-" + i, body))
+                .collect(Collectors.toList());
+
+        // When
+        List<SnsPublishResult> results = snsService.publishBatch(new SnsBatchPublishRequest(TOPIC_ARN, entries));
+
+        // Then
+        assertThat(publishedChunkSizes()).containsExactlyInAnyOrder(2, 2, 1);
+        assertThat(results).allMatch(SnsPublishResult::isSuccess);
+    }
+
+    @Test
+    void publishBatch_WithFailedEntry_ShouldReportItUnderTheCallerId() {
+        // Given
+        stubPublishBatch(Set.of("1"));
+        List<SnsBatchEntry> entries = List.of(
+                new SnsBatchEntry("a", "first"),
+                new SnsBatchEntry(null, "second"),
+                new SnsBatchEntry("c", "third"));
+
+        // When
+        List<SnsPublishResult> results = snsService.publishBatch(new SnsBatchPublishRequest(TOPIC_ARN, entries));
+
+        // Then
+        assertThat(results).extracting(SnsPublishResult::getId).containsExactly("a", "1", "c");
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getErrorCode()).isEqualTo("InvalidParameter");
+        assertThat(results.get(2).getMessageId()).isEqualTo("message-id-2");
+    }
+
+    @Test
+    void broadcast_WhenDeadlinePasses_ShouldReportInFlightTopicAsUnknown() throws Exception {
+        // Given
+        publishProperties.setBroadcastConcurrency(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(snsClient.publish(any(PublishRequest.class))).thenAnswer(invocation -> {
+            PublishRequest request = invocation.getArgument(0);
+            if (request.topicArn().equals("slow")) {
+                release.await();
+            }
+            return PublishResponse.builder().messageId("message-id-" + request.topicArn()).build();
+        });
+        SnsBroadcastRequest request = new SnsBroadcastRequest(List.of("fast", "slow", "never"), "Service degraded");
+        request.setDeadlineMillis(200L);
+
+        // When
+        List<SnsPublishResult> results = snsService.broadcast(request);
+        release.countDown();
+
+        // Then
+        assertThat(results).extracting(SnsPublishResult::getStatus).containsExactly("SUCCESS", "UNKNOWN", "ERROR");
+        assertThat(results.get(2).getErrorCode()).isEqualTo("NotAttempted");
+        verify(snsClient, times(2)).publish(any(PublishRequest.class));
+    }
+
+    @Test
+    void broadcast_WhenPublishPoolIsSaturated_ShouldFailWithoutPublishingOnCaller() throws Exception {
+        // Given
+        ExecutorService saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        CountDownLatch release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        SnsService service = new SnsService(snsClient, snsAsyncClient, messageCodecService, claimCheckService,
+                outboxService, autoBatcher, topicRegistry, localEventBus, publishProperties, executor, saturated);
+
+        // When
+        List<SnsPublishResult> results = service.broadcast(
+                new SnsBroadcastRequest(List.of("orders", "alerts"), "Service degraded"));
+
+        // Then
+        assertThat(results).extracting(SnsPublishResult::getErrorCode).containsOnly("NotAttempted");
+        verify(snsClient, never()).publish(any(PublishRequest.class));
+        release.countDown();
+        saturated.shutdown();
+    }
+
+    @Test
+    void publishMessageAsync_WithOutbox_ShouldEnqueueOffTheCallingThread() throws Exception {
+        // Given
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(outboxService.isEnabled()).thenReturn(true);
+        when(outboxService.enqueueSns(eq(TOPIC_ARN), any(MessagePayload.class), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    threads.add(Thread.currentThread().getName());
+                    return "outbox-1";
+                });
+        SnsMessageRequest request = new SnsMessageRequest(TOPIC_ARN, "order created");
+
+        // When
+        String messageId = snsService.publishMessageAsync(request).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(messageId).isEqualTo("outbox-1");
+        assertThat(threads).hasSize(1).doesNotContain(Thread.currentThread().getName());
+    }
+
+    private void stubPublishBatch(Set<String> failingIds) {
+        when(snsClient.publishBatch(any(PublishBatchRequest.class))).thenAnswer(invocation -> {
+            PublishBatchRequest request = invocation.getArgument(0);
+            List<PublishBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (PublishBatchRequestEntry entry : request.publishBatchRequestEntries()) {
+                if (failingIds.contains(entry.id())) {
+                    failed.add(BatchResultErrorEntry.builder().id(entry.id()).code("InvalidParameter")
+                            .message("Invalid parameter").senderFault(true).build());
+                } else {
+                    successful.add(PublishBatchResultEntry.builder().id(entry.id()).messageId("message-id-" + entry.id()).build());
+                }
+            }
+            return PublishBatchResponse.builder().successful(successful).failed(failed).build();
+        });
+    }
+
+    private List<Integer> publishedChunkSizes() {
+        ArgumentCaptor<PublishBatchRequest> captor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsClient, atLeastOnce()).publishBatch(captor.capture());
+        return captor.getAllValues().stream()
+                .map(request -> request.publishBatchRequestEntries().size())
+                .collect(Collectors.toList());
+    }
+}
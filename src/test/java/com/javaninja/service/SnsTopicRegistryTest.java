@@ -0,0 +1,143 @@
+package com.javaninja.service;
+
+import com.javaninja.config.SnsTopicProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.model.GetTopicAttributesResponse;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sns.model.Topic;
+import software.amazon.awssdk.services.sns.paginators.ListTopicsIterable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SnsTopicRegistry.
+ * Tests logical name resolution, cached existence checks and that ARNs outside the configuration
+ * are kept in a bounded cache that is not refreshed in the background.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnsTopicRegistryTest {
+
+    private static final String ALERTS_ARN = "arn:aws:sns:us-east-1:123456789012:system-alerts-topic";
+
+    @Mock
+    private SnsClient snsClient;
+
+    @Mock
+    private ListTopicsIterable listTopicsIterable;
+
+    private SnsTopicProperties properties;
+    private ExecutorService executor;
+    private SnsTopicRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SnsTopicProperties();
+        properties.setTopics(Map.of("system-alerts", "system-alerts-topic"));
+
+        executor = Executors.newSingleThreadExecutor();
+        registry = new SnsTopicRegistry(snsClient, properties, executor);
+
+        when(snsClient.listTopicsPaginator()).thenReturn(listTopicsIterable);
+        when(listTopicsIterable.topics()).thenReturn(() -> List.of(
+                Topic.builder().topicArn("arn:aws:sns:us-east-1:123456789012:other-topic").build(),
+                Topic.builder().topicArn(ALERTS_ARN).build()).iterator());
+        when(snsClient.getTopicAttributes(any(Consumer.class)))
+                .thenReturn(GetTopicAttributesResponse.builder().attributes(Map.of("TopicArn", ALERTS_ARN)).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resolve_WithLogicalName_ShouldReturnListedArn() {
+        // When
+        registry.refreshAll();
+
+        // Then
+        assertThat(registry.resolve("system-alerts")).isEqualTo(ALERTS_ARN);
+        assertThat(registry.resolve(ALERTS_ARN)).isEqualTo(ALERTS_ARN);
+        assertThatThrownBy(() -> registry.resolve("unknown")).isInstanceOf(UnknownTopicException.class);
+    }
+
+    @Test
+    void exists_AfterRefresh_ShouldBeServedFromCache() {
+        // Given
+        registry.refreshAll();
+
+        // When
+        boolean byName = registry.exists("system-alerts");
+        boolean byArn = registry.exists(ALERTS_ARN);
+
+        // Then
+        assertThat(byName).isTrue();
+        assertThat(byArn).isTrue();
+        verify(snsClient, times(1)).getTopicAttributes(any(Consumer.class));
+    }
+
+    @Test
+    void exists_WithMissingTopic_ShouldCacheNegativeResult() {
+        // Given
+        registry.refreshAll();
+        String missingArn = "arn:aws:sns:us-east-1:123456789012:missing-topic";
+        when(snsClient.getTopicAttributes(any(Consumer.class)))
+                .thenThrow(NotFoundException.builder().message("Topic does not exist").build());
+
+        // When
+        boolean first = registry.exists(missingArn);
+        boolean second = registry.exists(missingArn);
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(second).isFalse();
+        verify(snsClient, times(2)).getTopicAttributes(any(Consumer.class));
+    }
+
+    @Test
+    void refreshAll_AfterProbingUnconfiguredArn_ShouldReloadOnlyConfiguredTopics() {
+        // Given
+        registry.refreshAll();
+        registry.exists("arn:aws:sns:us-east-1:123456789012:other-topic");
+
+        // When
+        registry.refreshAll();
+
+        // Then
+        // Startup and refresh of the configured topic plus the one probe
+        verify(snsClient, times(3)).getTopicAttributes(any(Consumer.class));
+    }
+
+    @Test
+    void exists_BeyondMaxProbedTopics_ShouldEvictLeastRecentlyUsed() {
+        // Given
+        properties.getRegistry().setMaxProbedTopics(1);
+        registry = new SnsTopicRegistry(snsClient, properties, executor);
+        registry.refreshAll();
+        String first = "arn:aws:sns:us-east-1:123456789012:first-topic";
+        String second = "arn:aws:sns:us-east-1:123456789012:second-topic";
+
+        // When
+        registry.exists(first);
+        registry.exists(second);
+        registry.exists(first);
+
+        // Then
+        verify(snsClient, times(4)).getTopicAttributes(any(Consumer.class));
+    }
+}
@@ -1,20 +1,24 @@
 package com.javaninja.service;
 
+import com.javaninja.model.MessagePayload;
 import com.javaninja.model.dto.SqsMessageRequest;
 import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.Message;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +32,18 @@ class SqsServiceTest {
     @Mock
     private SqsTemplate sqsTemplate;
 
+    @Mock
+    private MessageCodecService messageCodecService;
+
+    @Mock
+    private ClaimCheckService claimCheckService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private DelayedMessageScheduler delayedMessageScheduler;
+
     @Mock
     private SendResult<Object> sendResult;
 
@@ -50,6 +66,8 @@ class SqsServiceTest {
     @Test
     void sendMessage_WithValidRequest_ShouldReturnMessageId() {
         // Given
+        when(messageCodecService.encode(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(claimCheckService.offloadForQueue(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(sqsTemplate.send(eq("test-queue"), any(Message.class))).thenReturn(sendResult);
         when(sendResult.messageId()).thenReturn(expectedMessageId);
 
@@ -61,5 +79,59 @@ class SqsServiceTest {
         verify(sqsTemplate, times(1)).send(eq("test-queue"), any(Message.class));
         verify(sendResult, times(2)).messageId(); // Called once for logging, once for return
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendMessage_WithOffloadedBody_ShouldSendPointerWithClaimCheckHeader() {
+        // Given
+        MessagePayload pointer = MessagePayload.of("{\"claimCheck\":{}}")
+                .withAttribute(ClaimCheckService.CLAIM_CHECK_ATTRIBUTE, ClaimCheckService.CLAIM_CHECK_VERSION);
+        when(messageCodecService.encode(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(claimCheckService.offloadForQueue(any(MessagePayload.class))).thenReturn(pointer);
+        when(sqsTemplate.send(eq("test-queue"), any(Message.class))).thenReturn(sendResult);
+        when(sendResult.messageId()).thenReturn(expectedMessageId);
+
+        // When
+        sqsService.sendMessage(validRequest);
+
+        // Then
+        ArgumentCaptor<Message<String>> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sqsTemplate).send(eq("test-queue"), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).isEqualTo(pointer.getBody());
+        assertThat(messageCaptor.getValue().getHeaders().get(ClaimCheckService.CLAIM_CHECK_ATTRIBUTE))
+                .isEqualTo(ClaimCheckService.CLAIM_CHECK_VERSION);
+    }
+
+    @Test
+    void sendMessage_WithDelayBeyondSqsLimit_ShouldScheduleInsteadOfSending() {
+        // Given
+        validRequest.setDelaySeconds(3600);
+        when(messageCodecService.encode(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(claimCheckService.offloadForQueue(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(delayedMessageScheduler.schedule(eq("test-queue"), any(MessagePayload.class), any(Instant.class)))
+                .thenReturn("scheduled-1");
+
+        // When
+        String result = sqsService.sendMessage(validRequest);
+
+        // Then
+        assertThat(result).isEqualTo("scheduled-1");
+        verify(sqsTemplate, never()).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    void sendMessage_WithOutboxEnabled_ShouldKeepDelay() {
+        // Given
+        when(messageCodecService.encode(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(claimCheckService.offloadForQueue(any(MessagePayload.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(outboxService.isEnabled()).thenReturn(true);
+        when(outboxService.enqueueSqs(eq("test-queue"), any(MessagePayload.class), eq(10))).thenReturn("outbox-1");
+
+        // When
+        String result = sqsService.sendMessage(validRequest);
+
+        // Then
+        assertThat(result).isEqualTo("outbox-1");
+        verify(sqsTemplate, never()).send(anyString(), any(Message.class));
+    }
+}
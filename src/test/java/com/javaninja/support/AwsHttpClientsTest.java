@@ -0,0 +1,83 @@
+package com.javaninja.support;
+
+import com.javaninja.config.AwsHttpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AwsHttpClients.
+ * Tests pool sharing, per-service pools and pool utilization gauges.
+ */
+class AwsHttpClientsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AwsHttpClients awsHttpClients;
+
+    @BeforeEach
+    void setUp() {
+        AwsHttpProperties properties = new AwsHttpProperties();
+        AwsHttpProperties.Pool s3 = new AwsHttpProperties.Pool();
+        s3.setMaxConnections(100);
+        properties.getServices().put("s3", s3);
+        awsHttpClients = new AwsHttpClients(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        awsHttpClients.close();
+    }
+
+    @Test
+    void httpClient_WithoutOverride_ShouldShareOnePool() {
+        // When
+        SdkHttpClient sns = awsHttpClients.httpClient("sns");
+        SdkHttpClient ssm = awsHttpClients.httpClient("ssm");
+
+        // Then
+        assertThat(sns).isSameAs(ssm);
+        assertThat(awsHttpClients.poolName("sns")).isEqualTo(AwsHttpClients.SHARED_POOL);
+    }
+
+    @Test
+    void httpClient_WithOverride_ShouldUseOwnPool() {
+        // When
+        SdkHttpClient s3 = awsHttpClients.httpClient("s3");
+        SdkHttpClient sns = awsHttpClients.httpClient("sns");
+
+        // Then
+        assertThat(s3).isNotSameAs(sns);
+        assertThat(awsHttpClients.httpClient("s3")).isSameAs(s3);
+    }
+
+    @Test
+    void poolMetrics_ShouldExposeLatestPoolStateAsGauges() {
+        // Given
+        ClientOverrideConfiguration configuration = awsHttpClients
+                .withPoolMetrics(ClientOverrideConfiguration.builder(), "s3")
+                .build();
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        MetricCollector httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 7);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 3);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 2);
+        httpClient.reportMetric(HttpMetric.MAX_CONCURRENCY, 100);
+
+        // When
+        configuration.metricPublishers().forEach(publisher -> publisher.publish(apiCall.collect()));
+
+        // Then
+        assertThat(meterRegistry.get("aws.http.pool.leased").tag("pool", "s3").gauge().value()).isEqualTo(7.0);
+        assertThat(meterRegistry.get("aws.http.pool.available").tag("pool", "s3").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("aws.http.pool.pending").tag("pool", "s3").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("aws.http.pool.max").tag("pool", "s3").gauge().value()).isEqualTo(100.0);
+    }
+}
@@ -0,0 +1,208 @@
+package com.javaninja.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for AwsMetricsInterceptor.
+ * Tests timers, retry counts and resource tags recorded for calls through a real client
+ * backed by a stub HTTP client, that the latency timer carries no resource tag, resource name
+ * parsing, the cap on distinct resources and call listeners.
+ */
+class AwsMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubHttpClient httpClient = new StubHttpClient();
+
+    private final AwsMetricsInterceptor interceptor = new AwsMetricsInterceptor(meterRegistry);
+
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClient(httpClient)
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .addExecutionInterceptor(interceptor)
+                        .build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+    }
+
+    @Test
+    void successfulCall_ShouldRecordTimerWithoutResourceAndCountBytesPerResource() {
+        // Given
+        httpClient.respond(200);
+
+        // When
+        s3Client.headBucket(request -> request.bucket("test-bucket"));
+
+        // Then
+        Timer timer = meterRegistry.find("aws.client.requests")
+                .tags("service", "S3", "operation", "HeadBucket", "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("resource")).isNull();
+        assertThat(meterRegistry.find("aws.client.response.bytes").tags("resource", "test-bucket").counter()).isNotNull();
+        assertThat(meterRegistry.find("aws.client.retries").counter()).isNull();
+    }
+
+    @Test
+    void retriedCall_ShouldCountAttemptsBeyondTheFirst() {
+        // Given
+        httpClient.respond(503, 200);
+
+        // When
+        s3Client.headBucket(request -> request.bucket("test-bucket"));
+
+        // Then
+        Counter retries = meterRegistry.find("aws.client.retries").tags("operation", "HeadBucket").counter();
+        assertThat(retries).isNotNull();
+        assertThat(retries.count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("aws.client.requests").tags("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCall_ShouldRecordClientErrorOutcome() {
+        // Given
+        httpClient.respond(404);
+
+        // When
+        assertThatThrownBy(() -> s3Client.headBucket(request -> request.bucket("missing-bucket")))
+                .isInstanceOf(S3Exception.class);
+
+        // Then
+        Timer timer = meterRegistry.find("aws.client.requests")
+                .tags("operation", "HeadBucket", "outcome", "CLIENT_ERROR")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void addListener_ShouldReceiveEachCallWithTimerTags() {
+        // Given
+        List<Tags> calls = new ArrayList<>();
+        interceptor.addListener((tags, nanos) -> calls.add(tags));
+        httpClient.respond(200);
+
+        // When
+        s3Client.headBucket(request -> request.bucket("test-bucket"));
+
+        // Then
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).contains(Tag.of("operation", "HeadBucket"), Tag.of("outcome", "SUCCESS"));
+    }
+
+    @Test
+    void resource_WithQueueUrl_ShouldUseQueueName() {
+        // Given
+        SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl("https://sqs.us-east-1.amazonaws.com/123456789012/orders-queue")
+                .messageBody("body")
+                .build();
+
+        // When & Then
+        assertThat(AwsMetricsInterceptor.resource(request)).isEqualTo("orders-queue");
+    }
+
+    @Test
+    void resource_WithHierarchicalSecretName_ShouldKeepTheWholeName() {
+        // Given
+        GetSecretValueRequest byName = GetSecretValueRequest.builder().secretId("prod/db/password").build();
+        GetSecretValueRequest byArn = GetSecretValueRequest.builder()
+                .secretId("arn:aws:secretsmanager:us-east-1:123456789012:secret:prod/db/password-AbCdEf")
+                .build();
+
+        // When & Then
+        assertThat(AwsMetricsInterceptor.resource(byName)).isEqualTo("prod/db/password");
+        assertThat(AwsMetricsInterceptor.resource(byArn)).isEqualTo("prod/db/password-AbCdEf");
+    }
+
+    @Test
+    void resourceTagLimit_BeyondMaxResources_ShouldDenyFurtherResources() {
+        // Given
+        meterRegistry.config().meterFilter(AwsMetricsInterceptor.resourceTagLimit());
+
+        // When
+        for (int i = 0; i <= AwsMetricsInterceptor.MAX_RESOURCES; i++) {
+            meterRegistry.counter("aws.client.response.bytes", "resource", "bucket-" + i).increment();
+        }
+
+        // Then
+        assertThat(meterRegistry.find("aws.client.response.bytes").counters()).hasSize(AwsMetricsInterceptor.MAX_RESOURCES);
+    }
+
+    /**
+     * Returns queued status codes with empty bodies; the last status repeats once the queue is drained.
+     */
+    private static class StubHttpClient implements SdkHttpClient {
+
+        private final Deque<Integer> statuses = new ArrayDeque<>();
+
+        void respond(Integer... codes) {
+            statuses.addAll(List.of(codes));
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            int status = statuses.size() > 1 ? statuses.poll() : statuses.peek();
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() {
+                    return HttpExecuteResponse.builder()
+                            .response(SdkHttpResponse.builder()
+                                    .statusCode(status)
+                                    .putHeader("Content-Length", "0")
+                                    .build())
+                            .responseBody(AbortableInputStream.create(new ByteArrayInputStream(new byte[0])))
+                            .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.javaninja.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FanOutScope.
+ * Tests result ordering, cancellation on failure and cancellation when the scope closes.
+ */
+class FanOutScopeTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_ShouldReturnResultsInForkOrder() {
+        // Given
+        try (FanOutScope<String> scope = new FanOutScope<>(executor)) {
+            scope.fork(() -> {
+                Thread.sleep(50);
+                return "slow";
+            });
+            scope.fork(() -> "fast");
+
+            // When
+            List<String> results = scope.join();
+
+            // Then
+            assertThat(results).containsExactly("slow", "fast");
+        }
+    }
+
+    @Test
+    void join_WhenSubtaskFails_ShouldCancelOthersAndRethrow() throws Exception {
+        // Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOutScope<String> scope = new FanOutScope<>(executor)) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "never";
+            });
+            scope.fork(() -> {
+                throw new IllegalArgumentException("Chunk failed");
+            });
+
+            // When & Then
+            assertThatThrownBy(scope::join)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Chunk failed");
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void join_WhenDeadlinePasses_ShouldLeaveCancellationToClose() throws Exception {
+        // Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FanOutScope<String> scope = new FanOutScope<>(executor);
+        scope.fork(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+
+        // When
+        assertThatThrownBy(() -> scope.join(Duration.ofMillis(50))).isInstanceOf(TimeoutException.class);
+        boolean interruptedBeforeClose = interrupted.getCount() == 0;
+        scope.close();
+
+        // Then
+        assertThat(interruptedBeforeClose).isFalse();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package com.javaninja.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FilterPolicy.
+ * Tests SNS filter policy operators against message attributes.
+ */
+class FilterPolicyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void matches_WithExactValues_ShouldRequireEveryKey() {
+        // Given
+        FilterPolicy policy = FilterPolicy.compile(
+                "{\"eventType\":[\"ORDER_CREATED\",\"ORDER_SHIPPED\"],\"priority\":[1,2]}", objectMapper);
+
+        // When & Then
+        assertThat(policy.matches(Map.of("eventType", "ORDER_SHIPPED", "priority", "2.0"))).isTrue();
+        assertThat(policy.matches(Map.of("eventType", "ORDER_SHIPPED", "priority", "3"))).isFalse();
+        assertThat(policy.matches(Map.of("eventType", "ORDER_SHIPPED"))).isFalse();
+    }
+
+    @Test
+    void matches_WithOperators_ShouldEvaluateEachCondition() {
+        // Given
+        FilterPolicy policy = FilterPolicy.compile("{"
+                + "\"region\":[{\"prefix\":\"us-\"}],"
+                + "\"amount\":[{\"numeric\":[\">\",0,\"<=\",100]}],"
+                + "\"status\":[{\"anything-but\":[\"CANCELLED\",\"FAILED\"]}],"
+                + "\"customer\":[{\"equals-ignore-case\":\"acme\"}],"
+                + "\"test\":[{\"exists\":false}]}", objectMapper);
+
+        // When & Then
+        assertThat(policy.matches(Map.of("region", "us-east-1", "amount", "99.5",
+                "status", "PAID", "customer", "ACME"))).isTrue();
+        assertThat(policy.matches(Map.of("region", "eu-west-1", "amount", "99.5",
+                "status", "PAID", "customer", "ACME"))).isFalse();
+        assertThat(policy.matches(Map.of("region", "us-east-1", "amount", "150",
+                "status", "PAID", "customer", "ACME"))).isFalse();
+        assertThat(policy.matches(Map.of("region", "us-east-1", "amount", "99.5",
+                "status", "CANCELLED", "customer", "ACME"))).isFalse();
+        assertThat(policy.matches(Map.of("region", "us-east-1", "amount", "99.5",
+                "status", "PAID", "customer", "ACME", "test", "true"))).isFalse();
+    }
+
+    @Test
+    void compile_WithEmptyOrInvalidPolicy_ShouldMatchAllOrFail() {
+        // When & Then
+        assertThat(FilterPolicy.compile(null, objectMapper).matches(Map.of())).isTrue();
+        assertThatThrownBy(() -> FilterPolicy.compile("{\"key\":\"not-an-array\"}", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FilterPolicy.compile("{\"key\":[{\"regex\":\".*\"}]}", objectMapper))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.javaninja.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HierarchicalTimingWheel.
+ * Tests expiry across level boundaries and cancellation.
+ */
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advanceTo_ShouldFireEachEntryExactlyAtItsDeadline() {
+        // Given - a tiny wheel so deadlines cascade through several levels
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(4, 0);
+        long[] deadlines = {1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 200};
+        for (long deadline : deadlines) {
+            assertThat(wheel.add(deadline, deadline)).isNotNull();
+        }
+
+        // When
+        List<long[]> fired = new ArrayList<>();
+        for (long tick = 1; tick <= 256; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, deadline -> fired.add(new long[] {deadline, now}));
+        }
+
+        // Then
+        assertThat(fired).hasSize(deadlines.length);
+        for (long[] firing : fired) {
+            assertThat(firing[1]).as("deadline %d", firing[0]).isEqualTo(firing[0]);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void add_WithPastDeadline_ShouldReturnNull() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(8, 100);
+
+        // When & Then
+        assertThat(wheel.add("late", 100)).isNull();
+        assertThat(wheel.add("on-time", 101)).isNotNull();
+    }
+
+    @Test
+    void cancel_ShouldPreventExpiry() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(8, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.add("cancelled", 50);
+        wheel.add("kept", 50);
+
+        // When
+        boolean cancelled = wheel.cancel(timeout);
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(100, fired::add);
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(fired).containsExactly("kept");
+    }
+}